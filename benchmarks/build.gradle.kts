@@ -0,0 +1,36 @@
+import extensions.implementation
+
+group = "com.paysera.lib.wallet.benchmarks"
+version = "1.0-SNAPSHOT"
+
+plugins {
+    java
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    implementation(project(":wallet"))
+    implementation(ApplicationDependencies.dependencies)
+    implementation(ApplicationDependencies.jmhCore)
+    annotationProcessor(ApplicationDependencies.jmhGeneratorAnnprocess)
+}
+
+val jmh by tasks.registering(JavaExec::class) {
+    group = "benchmark"
+    description = "Runs JMH benchmarks, pass -Pjmh.includes=<regex> to select a subset."
+    classpath = sourceSets.main.get().runtimeClasspath
+    main = "org.openjdk.jmh.Main"
+    args = listOfNotNull(
+        project.findProperty("jmh.includes") as String?,
+        "-rf", "json",
+        "-rff", "$buildDir/jmh-result.json"
+    )
+}
@@ -0,0 +1,80 @@
+package com.paysera.lib.wallet.benchmarks;
+
+public class BenchmarkData {
+
+    private static final String[] CURRENCIES = {"EUR", "USD", "GBP", "PLN", "CHF", "SEK", "NOK", "DKK"};
+
+    private BenchmarkData() {}
+
+    public static String createStatementsJson(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(100000 + i)
+                .append(",\"amount\":").append(1000 + i)
+                .append(",\"amount_decimal\":\"").append(10 + i).append(".00\"")
+                .append(",\"currency\":\"EUR\"")
+                .append(",\"details\":\"Payment for order ").append(i).append("\"")
+                .append(",\"direction\":\"out\"")
+                .append(",\"date\":").append(1500000000 + i)
+                .append(",\"type\":\"transfer\"")
+                .append(",\"transfer_id\":").append(500000 + i)
+                .append(",\"other_party\":{\"display_name\":\"John Doe\",\"account_number\":\"EVP0010001000001\",\"bic\":\"EVIULT2VXXX\"}")
+                .append(",\"reference_number\":\"RF").append(i).append("\"}");
+        }
+        return json.append(']').toString();
+    }
+
+    public static String createStatementsPageJson(int count) {
+        return "{\"statements\":" + createStatementsJson(count)
+            + ",\"_metadata\":{\"total\":" + count + ",\"offset\":0,\"limit\":" + count
+            + ",\"has_next\":false,\"has_previous\":false,\"cursors\":{\"after\":\"a\",\"before\":\"b\"}}}";
+    }
+
+    public static String createTransfersJson(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":\"").append(700000 + i).append("\"")
+                .append(",\"status\":\"done\"")
+                .append(",\"amount\":{\"amount\":\"").append(10 + i).append(".00\",\"currency\":\"EUR\"}")
+                .append(",\"beneficiary\":{\"type\":\"paysera\",\"name\":\"John Doe\",\"paysera_account\":{\"account_number\":\"EVP0010001000001\"}}")
+                .append(",\"payer\":{\"account_number\":\"EVP0010001000002\"}")
+                .append(",\"purpose\":{\"details\":\"Invoice ").append(i).append("\"}")
+                .append(",\"cancelable\":false")
+                .append(",\"created_at\":").append(1500000000 + i)
+                .append(",\"performed_at\":").append(1500000100 + i)
+                .append(",\"auto_currency_convert\":false")
+                .append(",\"auto_charge_related_card\":false")
+                .append(",\"urgency\":\"standard\"")
+                .append(",\"out_commission\":{\"amount\":\"0.10\",\"currency\":\"EUR\"}")
+                .append(",\"allowed_to_cancel\":false}");
+        }
+        return json.append(']').toString();
+    }
+
+    public static String createTransfersPageJson(int count) {
+        return "{\"transfers\":" + createTransfersJson(count)
+            + ",\"_metadata\":{\"total\":" + count + ",\"offset\":0,\"limit\":" + count
+            + ",\"has_next\":false,\"has_previous\":false}}";
+    }
+
+    public static String createWalletBalanceJson(int currencyCount) {
+        StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i < currencyCount; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append('"').append(CURRENCIES[i % CURRENCIES.length]).append("\":{")
+                .append("\"at_disposal\":").append(10000 + i)
+                .append(",\"reserved\":").append(100 + i)
+                .append(",\"converted\":{\"at_disposal\":").append(11000 + i)
+                .append(",\"reserved\":").append(110 + i).append("}}");
+        }
+        return json.append('}').toString();
+    }
+}
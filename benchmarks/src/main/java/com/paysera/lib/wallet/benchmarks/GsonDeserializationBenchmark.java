@@ -0,0 +1,94 @@
+package com.paysera.lib.wallet.benchmarks;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.paysera.lib.wallet.adapters.MetadataAwareResponseDeserializer;
+import com.paysera.lib.wallet.entities.MetadataAwareResponse;
+import com.paysera.lib.wallet.entities.Statement;
+import com.paysera.lib.wallet.entities.transfer.Transfer;
+import com.paysera.lib.wallet.factories.GsonFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the shared Gson against a plain reflective Gson and the tree model page deserializer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+@State(Scope.Benchmark)
+public class GsonDeserializationBenchmark {
+    private static final Type STATEMENT_LIST_TYPE = new TypeToken<List<Statement>>() {}.getType();
+    private static final Type TRANSFER_LIST_TYPE = new TypeToken<List<Transfer>>() {}.getType();
+    private static final Type STATEMENT_PAGE_TYPE = new TypeToken<MetadataAwareResponse<Statement>>() {}.getType();
+    private static final Type TRANSFER_PAGE_TYPE = new TypeToken<MetadataAwareResponse<Transfer>>() {}.getType();
+
+    @Param({"100", "1000"})
+    public int pageSize;
+
+    private Gson reflectiveGson;
+    private Gson sharedGson;
+    private Gson treeModelGson;
+    private String statementsJson;
+    private String transfersJson;
+    private String statementsPageJson;
+    private String transfersPageJson;
+
+    @Setup
+    public void setUp() {
+        reflectiveGson = new GsonBuilder()
+            .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+            .create();
+        sharedGson = GsonFactory.createGson();
+        treeModelGson = new GsonBuilder()
+            .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+            .registerTypeAdapter(MetadataAwareResponse.class, new MetadataAwareResponseDeserializer())
+            .create();
+        statementsJson = BenchmarkData.createStatementsJson(pageSize);
+        transfersJson = BenchmarkData.createTransfersJson(pageSize);
+        statementsPageJson = BenchmarkData.createStatementsPageJson(pageSize);
+        transfersPageJson = BenchmarkData.createTransfersPageJson(pageSize);
+    }
+
+    @Benchmark
+    public List<Statement> statementsReflective() {
+        return reflectiveGson.fromJson(statementsJson, STATEMENT_LIST_TYPE);
+    }
+
+    @Benchmark
+    public List<Statement> statementsShared() {
+        return sharedGson.fromJson(statementsJson, STATEMENT_LIST_TYPE);
+    }
+
+    @Benchmark
+    public List<Transfer> transfersReflective() {
+        return reflectiveGson.fromJson(transfersJson, TRANSFER_LIST_TYPE);
+    }
+
+    @Benchmark
+    public List<Transfer> transfersShared() {
+        return sharedGson.fromJson(transfersJson, TRANSFER_LIST_TYPE);
+    }
+
+    @Benchmark
+    public MetadataAwareResponse<Statement> statementsPageTreeModel() {
+        return treeModelGson.fromJson(statementsPageJson, STATEMENT_PAGE_TYPE);
+    }
+
+    @Benchmark
+    public MetadataAwareResponse<Statement> statementsPageShared() {
+        return sharedGson.fromJson(statementsPageJson, STATEMENT_PAGE_TYPE);
+    }
+
+    @Benchmark
+    public MetadataAwareResponse<Transfer> transfersPageShared() {
+        return sharedGson.fromJson(transfersPageJson, TRANSFER_PAGE_TYPE);
+    }
+}
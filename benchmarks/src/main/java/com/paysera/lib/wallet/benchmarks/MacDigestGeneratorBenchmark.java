@@ -0,0 +1,44 @@
+package com.paysera.lib.wallet.benchmarks;
+
+import com.paysera.lib.wallet.CachingMacDigestGenerator;
+import com.paysera.lib.wallet.MacDigestGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+@State(Scope.Benchmark)
+public class MacDigestGeneratorBenchmark {
+    private MacDigestGenerator macDigestGenerator;
+    private CachingMacDigestGenerator cachingMacDigestGenerator;
+    private byte[] key;
+    private byte[] data;
+
+    @Setup
+    public void setUp() {
+        macDigestGenerator = new MacDigestGenerator();
+        cachingMacDigestGenerator = new CachingMacDigestGenerator();
+        key = "IrdTc8uQodU7PRpLzzLTW6wqZAO6tAMU".getBytes(StandardCharsets.UTF_8);
+        data = "1500000000\nnonce\nGET\n/rest/v1/wallet/14471/statements\nwallet.paysera.com\n443\n\n"
+            .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public byte[] uncached() throws NoSuchAlgorithmException, InvalidKeyException {
+        return macDigestGenerator.generate(key, data);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public byte[] cached() throws NoSuchAlgorithmException, InvalidKeyException {
+        return cachingMacDigestGenerator.generate(key, data);
+    }
+}
@@ -0,0 +1,39 @@
+package com.paysera.lib.wallet.benchmarks;
+
+import com.paysera.lib.wallet.NonceGenerator;
+import com.paysera.lib.wallet.PooledNonceGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+@State(Scope.Benchmark)
+public class NonceGeneratorBenchmark {
+    private NonceGenerator nonceGenerator;
+    private PooledNonceGenerator pooledNonceGenerator;
+
+    @Setup
+    public void setUp() {
+        nonceGenerator = new NonceGenerator();
+        pooledNonceGenerator = new PooledNonceGenerator();
+    }
+
+    @TearDown
+    public void tearDown() {
+        pooledNonceGenerator.close();
+    }
+
+    @Benchmark
+    public String secureRandomPerCall() {
+        return nonceGenerator.generate();
+    }
+
+    @Benchmark
+    public String pooled() {
+        return pooledNonceGenerator.generate();
+    }
+}
@@ -0,0 +1,46 @@
+package com.paysera.lib.wallet.benchmarks;
+
+import com.paysera.lib.wallet.entities.Statement;
+import com.paysera.lib.wallet.exceptions.NormalizerException;
+import com.paysera.lib.wallet.normalizers.OtherPartyNormalizer;
+import com.paysera.lib.wallet.normalizers.StatementNormalizer;
+import org.json.JSONArray;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statement decoding through the org.json normalizers, with and without parsing the text.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+@State(Scope.Benchmark)
+public class NormalizerBenchmark {
+    @Param({"100", "1000"})
+    public int pageSize;
+
+    private StatementNormalizer statementNormalizer;
+    private String statementsJson;
+    private JSONArray statementsJsonArray;
+
+    @Setup
+    public void setUp() {
+        statementNormalizer = new StatementNormalizer(new OtherPartyNormalizer());
+        statementsJson = BenchmarkData.createStatementsJson(pageSize);
+        statementsJsonArray = new JSONArray(statementsJson);
+    }
+
+    @Benchmark
+    public List<Statement> statementNormalizer() throws NormalizerException {
+        return statementNormalizer.mapToEntity(statementsJsonArray);
+    }
+
+    @Benchmark
+    public List<Statement> statementNormalizerWithParsing() throws NormalizerException {
+        return statementNormalizer.mapToEntity(new JSONArray(statementsJson));
+    }
+}
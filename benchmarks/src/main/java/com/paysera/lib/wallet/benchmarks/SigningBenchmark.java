@@ -0,0 +1,95 @@
+package com.paysera.lib.wallet.benchmarks;
+
+import com.paysera.lib.wallet.MacDigestGenerator;
+import com.paysera.lib.wallet.NonceGenerator;
+import com.paysera.lib.wallet.RequestSigner;
+import com.paysera.lib.wallet.helpers.OkHTTPQueryStringConverter;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request CPU cost of signing: the whole Authorization header and its parts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+@State(Scope.Thread)
+public class SigningBenchmark {
+    private static final String MAC_ID = "wkVd93h2uS";
+    private static final String MAC_SECRET = "IrdTc8uQodU7PRpLzzLTW6wqZAO6tAMU";
+
+    private RequestSigner requestSigner;
+    private MacDigestGenerator macDigestGenerator;
+    private NonceGenerator nonceGenerator;
+    private OkHTTPQueryStringConverter okHTTPQueryStringConverter;
+    private Request getRequest;
+    private Request postRequest;
+    private byte[] body;
+    private byte[] macKey;
+    private byte[] macData;
+    private Map<String, String> parameters;
+    private Map<String, String> extParameters;
+
+    @Setup
+    public void setUp() {
+        macDigestGenerator = new MacDigestGenerator();
+        nonceGenerator = new NonceGenerator();
+        okHTTPQueryStringConverter = new OkHTTPQueryStringConverter();
+        requestSigner = new RequestSigner(nonceGenerator, macDigestGenerator, okHTTPQueryStringConverter);
+
+        getRequest = new Request.Builder()
+            .url("https://wallet.paysera.com/rest/v1/wallet/14471/statements?limit=200&currency=EUR&after=MTAwMDAw")
+            .build();
+        body = BenchmarkData.createTransfersJson(1).getBytes(StandardCharsets.UTF_8);
+        postRequest = new Request.Builder()
+            .url("https://wallet.paysera.com/transfer/rest/v1/transfers")
+            .post(RequestBody.create(MediaType.parse("application/json"), body))
+            .build();
+
+        macKey = MAC_SECRET.getBytes(StandardCharsets.UTF_8);
+        macData = "1500000000\nnonce\nGET\n/rest/v1/wallet/14471/statements\nwallet.paysera.com\n443\n\n"
+            .getBytes(StandardCharsets.UTF_8);
+
+        parameters = new HashMap<>();
+        parameters.put("app_id", "1234");
+        extParameters = new HashMap<>(parameters);
+        extParameters.put("body_hash", "47DEQpj8HBSa+/TImW+5JCeuQeRkm5NMpJWZG3hSuFU=");
+        extParameters.put("user_id", "987654");
+    }
+
+    @Benchmark
+    public String generateSignatureGet() throws NoSuchAlgorithmException, InvalidKeyException {
+        return requestSigner.generateSignature(MAC_ID, MAC_SECRET, getRequest, null, "1500000000", parameters);
+    }
+
+    @Benchmark
+    public String generateSignaturePost() throws NoSuchAlgorithmException, InvalidKeyException {
+        return requestSigner.generateSignature(MAC_ID, MAC_SECRET, postRequest, body, "1500000000", parameters);
+    }
+
+    @Benchmark
+    public byte[] macDigest() throws NoSuchAlgorithmException, InvalidKeyException {
+        return macDigestGenerator.generate(macKey, macData);
+    }
+
+    @Benchmark
+    public String nonce() {
+        return nonceGenerator.generate();
+    }
+
+    @Benchmark
+    public String encodedQueryString() {
+        return okHTTPQueryStringConverter.convertToEncodedQueryString(extParameters);
+    }
+}
@@ -0,0 +1,33 @@
+package com.paysera.lib.wallet.benchmarks;
+
+import com.google.gson.Gson;
+import com.paysera.lib.wallet.entities.WalletBalance;
+import com.paysera.lib.wallet.factories.GsonFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+@State(Scope.Benchmark)
+public class WalletBalanceDeserializerBenchmark {
+    @Param({"1", "8"})
+    public int currencyCount;
+
+    private Gson gson;
+    private String walletBalanceJson;
+
+    @Setup
+    public void setUp() {
+        gson = GsonFactory.createGson();
+        walletBalanceJson = BenchmarkData.createWalletBalanceJson(currencyCount);
+    }
+
+    @Benchmark
+    public WalletBalance walletBalance() {
+        return gson.fromJson(walletBalanceJson, WalletBalance.class);
+    }
+}
@@ -9,9 +9,15 @@ object ApplicationDependencies {
     private const val okhttp3 = "com.squareup.okhttp3:okhttp:${ApplicationDependencyVersions.okhttp3}"
     private const val loggingInterceptor = "com.squareup.okhttp3:logging-interceptor:${ApplicationDependencyVersions.loggingInterceptor}"
     private const val apacheCommonsSdk = "commons-codec:commons-codec:${ApplicationDependencyVersions.apacheCommonsSdk}"
+    private const val reactiveStreams = "org.reactivestreams:reactive-streams:${ApplicationDependencyVersions.reactiveStreams}"
 
     // testing
     const val junit = "junit:junit:${ApplicationDependencyVersions.junit}"
+    const val mockWebServer = "com.squareup.okhttp3:mockwebserver:${ApplicationDependencyVersions.okhttp3}"
+
+    // benchmarks
+    const val jmhCore = "org.openjdk.jmh:jmh-core:${ApplicationDependencyVersions.jmh}"
+    const val jmhGeneratorAnnprocess = "org.openjdk.jmh:jmh-generator-annprocess:${ApplicationDependencyVersions.jmh}"
 
     val dependencies = arrayListOf(
         gson,
@@ -22,6 +28,7 @@ object ApplicationDependencies {
         retrofitConverterGson,
         okhttp3,
         apacheCommonsSdk,
-        loggingInterceptor
+        loggingInterceptor,
+        reactiveStreams
     )
 }
\ No newline at end of file
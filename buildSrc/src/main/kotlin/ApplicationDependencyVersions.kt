@@ -8,5 +8,7 @@ object ApplicationDependencyVersions {
     const val okhttp3 = "3.10.0"
     const val loggingInterceptor = "3.10.0"
     const val apacheCommonsSdk = "1.10"
+    const val reactiveStreams = "1.0.3"
     const val junit = "4.12"
+    const val jmh = "1.36"
 }
\ No newline at end of file
@@ -43,7 +43,7 @@ public class GetUser {
         httpLoggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
 
         OkHTTPQueryStringConverter okHTTPQueryStringConverter = new OkHTTPQueryStringConverter();
-        RequestSigner requestSigner = new RequestSigner(new NonceGenerator(), new MacDigestGenerator(), okHTTPQueryStringConverter);
+        RequestSigner requestSigner = new RequestSigner(new NonceGenerator(), new CachingMacDigestGenerator(), okHTTPQueryStringConverter);
         RetrofitFactory retrofitFactory = new RetrofitFactory(new Router());
 
         HttpClientFactory httpClientFactory =
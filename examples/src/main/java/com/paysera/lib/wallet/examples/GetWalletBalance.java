@@ -45,7 +45,7 @@ public class GetWalletBalance {
         httpLoggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
 
         OkHTTPQueryStringConverter okHTTPQueryStringConverter = new OkHTTPQueryStringConverter();
-        RequestSigner requestSigner = new RequestSigner(new NonceGenerator(), new MacDigestGenerator(), okHTTPQueryStringConverter);
+        RequestSigner requestSigner = new RequestSigner(new NonceGenerator(), new CachingMacDigestGenerator(), okHTTPQueryStringConverter);
         RetrofitFactory retrofitFactory = new RetrofitFactory(new Router());
 
         HttpClientFactory httpClientFactory =
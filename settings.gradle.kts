@@ -1,2 +1,2 @@
 rootProject.name = "wallet"
-include("wallet", "examples")
\ No newline at end of file
+include("wallet", "examples", "benchmarks")
\ No newline at end of file
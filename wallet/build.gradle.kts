@@ -31,6 +31,7 @@ dependencies {
 
     // testing
     testImplementation(ApplicationDependencies.junit)
+    testImplementation(ApplicationDependencies.mockWebServer)
 }
 
 val sourcesJar by tasks.registering(Jar::class) {
@@ -7,24 +7,42 @@ import com.paysera.lib.wallet.clients.OAuthAsyncClient;
 import com.paysera.lib.wallet.entities.Credentials;
 import com.paysera.lib.wallet.enums.GrantType;
 import com.paysera.lib.wallet.exceptions.WalletApiException;
+import com.paysera.lib.wallet.factories.SchedulerFactory;
 import com.paysera.lib.wallet.interfaces.AccessTokenRefresherDelegate;
 
 import java.util.Date;
 import java.util.List;
-import java.util.Random;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
 
 public class AccessTokenRefresher {
+    public static final double DEFAULT_PROACTIVE_REFRESH_JITTER = 0.2;
+
+    private final ScheduledExecutorService scheduler;
+    private final RefreshBackoffPolicy refreshBackoffPolicy;
+    private final AccessTokenRefresherMetrics metrics;
     private OAuthAsyncClient oAuthAsyncClient;
     private AccessTokenRefresherDelegate accessTokenRefresherDelegate;
     private Credentials activeCredentials;
     private Credentials inactiveCredentials;
-    private Task<Credentials> accessTokenRefreshTask;
-    private Date accessTokenRefreshedAt;
+    private final AtomicReference<Credentials> latestCredentials;
+    private volatile Task<Credentials> accessTokenRefreshTask;
+    private volatile Date accessTokenRefreshedAt;
     private int refreshAttempt = 0;
-    private boolean tokenRefreshSuspended = false;
+    private volatile boolean tokenRefreshSuspended = false;
+    private ScheduledFuture<?> refreshUnblockFuture;
+    private long refreshSuspendedAt;
+    private LongSupplier nanoClock = System::nanoTime;
+    private Exception lastRefreshError;
+    private ScheduledExecutorService proactiveRefreshScheduler;
+    private long proactiveRefreshMarginMillis;
+    private double proactiveRefreshJitter;
+    private ScheduledFuture<?> proactiveRefreshFuture;
+    private Task<Credentials> proactiveRefreshTask;
 
     public AccessTokenRefresher(
         OAuthAsyncClient oAuthAsyncClient,
@@ -32,16 +50,55 @@ public class AccessTokenRefresher {
         Credentials activeCredentials,
         Credentials inactiveCredentials
     ) {
+        this(
+            oAuthAsyncClient,
+            accessTokenRefresherDelegate,
+            activeCredentials,
+            inactiveCredentials,
+            SchedulerFactory.getSharedScheduler(),
+            new RefreshBackoffPolicy(),
+            new AccessTokenRefresherMetrics()
+        );
+    }
+
+    /**
+     * The scheduler runs backoff and proactive refresh timers only, it can be shared by any
+     * number of refreshers and its lifecycle stays with the caller.
+     */
+    public AccessTokenRefresher(
+        OAuthAsyncClient oAuthAsyncClient,
+        AccessTokenRefresherDelegate accessTokenRefresherDelegate,
+        Credentials activeCredentials,
+        Credentials inactiveCredentials,
+        ScheduledExecutorService scheduler,
+        RefreshBackoffPolicy refreshBackoffPolicy,
+        AccessTokenRefresherMetrics metrics
+    ) {
+        this.scheduler = scheduler;
+        this.refreshBackoffPolicy = refreshBackoffPolicy;
+        this.metrics = metrics;
         this.oAuthAsyncClient = oAuthAsyncClient;
         this.accessTokenRefresherDelegate = accessTokenRefresherDelegate;
         this.activeCredentials = activeCredentials;
         this.inactiveCredentials = inactiveCredentials;
+        this.latestCredentials = new AtomicReference<>(activeCredentials);
     }
 
-    public synchronized boolean isAccessTokenRefreshing() {
+    /**
+     * Lock free, like {@link #willAccessTokenExpireSoon()} and {@link #getAccessTokenRefreshTask()},
+     * so it can be checked on every request.
+     */
+    public boolean isAccessTokenRefreshing() {
         return accessTokenRefreshTask != null || tokenRefreshSuspended;
     }
 
+    /**
+     * Returns the refresh in flight, or null when there is none.
+     */
+    public Task<Credentials> getAccessTokenRefreshTask() {
+        return accessTokenRefreshTask;
+    }
+
     public synchronized Task<Credentials> refreshAccessToken() {
         return this.refreshAccessToken(GrantType.REFRESH_TOKEN, null, null);
     }
@@ -50,6 +107,13 @@ public class AccessTokenRefresher {
         if (accessTokenRefreshTask != null) {
             return accessTokenRefreshTask;
         }
+        if (proactiveRefreshTask != null) {
+            return this.awaitProactiveRefresh(grantType, scopes, code);
+        }
+        if (refreshAttempt >= refreshBackoffPolicy.getMaxAttempts() && lastRefreshError != null) {
+            metrics.onAttemptsExhausted();
+            return Task.forError(lastRefreshError);
+        }
 
         final TaskCompletionSource<Credentials> taskCompletionSource = new TaskCompletionSource<Credentials>();
         final Task<Credentials> accessTokenRefreshTask = taskCompletionSource.getTask();
@@ -62,17 +126,7 @@ public class AccessTokenRefresher {
                 if (activeCredentials != null && activeCredentials.getRefreshToken() != null) {
                     this.oAuthAsyncClient
                         .refreshToken(this.activeCredentials.getRefreshToken(), grantType, scopes, code)
-                        .continueWith((Continuation<Credentials, Void>) task -> {
-                            synchronized (AccessTokenRefresher.this) {
-                                AccessTokenRefresher.this.accessTokenRefreshTask = null;
-                                if (!task.isFaulted()) {
-                                    handleSuccessfulTokenRefresh(taskCompletionSource, task);
-                                } else {
-                                    handleRefreshTokenError(taskCompletionSource, task);
-                                }
-                            }
-                            return null;
-                        });
+                        .continueWith(task -> completeRefresh(taskCompletionSource, task));
                 } else {
                     taskCompletionSource.setError(new WalletApiException("Unknown"));
                 }
@@ -82,45 +136,25 @@ public class AccessTokenRefresher {
                 if (inactiveCredentials != null && inactiveCredentials.getAccessToken() != null) {
                     this.oAuthAsyncClient
                         .activate(inactiveCredentials.getAccessToken())
-                        .continueWith((Continuation<Credentials, Void>) task -> {
-                            synchronized (AccessTokenRefresher.this) {
-                                AccessTokenRefresher.this.accessTokenRefreshTask = null;
-                                if (!task.isFaulted()) {
-                                    handleSuccessfulTokenRefresh(taskCompletionSource, task);
-                                } else {
-                                    handleRefreshTokenError(taskCompletionSource, task);
-                                }
-                            }
-                            return null;
-                        });
+                        .continueWith(task -> completeRefresh(taskCompletionSource, task));
                 } else if (activeCredentials != null && activeCredentials.getRefreshToken() != null) {
                     this.oAuthAsyncClient
                         .refreshToken(this.activeCredentials.getRefreshToken(), grantType, scopes, code)
                         .continueWithTask(new Continuation<Credentials, Task<Credentials>>() {
                             @Override
                             public Task<Credentials> then(Task<Credentials> task) throws Exception {
+                                if (task.isFaulted()) {
+                                    return task;
+                                }
+                                String accessToken;
                                 synchronized (AccessTokenRefresher.this) {
-                                    if (!task.isFaulted()) {
-                                        Credentials renewedCredentials = task.getResult();
-                                        updateInactiveCredentials(renewedCredentials);
-                                        return AccessTokenRefresher.this.oAuthAsyncClient.activate(inactiveCredentials.getAccessToken());
-                                    } else {
-                                        handleRefreshTokenError(taskCompletionSource, task);
-                                    }
+                                    updateInactiveCredentials(task.getResult());
+                                    accessToken = inactiveCredentials.getAccessToken();
                                 }
-                                return null;
-                            }
-                        }).continueWith((Continuation<Credentials, Void>) task -> {
-                        synchronized (AccessTokenRefresher.this) {
-                            AccessTokenRefresher.this.accessTokenRefreshTask = null;
-                            if (!task.isFaulted()) {
-                                handleSuccessfulTokenRefresh(taskCompletionSource, task);
-                            } else {
-                                handleRefreshTokenError(taskCompletionSource, task);
+                                return AccessTokenRefresher.this.oAuthAsyncClient.activate(accessToken);
                             }
-                        }
-                        return null;
-                    });
+                        })
+                        .continueWith(task -> completeRefresh(taskCompletionSource, task));
                 } else {
                     taskCompletionSource.setError(new WalletApiException("Unknown"));
                 }
@@ -131,43 +165,127 @@ public class AccessTokenRefresher {
         return accessTokenRefreshTask;
     }
 
+    /**
+     * Refreshes the access token in the background before it expires, at marginMillis
+     * before {@link Credentials#getValidUntil()} less a random part of up to jitter times
+     * the margin. Requests keep being signed with the current token until the new one
+     * arrives, they are not queued behind a proactive refresh. A failed proactive refresh
+     * is left to the regular refresh on expiry.
+     */
+    public synchronized void enableProactiveRefresh(long margin, TimeUnit timeUnit) {
+        this.enableProactiveRefresh(scheduler, margin, timeUnit, DEFAULT_PROACTIVE_REFRESH_JITTER);
+    }
+
+    public synchronized void enableProactiveRefresh(
+        ScheduledExecutorService scheduler,
+        long margin,
+        TimeUnit timeUnit
+    ) {
+        this.enableProactiveRefresh(scheduler, margin, timeUnit, DEFAULT_PROACTIVE_REFRESH_JITTER);
+    }
+
+    public synchronized void enableProactiveRefresh(
+        ScheduledExecutorService scheduler,
+        long margin,
+        TimeUnit timeUnit,
+        double jitter
+    ) {
+        if (margin < 0 || jitter < 0 || jitter > 1) {
+            throw new IllegalArgumentException("margin must not be negative and jitter must be within [0, 1]");
+        }
+        this.proactiveRefreshScheduler = scheduler;
+        this.proactiveRefreshMarginMillis = timeUnit.toMillis(margin);
+        this.proactiveRefreshJitter = jitter;
+        this.scheduleProactiveRefresh();
+    }
+
+    public synchronized void disableProactiveRefresh() {
+        if (proactiveRefreshFuture != null) {
+            proactiveRefreshFuture.cancel(false);
+            proactiveRefreshFuture = null;
+        }
+        proactiveRefreshScheduler = null;
+    }
+
     public boolean hasAccessTokenBeenRecentlyRefreshed() {
         return accessTokenRefreshedAt != null
             && accessTokenRefreshedAt.after(new Date(System.currentTimeMillis() - 20000));
     }
 
     public boolean willAccessTokenExpireSoon() {
-        return activeCredentials.getValidUntil().before(new Date(System.currentTimeMillis() - 30000));
+        Date validUntil = latestCredentials.get().getValidUntil();
+        return validUntil != null && validUntil.before(new Date(System.currentTimeMillis() - 30000));
     }
 
-    public void resetAttemptsCount() {
+    public synchronized void resetAttemptsCount() {
         refreshAttempt = 0;
+        lastRefreshError = null;
     }
 
-    private void handleSuccessfulTokenRefresh(TaskCompletionSource<Credentials> taskCompletionSource, Task<Credentials> task) {
+    public AccessTokenRefresherMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Time source for the suspension metrics, System.nanoTime() by default.
+     */
+    public synchronized void setNanoClock(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Updates the refresher state under its lock, then completes the refresh task outside of
+     * it. Bolts runs continuations inline, so the callers resuming on that task never run
+     * while the lock is held.
+     */
+    private Void completeRefresh(TaskCompletionSource<Credentials> taskCompletionSource, Task<Credentials> task) {
+        synchronized (this) {
+            accessTokenRefreshTask = null;
+            if (!task.isFaulted()) {
+                handleSuccessfulTokenRefresh(task);
+            } else {
+                handleRefreshTokenError(task);
+            }
+        }
+        if (!task.isFaulted()) {
+            taskCompletionSource.setResult(task.getResult());
+        } else {
+            taskCompletionSource.setError(task.getError());
+        }
+        return null;
+    }
+
+    private void handleSuccessfulTokenRefresh(Task<Credentials> task) {
         Credentials renewedCredentials = task.getResult();
         accessTokenRefreshedAt = new Date();
         updateActiveCredentials(renewedCredentials);
         tokenRefreshSuspended = false;
-        taskCompletionSource.setResult(task.getResult());
+        refreshAttempt = 0;
+        lastRefreshError = null;
+        scheduleProactiveRefresh();
     }
 
-    private void handleRefreshTokenError(TaskCompletionSource<Credentials> taskCompletionSource, Task<Credentials> task) {
+    private void handleRefreshTokenError(Task<Credentials> task) {
         WalletApiException walletApiException = (WalletApiException) task.getError();
         if (walletApiException.isRefreshTokenExpiredError()) {
             accessTokenRefresherDelegate.onRefreshTokenInvalid();
             tokenRefreshSuspended = false;
         } else if (walletApiException.getStatusCode() != null && walletApiException.getStatusCode() >= 400 && walletApiException.getStatusCode() < 500) {
             updateInactiveCredentials(null);
+            lastRefreshError = walletApiException;
             scheduleRefreshUnblock();
         } else if (walletApiException.getStatusCode() != null && walletApiException.getStatusCode() >= 500 && walletApiException.getStatusCode() < 600) {
+            lastRefreshError = walletApiException;
+            scheduleRefreshUnblock();
+        } else if (walletApiException.getStatusCode() == null) {
+            lastRefreshError = walletApiException;
             scheduleRefreshUnblock();
         }
-        taskCompletionSource.setError(task.getError());
     }
 
     private void updateActiveCredentials(Credentials newCredentials) {
         activeCredentials.update(newCredentials);
+        latestCredentials.set(newCredentials);
         accessTokenRefresherDelegate.activeCredentialsDidUpdate(newCredentials);
         updateInactiveCredentials(null);
     }
@@ -178,23 +296,96 @@ public class AccessTokenRefresher {
     }
 
     private void scheduleRefreshUnblock() {
-        if (refreshAttempt + 1 <= 4) {
-            refreshAttempt += 1;
+        refreshAttempt += 1;
+        long delay = refreshBackoffPolicy.getDelayMillis(refreshAttempt);
+
+        if (refreshUnblockFuture == null) {
+            refreshSuspendedAt = nanoClock.getAsLong();
+            metrics.onSuspended();
+        } else {
+            refreshUnblockFuture.cancel(false);
         }
+        refreshUnblockFuture = scheduler.schedule(this::unblockRefresh, delay, TimeUnit.MILLISECONDS);
+    }
 
-        Random random = new Random();
+    private synchronized void unblockRefresh() {
+        refreshUnblockFuture = null;
+        tokenRefreshSuspended = false;
+        metrics.onUnsuspended(TimeUnit.NANOSECONDS.toMillis(nanoClock.getAsLong() - refreshSuspendedAt));
+    }
 
-        double baseDelay = Math.pow(refreshAttempt, 3);
-        double randomDelay = baseDelay / 2 * random.nextDouble();
-        double finalDelay = baseDelay + randomDelay;
-        long milliseconds = Math.round(finalDelay * 1000);
+    private void scheduleProactiveRefresh() {
+        if (proactiveRefreshFuture != null) {
+            proactiveRefreshFuture.cancel(false);
+            proactiveRefreshFuture = null;
+        }
+        if (proactiveRefreshScheduler == null || activeCredentials == null || activeCredentials.getValidUntil() == null) {
+            return;
+        }
 
-        ScheduledExecutorService service = Executors.newSingleThreadScheduledExecutor();
-        service.schedule(() -> {
-                tokenRefreshSuspended = false;
-            },
-            milliseconds,
+        long jitterMillis = Math.round(proactiveRefreshMarginMillis * proactiveRefreshJitter * ThreadLocalRandom.current().nextDouble());
+        long delay = activeCredentials.getValidUntil().getTime()
+            - System.currentTimeMillis()
+            - proactiveRefreshMarginMillis
+            - jitterMillis;
+        proactiveRefreshFuture = proactiveRefreshScheduler.schedule(
+            this::refreshProactively,
+            Math.max(0, delay),
             TimeUnit.MILLISECONDS
         );
     }
-}
\ No newline at end of file
+
+    private synchronized void refreshProactively() {
+        proactiveRefreshFuture = null;
+        if (
+            accessTokenRefreshTask != null
+                || tokenRefreshSuspended
+                || proactiveRefreshTask != null
+                || activeCredentials == null
+                || activeCredentials.getRefreshToken() == null
+        ) {
+            return;
+        }
+
+        Task<Credentials> proactiveRefreshTask = this.oAuthAsyncClient
+            .refreshToken(activeCredentials.getRefreshToken(), GrantType.REFRESH_TOKEN, null, null)
+            .continueWithTask(task -> {
+                synchronized (AccessTokenRefresher.this) {
+                    AccessTokenRefresher.this.proactiveRefreshTask = null;
+                    if (!task.isFaulted()) {
+                        accessTokenRefreshedAt = new Date();
+                        updateActiveCredentials(task.getResult());
+                        scheduleProactiveRefresh();
+                    }
+                }
+                return task;
+            });
+        // the OAuth client completes synchronously when it rejects the call without sending it
+        if (!proactiveRefreshTask.isCompleted()) {
+            this.proactiveRefreshTask = proactiveRefreshTask;
+        }
+    }
+
+    /**
+     * Refreshing again while the proactive refresh is in flight would spend its refresh
+     * token twice, so a plain refresh takes over the proactive result and any other refresh
+     * starts once it has completed.
+     */
+    private Task<Credentials> awaitProactiveRefresh(GrantType grantType, final List<String> scopes, final String code) {
+        tokenRefreshSuspended = true;
+        Task<Credentials> accessTokenRefreshTask = proactiveRefreshTask.continueWithTask(task -> {
+            synchronized (AccessTokenRefresher.this) {
+                AccessTokenRefresher.this.accessTokenRefreshTask = null;
+                tokenRefreshSuspended = false;
+            }
+            if (grantType == GrantType.REFRESH_TOKEN && !task.isFaulted()) {
+                return task;
+            }
+            return refreshAccessToken(grantType, scopes, code);
+        });
+        if (!accessTokenRefreshTask.isCompleted()) {
+            this.accessTokenRefreshTask = accessTokenRefreshTask;
+        }
+        return accessTokenRefreshTask;
+    }
+}
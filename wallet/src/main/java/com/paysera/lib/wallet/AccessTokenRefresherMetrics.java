@@ -0,0 +1,58 @@
+package com.paysera.lib.wallet;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for refresh suspensions after failed refreshes. One instance can be shared by
+ * many refreshers to get totals across users.
+ */
+public class AccessTokenRefresherMetrics {
+    private final LongAdder suspensions = new LongAdder();
+    private final LongAdder suspendedMillis = new LongAdder();
+    private final AtomicLong maxSuspendedMillis = new AtomicLong();
+    private final AtomicInteger currentlySuspended = new AtomicInteger();
+    private final LongAdder exhaustedRefreshes = new LongAdder();
+
+    void onSuspended() {
+        suspensions.increment();
+        currentlySuspended.incrementAndGet();
+    }
+
+    void onUnsuspended(long durationMillis) {
+        currentlySuspended.decrementAndGet();
+        suspendedMillis.add(durationMillis);
+        maxSuspendedMillis.accumulateAndGet(durationMillis, Math::max);
+    }
+
+    void onAttemptsExhausted() {
+        exhaustedRefreshes.increment();
+    }
+
+    public long getSuspensionCount() {
+        return suspensions.sum();
+    }
+
+    /**
+     * Total time refreshing stayed suspended, counting finished suspensions only.
+     */
+    public long getTotalSuspendedMillis() {
+        return suspendedMillis.sum();
+    }
+
+    public long getMaxSuspendedMillis() {
+        return maxSuspendedMillis.get();
+    }
+
+    public int getCurrentlySuspendedCount() {
+        return currentlySuspended.get();
+    }
+
+    /**
+     * Refreshes failed right away because the backoff policy ran out of attempts.
+     */
+    public long getExhaustedRefreshCount() {
+        return exhaustedRefreshes.sum();
+    }
+}
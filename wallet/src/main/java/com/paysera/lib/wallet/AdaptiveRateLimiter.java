@@ -0,0 +1,242 @@
+package com.paysera.lib.wallet;
+
+import com.paysera.lib.wallet.interfaces.RateLimiter;
+import okhttp3.Request;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket rate limiter that adapts its rate to the server, additive increase on
+ * successful responses and multiplicative decrease on rate limited ones. Requests over the
+ * rate are not rejected, they wait in the queue of their bucket and are released by the
+ * scheduler at the current rate, so a batch settles just under the server limit instead
+ * of running into it.
+ */
+public class AdaptiveRateLimiter implements RateLimiter {
+    public static final Function<Request, Object> BY_ENDPOINT = AdaptiveRateLimiter::getEndpoint;
+    public static final Function<Request, Object> BY_TAG = request -> {
+        Object tag = getTag(request);
+        return tag != null ? tag : "";
+    };
+    public static final Function<Request, Object> BY_ENDPOINT_AND_TAG = request -> {
+        Object tag = getTag(request);
+        String endpoint = getEndpoint(request);
+        return tag != null ? Arrays.asList(tag, endpoint) : endpoint;
+    };
+
+    private final ConcurrentMap<Object, Bucket> buckets = new ConcurrentHashMap<>();
+    private final RateLimiterConfiguration configuration;
+    private final RateLimiterMetrics metrics;
+    private final long decreaseIntervalNanos;
+    private final LongSupplier nanoClock;
+
+    public AdaptiveRateLimiter() {
+        this(new RateLimiterConfiguration());
+    }
+
+    public AdaptiveRateLimiter(RateLimiterConfiguration configuration) {
+        this.configuration = configuration;
+        this.metrics = configuration.getRateLimiterMetrics();
+        this.decreaseIntervalNanos = TimeUnit.MILLISECONDS.toNanos(configuration.getDecreaseIntervalMillis());
+        this.nanoClock = configuration.getNanoClock();
+    }
+
+    @Override
+    public void acquire(Request request, Runnable action) {
+        if (this.getBucket(request).tryAcquire(action)) {
+            metrics.onPermitted();
+            action.run();
+        }
+    }
+
+    @Override
+    public void onResponse(Request request, int statusCode, boolean rateLimited) {
+        Bucket bucket = buckets.get(configuration.getBucketKeyResolver().apply(request));
+        if (bucket == null) {
+            return;
+        }
+        if (rateLimited) {
+            metrics.onRateLimited(bucket.decrease());
+        } else if (statusCode < 500) {
+            bucket.increase();
+        }
+    }
+
+    /**
+     * The current rate of the bucket the request falls into, in requests per second.
+     */
+    public double getRate(Request request) {
+        Bucket bucket = buckets.get(configuration.getBucketKeyResolver().apply(request));
+        return bucket != null ? bucket.getRate() : configuration.getInitialRate();
+    }
+
+    public int getBucketCount() {
+        return buckets.size();
+    }
+
+    public RateLimiterMetrics getMetrics() {
+        return metrics;
+    }
+
+    private Bucket getBucket(Request request) {
+        Object bucketKey = configuration.getBucketKeyResolver().apply(request);
+        Bucket bucket = buckets.get(bucketKey);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= configuration.getMaxBuckets()) {
+            this.evictIdleBuckets();
+        }
+        return buckets.computeIfAbsent(bucketKey, key -> new Bucket());
+    }
+
+    /**
+     * A full bucket carries no state worth keeping, apart from a rate adapted away from the
+     * initial one.
+     */
+    private void evictIdleBuckets() {
+        long now = nanoClock.getAsLong();
+        for (Map.Entry<Object, Bucket> entry : buckets.entrySet()) {
+            if (entry.getValue().isIdle(now)) {
+                buckets.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Templated method and path, with numeric path segments replaced by {id}.
+     */
+    private static String getEndpoint(Request request) {
+        StringBuilder endpoint = new StringBuilder(request.method()).append(' ');
+        List<String> pathSegments = request.url().pathSegments();
+        for (String pathSegment : pathSegments) {
+            endpoint.append('/');
+            if (!pathSegment.isEmpty() && pathSegment.chars().allMatch(Character::isDigit)) {
+                endpoint.append("{id}");
+            } else {
+                endpoint.append(pathSegment);
+            }
+        }
+        return endpoint.toString();
+    }
+
+    /**
+     * Untagged requests are tagged with themselves, or with the original request once
+     * rebuilt by an interceptor.
+     */
+    private static Object getTag(Request request) {
+        Object tag = request.tag();
+        return tag instanceof Request ? null : tag;
+    }
+
+    private class Bucket {
+        private final Queue<QueuedAction> queuedActions = new ArrayDeque<>();
+        private double rate = configuration.getInitialRate();
+        private double tokens = configuration.getBurst();
+        private long refilledAt = nanoClock.getAsLong();
+        private long decreasedAt = refilledAt - decreaseIntervalNanos;
+        private ScheduledFuture<?> releaseFuture;
+
+        /**
+         * Returns true when a token was taken for the action, otherwise the action is queued
+         * and run by the scheduler once a token is available.
+         */
+        synchronized boolean tryAcquire(Runnable action) {
+            long now = nanoClock.getAsLong();
+            this.refill(now);
+            if (queuedActions.isEmpty() && tokens >= 1) {
+                tokens -= 1;
+                return true;
+            }
+            queuedActions.add(new QueuedAction(action, now));
+            metrics.onQueued();
+            this.scheduleRelease();
+            return false;
+        }
+
+        synchronized void increase() {
+            this.refill(nanoClock.getAsLong());
+            rate = Math.min(configuration.getMaxRate(), rate + configuration.getAdditiveIncrease() / rate);
+        }
+
+        synchronized boolean decrease() {
+            long now = nanoClock.getAsLong();
+            if (now - decreasedAt < decreaseIntervalNanos) {
+                return false;
+            }
+            this.refill(now);
+            rate = Math.max(configuration.getMinRate(), rate * configuration.getMultiplicativeDecrease());
+            tokens = Math.min(tokens, 0);
+            decreasedAt = now;
+            return true;
+        }
+
+        synchronized double getRate() {
+            return rate;
+        }
+
+        synchronized boolean isIdle(long now) {
+            this.refill(now);
+            return queuedActions.isEmpty() && tokens >= configuration.getBurst();
+        }
+
+        private void release() {
+            List<QueuedAction> releasedActions = new ArrayList<>();
+            synchronized (this) {
+                releaseFuture = null;
+                this.refill(nanoClock.getAsLong());
+                while (tokens >= 1 && !queuedActions.isEmpty()) {
+                    tokens -= 1;
+                    releasedActions.add(queuedActions.poll());
+                }
+                if (!queuedActions.isEmpty()) {
+                    this.scheduleRelease();
+                }
+            }
+
+            long now = nanoClock.getAsLong();
+            for (QueuedAction queuedAction : releasedActions) {
+                metrics.onDequeued(TimeUnit.NANOSECONDS.toMillis(now - queuedAction.queuedAt));
+                queuedAction.action.run();
+            }
+        }
+
+        private void scheduleRelease() {
+            if (releaseFuture != null) {
+                return;
+            }
+            long delayNanos = (long) Math.ceil((1 - tokens) / rate * 1e9);
+            releaseFuture = configuration.getScheduler().schedule(
+                this::release,
+                Math.max(0, delayNanos),
+                TimeUnit.NANOSECONDS
+            );
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(configuration.getBurst(), tokens + (now - refilledAt) / 1e9 * rate);
+            refilledAt = now;
+        }
+    }
+
+    private static class QueuedAction {
+        private final Runnable action;
+        private final long queuedAt;
+
+        QueuedAction(Runnable action, long queuedAt) {
+            this.action = action;
+            this.queuedAt = queuedAt;
+        }
+    }
+}
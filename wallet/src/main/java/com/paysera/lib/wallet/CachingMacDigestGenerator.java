@@ -0,0 +1,96 @@
+package com.paysera.lib.wallet;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps initialised HmacSHA256 instances per thread for the most recently used keys,
+ * so provider lookup and key setup are paid once per key and thread instead of per call.
+ */
+public class CachingMacDigestGenerator implements MacDigestGeneratorInterface {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int DEFAULT_MAX_KEYS_PER_THREAD = 16;
+
+    private final ThreadLocal<MacCache> macCache;
+
+    public CachingMacDigestGenerator() {
+        this(DEFAULT_MAX_KEYS_PER_THREAD);
+    }
+
+    public CachingMacDigestGenerator(int maxKeysPerThread) {
+        if (maxKeysPerThread < 1) {
+            throw new IllegalArgumentException("maxKeysPerThread must be positive");
+        }
+        this.macCache = ThreadLocal.withInitial(() -> new MacCache(maxKeysPerThread));
+    }
+
+    @Override
+    public byte[] generate(byte[] key, byte[] data) throws NoSuchAlgorithmException, InvalidKeyException {
+        return macCache.get().getMac(key).doFinal(data);
+    }
+
+    @Override
+    public byte[] generate(byte[] key, byte[] data, int offset, int length) throws NoSuchAlgorithmException, InvalidKeyException {
+        Mac mac = macCache.get().getMac(key);
+        mac.update(data, offset, length);
+        return mac.doFinal();
+    }
+
+    private static class MacCache extends LinkedHashMap<MacKey, Mac> {
+        private final int maxKeys;
+        private byte[] lastKey;
+        private Mac lastMac;
+
+        MacCache(int maxKeys) {
+            super(16, 0.75f, true);
+            this.maxKeys = maxKeys;
+        }
+
+        Mac getMac(byte[] key) throws NoSuchAlgorithmException, InvalidKeyException {
+            if (lastMac != null && Arrays.equals(lastKey, key)) {
+                return lastMac;
+            }
+
+            MacKey macKey = new MacKey(key.clone());
+            Mac mac = this.get(macKey);
+            if (mac == null) {
+                mac = Mac.getInstance(ALGORITHM);
+                mac.init(new SecretKeySpec(macKey.key, ALGORITHM));
+                this.put(macKey, mac);
+            }
+            lastKey = macKey.key;
+            lastMac = mac;
+            return mac;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<MacKey, Mac> eldest) {
+            return size() > maxKeys;
+        }
+    }
+
+    private static class MacKey {
+        private final byte[] key;
+        private final int hashCode;
+
+        MacKey(byte[] key) {
+            this.key = key;
+            this.hashCode = Arrays.hashCode(key);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            return object instanceof MacKey && Arrays.equals(key, ((MacKey) object).key);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
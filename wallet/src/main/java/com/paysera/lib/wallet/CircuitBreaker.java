@@ -0,0 +1,228 @@
+package com.paysera.lib.wallet;
+
+import com.paysera.lib.wallet.enums.CircuitState;
+import com.paysera.lib.wallet.enums.EndpointGroup;
+import com.paysera.lib.wallet.exceptions.WalletApiException;
+import com.paysera.lib.wallet.interfaces.CircuitBreakerListener;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Circuit breaker and bulkhead of one endpoint group, see {@link CircuitBreakerConfiguration}.
+ */
+public class CircuitBreaker {
+    private final EndpointGroup endpointGroup;
+    private final CircuitBreakerConfiguration configuration;
+    private final List<CircuitBreakerListener> listeners;
+    private final CircuitBreakerMetrics metrics = new CircuitBreakerMetrics();
+    private final Semaphore bulkhead;
+    private final boolean[] failures;
+    private int outcomeIndex;
+    private int outcomeCount;
+    private int failureCount;
+    private volatile CircuitState state = CircuitState.CLOSED;
+    private long openedAt;
+    private int remainingProbes;
+    private int successfulProbes;
+
+    CircuitBreaker(
+        EndpointGroup endpointGroup,
+        CircuitBreakerConfiguration configuration,
+        List<CircuitBreakerListener> listeners
+    ) {
+        this.endpointGroup = endpointGroup;
+        this.configuration = configuration;
+        this.listeners = listeners;
+        this.bulkhead = new Semaphore(configuration.getMaxConcurrentRequests());
+        this.failures = new boolean[configuration.getSlidingWindowSize()];
+    }
+
+    /**
+     * Returns a permit that must be completed with exactly one of its methods once the
+     * request has finished.
+     */
+    public Permit acquire() throws WalletApiException {
+        if (!bulkhead.tryAcquire()) {
+            metrics.onBulkheadRejection();
+            throw new WalletApiException(
+                WalletApiException.ERROR_DESCRIPTION_BULKHEAD_FULL,
+                WalletApiException.ERROR_CODE_BULKHEAD_FULL,
+                null
+            );
+        }
+
+        CircuitState fromState;
+        CircuitState toState;
+        boolean probe;
+        synchronized (this) {
+            fromState = state;
+            if (state == CircuitState.OPEN && this.hasOpenDurationElapsed()) {
+                state = CircuitState.HALF_OPEN;
+                remainingProbes = configuration.getHalfOpenProbes();
+                successfulProbes = 0;
+            }
+            probe = state == CircuitState.HALF_OPEN && remainingProbes > 0;
+            if (probe) {
+                remainingProbes--;
+            }
+            toState = state;
+        }
+        this.notifyListeners(fromState, toState);
+
+        if (toState != CircuitState.CLOSED && !probe) {
+            bulkhead.release();
+            metrics.onCircuitOpenRejection();
+            throw new WalletApiException(
+                WalletApiException.ERROR_DESCRIPTION_CIRCUIT_OPEN,
+                WalletApiException.ERROR_CODE_CIRCUIT_OPEN,
+                null
+            );
+        }
+        return new Permit(probe);
+    }
+
+    public EndpointGroup getEndpointGroup() {
+        return endpointGroup;
+    }
+
+    public CircuitState getState() {
+        return state;
+    }
+
+    public int getConcurrentRequestsCount() {
+        return configuration.getMaxConcurrentRequests() - bulkhead.availablePermits();
+    }
+
+    public CircuitBreakerMetrics getMetrics() {
+        return metrics;
+    }
+
+    private boolean hasOpenDurationElapsed() {
+        return configuration.getNanoClock().getAsLong() - openedAt >= TimeUnit.MILLISECONDS.toNanos(configuration.getOpenDurationMillis());
+    }
+
+    private void onSuccess(boolean probe) {
+        metrics.onSuccess();
+        CircuitState fromState;
+        CircuitState toState;
+        synchronized (this) {
+            fromState = state;
+            if (probe && state == CircuitState.HALF_OPEN) {
+                successfulProbes++;
+                if (successfulProbes >= configuration.getHalfOpenProbes()) {
+                    state = CircuitState.CLOSED;
+                    this.resetOutcomes();
+                }
+            } else if (!probe && state == CircuitState.CLOSED) {
+                this.recordOutcome(false);
+            }
+            toState = state;
+        }
+        this.notifyListeners(fromState, toState);
+    }
+
+    private void onFailure(boolean probe) {
+        metrics.onFailure();
+        CircuitState fromState;
+        CircuitState toState;
+        synchronized (this) {
+            fromState = state;
+            if (probe && state == CircuitState.HALF_OPEN) {
+                this.open();
+            } else if (!probe && state == CircuitState.CLOSED) {
+                this.recordOutcome(true);
+                if (
+                    outcomeCount >= configuration.getMinimumRequests()
+                        && failureCount >= configuration.getFailureRateThreshold() * outcomeCount
+                ) {
+                    this.open();
+                }
+            }
+            toState = state;
+        }
+        this.notifyListeners(fromState, toState);
+    }
+
+    private synchronized void onIgnored(boolean probe) {
+        if (probe && state == CircuitState.HALF_OPEN) {
+            remainingProbes++;
+        }
+    }
+
+    private void open() {
+        state = CircuitState.OPEN;
+        openedAt = configuration.getNanoClock().getAsLong();
+        this.resetOutcomes();
+    }
+
+    private void recordOutcome(boolean failure) {
+        if (outcomeCount == failures.length) {
+            if (failures[outcomeIndex]) {
+                failureCount--;
+            }
+        } else {
+            outcomeCount++;
+        }
+        failures[outcomeIndex] = failure;
+        if (failure) {
+            failureCount++;
+        }
+        outcomeIndex = (outcomeIndex + 1) % failures.length;
+    }
+
+    private void resetOutcomes() {
+        outcomeIndex = 0;
+        outcomeCount = 0;
+        failureCount = 0;
+    }
+
+    private void notifyListeners(CircuitState fromState, CircuitState toState) {
+        if (fromState == toState) {
+            return;
+        }
+        if (toState == CircuitState.OPEN) {
+            metrics.onOpened();
+        } else if (toState == CircuitState.CLOSED) {
+            metrics.onClosed();
+        }
+        for (CircuitBreakerListener listener : listeners) {
+            listener.onStateTransition(endpointGroup, fromState, toState);
+        }
+    }
+
+    public class Permit {
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private final boolean probe;
+
+        Permit(boolean probe) {
+            this.probe = probe;
+        }
+
+        public void onSuccess() {
+            if (completed.compareAndSet(false, true)) {
+                bulkhead.release();
+                CircuitBreaker.this.onSuccess(probe);
+            }
+        }
+
+        public void onFailure() {
+            if (completed.compareAndSet(false, true)) {
+                bulkhead.release();
+                CircuitBreaker.this.onFailure(probe);
+            }
+        }
+
+        /**
+         * For requests that tell nothing about the health of the server, like cancelled ones.
+         */
+        public void onIgnored() {
+            if (completed.compareAndSet(false, true)) {
+                bulkhead.release();
+                CircuitBreaker.this.onIgnored(probe);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.paysera.lib.wallet;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * The circuit opens once failureRateThreshold of the last slidingWindowSize requests have
+ * failed, counting only after minimumRequests. It stays open for openDuration, then lets
+ * halfOpenProbes requests through and closes when all of them succeed. maxConcurrentRequests
+ * bounds the requests in flight per endpoint group, not counting those still waiting for a
+ * rate limiter permit.
+ */
+public class CircuitBreakerConfiguration {
+    private double failureRateThreshold = 0.5;
+    private int slidingWindowSize = 50;
+    private int minimumRequests = 20;
+    private long openDurationMillis = TimeUnit.SECONDS.toMillis(30);
+    private int halfOpenProbes = 3;
+    private int maxConcurrentRequests = 64;
+    private LongSupplier nanoClock = System::nanoTime;
+
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public void setFailureRateThreshold(double failureRateThreshold) {
+        if (failureRateThreshold <= 0 || failureRateThreshold > 1) {
+            throw new IllegalArgumentException("failureRateThreshold must be within (0, 1]");
+        }
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    public int getSlidingWindowSize() {
+        return slidingWindowSize;
+    }
+
+    public void setSlidingWindowSize(int slidingWindowSize) {
+        if (slidingWindowSize < 1) {
+            throw new IllegalArgumentException("slidingWindowSize must be positive");
+        }
+        this.slidingWindowSize = slidingWindowSize;
+    }
+
+    public int getMinimumRequests() {
+        return minimumRequests;
+    }
+
+    public void setMinimumRequests(int minimumRequests) {
+        this.minimumRequests = minimumRequests;
+    }
+
+    public long getOpenDurationMillis() {
+        return openDurationMillis;
+    }
+
+    public void setOpenDuration(long openDuration, TimeUnit timeUnit) {
+        this.openDurationMillis = timeUnit.toMillis(openDuration);
+    }
+
+    public int getHalfOpenProbes() {
+        return halfOpenProbes;
+    }
+
+    public void setHalfOpenProbes(int halfOpenProbes) {
+        if (halfOpenProbes < 1) {
+            throw new IllegalArgumentException("halfOpenProbes must be positive");
+        }
+        this.halfOpenProbes = halfOpenProbes;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("maxConcurrentRequests must be positive");
+        }
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    public LongSupplier getNanoClock() {
+        return nanoClock;
+    }
+
+    /**
+     * Time source for the open duration, System.nanoTime() by default.
+     */
+    public void setNanoClock(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+}
@@ -0,0 +1,66 @@
+package com.paysera.lib.wallet;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the circuit breaker of one endpoint group.
+ */
+public class CircuitBreakerMetrics {
+    private final LongAdder successfulRequests = new LongAdder();
+    private final LongAdder failedRequests = new LongAdder();
+    private final LongAdder circuitOpenRejections = new LongAdder();
+    private final LongAdder bulkheadRejections = new LongAdder();
+    private final LongAdder openings = new LongAdder();
+    private final LongAdder closings = new LongAdder();
+
+    void onSuccess() {
+        successfulRequests.increment();
+    }
+
+    void onFailure() {
+        failedRequests.increment();
+    }
+
+    void onCircuitOpenRejection() {
+        circuitOpenRejections.increment();
+    }
+
+    void onBulkheadRejection() {
+        bulkheadRejections.increment();
+    }
+
+    void onOpened() {
+        openings.increment();
+    }
+
+    void onClosed() {
+        closings.increment();
+    }
+
+    public long getSuccessfulRequestCount() {
+        return successfulRequests.sum();
+    }
+
+    /**
+     * Requests failing with an I/O error or a 5xx response.
+     */
+    public long getFailedRequestCount() {
+        return failedRequests.sum();
+    }
+
+    public long getCircuitOpenRejectionCount() {
+        return circuitOpenRejections.sum();
+    }
+
+    public long getBulkheadRejectionCount() {
+        return bulkheadRejections.sum();
+    }
+
+    public long getOpeningCount() {
+        return openings.sum();
+    }
+
+    public long getClosingCount() {
+        return closings.sum();
+    }
+}
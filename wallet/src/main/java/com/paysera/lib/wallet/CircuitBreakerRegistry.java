@@ -0,0 +1,87 @@
+package com.paysera.lib.wallet;
+
+import com.paysera.lib.wallet.enums.EndpointGroup;
+import com.paysera.lib.wallet.interfaces.CircuitBreakerListener;
+import okhttp3.Request;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * One circuit breaker and bulkhead per endpoint group, so a degraded group fails fast
+ * without holding back the others. Share one registry between the clients talking to the
+ * same server, the OAuth client included.
+ */
+public class CircuitBreakerRegistry {
+    private final List<CircuitBreakerListener> listeners = new CopyOnWriteArrayList<>();
+    private final Map<EndpointGroup, CircuitBreaker> circuitBreakers = new EnumMap<>(EndpointGroup.class);
+
+    public CircuitBreakerRegistry() {
+        this(new CircuitBreakerConfiguration());
+    }
+
+    public CircuitBreakerRegistry(CircuitBreakerConfiguration configuration) {
+        this(configuration, Collections.emptyMap());
+    }
+
+    /**
+     * Groups missing from the group configurations use the default configuration.
+     */
+    public CircuitBreakerRegistry(
+        CircuitBreakerConfiguration configuration,
+        Map<EndpointGroup, CircuitBreakerConfiguration> groupConfigurations
+    ) {
+        for (EndpointGroup endpointGroup : EndpointGroup.values()) {
+            circuitBreakers.put(
+                endpointGroup,
+                new CircuitBreaker(
+                    endpointGroup,
+                    groupConfigurations.getOrDefault(endpointGroup, configuration),
+                    listeners
+                )
+            );
+        }
+    }
+
+    public void addListener(CircuitBreakerListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(CircuitBreakerListener listener) {
+        listeners.remove(listener);
+    }
+
+    public CircuitBreaker getCircuitBreaker(EndpointGroup endpointGroup) {
+        return circuitBreakers.get(endpointGroup);
+    }
+
+    public CircuitBreaker getCircuitBreaker(Request request) {
+        return circuitBreakers.get(getEndpointGroup(request));
+    }
+
+    public static EndpointGroup getEndpointGroup(Request request) {
+        List<String> pathSegments = request.url().pathSegments();
+        if (!pathSegments.isEmpty() && pathSegments.get(0).endsWith("oauth")) {
+            return EndpointGroup.OAUTH;
+        }
+        for (String pathSegment : pathSegments) {
+            switch (pathSegment) {
+                case "transfers":
+                case "simulated-transfers":
+                    return EndpointGroup.TRANSFERS;
+                case "statements":
+                case "reservation-statements":
+                    return EndpointGroup.STATEMENTS;
+                case "identification-request":
+                case "identification-requests":
+                case "identity-document":
+                case "additional-document":
+                    return EndpointGroup.IDENTIFICATION;
+            }
+        }
+        return EndpointGroup.OTHER;
+    }
+}
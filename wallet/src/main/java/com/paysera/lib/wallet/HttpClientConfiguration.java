@@ -0,0 +1,51 @@
+package com.paysera.lib.wallet;
+
+import java.util.concurrent.TimeUnit;
+
+public class HttpClientConfiguration {
+    private int maxIdleConnections = 5;
+    private long keepAliveDurationMillis = TimeUnit.MINUTES.toMillis(5);
+    private int maxRequests = 64;
+    private int maxRequestsPerHost = 5;
+    private boolean http2Enabled = true;
+
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    public void setMaxIdleConnections(int maxIdleConnections) {
+        this.maxIdleConnections = maxIdleConnections;
+    }
+
+    public long getKeepAliveDurationMillis() {
+        return keepAliveDurationMillis;
+    }
+
+    public void setKeepAliveDuration(long keepAliveDuration, TimeUnit timeUnit) {
+        this.keepAliveDurationMillis = timeUnit.toMillis(keepAliveDuration);
+    }
+
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    public void setMaxRequests(int maxRequests) {
+        this.maxRequests = maxRequests;
+    }
+
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    public void setMaxRequestsPerHost(int maxRequestsPerHost) {
+        this.maxRequestsPerHost = maxRequestsPerHost;
+    }
+
+    public boolean isHttp2Enabled() {
+        return http2Enabled;
+    }
+
+    public void setHttp2Enabled(boolean http2Enabled) {
+        this.http2Enabled = http2Enabled;
+    }
+}
@@ -2,7 +2,12 @@ package com.paysera.lib.wallet;
 
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 
 public interface MacDigestGeneratorInterface {
     byte[] generate(byte[] key, byte[] data) throws NoSuchAlgorithmException, InvalidKeyException;
+
+    default byte[] generate(byte[] key, byte[] data, int offset, int length) throws NoSuchAlgorithmException, InvalidKeyException {
+        return this.generate(key, Arrays.copyOfRange(data, offset, offset + length));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.paysera.lib.wallet;
+
+import com.paysera.lib.wallet.helpers.Base64Helper;
+
+import java.io.Closeable;
+import java.security.SecureRandom;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Hands out nonces pre-generated in bulk into a ring buffer. Each slot is taken with an
+ * atomic swap, so a nonce is never returned twice; an empty slot falls back to generating
+ * inline. The buffer is refilled in the background every time half of it is consumed.
+ * Nonces have the same format as {@link NonceGenerator}: Base64 of 32 random bytes.
+ */
+public class PooledNonceGenerator implements NonceGeneratorInterface, Closeable {
+    private static final int NONCE_BYTES = 256 / 8;
+    private static final int DEFAULT_POOL_SIZE = 1024;
+    private static final ThreadLocal<NonceBuffers> NONCE_BUFFERS = ThreadLocal.withInitial(NonceBuffers::new);
+
+    private final AtomicReferenceArray<String> pool;
+    private final int mask;
+    private final AtomicLong readIndex = new AtomicLong();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private final Executor refillExecutor;
+    private final boolean refillExecutorOwned;
+
+    public PooledNonceGenerator() {
+        this(DEFAULT_POOL_SIZE);
+    }
+
+    public PooledNonceGenerator(int poolSize) {
+        this(poolSize, createRefillExecutor(), true);
+    }
+
+    /**
+     * The executor runs the refills, its lifecycle stays with the caller.
+     */
+    public PooledNonceGenerator(int poolSize, Executor refillExecutor) {
+        this(poolSize, refillExecutor, false);
+    }
+
+    private PooledNonceGenerator(int poolSize, Executor refillExecutor, boolean refillExecutorOwned) {
+        if (poolSize < 2 || Integer.bitCount(poolSize) != 1) {
+            throw new IllegalArgumentException("poolSize must be a power of two greater than one");
+        }
+        this.pool = new AtomicReferenceArray<>(poolSize);
+        this.mask = poolSize - 1;
+        this.refillExecutor = refillExecutor;
+        this.refillExecutorOwned = refillExecutorOwned;
+        this.scheduleRefill();
+    }
+
+    @Override
+    public String generate() {
+        long index = readIndex.getAndIncrement();
+        if ((index & (mask >> 1)) == 0) {
+            this.scheduleRefill();
+        }
+
+        String nonce = pool.getAndSet((int) (index & mask), null);
+        return nonce != null ? nonce : NONCE_BUFFERS.get().generate();
+    }
+
+    @Override
+    public void close() {
+        if (refillExecutorOwned) {
+            ((ExecutorService) refillExecutor).shutdown();
+        }
+    }
+
+    private void scheduleRefill() {
+        if (!refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refillExecutor.execute(this::refill);
+        } catch (RuntimeException exception) {
+            refilling.set(false);
+        }
+    }
+
+    private void refill() {
+        try {
+            NonceBuffers nonceBuffers = NONCE_BUFFERS.get();
+            for (int i = 0; i < pool.length(); i++) {
+                if (pool.get(i) == null) {
+                    pool.compareAndSet(i, null, nonceBuffers.generate());
+                }
+            }
+        } finally {
+            refilling.set(false);
+        }
+    }
+
+    private static ExecutorService createRefillExecutor() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wallet-sdk-nonce-refill");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static class NonceBuffers {
+        private final SecureRandom secureRandom = new SecureRandom();
+        private final byte[] bytes = new byte[NONCE_BYTES];
+        private final char[] chars = new char[Base64Helper.getEncodedLength(NONCE_BYTES)];
+
+        String generate() {
+            secureRandom.nextBytes(bytes);
+            Base64Helper.encode(bytes, bytes.length, chars);
+            return new String(chars);
+        }
+    }
+}
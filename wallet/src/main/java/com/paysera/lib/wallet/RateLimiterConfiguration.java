@@ -0,0 +1,150 @@
+package com.paysera.lib.wallet;
+
+import com.paysera.lib.wallet.factories.SchedulerFactory;
+import okhttp3.Request;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Rates are in requests per second. A bucket starts at initialRate and grows by
+ * additiveIncrease per second of successful responses up to maxRate, a rate limited
+ * response multiplies it by multiplicativeDecrease, at most once per decrease interval,
+ * down to minRate.
+ */
+public class RateLimiterConfiguration {
+    private double initialRate = 10;
+    private double minRate = 0.5;
+    private double maxRate = 100;
+    private int burst = 10;
+    private double additiveIncrease = 1;
+    private double multiplicativeDecrease = 0.5;
+    private long decreaseIntervalMillis = TimeUnit.SECONDS.toMillis(1);
+    private int maxBuckets = 10000;
+    private Function<Request, Object> bucketKeyResolver = AdaptiveRateLimiter.BY_ENDPOINT_AND_TAG;
+    private ScheduledExecutorService scheduler = SchedulerFactory.getSharedScheduler();
+    private LongSupplier nanoClock = System::nanoTime;
+    private RateLimiterMetrics rateLimiterMetrics = new RateLimiterMetrics();
+
+    public double getInitialRate() {
+        return initialRate;
+    }
+
+    public void setInitialRate(double initialRate) {
+        this.initialRate = initialRate;
+    }
+
+    public double getMinRate() {
+        return minRate;
+    }
+
+    public void setMinRate(double minRate) {
+        if (minRate <= 0) {
+            throw new IllegalArgumentException("minRate must be positive");
+        }
+        this.minRate = minRate;
+    }
+
+    public double getMaxRate() {
+        return maxRate;
+    }
+
+    public void setMaxRate(double maxRate) {
+        this.maxRate = maxRate;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public void setBurst(int burst) {
+        if (burst < 1) {
+            throw new IllegalArgumentException("burst must be positive");
+        }
+        this.burst = burst;
+    }
+
+    public double getAdditiveIncrease() {
+        return additiveIncrease;
+    }
+
+    public void setAdditiveIncrease(double additiveIncrease) {
+        this.additiveIncrease = additiveIncrease;
+    }
+
+    public double getMultiplicativeDecrease() {
+        return multiplicativeDecrease;
+    }
+
+    public void setMultiplicativeDecrease(double multiplicativeDecrease) {
+        if (multiplicativeDecrease <= 0 || multiplicativeDecrease >= 1) {
+            throw new IllegalArgumentException("multiplicativeDecrease must be within (0, 1)");
+        }
+        this.multiplicativeDecrease = multiplicativeDecrease;
+    }
+
+    public long getDecreaseIntervalMillis() {
+        return decreaseIntervalMillis;
+    }
+
+    /**
+     * Rate limited responses to requests sent before the last decrease took effect do not
+     * decrease the rate again.
+     */
+    public void setDecreaseInterval(long decreaseInterval, TimeUnit timeUnit) {
+        this.decreaseIntervalMillis = timeUnit.toMillis(decreaseInterval);
+    }
+
+    public int getMaxBuckets() {
+        return maxBuckets;
+    }
+
+    public void setMaxBuckets(int maxBuckets) {
+        this.maxBuckets = maxBuckets;
+    }
+
+    public Function<Request, Object> getBucketKeyResolver() {
+        return bucketKeyResolver;
+    }
+
+    /**
+     * Requests with equal keys share a bucket, see {@link AdaptiveRateLimiter#BY_ENDPOINT},
+     * {@link AdaptiveRateLimiter#BY_TAG} and {@link AdaptiveRateLimiter#BY_ENDPOINT_AND_TAG}.
+     */
+    public void setBucketKeyResolver(Function<Request, Object> bucketKeyResolver) {
+        this.bucketKeyResolver = bucketKeyResolver;
+    }
+
+    public ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Queued requests are released, and their calls enqueued, from this scheduler.
+     */
+    public void setScheduler(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    public LongSupplier getNanoClock() {
+        return nanoClock;
+    }
+
+    /**
+     * Time source for refills and decrease intervals, System.nanoTime() by default. Set it
+     * together with the scheduler to drive the limiter from a fake clock.
+     */
+    public void setNanoClock(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    public RateLimiterMetrics getRateLimiterMetrics() {
+        return rateLimiterMetrics;
+    }
+
+    public void setRateLimiterMetrics(RateLimiterMetrics rateLimiterMetrics) {
+        this.rateLimiterMetrics = rateLimiterMetrics;
+    }
+}
@@ -0,0 +1,80 @@
+package com.paysera.lib.wallet;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of an {@link AdaptiveRateLimiter}, one instance can be shared by many limiters.
+ */
+public class RateLimiterMetrics {
+    private final LongAdder permits = new LongAdder();
+    private final LongAdder delayedPermits = new LongAdder();
+    private final LongAdder waitMillis = new LongAdder();
+    private final AtomicLong maxWaitMillis = new AtomicLong();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private final LongAdder rateLimitedResponses = new LongAdder();
+    private final LongAdder rateDecreases = new LongAdder();
+
+    void onPermitted() {
+        permits.increment();
+    }
+
+    void onQueued() {
+        maxQueueDepth.accumulateAndGet(queueDepth.incrementAndGet(), Math::max);
+    }
+
+    void onDequeued(long waitedMillis) {
+        queueDepth.decrementAndGet();
+        permits.increment();
+        delayedPermits.increment();
+        waitMillis.add(waitedMillis);
+        maxWaitMillis.accumulateAndGet(waitedMillis, Math::max);
+    }
+
+    void onRateLimited(boolean rateDecreased) {
+        rateLimitedResponses.increment();
+        if (rateDecreased) {
+            rateDecreases.increment();
+        }
+    }
+
+    public long getPermitCount() {
+        return permits.sum();
+    }
+
+    public long getDelayedPermitCount() {
+        return delayedPermits.sum();
+    }
+
+    /**
+     * Total time requests waited for a permit before being sent.
+     */
+    public long getTotalWaitMillis() {
+        return waitMillis.sum();
+    }
+
+    public long getMaxWaitMillis() {
+        return maxWaitMillis.get();
+    }
+
+    /**
+     * Requests currently waiting for a permit.
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    public long getRateLimitedResponseCount() {
+        return rateLimitedResponses.sum();
+    }
+
+    public long getRateDecreaseCount() {
+        return rateDecreases.sum();
+    }
+}
@@ -0,0 +1,56 @@
+package com.paysera.lib.wallet;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delay before refreshing is unblocked again after a failed access token refresh. The delay
+ * grows with the cube of consecutive failures in seconds, is capped at maxDelay and extended
+ * by a random part of up to jitter times itself. The defaults match the historical 1, 8, 27
+ * and 64 second steps with up to 50% jitter.
+ */
+public class RefreshBackoffPolicy {
+    private long maxDelayMillis = TimeUnit.SECONDS.toMillis(64);
+    private double jitter = 0.5;
+    private int maxAttempts = Integer.MAX_VALUE;
+
+    public long getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+
+    public void setMaxDelay(long maxDelay, TimeUnit timeUnit) {
+        this.maxDelayMillis = timeUnit.toMillis(maxDelay);
+    }
+
+    public double getJitter() {
+        return jitter;
+    }
+
+    public void setJitter(double jitter) {
+        if (jitter < 0) {
+            throw new IllegalArgumentException("jitter must not be negative");
+        }
+        this.jitter = jitter;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * After this many consecutive failures refreshes fail right away with the last error,
+     * without a request, until the attempts count is reset.
+     */
+    public void setMaxAttempts(int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be positive");
+        }
+        this.maxAttempts = maxAttempts;
+    }
+
+    public long getDelayMillis(int attempt) {
+        double baseDelay = Math.min(Math.pow(attempt, 3) * 1000, maxDelayMillis);
+        double randomDelay = baseDelay * jitter * ThreadLocalRandom.current().nextDouble();
+        return Math.round(baseDelay + randomDelay);
+    }
+}
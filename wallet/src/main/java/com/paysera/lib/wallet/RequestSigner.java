@@ -1,17 +1,29 @@
 package com.paysera.lib.wallet;
 
+import com.paysera.lib.wallet.helpers.Base64Helper;
 import com.paysera.lib.wallet.helpers.OkHTTPQueryStringConverter;
 import okhttp3.HttpUrl;
 import okhttp3.Request;
-import org.apache.commons.codec.binary.Base64;
 
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
 import java.security.InvalidKeyException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * The normalized request string, body hash and header are written into per-thread
+ * buffers. Query components are encoded the same way as HttpUrl.Builder.addQueryParameter
+ * and ext parameters keep HashMap iteration order, so signatures stay byte-for-byte the
+ * same as when they were built through OkHTTPQueryStringConverter.
+ */
 public class RequestSigner {
+    private static final ThreadLocal<SigningBuffers> SIGNING_BUFFERS = ThreadLocal.withInitial(SigningBuffers::new);
+    private static final boolean[] QUERY_COMPONENT_ENCODE_SET = createEncodeSet(" !\"#$&'(),/:;<=>?@[]\\^`{|}~%+");
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final int SHA_256_LENGTH = 32;
 
     private NonceGeneratorInterface nonceGenerator;
     private MacDigestGeneratorInterface macDigestGeneratorInterface;
@@ -34,90 +46,246 @@ public class RequestSigner {
         byte[] body,
         String timestamp,
         Map<String, String> parameters
+    ) throws NoSuchAlgorithmException, InvalidKeyException {
+        byte[] bodyHash = body != null && body.length > 0 ? SIGNING_BUFFERS.get().sha256(body) : null;
+        return this.generateSignatureForBodyHash(macId, macSecret, originalRequest, bodyHash, timestamp, parameters);
+    }
+
+    /**
+     * Same as {@link #generateSignature}, for a body already hashed by the caller.
+     * bodyHash is the SHA-256 of the body, null when the body is empty.
+     */
+    public String generateSignatureForBodyHash(
+        String macId,
+        String macSecret,
+        Request originalRequest,
+        byte[] bodyHash,
+        String timestamp,
+        Map<String, String> parameters
     ) throws NoSuchAlgorithmException, InvalidKeyException {
         String nonce = this.nonceGenerator.generate();
-        String ext = generateExt(body, parameters);
+        SigningBuffers buffers = SIGNING_BUFFERS.get();
+        StringBuilder ext = generateExt(buffers, bodyHash, parameters);
 
-        String host = originalRequest.url().host();
-        Integer port = originalRequest.url().port();
-        String method = originalRequest.method();
-        String path = originalRequest.url().encodedPath();
-        String query = originalRequest.url().encodedQuery();
+        HttpUrl url = originalRequest.url();
+        String query = url.encodedQuery();
 
+        buffers.resetMacData();
+        buffers.appendMacData(timestamp);
+        buffers.appendMacData('\n');
+        buffers.appendMacData(nonce);
+        buffers.appendMacData('\n');
+        buffers.appendMacData(originalRequest.method());
+        buffers.appendMacData('\n');
+        buffers.appendMacData(url.encodedPath());
         if (query != null && !query.isEmpty()) {
-            HttpUrl url = (new HttpUrl.Builder())
-                .scheme("https")
-                .host(host)
-                .encodedQuery(query)
-                .build();
-
-            path += "?" + url.encodedQuery();
-        }
-
-        // mac
-        String mac = calculateMAC(
-            timestamp,
-            nonce,
-            macSecret,
-            method,
-            path,
-            host,
-            port,
-            ext
-        );
+            buffers.appendMacData('?');
+            buffers.appendMacData(query);
+        }
+        buffers.appendMacData('\n');
+        buffers.appendMacData(url.host());
+        buffers.appendMacData('\n');
+        buffers.appendMacData(url.port());
+        buffers.appendMacData('\n');
+        buffers.appendMacData(ext);
+        buffers.appendMacData('\n');
 
-        String authorizationHeader = String.format(
-            "MAC id=\"%s\", ts=\"%s\", nonce=\"%s\", mac=\"%s\"",
-            macId,
-            timestamp,
-            nonce,
-            mac
+        byte[] macDigest = macDigestGeneratorInterface.generate(
+            buffers.getSecretBytes(macSecret),
+            buffers.macData,
+            0,
+            buffers.macDataLength
         );
 
-        if (ext != null) {
-            authorizationHeader += ", ext=\"" + ext + "\"";
-        }
+        StringBuilder authorizationHeader = buffers.header;
+        authorizationHeader.setLength(0);
+        authorizationHeader
+            .append("MAC id=\"").append(macId)
+            .append("\", ts=\"").append(timestamp)
+            .append("\", nonce=\"").append(nonce)
+            .append("\", mac=\"");
+        buffers.appendBase64(authorizationHeader, macDigest, macDigest.length);
+        authorizationHeader
+            .append("\", ext=\"").append(ext)
+            .append('"');
 
-        return authorizationHeader;
+        return authorizationHeader.toString();
     }
 
-    private String generateExt(byte[] content, Map<String, String> parameters) throws NoSuchAlgorithmException {
+    private StringBuilder generateExt(
+        SigningBuffers buffers,
+        byte[] bodyHash,
+        Map<String, String> parameters
+    ) {
+        StringBuilder ext = buffers.ext;
+        ext.setLength(0);
+
+        if (parameters.isEmpty()) {
+            if (bodyHash != null) {
+                ext.append("body_hash=");
+                appendQueryComponent(ext, buffers.base64(bodyHash, bodyHash.length));
+            }
+            return ext;
+        }
+
         Map<String, String> extParameters = new HashMap<>();
+        if (bodyHash != null) {
+            extParameters.put("body_hash", buffers.base64(bodyHash, bodyHash.length).toString());
+        }
+        extParameters.putAll(parameters);
 
-        if (content != null && content.length > 0) {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] contentHash = digest.digest(content);
+        if (containsSurrogates(extParameters)) {
+            return ext.append(okHTTPQueryStringConverter.convertToEncodedQueryString(extParameters));
+        }
 
-            extParameters.put("body_hash", new String(Base64.encodeBase64(contentHash)));
+        for (Map.Entry<String, String> entry : extParameters.entrySet()) {
+            if (ext.length() > 0) {
+                ext.append('&');
+            }
+            appendQueryComponent(ext, entry.getKey());
+            ext.append('=');
+            appendQueryComponent(ext, entry.getValue());
         }
+        return ext;
+    }
 
-        extParameters.putAll(parameters);
+    private static void appendQueryComponent(StringBuilder destination, CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if (character < 0x80 && !QUERY_COMPONENT_ENCODE_SET[character]) {
+                destination.append(character);
+            } else if (character < 0x80) {
+                appendPercentEncoded(destination, character);
+            } else {
+                int codePoint = Character.codePointAt(value, i);
+                i += Character.charCount(codePoint) - 1;
+                byte[] bytes = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8);
+                for (byte b : bytes) {
+                    appendPercentEncoded(destination, b & 0xff);
+                }
+            }
+        }
+    }
+
+    private static void appendPercentEncoded(StringBuilder destination, int b) {
+        destination.append('%').append(HEX_DIGITS[(b >> 4) & 0xf]).append(HEX_DIGITS[b & 0xf]);
+    }
 
-        return okHTTPQueryStringConverter.convertToEncodedQueryString(extParameters);
+    private static boolean containsSurrogates(Map<String, String> parameters) {
+        for (Map.Entry<String, String> entry : parameters.entrySet()) {
+            if (containsSurrogates(entry.getKey()) || containsSurrogates(entry.getValue())) {
+                return true;
+            }
+        }
+        return false;
     }
 
-    private String calculateMAC(String timestamp, String nonce, String secret, String httpMethod, String path, String host, Integer port, String ext) throws NoSuchAlgorithmException, InvalidKeyException {
-        final StringBuilder macStringBuilder = new StringBuilder()
-            .append(timestamp)
-            .append("\n")
-            .append(nonce)
-            .append("\n")
-            .append(httpMethod)
-            .append("\n")
-            .append(path)
-            .append("\n")
-            .append(host)
-            .append("\n")
-            .append(port)
-            .append("\n")
-            .append(ext)
-            .append("\n");
+    private static boolean containsSurrogates(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.isSurrogate(value.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        byte[] macDigest = macDigestGeneratorInterface.generate(
-            secret.getBytes(),
-            macStringBuilder.toString().getBytes()
-        );
+    private static boolean[] createEncodeSet(String characters) {
+        boolean[] encodeSet = new boolean[0x80];
+        for (int i = 0; i < 0x20; i++) {
+            encodeSet[i] = true;
+        }
+        encodeSet[0x7f] = true;
+        for (int i = 0; i < characters.length(); i++) {
+            encodeSet[characters.charAt(i)] = true;
+        }
+        return encodeSet;
+    }
+
+    private static class SigningBuffers {
+        private final StringBuilder ext = new StringBuilder();
+        private final StringBuilder header = new StringBuilder();
+        private final StringBuilder base64 = new StringBuilder();
+        private final char[] base64Chars = new char[Base64Helper.getEncodedLength(64)];
+        private final byte[] hash = new byte[SHA_256_LENGTH];
+        private MessageDigest sha256;
+        private byte[] macData = new byte[256];
+        private int macDataLength;
+        private String lastSecret;
+        private byte[] lastSecretBytes;
+
+        byte[] sha256(byte[] content) throws NoSuchAlgorithmException {
+            if (sha256 == null) {
+                sha256 = MessageDigest.getInstance("SHA-256");
+            }
+            sha256.update(content);
+            try {
+                sha256.digest(hash, 0, hash.length);
+            } catch (DigestException exception) {
+                throw new IllegalStateException(exception);
+            }
+            return hash;
+        }
+
+        StringBuilder base64(byte[] bytes, int length) {
+            base64.setLength(0);
+            this.appendBase64(base64, bytes, length);
+            return base64;
+        }
 
-        return new String(Base64.encodeBase64(macDigest));
+        void appendBase64(StringBuilder destination, byte[] bytes, int length) {
+            char[] chars = Base64Helper.getEncodedLength(length) <= base64Chars.length
+                ? base64Chars
+                : new char[Base64Helper.getEncodedLength(length)];
+            destination.append(chars, 0, Base64Helper.encode(bytes, length, chars));
+        }
+
+        byte[] getSecretBytes(String secret) {
+            if (secret != lastSecret) {
+                lastSecretBytes = secret.getBytes();
+                lastSecret = secret;
+            }
+            return lastSecretBytes;
+        }
+
+        void resetMacData() {
+            macDataLength = 0;
+        }
+
+        void appendMacData(char character) {
+            this.ensureMacDataCapacity(1);
+            macData[macDataLength++] = (byte) character;
+        }
+
+        void appendMacData(int value) {
+            this.appendMacData(Integer.toString(value));
+        }
+
+        void appendMacData(CharSequence value) {
+            if (value == null) {
+                value = "null";
+            }
+            int length = value.length();
+            this.ensureMacDataCapacity(length);
+            for (int i = 0; i < length; i++) {
+                char character = value.charAt(i);
+                if (character >= 0x80) {
+                    byte[] bytes = value.toString().getBytes();
+                    this.ensureMacDataCapacity(bytes.length);
+                    System.arraycopy(bytes, 0, macData, macDataLength, bytes.length);
+                    macDataLength += bytes.length;
+                    return;
+                }
+                macData[macDataLength + i] = (byte) character;
+            }
+            macDataLength += length;
+        }
+
+        private void ensureMacDataCapacity(int additionalLength) {
+            if (macDataLength + additionalLength > macData.length) {
+                byte[] grown = new byte[Math.max(macData.length * 2, macDataLength + additionalLength)];
+                System.arraycopy(macData, 0, grown, 0, macDataLength);
+                macData = grown;
+            }
+        }
     }
-}
\ No newline at end of file
+}
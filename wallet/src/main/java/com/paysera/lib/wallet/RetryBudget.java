@@ -0,0 +1,66 @@
+package com.paysera.lib.wallet;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps retries to a share of the requests, so retries cannot multiply the load on a server
+ * that is already failing. Every request adds retryRatio to the balance, every retry or
+ * hedged request takes one, and the balance is capped at maxBalance, which is also where
+ * it starts.
+ */
+public class RetryBudget {
+    private static final long SCALE = 1000;
+
+    private final long deposit;
+    private final long maxBalance;
+    private final AtomicLong balance;
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder rejectedRetries = new LongAdder();
+
+    public RetryBudget() {
+        this(0.2, 10);
+    }
+
+    public RetryBudget(double retryRatio, int maxBalance) {
+        if (retryRatio < 0 || maxBalance < 1) {
+            throw new IllegalArgumentException("retryRatio must not be negative and maxBalance must be positive");
+        }
+        this.deposit = Math.round(retryRatio * SCALE);
+        this.maxBalance = maxBalance * SCALE;
+        this.balance = new AtomicLong(this.maxBalance);
+    }
+
+    public void onRequest() {
+        balance.accumulateAndGet(deposit, (current, deposit) -> Math.min(maxBalance, current + deposit));
+    }
+
+    public boolean tryRetry() {
+        while (true) {
+            long current = balance.get();
+            if (current < SCALE) {
+                rejectedRetries.increment();
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                retries.increment();
+                return true;
+            }
+        }
+    }
+
+    public double getBalance() {
+        return (double) balance.get() / SCALE;
+    }
+
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    /**
+     * Retries and hedged requests skipped because the budget was spent.
+     */
+    public long getRejectedRetryCount() {
+        return rejectedRetries.sum();
+    }
+}
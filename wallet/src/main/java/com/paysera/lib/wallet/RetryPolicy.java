@@ -0,0 +1,193 @@
+package com.paysera.lib.wallet;
+
+import com.paysera.lib.wallet.factories.SchedulerFactory;
+import okhttp3.Request;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Retries requests failing with an I/O error or a retryable status code, provided the
+ * request is idempotent and the retry budget allows it. The delay doubles with every retry
+ * from baseDelay, is capped at maxDelay and extended by a random part of up to jitter times
+ * itself.
+ * <p>
+ * GET, HEAD and OPTIONS requests are idempotent, PUT and DELETE requests only for the endpoints
+ * in {@link #IDEMPOTENT_ENDPOINTS}. Any other request is idempotent only when it carries an
+ * {@link #IDEMPOTENCY_KEY_HEADER}, see {@code createTransfer(transfer, idempotencyKey)}.
+ */
+public class RetryPolicy {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    /**
+     * Method and path of the endpoints safe to send twice, {@code {id}} matches any path segment.
+     * Appending contacts, confirming or reserving a transaction, providing a transfer password
+     * and changing a password are left out on purpose.
+     */
+    public static final List<String> IDEMPOTENT_ENDPOINTS = Collections.unmodifiableList(Arrays.asList(
+        "PUT transfers/{id}/sign",
+        "PUT transfers/{id}/reserve",
+        "DELETE transfers/{id}",
+        "DELETE card/{id}",
+        "DELETE wallet/{id}/description",
+        "DELETE wallet/{id}/pending-payment/{id}",
+        "DELETE user/{id}/avatar",
+        "DELETE subscriber/{id}",
+        "DELETE subscribers",
+        "DELETE transaction/{id}",
+        "DELETE contact-book/{id}/contacts"
+    ));
+
+    private int maxRetries = 3;
+    private long baseDelayMillis = 100;
+    private long maxDelayMillis = TimeUnit.SECONDS.toMillis(5);
+    private double jitter = 0.5;
+    private Set<Integer> retryableStatusCodes = new HashSet<>(Arrays.asList(502, 503, 504));
+    private Predicate<Request> idempotencyClassifier = RetryPolicy::isIdempotent;
+    private RetryBudget retryBudget = new RetryBudget();
+    private long hedgeDelayMillis = 0;
+    private ScheduledExecutorService scheduler = SchedulerFactory.getSharedScheduler();
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("maxRetries must not be negative");
+        }
+        this.maxRetries = maxRetries;
+    }
+
+    public long getBaseDelayMillis() {
+        return baseDelayMillis;
+    }
+
+    public void setBaseDelay(long baseDelay, TimeUnit timeUnit) {
+        this.baseDelayMillis = timeUnit.toMillis(baseDelay);
+    }
+
+    public long getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+
+    public void setMaxDelay(long maxDelay, TimeUnit timeUnit) {
+        this.maxDelayMillis = timeUnit.toMillis(maxDelay);
+    }
+
+    public double getJitter() {
+        return jitter;
+    }
+
+    public void setJitter(double jitter) {
+        if (jitter < 0) {
+            throw new IllegalArgumentException("jitter must not be negative");
+        }
+        this.jitter = jitter;
+    }
+
+    public Set<Integer> getRetryableStatusCodes() {
+        return retryableStatusCodes;
+    }
+
+    public void setRetryableStatusCodes(Set<Integer> retryableStatusCodes) {
+        this.retryableStatusCodes = retryableStatusCodes;
+    }
+
+    public Predicate<Request> getIdempotencyClassifier() {
+        return idempotencyClassifier;
+    }
+
+    public void setIdempotencyClassifier(Predicate<Request> idempotencyClassifier) {
+        this.idempotencyClassifier = idempotencyClassifier;
+    }
+
+    public RetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+
+    /**
+     * One budget can be shared by several policies to cap retries across clients.
+     */
+    public void setRetryBudget(RetryBudget retryBudget) {
+        this.retryBudget = retryBudget;
+    }
+
+    public long getHedgeDelayMillis() {
+        return hedgeDelayMillis;
+    }
+
+    /**
+     * A GET request still unanswered after the hedge delay is sent once more and the first
+     * response wins, the other call is cancelled. Zero, the default, disables hedging.
+     */
+    public void setHedgeDelay(long hedgeDelay, TimeUnit timeUnit) {
+        this.hedgeDelayMillis = timeUnit.toMillis(hedgeDelay);
+    }
+
+    public ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+
+    public void setScheduler(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * The status code is null when the request failed with an I/O error.
+     */
+    public boolean shouldRetry(Request request, Integer statusCode, int attempt) {
+        return attempt < maxRetries
+            && (statusCode == null || retryableStatusCodes.contains(statusCode))
+            && idempotencyClassifier.test(request)
+            && retryBudget.tryRetry();
+    }
+
+    public long getDelayMillis(int retry) {
+        double baseDelay = Math.min(baseDelayMillis * Math.pow(2, retry - 1), maxDelayMillis);
+        double randomDelay = baseDelay * jitter * ThreadLocalRandom.current().nextDouble();
+        return Math.round(baseDelay + randomDelay);
+    }
+
+    public static boolean isIdempotent(Request request) {
+        switch (request.method()) {
+            case "GET":
+            case "HEAD":
+            case "OPTIONS":
+                return true;
+            default:
+                return request.header(IDEMPOTENCY_KEY_HEADER) != null || isIdempotentEndpoint(request);
+        }
+    }
+
+    private static boolean isIdempotentEndpoint(Request request) {
+        List<String> pathSegments = request.url().pathSegments();
+        for (String endpoint : IDEMPOTENT_ENDPOINTS) {
+            String[] methodAndPath = endpoint.split(" ");
+            if (methodAndPath[0].equals(request.method()) && pathEndsWith(pathSegments, methodAndPath[1].split("/"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean pathEndsWith(List<String> pathSegments, String[] template) {
+        int offset = pathSegments.size() - template.length;
+        if (offset < 0) {
+            return false;
+        }
+        for (int i = 0; i < template.length; i++) {
+            if (!template[i].equals("{id}") && !template[i].equals(pathSegments.get(offset + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
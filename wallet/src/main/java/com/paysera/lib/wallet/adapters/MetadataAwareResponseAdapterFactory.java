@@ -0,0 +1,134 @@
+package com.paysera.lib.wallet.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.paysera.lib.wallet.entities.*;
+import com.paysera.lib.wallet.entities.card.Card;
+import com.paysera.lib.wallet.entities.confirmations.Confirmation;
+import com.paysera.lib.wallet.entities.locations.Location;
+import com.paysera.lib.wallet.entities.transfer.Transfer;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads MetadataAwareResponse items one by one straight off the stream. The item type is
+ * taken from the declared MetadataAwareResponse<T>, falling back to the collection name
+ * when the response type is raw.
+ */
+public class MetadataAwareResponseAdapterFactory implements TypeAdapterFactory {
+    private static final String METADATA = "_metadata";
+    private static final Map<String, Class<?>> ITEM_TYPES = new HashMap<>();
+
+    static {
+        ITEM_TYPES.put("statements", Statement.class);
+        ITEM_TYPES.put("pending_payments", PendingPayment.class);
+        ITEM_TYPES.put("reservation_statements", ReservationStatement.class);
+        ITEM_TYPES.put("transfers", Transfer.class);
+        ITEM_TYPES.put("locations", Location.class);
+        ITEM_TYPES.put("cards", Card.class);
+        ITEM_TYPES.put("transactions", Transaction.class);
+        ITEM_TYPES.put("identification_requests", IdentificationRequest.class);
+        ITEM_TYPES.put("confirmations", Confirmation.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() != MetadataAwareResponse.class) {
+            return null;
+        }
+
+        TypeAdapter<?> itemAdapter = null;
+        if (type.getType() instanceof ParameterizedType) {
+            Type itemType = ((ParameterizedType) type.getType()).getActualTypeArguments()[0];
+            if (itemType instanceof Class || itemType instanceof ParameterizedType) {
+                itemAdapter = gson.getAdapter(TypeToken.get(itemType));
+            }
+        }
+
+        TypeAdapter<?> delegate = gson.getDelegateAdapter(this, type);
+        return (TypeAdapter<T>) new Adapter(
+            gson,
+            itemAdapter,
+            gson.getAdapter(Metadata.class),
+            (TypeAdapter<MetadataAwareResponse<Object>>) delegate
+        );
+    }
+
+    private static class Adapter extends TypeAdapter<MetadataAwareResponse<Object>> {
+        private final Gson gson;
+        private final TypeAdapter<?> itemAdapter;
+        private final TypeAdapter<Metadata> metadataAdapter;
+        private final TypeAdapter<MetadataAwareResponse<Object>> delegate;
+
+        Adapter(
+            Gson gson,
+            TypeAdapter<?> itemAdapter,
+            TypeAdapter<Metadata> metadataAdapter,
+            TypeAdapter<MetadataAwareResponse<Object>> delegate
+        ) {
+            this.gson = gson;
+            this.itemAdapter = itemAdapter;
+            this.metadataAdapter = metadataAdapter;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(JsonWriter out, MetadataAwareResponse<Object> value) throws IOException {
+            delegate.write(out, value);
+        }
+
+        @Override
+        public MetadataAwareResponse<Object> read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            MetadataAwareResponse<Object> metadataAwareResponse = new MetadataAwareResponse<>();
+
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (METADATA.equals(name)) {
+                    metadataAwareResponse.setMetadata(metadataAdapter.read(in));
+                } else if (ITEM_TYPES.containsKey(name) && in.peek() == JsonToken.BEGIN_ARRAY) {
+                    metadataAwareResponse.setItems(readItems(in, getItemAdapter(name)));
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return metadataAwareResponse;
+        }
+
+        private TypeAdapter<?> getItemAdapter(String name) {
+            if (itemAdapter != null) {
+                return itemAdapter;
+            }
+            return gson.getAdapter(ITEM_TYPES.get(name));
+        }
+
+        private List<Object> readItems(JsonReader in, TypeAdapter<?> adapter) throws IOException {
+            List<Object> items = new ArrayList<>();
+            in.beginArray();
+            while (in.hasNext()) {
+                items.add(adapter.read(in));
+            }
+            in.endArray();
+            return items;
+        }
+    }
+}
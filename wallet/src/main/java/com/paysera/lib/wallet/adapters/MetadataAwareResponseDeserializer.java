@@ -39,6 +39,7 @@ public class MetadataAwareResponseDeserializer implements JsonDeserializer<Metad
                 case "locations":
                     List<Location> locations = createLocations(context, entry.getValue().getAsJsonArray());
                     metadataAwareResponse.setItems(locations);
+                    break;
                 case "_metadata":
                     metadataAwareResponse.setMetadata((Metadata) context.deserialize(json.getAsJsonObject().get("_metadata"), Metadata.class));
                     break;
@@ -2,7 +2,10 @@ package com.paysera.lib.wallet.clients;
 
 import bolts.Task;
 import bolts.TaskCompletionSource;
+import com.paysera.lib.wallet.CircuitBreaker;
+import com.paysera.lib.wallet.CircuitBreakerRegistry;
 import com.paysera.lib.wallet.ClientServerTimeSynchronizationConfiguration;
+import com.paysera.lib.wallet.RetryPolicy;
 import com.paysera.lib.wallet.WalletApiResponse;
 import com.paysera.lib.wallet.entities.RecaptchaHeaders;
 import com.paysera.lib.wallet.entities.ServerInformation;
@@ -10,6 +13,7 @@ import com.paysera.lib.wallet.entities.WalletApiErrorProperty;
 import com.paysera.lib.wallet.enums.RecaptchaHeader;
 import com.paysera.lib.wallet.exceptions.WalletApiException;
 import com.paysera.lib.wallet.helpers.OkHTTPQueryStringConverter;
+import com.paysera.lib.wallet.interfaces.RateLimiter;
 import com.paysera.lib.wallet.interfaces.TimestampSynchronizedCallback;
 import com.paysera.lib.wallet.providers.TimestampProvider;
 import okhttp3.Request;
@@ -22,16 +26,33 @@ import retrofit2.Response;
 import retrofit2.Retrofit;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 public abstract class BaseAsyncClient {
-    private Queue<Call> retrofitCalls = new LinkedList<>();
-    private Queue<okhttp3.Call> okhttpCalls = new LinkedList<>();
+    private final Set<Call<?>> retrofitCalls = ConcurrentHashMap.newKeySet();
+    private final Set<okhttp3.Call> okhttpCalls = ConcurrentHashMap.newKeySet();
+    private final Set<PendingRetry> pendingRetries = ConcurrentHashMap.newKeySet();
     private Retrofit retrofit;
     private PublicWalletApiClient publicWalletApiClient;
     private TimestampProvider timestampProvider;
     private ClientServerTimeSynchronizationConfiguration clientServerTimeSynchronizationConfiguration;
     private OkHTTPQueryStringConverter okHTTPQueryStringConverter;
+    private volatile RateLimiter rateLimiter;
+    private volatile RetryPolicy retryPolicy;
+    private volatile CircuitBreakerRegistry circuitBreakerRegistry;
+    private volatile Path uploadSpoolDirectory;
+    private volatile Executor uploadSpoolExecutor = Task.BACKGROUND_EXECUTOR;
 
     public BaseAsyncClient(
         TimestampProvider timestampProvider,
@@ -47,6 +68,66 @@ public abstract class BaseAsyncClient {
         this.okHTTPQueryStringConverter = okHTTPQueryStringConverter;
     }
 
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Every request waits for a permit of the rate limiter before it is sent, null disables
+     * limiting. One limiter can be shared by several clients.
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Transient failures are retried according to the policy, null disables retries apart
+     * from the one after a timestamp resynchronization.
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    public CircuitBreakerRegistry getCircuitBreakerRegistry() {
+        return circuitBreakerRegistry;
+    }
+
+    /**
+     * Requests to an endpoint group whose circuit is open, or whose bulkhead is full, fail
+     * right away with a {@link WalletApiException}, null disables both.
+     */
+    public void setCircuitBreakerRegistry(CircuitBreakerRegistry circuitBreakerRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+    }
+
+    public Path getUploadSpoolDirectory() {
+        return uploadSpoolDirectory;
+    }
+
+    /**
+     * Uploads from an InputStream are copied to a temporary file in this directory first, so
+     * the document content touches the disk until the upload finishes. Null uses the default
+     * temporary directory.
+     */
+    public void setUploadSpoolDirectory(Path uploadSpoolDirectory) {
+        this.uploadSpoolDirectory = uploadSpoolDirectory;
+    }
+
+    public Executor getUploadSpoolExecutor() {
+        return uploadSpoolExecutor;
+    }
+
+    /**
+     * Runs the blocking copy of InputStream uploads to their temporary file.
+     */
+    public void setUploadSpoolExecutor(Executor uploadSpoolExecutor) {
+        this.uploadSpoolExecutor = uploadSpoolExecutor;
+    }
+
     public Task<WalletApiResponse> get(String path, Map<String, String> parameters) {
         if (!parameters.isEmpty()) {
             path += "?" + okHTTPQueryStringConverter.convertToEncodedQueryString(parameters);
@@ -90,23 +171,67 @@ public abstract class BaseAsyncClient {
         return delete(path, null);
     }
 
-    protected synchronized <T> void performCallWithTaskCompletionSource(
+    protected <T> void performCallWithTaskCompletionSource(
         final Call<T> call,
         final TaskCompletionSource<T> mainTaskCompletionSource
     ) {
+        this.performCall(call, new TaskCallCompletion<>(mainTaskCompletionSource));
+    }
+
+    private <T> void performCall(
+        final Call<T> call,
+        CallCompletion<T> callCompletion
+    ) {
+        RetryPolicy retryPolicy = this.retryPolicy;
+        if (retryPolicy != null) {
+            retryPolicy.getRetryBudget().onRequest();
+            Request request = getRequest(call);
+            if (retryPolicy.getHedgeDelayMillis() > 0 && request != null && request.method().equals("GET")) {
+                callCompletion = this.hedge(
+                    retryPolicy,
+                    callCompletion,
+                    hedgedCallCompletion -> performCall(call.clone(), hedgedCallCompletion, retryPolicy.getMaxRetries())
+                );
+            }
+        }
+        this.performCall(call, callCompletion, 0);
+    }
+
+    private <T> void performCall(
+        final Call<T> call,
+        final CallCompletion<T> callCompletion,
+        final int attempt
+    ) {
+        final AtomicReference<CircuitBreaker.Permit> permit = new AtomicReference<>();
         retrofitCalls.add(call);
-        call.enqueue(new Callback<T>() {
+        callCompletion.onAttemptStarted(call);
+        final Callback<T> callback = new Callback<T>() {
             public void onResponse(final Call<T> mainCall, Response<T> response) {
-                synchronized (BaseAsyncClient.this) {
-                    retrofitCalls.remove(call);
+                retrofitCalls.remove(call);
+                String errorBody = response.isSuccessful() ? null : readErrorBody(response);
+                onPermitResponse(permit.get(), response.code());
+                onRateLimiterResponse(response.raw().request(), response.code(), errorBody);
+                if (
+                    !response.isSuccessful()
+                        && scheduleRetry(
+                            response.raw().request(),
+                            response.code(),
+                            attempt,
+                            callCompletion,
+                            () -> performCall(mainCall.clone(), callCompletion, attempt + 1)
+                        )
+                ) {
+                    return;
                 }
                 if (response.isSuccessful()) {
-                    mainTaskCompletionSource.setResult(response.body());
+                    callCompletion.setResult(response.body());
                 } else {
                     final WalletApiException exception;
-                    String responseBody = null;
+                    String responseBody = errorBody;
                     try {
-                        responseBody = response.errorBody().string();
+                        if (responseBody == null) {
+                            throw new IOException("The error body could not be read");
+                        }
 
                         JSONObject data = new JSONObject(responseBody);
                         exception = new WalletApiException(
@@ -126,12 +251,13 @@ public abstract class BaseAsyncClient {
                         ) {
                             syncTimestamp().continueWith(task -> {
                                 if (!task.isFaulted()) {
-                                    performCallWithTaskCompletionSource(
+                                    performCall(
                                         mainCall.clone(),
-                                        mainTaskCompletionSource
+                                        callCompletion,
+                                        attempt
                                     );
                                 } else {
-                                    mainTaskCompletionSource.setError(exception);
+                                    callCompletion.setError(exception);
                                 }
                                 return null;
                             });
@@ -142,13 +268,13 @@ public abstract class BaseAsyncClient {
                                     response.headers().get(RecaptchaHeader.UNLOCK_URL.toString())
                                 )
                             );
-                            mainTaskCompletionSource.setError(exception);
+                            callCompletion.setError(exception);
                         } else {
-                            mainTaskCompletionSource.setError(exception);
+                            callCompletion.setError(exception);
                         }
 
                     } catch (JSONException | IOException previousException) {
-                        mainTaskCompletionSource.setError(
+                        callCompletion.setError(
                             new WalletApiException(
                                 "An error occurred: " + responseBody,
                                 response.code()
@@ -158,7 +284,23 @@ public abstract class BaseAsyncClient {
                 }
             }
 
-            public void onFailure(Call<T> call, Throwable throwable) {
+            public void onFailure(Call<T> failedCall, Throwable throwable) {
+                retrofitCalls.remove(call);
+                onPermitFailure(permit.get(), failedCall.isCanceled(), throwable);
+                if (
+                    throwable instanceof IOException
+                        && throwable.getMessage() != WalletApiException.ERROR_CODE_SIGNING_REQUEST
+                        && !failedCall.isCanceled()
+                        && scheduleRetry(
+                            getRequest(failedCall),
+                            null,
+                            attempt,
+                            callCompletion,
+                            () -> performCall(failedCall.clone(), callCompletion, attempt + 1)
+                        )
+                ) {
+                    return;
+                }
                 WalletApiException exception;
                 if (throwable.getMessage() == WalletApiException.ERROR_CODE_SIGNING_REQUEST) {
                     exception = new WalletApiException(
@@ -169,9 +311,36 @@ public abstract class BaseAsyncClient {
                 } else {
                     exception = new WalletApiException("An exception occurred", throwable);
                 }
-                mainTaskCompletionSource.setError(exception);
+                callCompletion.setError(exception);
             }
-        });
+        };
+
+        Request request = getRequest(call);
+        Runnable enqueue = () -> {
+            try {
+                permit.set(this.acquirePermit(request));
+            } catch (WalletApiException exception) {
+                retrofitCalls.remove(call);
+                callCompletion.setError(exception);
+                return;
+            }
+            call.enqueue(callback);
+        };
+        RateLimiter rateLimiter = this.rateLimiter;
+        if (rateLimiter == null || request == null) {
+            // with a null request, enqueue reports the failure
+            enqueue.run();
+        } else {
+            rateLimiter.acquire(request, enqueue);
+        }
+    }
+
+    private static Request getRequest(Call<?> call) {
+        try {
+            return call.request();
+        } catch (RuntimeException exception) {
+            return null;
+        }
     }
 
     private List<WalletApiErrorProperty> getErrorProperties(JSONObject jsonObject) {
@@ -204,6 +373,24 @@ public abstract class BaseAsyncClient {
         return taskCompletionSource.getTask();
     }
 
+    /**
+     * Completes the future from the Retrofit callback. Cancelling the future cancels the
+     * underlying call. The future clients build their services with a direct callback
+     * executor by default, see
+     * {@link com.paysera.lib.wallet.factories.RetrofitFactory#withDirectCallbacks()}.
+     */
+    protected <T> CompletableFuture<T> executeAsFuture(Call<T> call) {
+        CallFuture<T> callFuture = new CallFuture<>();
+        this.performCall(call, callFuture);
+        return callFuture;
+    }
+
+    protected CompletableFuture<WalletApiResponse> executeAsFuture(Request request) {
+        CallFuture<WalletApiResponse> callFuture = new CallFuture<>();
+        this.performCall(request, callFuture);
+        return callFuture;
+    }
+
     protected <T> Task<T> execute(Request request) {
         final TaskCompletionSource<T> taskCompletionSource = new TaskCompletionSource<>();
 
@@ -215,23 +402,65 @@ public abstract class BaseAsyncClient {
         return taskCompletionSource.getTask();
     }
 
-    protected synchronized void performCallWithTaskCompletionSource(
+    protected void performCallWithTaskCompletionSource(
         final Request request,
         final TaskCompletionSource mainTaskCompletionSource
     ) {
+        this.performCall(request, new TaskCallCompletion<WalletApiResponse>(mainTaskCompletionSource));
+    }
+
+    private void performCall(
+        final Request request,
+        CallCompletion<WalletApiResponse> callCompletion
+    ) {
+        RetryPolicy retryPolicy = this.retryPolicy;
+        if (retryPolicy != null) {
+            retryPolicy.getRetryBudget().onRequest();
+            if (retryPolicy.getHedgeDelayMillis() > 0 && request.method().equals("GET")) {
+                callCompletion = this.hedge(
+                    retryPolicy,
+                    callCompletion,
+                    hedgedCallCompletion -> performCall(request, hedgedCallCompletion, retryPolicy.getMaxRetries())
+                );
+            }
+        }
+        this.performCall(request, callCompletion, 0);
+    }
+
+    private void performCall(
+        final Request request,
+        final CallCompletion<WalletApiResponse> callCompletion,
+        final int attempt
+    ) {
+        final AtomicReference<CircuitBreaker.Permit> permit = new AtomicReference<>();
         final okhttp3.Call call = this.retrofit.callFactory().newCall(request);
         okhttpCalls.add(call);
-        call.enqueue(new okhttp3.Callback() {
+        callCompletion.onAttemptStarted(call);
+        final okhttp3.Callback callback = new okhttp3.Callback() {
             @Override
-            public void onFailure(okhttp3.Call call, IOException e) {
-                mainTaskCompletionSource.setError(new WalletApiException("An exception occurred", e));
+            public void onFailure(okhttp3.Call failedCall, IOException e) {
+                okhttpCalls.remove(call);
+                onPermitFailure(permit.get(), failedCall.isCanceled(), e);
+                if (
+                    !failedCall.isCanceled()
+                        && e.getMessage() != WalletApiException.ERROR_CODE_SIGNING_REQUEST
+                        && scheduleRetry(
+                            request,
+                            null,
+                            attempt,
+                            callCompletion,
+                            () -> performCall(request, callCompletion, attempt + 1)
+                        )
+                ) {
+                    return;
+                }
+                callCompletion.setError(new WalletApiException("An exception occurred", e));
             }
 
             @Override
             public void onResponse(final okhttp3.Call mainCall, final okhttp3.Response response) throws IOException {
-                synchronized (BaseAsyncClient.this) {
-                    okhttpCalls.remove(call);
-                }
+                okhttpCalls.remove(call);
+                onPermitResponse(permit.get(), response.code());
 
                 String responseBody = null;
                 try {
@@ -239,14 +468,27 @@ public abstract class BaseAsyncClient {
                 } catch (IOException exception) {
                     // intentionally
                 }
-
+                onRateLimiterResponse(request, response.code(), response.isSuccessful() ? null : responseBody);
+
+                if (
+                    !response.isSuccessful()
+                        && scheduleRetry(
+                            request,
+                            response.code(),
+                            attempt,
+                            callCompletion,
+                            () -> performCall(request, callCompletion, attempt + 1)
+                        )
+                ) {
+                    return;
+                }
                 if (response.isSuccessful()) {
                     WalletApiResponse walletApiResponse = new WalletApiResponse(
                         response.code(),
                         responseBody,
                         response.headers()
                     );
-                    mainTaskCompletionSource.setResult(walletApiResponse);
+                    callCompletion.setResult(walletApiResponse);
                 } else {
                     try {
                         List<WalletApiErrorProperty> errorProperties = null;
@@ -284,12 +526,13 @@ public abstract class BaseAsyncClient {
                             WalletApiException finalWalletApiException = walletApiException;
                             syncTimestamp().continueWith(task -> {
                                 if (!task.isFaulted()) {
-                                    performCallWithTaskCompletionSource(
+                                    performCall(
                                         request,
-                                        mainTaskCompletionSource
+                                        callCompletion,
+                                        attempt
                                     );
                                 } else {
-                                    mainTaskCompletionSource.setError(finalWalletApiException);
+                                    callCompletion.setError(finalWalletApiException);
                                 }
                                 return null;
                             });
@@ -300,12 +543,12 @@ public abstract class BaseAsyncClient {
                                     response.header(RecaptchaHeader.UNLOCK_URL.toString())
                                 )
                             );
-                            mainTaskCompletionSource.setError(walletApiException);
+                            callCompletion.setError(walletApiException);
                         } else {
-                            mainTaskCompletionSource.setError(walletApiException);
+                            callCompletion.setError(walletApiException);
                         }
                     } catch (Exception exception) {
-                        mainTaskCompletionSource.setError(
+                        callCompletion.setError(
                             new WalletApiException(
                                 "An error occurred: " + responseBody,
                                 response.code()
@@ -314,7 +557,127 @@ public abstract class BaseAsyncClient {
                     }
                 }
             }
-        });
+        };
+
+        Runnable enqueue = () -> {
+            try {
+                permit.set(this.acquirePermit(request));
+            } catch (WalletApiException exception) {
+                okhttpCalls.remove(call);
+                callCompletion.setError(exception);
+                return;
+            }
+            call.enqueue(callback);
+        };
+        RateLimiter rateLimiter = this.rateLimiter;
+        if (rateLimiter == null) {
+            enqueue.run();
+        } else {
+            rateLimiter.acquire(request, enqueue);
+        }
+    }
+
+    private boolean scheduleRetry(
+        Request request,
+        Integer statusCode,
+        int attempt,
+        CallCompletion<?> callCompletion,
+        Runnable retry
+    ) {
+        RetryPolicy retryPolicy = this.retryPolicy;
+        if (retryPolicy == null || request == null || !retryPolicy.shouldRetry(request, statusCode, attempt)) {
+            return false;
+        }
+
+        PendingRetry pendingRetry = new PendingRetry(callCompletion, retry);
+        pendingRetries.add(pendingRetry);
+        pendingRetry.future = retryPolicy.getScheduler().schedule(
+            pendingRetry,
+            retryPolicy.getDelayMillis(attempt + 1),
+            TimeUnit.MILLISECONDS
+        );
+        callCompletion.onAttemptStarted(pendingRetry);
+        return true;
+    }
+
+    private <T> CallCompletion<T> hedge(
+        RetryPolicy retryPolicy,
+        CallCompletion<T> callCompletion,
+        Consumer<CallCompletion<T>> hedgedCall
+    ) {
+        HedgedCallCompletion<T> hedgedCallCompletion = new HedgedCallCompletion<>(callCompletion);
+        hedgedCallCompletion.hedgeFuture = retryPolicy.getScheduler().schedule(
+            () -> {
+                if (!hedgedCallCompletion.isCompleted() && retryPolicy.getRetryBudget().tryRetry()) {
+                    if (hedgedCallCompletion.startHedge()) {
+                        hedgedCall.accept(hedgedCallCompletion);
+                    }
+                }
+            },
+            retryPolicy.getHedgeDelayMillis(),
+            TimeUnit.MILLISECONDS
+        );
+        return hedgedCallCompletion;
+    }
+
+    /**
+     * Called once the rate limiter lets the request through, so requests waiting in its queue
+     * neither hold a bulkhead slot nor use up a half-open probe.
+     */
+    private CircuitBreaker.Permit acquirePermit(Request request) throws WalletApiException {
+        CircuitBreakerRegistry circuitBreakerRegistry = this.circuitBreakerRegistry;
+        if (circuitBreakerRegistry == null || request == null) {
+            return null;
+        }
+        return circuitBreakerRegistry.getCircuitBreaker(request).acquire();
+    }
+
+    private static void onPermitResponse(CircuitBreaker.Permit permit, int statusCode) {
+        if (permit == null) {
+            return;
+        }
+        if (statusCode >= 500) {
+            permit.onFailure();
+        } else {
+            permit.onSuccess();
+        }
+    }
+
+    private static void onPermitFailure(CircuitBreaker.Permit permit, boolean canceled, Throwable throwable) {
+        if (permit == null) {
+            return;
+        }
+        if (canceled || throwable.getMessage() == WalletApiException.ERROR_CODE_SIGNING_REQUEST) {
+            permit.onIgnored();
+        } else {
+            permit.onFailure();
+        }
+    }
+
+    private void onRateLimiterResponse(Request request, int statusCode, String errorBody) {
+        RateLimiter rateLimiter = this.rateLimiter;
+        if (rateLimiter != null) {
+            rateLimiter.onResponse(request, statusCode, statusCode == 429 || isRateLimitExceededError(errorBody));
+        }
+    }
+
+    private static boolean isRateLimitExceededError(String errorBody) {
+        if (errorBody == null) {
+            return false;
+        }
+        try {
+            return WalletApiException.ERROR_CODE_RATE_LIMIT_EXCEEDED.equals(new JSONObject(errorBody).optString("error"));
+        } catch (JSONException exception) {
+            return false;
+        }
+    }
+
+    private static String readErrorBody(Response<?> response) {
+        try {
+            return response.errorBody().string();
+        } catch (IOException exception) {
+            return null;
+        }
     }
 
     private Task<Void> syncTimestamp() {
@@ -355,13 +718,196 @@ public abstract class BaseAsyncClient {
         return taskCompletionSource.getTask();
     }
 
-    protected synchronized void cancelCalls() {
-        while (!retrofitCalls.isEmpty()) {
-            retrofitCalls.poll().cancel();
+    protected void cancelCalls() {
+        Iterator<Call<?>> retrofitCallIterator = retrofitCalls.iterator();
+        while (retrofitCallIterator.hasNext()) {
+            Call<?> call = retrofitCallIterator.next();
+            retrofitCallIterator.remove();
+            call.cancel();
+        }
+
+        Iterator<okhttp3.Call> okhttpCallIterator = okhttpCalls.iterator();
+        while (okhttpCallIterator.hasNext()) {
+            okhttp3.Call call = okhttpCallIterator.next();
+            okhttpCallIterator.remove();
+            call.cancel();
+        }
+
+        Iterator<PendingRetry> pendingRetryIterator = pendingRetries.iterator();
+        while (pendingRetryIterator.hasNext()) {
+            pendingRetryIterator.next().cancel();
+        }
+    }
+
+    public int getInFlightCallsCount() {
+        return retrofitCalls.size() + okhttpCalls.size() + pendingRetries.size();
+    }
+
+    private class PendingRetry implements Runnable {
+        private final CallCompletion<?> callCompletion;
+        private final Runnable retry;
+        private volatile ScheduledFuture<?> future;
+
+        PendingRetry(CallCompletion<?> callCompletion, Runnable retry) {
+            this.callCompletion = callCompletion;
+            this.retry = retry;
+        }
+
+        @Override
+        public void run() {
+            if (pendingRetries.remove(this)) {
+                retry.run();
+            }
+        }
+
+        void cancel() {
+            if (pendingRetries.remove(this)) {
+                ScheduledFuture<?> future = this.future;
+                if (future != null) {
+                    future.cancel(false);
+                }
+                callCompletion.setError(new WalletApiException("An exception occurred", new IOException("Canceled")));
+            }
+        }
+    }
+
+    private interface CallCompletion<T> {
+        /**
+         * The attempt is a Retrofit call, an OkHttp call or a pending retry, see
+         * {@link BaseAsyncClient#cancelAttempt(Object)}.
+         */
+        void onAttemptStarted(Object attempt);
+
+        void setResult(T result);
+
+        void setError(Exception error);
+    }
+
+    private static class TaskCallCompletion<T> implements CallCompletion<T> {
+        private final TaskCompletionSource<T> taskCompletionSource;
+
+        TaskCallCompletion(TaskCompletionSource<T> taskCompletionSource) {
+            this.taskCompletionSource = taskCompletionSource;
+        }
+
+        @Override
+        public void onAttemptStarted(Object attempt) {
+        }
+
+        @Override
+        public void setResult(T result) {
+            taskCompletionSource.setResult(result);
+        }
+
+        @Override
+        public void setError(Exception error) {
+            taskCompletionSource.setError(error);
+        }
+    }
+
+    /**
+     * Completes with the first successful attempt, or with the last error once every attempt
+     * has failed. The losing call is cancelled.
+     */
+    private static class HedgedCallCompletion<T> implements CallCompletion<T> {
+        private final CallCompletion<T> callCompletion;
+        private final List<Object> attempts = new CopyOnWriteArrayList<>();
+        private final AtomicInteger pendingAttempts = new AtomicInteger(1);
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile Exception lastError;
+        private volatile ScheduledFuture<?> hedgeFuture;
+
+        HedgedCallCompletion(CallCompletion<T> callCompletion) {
+            this.callCompletion = callCompletion;
+        }
+
+        boolean isCompleted() {
+            return completed.get();
+        }
+
+        boolean startHedge() {
+            return pendingAttempts.getAndUpdate(pending -> pending == 0 ? 0 : pending + 1) > 0;
+        }
+
+        @Override
+        public void onAttemptStarted(Object attempt) {
+            attempts.add(attempt);
+            callCompletion.onAttemptStarted(attempt);
+        }
+
+        @Override
+        public void setResult(T result) {
+            if (!completed.compareAndSet(false, true)) {
+                return;
+            }
+            this.cancelHedge();
+            callCompletion.setResult(result);
+            for (Object attempt : attempts) {
+                cancelAttempt(attempt);
+            }
         }
 
-        while (!okhttpCalls.isEmpty()) {
-            okhttpCalls.poll().cancel();
+        @Override
+        public void setError(Exception error) {
+            lastError = error;
+            if (pendingAttempts.decrementAndGet() == 0 && completed.compareAndSet(false, true)) {
+                this.cancelHedge();
+                callCompletion.setError(lastError);
+            }
+        }
+
+        private void cancelHedge() {
+            ScheduledFuture<?> hedgeFuture = this.hedgeFuture;
+            if (hedgeFuture != null) {
+                hedgeFuture.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Cancelling the future cancels every attempt started for it, hedged calls and armed
+     * retry timers included.
+     */
+    private static class CallFuture<T> extends CompletableFuture<T> implements CallCompletion<T> {
+        private final Set<Object> attempts = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void onAttemptStarted(Object attempt) {
+            attempts.add(attempt);
+            if (this.isCancelled()) {
+                cancelAttempt(attempt);
+            }
+        }
+
+        @Override
+        public void setResult(T result) {
+            this.complete(result);
+        }
+
+        @Override
+        public void setError(Exception error) {
+            this.completeExceptionally(error);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                for (Object attempt : attempts) {
+                    cancelAttempt(attempt);
+                }
+            }
+            return cancelled;
+        }
+    }
+
+    private static void cancelAttempt(Object attempt) {
+        if (attempt instanceof Call) {
+            ((Call<?>) attempt).cancel();
+        } else if (attempt instanceof okhttp3.Call) {
+            ((okhttp3.Call) attempt).cancel();
+        } else {
+            ((PendingRetry) attempt).cancel();
         }
     }
-}
\ No newline at end of file
+}
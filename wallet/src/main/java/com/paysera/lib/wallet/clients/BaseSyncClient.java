@@ -0,0 +1,344 @@
+package com.paysera.lib.wallet.clients;
+
+import com.paysera.lib.wallet.ClientServerTimeSynchronizationConfiguration;
+import com.paysera.lib.wallet.WalletApiResponse;
+import com.paysera.lib.wallet.entities.RecaptchaHeaders;
+import com.paysera.lib.wallet.entities.ServerInformation;
+import com.paysera.lib.wallet.entities.WalletApiErrorProperty;
+import com.paysera.lib.wallet.enums.RecaptchaHeader;
+import com.paysera.lib.wallet.exceptions.WalletApiException;
+import com.paysera.lib.wallet.helpers.OkHTTPQueryStringConverter;
+import com.paysera.lib.wallet.interfaces.TimestampSynchronizedCallback;
+import com.paysera.lib.wallet.providers.TimestampProvider;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import org.json.JSONException;
+import org.json.JSONObject;
+import retrofit2.Call;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Blocking counterpart of {@link BaseAsyncClient}. Requests run on the calling thread with
+ * {@code execute()}, and no monitor is held while waiting for I/O, so the client can be used
+ * from virtual threads without pinning their carrier threads.
+ */
+public abstract class BaseSyncClient {
+    private final Set<Call<?>> retrofitCalls = ConcurrentHashMap.newKeySet();
+    private final Set<okhttp3.Call> okhttpCalls = ConcurrentHashMap.newKeySet();
+    private Retrofit retrofit;
+    private PublicWalletApiClient publicWalletApiClient;
+    private TimestampProvider timestampProvider;
+    private ClientServerTimeSynchronizationConfiguration clientServerTimeSynchronizationConfiguration;
+    private OkHTTPQueryStringConverter okHTTPQueryStringConverter;
+    private volatile Path uploadSpoolDirectory;
+
+    public BaseSyncClient(
+        TimestampProvider timestampProvider,
+        ClientServerTimeSynchronizationConfiguration clientServerTimeSynchronizationConfiguration,
+        PublicWalletApiClient publicWalletApiClient,
+        Retrofit retrofit,
+        OkHTTPQueryStringConverter okHTTPQueryStringConverter
+    ) {
+        this.timestampProvider = timestampProvider;
+        this.clientServerTimeSynchronizationConfiguration = clientServerTimeSynchronizationConfiguration;
+        this.publicWalletApiClient = publicWalletApiClient;
+        this.retrofit = retrofit;
+        this.okHTTPQueryStringConverter = okHTTPQueryStringConverter;
+    }
+
+    public Path getUploadSpoolDirectory() {
+        return uploadSpoolDirectory;
+    }
+
+    /**
+     * Uploads from an InputStream are copied to a temporary file in this directory first, so
+     * the document content touches the disk until the upload finishes. Null uses the default
+     * temporary directory.
+     */
+    public void setUploadSpoolDirectory(Path uploadSpoolDirectory) {
+        this.uploadSpoolDirectory = uploadSpoolDirectory;
+    }
+
+    public WalletApiResponse get(String path, Map<String, String> parameters) throws WalletApiException {
+        if (!parameters.isEmpty()) {
+            path += "?" + okHTTPQueryStringConverter.convertToEncodedQueryString(parameters);
+        }
+        Request request = new Request.Builder()
+            .get()
+            .url(retrofit.baseUrl() + path)
+            .build();
+
+        return execute(request);
+    }
+
+    public WalletApiResponse post(String path, RequestBody requestBody) throws WalletApiException {
+        Request request = new Request.Builder()
+            .post(requestBody)
+            .url(retrofit.baseUrl() + path)
+            .build();
+
+        return execute(request);
+    }
+
+    public WalletApiResponse put(String path, RequestBody requestBody) throws WalletApiException {
+        Request request = new Request.Builder()
+            .put(requestBody)
+            .url(retrofit.baseUrl() + path)
+            .build();
+
+        return execute(request);
+    }
+
+    public WalletApiResponse delete(String path, RequestBody requestBody) throws WalletApiException {
+        Request request = new Request.Builder()
+            .delete(requestBody)
+            .url(retrofit.baseUrl() + path)
+            .build();
+
+        return execute(request);
+    }
+
+    public WalletApiResponse delete(String path) throws WalletApiException {
+        return delete(path, null);
+    }
+
+    protected <T> T execute(Call<T> call) throws WalletApiException {
+        return this.execute(call, false);
+    }
+
+    /**
+     * An invalid timestamp error triggers at most one resync and retry per call, a second
+     * one is reported to the caller.
+     */
+    private <T> T execute(Call<T> call, boolean timestampSynchronized) throws WalletApiException {
+        Response<T> response;
+        retrofitCalls.add(call);
+        try {
+            response = call.execute();
+        } catch (IOException | RuntimeException throwable) {
+            if (throwable.getMessage() == WalletApiException.ERROR_CODE_SIGNING_REQUEST) {
+                throw new WalletApiException(
+                    WalletApiException.ERROR_DESCRIPTION_SIGNING_REQUEST,
+                    WalletApiException.ERROR_CODE_SIGNING_REQUEST,
+                    0
+                );
+            }
+            throw new WalletApiException("An exception occurred", throwable);
+        } finally {
+            retrofitCalls.remove(call);
+        }
+
+        if (response.isSuccessful()) {
+            return response.body();
+        }
+
+        WalletApiException exception;
+        boolean invalidTimestamp;
+        String responseBody = null;
+        try {
+            responseBody = response.errorBody().string();
+
+            JSONObject data = new JSONObject(responseBody);
+            exception = new WalletApiException(
+                data.optString("error_description"),
+                data.getString("error"),
+                response.code()
+            );
+            if (data.has("error_data")) {
+                exception.setErrorData(data.getJSONObject("error_data"));
+            }
+            if (data.has("error_properties")) {
+                exception.setErrorProperties(getErrorProperties(data.getJSONObject("error_properties")));
+            }
+            invalidTimestamp = exception.isInvalidTimestampError()
+                && clientServerTimeSynchronizationConfiguration.isEnabled()
+                && !timestampSynchronized;
+            if (!invalidTimestamp && exception.isRateLimitExceededError()) {
+                exception.setRecaptchaHeaders(
+                    new RecaptchaHeaders(
+                        response.headers().get(RecaptchaHeader.SITE_KEY.toString()),
+                        response.headers().get(RecaptchaHeader.UNLOCK_URL.toString())
+                    )
+                );
+            }
+        } catch (JSONException | IOException previousException) {
+            throw new WalletApiException(
+                "An error occurred: " + responseBody,
+                response.code()
+            );
+        }
+
+        if (invalidTimestamp && syncTimestamp()) {
+            return this.execute(call.clone(), true);
+        }
+        throw exception;
+    }
+
+    protected WalletApiResponse execute(Request request) throws WalletApiException {
+        return this.execute(request, false);
+    }
+
+    private WalletApiResponse execute(Request request, boolean timestampSynchronized) throws WalletApiException {
+        okhttp3.Call call = this.retrofit.callFactory().newCall(request);
+        okhttp3.Response response;
+        okhttpCalls.add(call);
+        try {
+            response = call.execute();
+        } catch (IOException exception) {
+            throw new WalletApiException("An exception occurred", exception);
+        } finally {
+            okhttpCalls.remove(call);
+        }
+
+        String responseBody = null;
+        try {
+            responseBody = response.body().string();
+        } catch (IOException exception) {
+            // intentionally
+        }
+
+        if (response.isSuccessful()) {
+            return new WalletApiResponse(
+                response.code(),
+                responseBody,
+                response.headers()
+            );
+        }
+
+        WalletApiException walletApiException = null;
+        boolean invalidTimestamp;
+        try {
+            List<WalletApiErrorProperty> errorProperties = null;
+
+            try {
+                if (responseBody != null) {
+                    JSONObject data = new JSONObject(responseBody);
+                    String errorDescription = data.optString("error_description");
+                    String errorCode = data.getString("error");
+                    if (data.has("error_properties")) {
+                        errorProperties = getErrorProperties(data.getJSONObject("error_properties"));
+                    }
+
+                    walletApiException = new WalletApiException(
+                        errorDescription,
+                        errorCode,
+                        response.code()
+                    );
+                    if (data.has("error_data")) {
+                        walletApiException.setErrorData(data.getJSONObject("error_data"));
+                    }
+                }
+            } catch (JSONException exception) {
+                walletApiException = new WalletApiException(
+                    response.message(),
+                    response.code()
+                );
+            }
+
+            if (errorProperties != null) {
+                walletApiException.setErrorProperties(errorProperties);
+            }
+            invalidTimestamp = walletApiException.isInvalidTimestampError()
+                && clientServerTimeSynchronizationConfiguration.isEnabled()
+                && !timestampSynchronized;
+            if (!invalidTimestamp && walletApiException.isRateLimitExceededError()) {
+                walletApiException.setRecaptchaHeaders(
+                    new RecaptchaHeaders(
+                        response.header(RecaptchaHeader.SITE_KEY.toString()),
+                        response.header(RecaptchaHeader.UNLOCK_URL.toString())
+                    )
+                );
+            }
+        } catch (Exception exception) {
+            throw new WalletApiException(
+                "An error occurred: " + responseBody,
+                response.code()
+            );
+        }
+
+        if (invalidTimestamp && syncTimestamp()) {
+            return this.execute(request, true);
+        }
+        throw walletApiException;
+    }
+
+    private List<WalletApiErrorProperty> getErrorProperties(JSONObject jsonObject) {
+        List<WalletApiErrorProperty> errorProperties = new ArrayList<>();
+        Iterator<String> iterator = jsonObject.keys();
+        while (iterator.hasNext()) {
+            String code = iterator.next();
+            String description = null;
+            if (jsonObject.optJSONArray(code) != null) {
+                description = jsonObject.getJSONArray(code).get(0).toString();
+            } else if (jsonObject.opt(code) != null) {
+                description = jsonObject.get(code).toString();
+            }
+            if (description != null) {
+                WalletApiErrorProperty walletApiErrorProperty = new WalletApiErrorProperty(code, description);
+                errorProperties.add(walletApiErrorProperty);
+            }
+        }
+        return errorProperties;
+    }
+
+    /**
+     * Returns false when the server time could not be fetched, the original error is
+     * reported in that case.
+     */
+    private boolean syncTimestamp() {
+        Response<ServerInformation> response;
+        try {
+            response = publicWalletApiClient.getServerInformation().execute();
+        } catch (IOException | RuntimeException exception) {
+            return false;
+        }
+        if (!response.isSuccessful() || response.body() == null) {
+            return false;
+        }
+
+        Date serverTime = response.body().getTime();
+        timestampProvider.setTime(
+            System.currentTimeMillis(),
+            serverTime.getTime()
+        );
+        TimestampSynchronizedCallback timestampSynchronizedCallback
+            = clientServerTimeSynchronizationConfiguration.getTimestampSynchronizedCallback();
+        if (timestampSynchronizedCallback != null) {
+            timestampSynchronizedCallback.onTimestampUpdated(
+                serverTime,
+                new Date(System.currentTimeMillis())
+            );
+        }
+        return true;
+    }
+
+    /**
+     * Cancels the requests currently running on other threads, they fail with a
+     * {@link WalletApiException}.
+     */
+    protected void cancelCalls() {
+        Iterator<Call<?>> retrofitCallIterator = retrofitCalls.iterator();
+        while (retrofitCallIterator.hasNext()) {
+            Call<?> call = retrofitCallIterator.next();
+            retrofitCallIterator.remove();
+            call.cancel();
+        }
+
+        Iterator<okhttp3.Call> okhttpCallIterator = okhttpCalls.iterator();
+        while (okhttpCallIterator.hasNext()) {
+            okhttp3.Call call = okhttpCallIterator.next();
+            okhttpCallIterator.remove();
+            call.cancel();
+        }
+    }
+
+    public int getInFlightCallsCount() {
+        return retrofitCalls.size() + okhttpCalls.size();
+    }
+}
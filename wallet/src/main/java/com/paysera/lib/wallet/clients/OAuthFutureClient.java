@@ -0,0 +1,110 @@
+package com.paysera.lib.wallet.clients;
+
+import com.paysera.lib.wallet.ClientServerTimeSynchronizationConfiguration;
+import com.paysera.lib.wallet.entities.Credentials;
+import com.paysera.lib.wallet.enums.GrantType;
+import com.paysera.lib.wallet.factories.RetrofitFactory;
+import com.paysera.lib.wallet.helpers.OkHTTPQueryStringConverter;
+import com.paysera.lib.wallet.helpers.StringHelper;
+import com.paysera.lib.wallet.providers.TimestampProvider;
+import okhttp3.OkHttpClient;
+import retrofit2.Retrofit;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * CompletableFuture counterpart of {@link OAuthAsyncClient}.
+ */
+public class OAuthFutureClient extends BaseAsyncClient {
+    protected OAuthClient oAuthClient;
+
+    public OAuthFutureClient(
+        OAuthClient oAuthClient,
+        TimestampProvider timestampProvider,
+        ClientServerTimeSynchronizationConfiguration clientServerTimeSynchronizationConfiguration,
+        PublicWalletApiClient publicWalletApiClient,
+        Retrofit retrofit,
+        OkHTTPQueryStringConverter okHTTPQueryStringConverter
+    ) {
+        super(
+            timestampProvider,
+            clientServerTimeSynchronizationConfiguration,
+            publicWalletApiClient,
+            retrofit,
+            okHTTPQueryStringConverter
+        );
+        this.oAuthClient = oAuthClient;
+    }
+
+    /**
+     * Builds the API clients with {@link RetrofitFactory#withDirectCallbacks()}, so futures
+     * complete on the OkHttp dispatcher thread without a hop through the callback executor.
+     */
+    public OAuthFutureClient(
+        TimestampProvider timestampProvider,
+        ClientServerTimeSynchronizationConfiguration clientServerTimeSynchronizationConfiguration,
+        RetrofitFactory retrofitFactory,
+        OkHttpClient httpClient,
+        OkHTTPQueryStringConverter okHTTPQueryStringConverter
+    ) {
+        this(
+            retrofitFactory.withDirectCallbacks().createOAuthClient(httpClient),
+            timestampProvider,
+            clientServerTimeSynchronizationConfiguration,
+            retrofitFactory.withDirectCallbacks().createPublicWalletApiClient(httpClient),
+            retrofitFactory.withDirectCallbacks().createWalletApiRetrofit(httpClient),
+            okHTTPQueryStringConverter
+        );
+    }
+
+    public CompletableFuture<Credentials> refreshToken(
+        String refreshToken,
+        GrantType grantType,
+        List<String> scope,
+        String code
+    ) {
+        return this.executeAsFuture(
+            this.oAuthClient.refreshToken(
+                grantType.toString(),
+                refreshToken,
+                StringHelper.listToString(scope, " "),
+                code
+            )
+        );
+    }
+
+    public CompletableFuture<Credentials> refreshToken(String refreshToken) {
+        return this.executeAsFuture(
+            this.oAuthClient.refreshToken(
+                "refresh_token",
+                refreshToken,
+                null,
+                null
+            )
+        );
+    }
+
+    public CompletableFuture<Credentials> activate(String accessToken) {
+        return this.executeAsFuture(this.oAuthClient.activate(accessToken));
+    }
+
+    public CompletableFuture<Credentials> exchangeCredentialsForAccessToken(
+        String username,
+        String password,
+        List<String> scope
+    ) {
+        return this.executeAsFuture(
+            this.oAuthClient.exchangeCredentialsForAccessToken(
+                "password",
+                username,
+                password,
+                StringHelper.listToString(scope, " ")
+            )
+        );
+    }
+
+    public CompletableFuture<Void> revokeAccessToken(String accessToken) {
+        return this.executeAsFuture(this.oAuthClient.revokeAccessToken(accessToken));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.paysera.lib.wallet.clients;
+
+import com.paysera.lib.wallet.ClientServerTimeSynchronizationConfiguration;
+import com.paysera.lib.wallet.entities.partneroauth.ConfirmPartnerAllowanceResponse;
+import com.paysera.lib.wallet.entities.partneroauth.PartnerAllowanceRequest;
+import com.paysera.lib.wallet.entities.partneroauth.PartnerAllowanceResponse;
+import com.paysera.lib.wallet.factories.RetrofitFactory;
+import com.paysera.lib.wallet.helpers.OkHTTPQueryStringConverter;
+import com.paysera.lib.wallet.providers.TimestampProvider;
+import okhttp3.OkHttpClient;
+import retrofit2.Retrofit;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * CompletableFuture counterpart of {@link PartnerOauthAsyncClient}.
+ */
+public class PartnerOauthFutureClient extends BaseAsyncClient {
+
+    private PartnerOauthApiClient partnerOauthApiClient;
+
+    public PartnerOauthFutureClient(
+        TimestampProvider timestampProvider,
+        ClientServerTimeSynchronizationConfiguration clientServerTimeSynchronizationConfiguration,
+        PublicWalletApiClient publicWalletApiClient,
+        PartnerOauthApiClient partnerOauthApiClient,
+        Retrofit retrofit,
+        OkHTTPQueryStringConverter okHTTPQueryStringConverter
+    ) {
+        super(
+            timestampProvider,
+            clientServerTimeSynchronizationConfiguration,
+            publicWalletApiClient,
+            retrofit,
+            okHTTPQueryStringConverter
+        );
+        this.partnerOauthApiClient = partnerOauthApiClient;
+    }
+
+    /**
+     * Builds the API clients with {@link RetrofitFactory#withDirectCallbacks()}, so futures
+     * complete on the OkHttp dispatcher thread without a hop through the callback executor.
+     */
+    public PartnerOauthFutureClient(
+        TimestampProvider timestampProvider,
+        ClientServerTimeSynchronizationConfiguration clientServerTimeSynchronizationConfiguration,
+        RetrofitFactory retrofitFactory,
+        OkHttpClient httpClient,
+        OkHTTPQueryStringConverter okHTTPQueryStringConverter
+    ) {
+        this(
+            timestampProvider,
+            clientServerTimeSynchronizationConfiguration,
+            retrofitFactory.withDirectCallbacks().createPublicWalletApiClient(httpClient),
+            retrofitFactory.withDirectCallbacks().createPartnerOAuthApiClient(httpClient),
+            retrofitFactory.withDirectCallbacks().createWalletApiRetrofit(httpClient),
+            okHTTPQueryStringConverter
+        );
+    }
+
+    public CompletableFuture<PartnerAllowanceResponse> createPartnerAllowance(PartnerAllowanceRequest partnerAllowanceRequest) {
+        return this.executeAsFuture(this.partnerOauthApiClient.createPartnerAllowance(partnerAllowanceRequest));
+    }
+
+    public CompletableFuture<ConfirmPartnerAllowanceResponse> confirmPartnerAllowance(String key) {
+        return this.executeAsFuture(this.partnerOauthApiClient.confirmPartnerAllowance(key));
+    }
+}
\ No newline at end of file
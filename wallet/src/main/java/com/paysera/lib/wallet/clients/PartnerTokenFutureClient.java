@@ -0,0 +1,62 @@
+package com.paysera.lib.wallet.clients;
+
+import com.paysera.lib.wallet.ClientServerTimeSynchronizationConfiguration;
+import com.paysera.lib.wallet.entities.partners.PartnerToken;
+import com.paysera.lib.wallet.factories.RetrofitFactory;
+import com.paysera.lib.wallet.helpers.OkHTTPQueryStringConverter;
+import com.paysera.lib.wallet.providers.TimestampProvider;
+import okhttp3.OkHttpClient;
+import retrofit2.Retrofit;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * CompletableFuture counterpart of {@link PartnerTokenAsyncClient}.
+ */
+public class PartnerTokenFutureClient extends BaseAsyncClient {
+
+    private PartnerTokenApiClient partnerTokenApiClient;
+
+    public PartnerTokenFutureClient(
+        TimestampProvider timestampProvider,
+        ClientServerTimeSynchronizationConfiguration clientServerTimeSynchronizationConfiguration,
+        PublicWalletApiClient publicWalletApiClient,
+        PartnerTokenApiClient partnerTokenApiClient,
+        Retrofit retrofit,
+        OkHTTPQueryStringConverter okHTTPQueryStringConverter
+    ) {
+        super(
+            timestampProvider,
+            clientServerTimeSynchronizationConfiguration,
+            publicWalletApiClient,
+            retrofit,
+            okHTTPQueryStringConverter
+        );
+        this.partnerTokenApiClient = partnerTokenApiClient;
+    }
+
+    /**
+     * Builds the API clients with {@link RetrofitFactory#withDirectCallbacks()}, so futures
+     * complete on the OkHttp dispatcher thread without a hop through the callback executor.
+     */
+    public PartnerTokenFutureClient(
+        TimestampProvider timestampProvider,
+        ClientServerTimeSynchronizationConfiguration clientServerTimeSynchronizationConfiguration,
+        RetrofitFactory retrofitFactory,
+        OkHttpClient httpClient,
+        OkHTTPQueryStringConverter okHTTPQueryStringConverter
+    ) {
+        this(
+            timestampProvider,
+            clientServerTimeSynchronizationConfiguration,
+            retrofitFactory.withDirectCallbacks().createPublicWalletApiClient(httpClient),
+            retrofitFactory.withDirectCallbacks().createPartnerTokenApiClient(httpClient),
+            retrofitFactory.withDirectCallbacks().createWalletApiRetrofit(httpClient),
+            okHTTPQueryStringConverter
+        );
+    }
+
+    public CompletableFuture<PartnerToken> getPartnerToken(Integer walletId, String partner) {
+        return this.executeAsFuture(this.partnerTokenApiClient.getPartnerToken(walletId, partner));
+    }
+}
\ No newline at end of file
@@ -12,14 +12,17 @@ import okhttp3.Request;
 import retrofit2.Call;
 import retrofit2.Retrofit;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
 
 //TODO pasitestuot call'us ar eina per HTTP 2 (kai įjungs)
 public class RefreshingWalletAsyncClient extends WalletAsyncClient {
     private final AccessTokenRefresher accessTokenRefresher;
-    private Queue<WalletApiCall> callQueue = new LinkedList<>();
+    private final Queue<WalletApiCall> callQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicReference<Task<Credentials>> refreshTask = new AtomicReference<>();
     private GrantType grantType;
 
     public RefreshingWalletAsyncClient(
@@ -66,23 +69,17 @@ public class RefreshingWalletAsyncClient extends WalletAsyncClient {
         return walletApiCall.getTaskCompletionSource().getTask();
     }
 
+    /**
+     * Requests are parked while a refresh is in flight and resumed when it completes. The
+     * state is read without locking, a request parked just as the refresh completes
+     * resumes the queue itself.
+     */
     private void performWalletApiCall(final WalletApiCall walletApiCall) {
-        TaskCompletionSource taskCompletionSource = new TaskCompletionSource();
-        if (this.accessTokenRefresher != null) {
-            synchronized (this.accessTokenRefresher) {
-                if (this.accessTokenRefresher.isAccessTokenRefreshing()) {
-                    this.callQueue.add(walletApiCall);
-                    return;
-                } else {
-                    if (this.accessTokenRefresher.willAccessTokenExpireSoon()) {
-                        this.callQueue.add(walletApiCall);
-                        refreshAccessToken();
-                        return;
-                    }
-                }
-            }
+        if (this.accessTokenRefresher != null && this.parkWhileRefreshing(walletApiCall)) {
+            return;
         }
 
+        TaskCompletionSource taskCompletionSource = new TaskCompletionSource();
         if (walletApiCall instanceof RetrofitWalletApiCall) {
             RetrofitWalletApiCall retrofitWalletApiCall = ((RetrofitWalletApiCall) walletApiCall);
             this.performCallWithTaskCompletionSource(
@@ -106,13 +103,11 @@ public class RefreshingWalletAsyncClient extends WalletAsyncClient {
 
                 WalletApiException walletApiException = (WalletApiException) task.getError();
                 if (walletApiException.isTokenExpired() && accessTokenRefresher != null) {
-                    synchronized (accessTokenRefresher) {
-                        if (accessTokenRefresher.hasAccessTokenBeenRecentlyRefreshed()) {
-                            performWalletApiCall(walletApiCall);
-                        } else {
-                            callQueue.add(walletApiCall);
-                            refreshAccessToken();
-                        }
+                    if (accessTokenRefresher.hasAccessTokenBeenRecentlyRefreshed()) {
+                        performWalletApiCall(walletApiCall);
+                    } else {
+                        callQueue.add(walletApiCall);
+                        refreshAccessToken();
                     }
                 } else if (walletApiException.isRateLimitExceededError()) {
                     this.callQueue.add(walletApiCall);
@@ -125,8 +120,54 @@ public class RefreshingWalletAsyncClient extends WalletAsyncClient {
             });
     }
 
+    private boolean parkWhileRefreshing(WalletApiCall walletApiCall) {
+        if (refreshTask.get() == null && !accessTokenRefresher.isAccessTokenRefreshing()) {
+            if (!accessTokenRefresher.willAccessTokenExpireSoon()) {
+                return false;
+            }
+            callQueue.add(walletApiCall);
+            refreshAccessToken();
+            return true;
+        }
+
+        callQueue.add(walletApiCall);
+        if (refreshTask.get() == null) {
+            if (accessTokenRefresher.getAccessTokenRefreshTask() != null) {
+                // started by another client sharing the refresher
+                refreshAccessToken();
+            } else if (!accessTokenRefresher.isAccessTokenRefreshing()) {
+                resumeCallQueue();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Concurrent callers share a single refresh and the call queue is resumed once per refresh.
+     */
     public Task<Credentials> refreshAccessToken() {
-        return this.refreshAccessToken(grantType, null, null);
+        while (true) {
+            Task<Credentials> currentRefreshTask = refreshTask.get();
+            if (currentRefreshTask != null) {
+                return currentRefreshTask;
+            }
+
+            TaskCompletionSource<Credentials> taskCompletionSource = new TaskCompletionSource<>();
+            if (!refreshTask.compareAndSet(null, taskCompletionSource.getTask())) {
+                continue;
+            }
+            this.accessTokenRefresher.refreshAccessToken(grantType, null, null).continueWith(task -> {
+                refreshTask.set(null);
+                this.onAccessTokenRefreshed(task);
+                if (task.isFaulted()) {
+                    taskCompletionSource.setError(task.getError());
+                } else {
+                    taskCompletionSource.setResult(task.getResult());
+                }
+                return null;
+            });
+            return taskCompletionSource.getTask();
+        }
     }
 
     public Task<Credentials> refreshAccessToken(GrantType grantType, List<String> scopes, String code) {
@@ -135,29 +176,41 @@ public class RefreshingWalletAsyncClient extends WalletAsyncClient {
             scopes,
             code
         ).continueWithTask(task -> {
-            if (task.isFaulted()) {
-                cancelCallQueue((WalletApiException) task.getError());
-            } else {
-                resumeCallQueue();
-            }
+            this.onAccessTokenRefreshed(task);
             return task;
         });
     }
 
+    private void onAccessTokenRefreshed(Task<Credentials> task) {
+        if (task.isFaulted()) {
+            cancelCallQueue((WalletApiException) task.getError());
+        } else {
+            resumeCallQueue();
+        }
+    }
+
+    /**
+     * Takes the parked calls out first, so calls parked again by a new refresh wait for it.
+     */
     private void resumeCallQueue() {
-        synchronized (this.accessTokenRefresher) {
-            while (!this.callQueue.isEmpty()) {
-                this.performWalletApiCall(this.callQueue.poll());
-            }
+        for (WalletApiCall walletApiCall : this.pollCallQueue()) {
+            this.performWalletApiCall(walletApiCall);
         }
     }
 
     private void cancelCallQueue(WalletApiException walletApiException) {
-        synchronized (this.accessTokenRefresher) {
-            while (!this.callQueue.isEmpty()) {
-                this.callQueue.poll().getTaskCompletionSource().setError(walletApiException);
-            }
+        for (WalletApiCall walletApiCall : this.pollCallQueue()) {
+            walletApiCall.getTaskCompletionSource().setError(walletApiException);
+        }
+    }
+
+    private List<WalletApiCall> pollCallQueue() {
+        List<WalletApiCall> walletApiCalls = new ArrayList<>();
+        WalletApiCall walletApiCall;
+        while ((walletApiCall = this.callQueue.poll()) != null) {
+            walletApiCalls.add(walletApiCall);
         }
+        return walletApiCalls;
     }
 
     @Override
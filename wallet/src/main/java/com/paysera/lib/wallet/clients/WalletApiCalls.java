@@ -0,0 +1,331 @@
+package com.paysera.lib.wallet.clients;
+
+import com.paysera.lib.wallet.entities.*;
+import com.paysera.lib.wallet.entities.card.Card;
+import com.paysera.lib.wallet.entities.confirmations.Confirmation;
+import com.paysera.lib.wallet.entities.confirmations.ConfirmationFilter;
+import com.paysera.lib.wallet.entities.easypay.EasyPayFees;
+import com.paysera.lib.wallet.entities.easypay.EasyPayTransfer;
+import com.paysera.lib.wallet.entities.easypay.EasyPayTransferFilter;
+import com.paysera.lib.wallet.entities.identifications.IdentificationRequestFilter;
+import com.paysera.lib.wallet.entities.locations.Location;
+import com.paysera.lib.wallet.entities.requests.*;
+import com.paysera.lib.wallet.entities.transfer.Transfer;
+import com.paysera.lib.wallet.filters.*;
+import com.paysera.lib.wallet.helpers.DateHelper;
+import com.paysera.lib.wallet.helpers.EnumHelper;
+import com.paysera.lib.wallet.helpers.StringHelper;
+import org.joda.money.Money;
+import retrofit2.Call;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps filters and request arguments to {@link WalletApiClient} calls. Shared by the Task,
+ * CompletableFuture and blocking wallet clients, which only differ in how they run the call.
+ */
+class WalletApiCalls {
+    private final WalletApiClient walletApiClient;
+
+    WalletApiCalls(WalletApiClient walletApiClient) {
+        this.walletApiClient = walletApiClient;
+    }
+
+    Call<CurrencyConversionCalculation> calculateCurrencyConversion(CurrencyConversionCalculation request) {
+        return this.walletApiClient.calculateCurrencyConversion(
+            request.getFromAmountDecimal(),
+            request.getFromCurrency(),
+            request.getToAmountDecimal(),
+            request.getToCurrency(),
+            request.getAccountNumber()
+        );
+    }
+
+    Call<WalletBalance> getWalletBalance(GetWalletBalanceRequest getWalletBalanceRequest) {
+        return this.walletApiClient.getWalletBalance(
+            getWalletBalanceRequest.getWalletId(),
+            getWalletBalanceRequest.getConvertTo(),
+            getWalletBalanceRequest.isIncludeConvertToCurrency(),
+            getWalletBalanceRequest.isShowHistoricalCurrencies()
+        );
+    }
+
+    static WalletBalance setConvertedCurrency(
+        GetWalletBalanceRequest getWalletBalanceRequest,
+        WalletBalance walletBalance
+    ) {
+        String convertToCurrency = getWalletBalanceRequest.getConvertTo();
+        if (convertToCurrency != null) {
+            for (CurrencyBalance currencyBalance : walletBalance.getCurrencyBalances()) {
+                currencyBalance.setConvertedCurrency(convertToCurrency);
+            }
+        }
+        return walletBalance;
+    }
+
+    Call<Wallet> getWallet(WalletFilter walletFilter) {
+        return this.walletApiClient.getWallet(
+            walletFilter.getAccountNumber(),
+            walletFilter.getPhone(),
+            walletFilter.getEmail(),
+            walletFilter.getUserId()
+        );
+    }
+
+    Call<MetadataAwareResponse<Card>> getCards(CardFilter cardFilter) {
+        return this.walletApiClient.getCards(
+            cardFilter.getUserId(),
+            cardFilter.getLimit(),
+            cardFilter.getOffset()
+        );
+    }
+
+    Call<Wallet> changeWalletDescription(Integer walletId, String description) {
+        return this.walletApiClient.changeWalletDescription(
+            walletId,
+            new ChangeWalletDescriptionRequest(description)
+        );
+    }
+
+    Call<User> assignPhoneNumber(Integer userId, String phone, UserPhoneConfirmationParameters parameters) {
+        return this.walletApiClient.assignPhoneNumber(
+            userId,
+            new AssignPhoneNumberRequest(phone, parameters)
+        );
+    }
+
+    Call<User> assignPhoneNumber(Integer userId, String phone) {
+        return this.walletApiClient.assignPhoneNumber(
+            userId,
+            new AssignPhoneNumberRequest(phone)
+        );
+    }
+
+    Call<User> assignEmail(String email, UserEmailConfirmationParameters parameters) {
+        return this.walletApiClient.assignEmail(new AssignEmailRequest(email, parameters));
+    }
+
+    Call<User> assignEmail(String email) {
+        return this.walletApiClient.assignEmail(new AssignEmailRequest(email));
+    }
+
+    Call<User> confirmPhone(Integer userId, String code) {
+        return this.walletApiClient.confirmPhone(userId, new ConfirmPhoneRequest(code));
+    }
+
+    Call<User> confirmEmail(String code) {
+        return this.walletApiClient.confirmEmail(new ConfirmEmailRequest(code));
+    }
+
+    Call<UserPosition> provideUserPosition(float lat, float lng, String type) {
+        return this.walletApiClient.provideUserPosition(new UserPosition(lat, lng, type));
+    }
+
+    Call<TransactionRequest> createTransactionRequest(TransactionRequest transactionRequest) {
+        return this.walletApiClient.createTransactionRequest(
+            transactionRequest.getTransactionKey(),
+            transactionRequest
+        );
+    }
+
+    Call<User> resetPassword(Integer userId, String code, String password) {
+        ResetPasswordConfirmRequest resetPasswordConfirmRequest = new ResetPasswordConfirmRequest();
+        resetPasswordConfirmRequest.setCode(code);
+        resetPasswordConfirmRequest.setPassword(password);
+        return this.walletApiClient.resetPassword(userId, resetPasswordConfirmRequest);
+    }
+
+    Call<User> changePassword(Integer userId, String oldPassword, String newPassword) {
+        ChangePasswordRequest changePasswordRequest = new ChangePasswordRequest();
+        changePasswordRequest.setOldPassword(oldPassword);
+        changePasswordRequest.setPassword(newPassword);
+        return this.walletApiClient.changePassword(userId, changePasswordRequest);
+    }
+
+    Call<User> getUser(UserFilter userFilter) {
+        return this.walletApiClient.getUser(
+            userFilter.getEmail(),
+            userFilter.getPhone(),
+            userFilter.getPersonCode(),
+            userFilter.getCountryCode()
+        );
+    }
+
+    Call<Map<String, Wallet>> getWallets(WalletsFilter walletsFilter) {
+        return this.walletApiClient.getWallets(
+            StringHelper.listToString(walletsFilter.getEmailList(), ","),
+            StringHelper.listToString(walletsFilter.getPhoneList(), ","),
+            StringHelper.listToString(walletsFilter.getEmailHashList(), ","),
+            StringHelper.listToString(walletsFilter.getPhoneHashList(), ","),
+            walletsFilter.getLimit()
+        );
+    }
+
+    Call<MetadataAwareResponse<Location>> getLocations(LocationsFilter locationsFilter) {
+        return this.walletApiClient.getLocations(
+            locationsFilter.getLocale(),
+            locationsFilter.getLat(),
+            locationsFilter.getLng(),
+            locationsFilter.getDistance(),
+            DateHelper.convertDateToUnixTimestampSeconds(locationsFilter.getUpdatedAfter()),
+            StringHelper.listToString(locationsFilter.getStatuses(), ","),
+            locationsFilter.getLimit(),
+            locationsFilter.getOffset()
+        );
+    }
+
+    Call<MetadataAwareResponse<Statement>> getStatements(StatementsFilter statementsFilter) {
+        return this.walletApiClient.getStatements(
+            statementsFilter.getWalletId(),
+            StringHelper.listToString(statementsFilter.getCurrencies(), ","),
+            EnumHelper.enumToString(statementsFilter.getDirection()),
+            statementsFilter.getText(),
+            DateHelper.convertDateToUnixTimestampSeconds(statementsFilter.getFrom()),
+            DateHelper.convertDateToUnixTimestampSeconds(statementsFilter.getTo()),
+            statementsFilter.getLimit(),
+            statementsFilter.getOffset(),
+            statementsFilter.getAfter(),
+            statementsFilter.getBefore(),
+            statementsFilter.getOrderBy(),
+            toStringOrNull(statementsFilter.getOrderDirection())
+        );
+    }
+
+    Call<MetadataAwareResponse<PendingPayment>> getPendingPayments(StatementsFilter statementsFilter) {
+        return this.walletApiClient.getPendingPayments(
+            statementsFilter.getWalletId(),
+            statementsFilter.getLimit(),
+            statementsFilter.getOffset()
+        );
+    }
+
+    Call<MetadataAwareResponse<ReservationStatement>> getReservationStatements(StatementsFilter statementsFilter) {
+        return this.walletApiClient.getReservationStatements(
+            statementsFilter.getWalletId(),
+            statementsFilter.getLimit(),
+            statementsFilter.getOffset()
+        );
+    }
+
+    Call<Void> appendContactsToContactBook(
+        Integer contactBookId,
+        List<String> emails,
+        List<String> phones,
+        List<String> emailHashes,
+        List<String> phoneHashes
+    ) {
+        AppendContactsToContactBookRequest request = new AppendContactsToContactBookRequest();
+        request.setEmails(emails);
+        request.setPhones(phones);
+        request.setEmailHashes(emailHashes);
+        request.setPhoneHashes(phoneHashes);
+        return this.walletApiClient.appendContactsToContactBook(contactBookId, request);
+    }
+
+    Call<Void> removeFromContactBook(
+        Integer contactBookId,
+        List<String> emailList,
+        List<String> phoneList,
+        List<String> emailHashList,
+        List<String> phoneHashList
+    ) {
+        return this.walletApiClient.removeFromContactBook(
+            contactBookId,
+            StringHelper.listToString(emailList, ","),
+            StringHelper.listToString(phoneList, ","),
+            StringHelper.listToString(emailHashList, ","),
+            StringHelper.listToString(phoneHashList, ",")
+        );
+    }
+
+    Call<MetadataAwareResponse<Transfer>> getTransfers(TransfersFilter filter) {
+        return this.walletApiClient.getTransfers(
+            filter.getCreditAccountNumber(),
+            filter.getStatuses(),
+            filter.getOffset(),
+            filter.getLimit()
+        );
+    }
+
+    Call<MetadataAwareResponse<IdentificationRequest>> getIdentificationRequests(
+        IdentificationRequestFilter identificationRequestFilter
+    ) {
+        return this.walletApiClient.getIdentificationRequests(
+            identificationRequestFilter.getStatuses(),
+            identificationRequestFilter.getOrderBy(),
+            toStringOrNull(identificationRequestFilter.getOrderDirection()),
+            identificationRequestFilter.getLimit(),
+            identificationRequestFilter.getOffset()
+        );
+    }
+
+    Call<Transaction> getTransaction(String transactionKey, List<String> fields) {
+        return this.walletApiClient.getTransaction(
+            transactionKey,
+            StringHelper.listToString(fields, ",")
+        );
+    }
+
+    Call<MetadataAwareResponse<Transaction>> getTransactions(TransactionFilter transactionFilter) {
+        return this.walletApiClient.getTransactions(
+            transactionFilter.getProjectId(),
+            transactionFilter.getLocationId(),
+            transactionFilter.getStatus(),
+            transactionFilter.getLimit(),
+            transactionFilter.getOffset(),
+            transactionFilter.getFrom()
+        );
+    }
+
+    Call<MetadataAwareResponse<Confirmation>> getConfirmations(ConfirmationFilter confirmationFilter) {
+        return this.walletApiClient.getConfirmations(
+            confirmationFilter.getLimit(),
+            confirmationFilter.getOffset(),
+            confirmationFilter.getOrderBy(),
+            toStringOrNull(confirmationFilter.getOrderDirection()),
+            confirmationFilter.getStatus()
+        );
+    }
+
+    Call<Void> unlockRecaptcha(
+        String unlockUrl,
+        String response,
+        String grantType,
+        String username,
+        String password,
+        List<String> scopes
+    ) {
+        return this.walletApiClient.unlockRecaptcha(
+            unlockUrl,
+            response,
+            grantType,
+            username,
+            password,
+            StringHelper.listToString(scopes, " ")
+        );
+    }
+
+    Call<EasyPayFees> getEasyPayFees(Money transferAmount) {
+        return this.walletApiClient.getEasyPayFees(
+            transferAmount.getAmount().toPlainString(),
+            transferAmount.getCurrencyUnit().getCode()
+        );
+    }
+
+    Call<CommonMetadataAwareResponse<EasyPayTransfer>> getEasyPayTransfers(EasyPayTransferFilter filter) {
+        return this.walletApiClient.getEasyPayTransfers(
+            filter.getStatus(),
+            filter.getBeneficiaryUserId(),
+            filter.getPayerWalletId(),
+            filter.getLimit(),
+            filter.getOffset(),
+            filter.getOrderBy(),
+            toStringOrNull(filter.getOrderDirection())
+        );
+    }
+
+    private static String toStringOrNull(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
@@ -346,6 +346,12 @@ public interface WalletApiClient {
     @POST("transfers")
     Call<Transfer> createTransfer(@Body Transfer transfer);
 
+    @POST("transfers")
+    Call<Transfer> createTransfer(
+        @Body Transfer transfer,
+        @Header("Idempotency-Key") String idempotencyKey
+    );
+
     @POST("simulated-transfers")
     Call<Transfer> simulateTransfer(@Body Transfer transfer);
 
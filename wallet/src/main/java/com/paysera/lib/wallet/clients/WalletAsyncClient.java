@@ -22,20 +22,29 @@ import com.paysera.lib.wallet.entities.requests.*;
 import com.paysera.lib.wallet.entities.transfer.Transfer;
 import com.paysera.lib.wallet.entities.transfer.TransferPassword;
 import com.paysera.lib.wallet.filters.*;
-import com.paysera.lib.wallet.helpers.DateHelper;
-import com.paysera.lib.wallet.helpers.EnumHelper;
 import com.paysera.lib.wallet.helpers.OkHTTPQueryStringConverter;
-import com.paysera.lib.wallet.helpers.StringHelper;
+import com.paysera.lib.wallet.helpers.RequestBodyHelper;
+import com.paysera.lib.wallet.helpers.TaskHelper;
 import com.paysera.lib.wallet.providers.TimestampProvider;
+import okhttp3.MediaType;
 import okhttp3.RequestBody;
 import org.joda.money.Money;
 import retrofit2.Retrofit;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class WalletAsyncClient extends BaseAsyncClient {
 
     private WalletApiClient walletApiClient;
+    private WalletApiCalls walletApiCalls;
 
     public WalletAsyncClient(
         TimestampProvider timestampProvider,
@@ -53,6 +62,7 @@ public class WalletAsyncClient extends BaseAsyncClient {
             okHTTPQueryStringConverter
         );
         this.walletApiClient = walletApiClient;
+        this.walletApiCalls = new WalletApiCalls(walletApiClient);
     }
 
     public Task<ServerConfiguration> getServerConfiguration() {
@@ -64,15 +74,7 @@ public class WalletAsyncClient extends BaseAsyncClient {
     }
 
     public Task<CurrencyConversionCalculation> calculateCurrencyConversion(CurrencyConversionCalculation request) {
-        return this.execute(
-            this.walletApiClient.calculateCurrencyConversion(
-                request.getFromAmountDecimal(),
-                request.getFromCurrency(),
-                request.getToAmountDecimal(),
-                request.getToCurrency(),
-                request.getAccountNumber()
-            )
-        );
+        return this.execute(this.walletApiCalls.calculateCurrencyConversion(request));
     }
 
     public Task<CurrencyConversionResult> convertCurrency(ConvertCurrencyCurrencyRequest request) {
@@ -124,30 +126,8 @@ public class WalletAsyncClient extends BaseAsyncClient {
     }
 
     public Task<WalletBalance> getWalletBalance(GetWalletBalanceRequest getWalletBalanceRequest) {
-        int walletId = getWalletBalanceRequest.getWalletId();
-        final String convertToCurrency = getWalletBalanceRequest.getConvertTo();
-        boolean includeConvertToCurrency = getWalletBalanceRequest.isIncludeConvertToCurrency();
-        boolean showHistoricalCurrency = getWalletBalanceRequest.isShowHistoricalCurrencies();
-
-        return this.execute(
-            this.walletApiClient.getWalletBalance(
-                walletId,
-                convertToCurrency,
-                includeConvertToCurrency,
-                showHistoricalCurrency
-            )
-        ).continueWithTask(task -> {
-                if (convertToCurrency == null) {
-                    return task;
-                }
-
-                for (CurrencyBalance currencyBalance : task.getResult().getCurrencyBalances()) {
-                    currencyBalance.setConvertedCurrency(convertToCurrency);
-                }
-
-                return task;
-            }
-        );
+        return this.execute(this.walletApiCalls.getWalletBalance(getWalletBalanceRequest))
+            .onSuccess(task -> WalletApiCalls.setConvertedCurrency(getWalletBalanceRequest, task.getResult()));
     }
 
     public Task<AuthTokenResponse> createAuthToken() {
@@ -155,14 +135,7 @@ public class WalletAsyncClient extends BaseAsyncClient {
     }
 
     public Task<Wallet> getWallet(WalletFilter walletFilter) {
-        return execute(
-            walletApiClient.getWallet(
-                walletFilter.getAccountNumber(),
-                walletFilter.getPhone(),
-                walletFilter.getEmail(),
-                walletFilter.getUserId()
-            )
-        );
+        return this.execute(this.walletApiCalls.getWallet(walletFilter));
     }
 
     public Task<Card> createCard(Card card) {
@@ -180,13 +153,7 @@ public class WalletAsyncClient extends BaseAsyncClient {
     public Task<MetadataAwareResponse<Card>> getCards(
         CardFilter cardFilter
     ) {
-        return this.execute(
-            this.walletApiClient.getCards(
-                cardFilter.getUserId(),
-                cardFilter.getLimit(),
-                cardFilter.getOffset()
-            )
-        );
+        return this.execute(this.walletApiCalls.getCards(cardFilter));
     }
 
     public Task<Void> deleteWalletDescription(Integer walletId) {
@@ -197,11 +164,7 @@ public class WalletAsyncClient extends BaseAsyncClient {
         Integer walletId,
         String description
     ) {
-        ChangeWalletDescriptionRequest
-            changeWalletDescriptionRequest = new ChangeWalletDescriptionRequest(description);
-        return this.execute(this.walletApiClient.changeWalletDescription(
-            walletId, changeWalletDescriptionRequest
-        ));
+        return this.execute(this.walletApiCalls.changeWalletDescription(walletId, description));
     }
 
     public Task<User> assignPhoneNumber(
@@ -209,57 +172,40 @@ public class WalletAsyncClient extends BaseAsyncClient {
         String phone,
         UserPhoneConfirmationParameters parameters
     ) {
-        AssignPhoneNumberRequest assignPhoneNumberRequest = new AssignPhoneNumberRequest(phone, parameters);
-        return this.execute(
-            this.walletApiClient.assignPhoneNumber(
-                userId,
-                assignPhoneNumberRequest
-            )
-        );
+        return this.execute(this.walletApiCalls.assignPhoneNumber(userId, phone, parameters));
     }
 
     public Task<User> assignPhoneNumber(
         Integer userId,
         String phone
     ) {
-        AssignPhoneNumberRequest assignPhoneNumberRequest = new AssignPhoneNumberRequest(phone);
-        return this.execute(
-            this.walletApiClient.assignPhoneNumber(
-                userId, assignPhoneNumberRequest
-            )
-        );
+        return this.execute(this.walletApiCalls.assignPhoneNumber(userId, phone));
     }
 
     public Task<User> assignEmail(
         String email,
         UserEmailConfirmationParameters parameters
     ) {
-        AssignEmailRequest assignEmailRequest = new AssignEmailRequest(email, parameters);
-        return this.execute(this.walletApiClient.assignEmail(assignEmailRequest));
+        return this.execute(this.walletApiCalls.assignEmail(email, parameters));
     }
 
     public Task<User> assignEmail(
         String email
     ) {
-        AssignEmailRequest assignEmailRequest = new AssignEmailRequest(email);
-        return this.execute(this.walletApiClient.assignEmail(assignEmailRequest));
+        return this.execute(this.walletApiCalls.assignEmail(email));
     }
 
     public Task<User> confirmPhone(
         Integer userId,
         String code
     ) {
-        ConfirmPhoneRequest confirmPhoneRequestRequestBody = new ConfirmPhoneRequest(code);
-        return this.execute(this.walletApiClient.confirmPhone(
-            userId, confirmPhoneRequestRequestBody
-        ));
+        return this.execute(this.walletApiCalls.confirmPhone(userId, code));
     }
 
     public Task<User> confirmEmail(
         String code
     ) {
-        ConfirmEmailRequest confirmEmailRequest = new ConfirmEmailRequest(code);
-        return this.execute(this.walletApiClient.confirmEmail(confirmEmailRequest));
+        return this.execute(this.walletApiCalls.confirmEmail(code));
     }
 
     public Task<List<String>> getCurrencies() {
@@ -288,8 +234,7 @@ public class WalletAsyncClient extends BaseAsyncClient {
         float lng,
         String type
     ) {
-        UserPosition userPosition = new UserPosition(lat, lng, type);
-        return this.execute(this.walletApiClient.provideUserPosition(userPosition));
+        return this.execute(this.walletApiCalls.provideUserPosition(lat, lng, type));
     }
 
     public Task<UserServiceResponse> getUserServices(Integer userId) {
@@ -315,12 +260,7 @@ public class WalletAsyncClient extends BaseAsyncClient {
     public Task<TransactionRequest> createTransactionRequest(
         TransactionRequest transactionRequest
     ) {
-        return this.execute(
-            this.walletApiClient.createTransactionRequest(
-                transactionRequest.getTransactionKey(),
-                transactionRequest
-            )
-        );
+        return this.execute(this.walletApiCalls.createTransactionRequest(transactionRequest));
     }
 
     public Task<Transaction> createTransaction(Transaction transaction) {
@@ -350,15 +290,7 @@ public class WalletAsyncClient extends BaseAsyncClient {
         String code,
         String password
     ) {
-        ResetPasswordConfirmRequest resetPasswordConfirmRequest = new ResetPasswordConfirmRequest();
-        resetPasswordConfirmRequest.setCode(code);
-        resetPasswordConfirmRequest.setPassword(password);
-        return this.execute(
-            this.walletApiClient.resetPassword(
-                userId,
-                resetPasswordConfirmRequest
-            )
-        );
+        return this.execute(this.walletApiCalls.resetPassword(userId, code, password));
     }
 
     public Task<User> changePassword(
@@ -366,36 +298,15 @@ public class WalletAsyncClient extends BaseAsyncClient {
         String oldPassword,
         String newPassword
     ) {
-        ChangePasswordRequest changePasswordRequest = new ChangePasswordRequest();
-        changePasswordRequest.setOldPassword(oldPassword);
-        changePasswordRequest.setPassword(newPassword);
-        return this.execute(
-            this.walletApiClient.changePassword(
-                userId,
-                changePasswordRequest
-            )
-        );
+        return this.execute(this.walletApiCalls.changePassword(userId, oldPassword, newPassword));
     }
 
     public Task<User> getUser(UserFilter userFilter) {
-        return this.execute(this.walletApiClient.getUser(
-            userFilter.getEmail(),
-            userFilter.getPhone(),
-            userFilter.getPersonCode(),
-            userFilter.getCountryCode()
-        ));
+        return this.execute(this.walletApiCalls.getUser(userFilter));
     }
 
     public Task<Map<String, Wallet>> getWallets(WalletsFilter walletsFilter) {
-        return this.execute(
-            this.walletApiClient.getWallets(
-                StringHelper.listToString(walletsFilter.getEmailList(), ","),
-                StringHelper.listToString(walletsFilter.getPhoneList(), ","),
-                StringHelper.listToString(walletsFilter.getEmailHashList(), ","),
-                StringHelper.listToString(walletsFilter.getPhoneHashList(), ","),
-                walletsFilter.getLimit()
-            )
-        );
+        return this.execute(this.walletApiCalls.getWallets(walletsFilter));
     }
 
     public Task<List<LocationCategory>> getLocationCategories(String locale) {
@@ -405,64 +316,25 @@ public class WalletAsyncClient extends BaseAsyncClient {
     public Task<MetadataAwareResponse<Location>> getLocations(
         LocationsFilter locationsFilter
     ) {
-        return this.execute(
-            this.walletApiClient.getLocations(
-                locationsFilter.getLocale(),
-                locationsFilter.getLat(),
-                locationsFilter.getLng(),
-                locationsFilter.getDistance(),
-                DateHelper.convertDateToUnixTimestampSeconds(locationsFilter.getUpdatedAfter()),
-                StringHelper.listToString(locationsFilter.getStatuses(), ","),
-                locationsFilter.getLimit(),
-                locationsFilter.getOffset()
-            )
-        );
+        return this.execute(this.walletApiCalls.getLocations(locationsFilter));
     }
 
     public Task<MetadataAwareResponse<Statement>> getStatements(
         StatementsFilter statementsFilter
     ) {
-        String orderDirectionValue = null;
-        if (statementsFilter.getOrderDirection() != null) {
-            orderDirectionValue = statementsFilter.getOrderDirection().toString();
-        }
-        return this.execute(
-            this.walletApiClient.getStatements(
-                statementsFilter.getWalletId(),
-                StringHelper.listToString(statementsFilter.getCurrencies(), ","),
-                EnumHelper.enumToString(statementsFilter.getDirection()),
-                statementsFilter.getText(),
-                DateHelper.convertDateToUnixTimestampSeconds(statementsFilter.getFrom()),
-                DateHelper.convertDateToUnixTimestampSeconds(statementsFilter.getTo()),
-                statementsFilter.getLimit(),
-                statementsFilter.getOffset(),
-                statementsFilter.getAfter(),
-                statementsFilter.getBefore(),
-                statementsFilter.getOrderBy(),
-                orderDirectionValue
-            )
-        );
+        return this.execute(this.walletApiCalls.getStatements(statementsFilter));
     }
 
     public Task<MetadataAwareResponse<PendingPayment>> getPendingPayments(
         StatementsFilter statementsFilter
     ) {
-        return this.execute(this.walletApiClient.getPendingPayments(
-            statementsFilter.getWalletId(),
-            statementsFilter.getLimit(),
-            statementsFilter.getOffset()
-        ));
+        return this.execute(this.walletApiCalls.getPendingPayments(statementsFilter));
     }
 
     public Task<MetadataAwareResponse<ReservationStatement>> getReservationStatements(
         StatementsFilter statementsFilter
     ) {
-        return this.execute(
-            this.walletApiClient.getReservationStatements(
-                statementsFilter.getWalletId(),
-                statementsFilter.getLimit(), statementsFilter.getOffset()
-            )
-        );
+        return this.execute(this.walletApiCalls.getReservationStatements(statementsFilter));
     }
 
     public Task<ContactBook> createContactBookForUser(Integer userId) {
@@ -480,15 +352,13 @@ public class WalletAsyncClient extends BaseAsyncClient {
         List<String> emailHashes,
         List<String> phoneHashes
     ) {
-        AppendContactsToContactBookRequest request = new AppendContactsToContactBookRequest();
-        request.setEmails(emails);
-        request.setPhones(phones);
-        request.setEmailHashes(emailHashes);
-        request.setPhoneHashes(phoneHashes);
         return this.execute(
-            this.walletApiClient.appendContactsToContactBook(
+            this.walletApiCalls.appendContactsToContactBook(
                 contactBookId,
-                request
+                emails,
+                phones,
+                emailHashes,
+                phoneHashes
             )
         );
     }
@@ -501,12 +371,13 @@ public class WalletAsyncClient extends BaseAsyncClient {
         List<String> phoneHashList
     ) {
         return this.execute(
-            this.walletApiClient.removeFromContactBook(
+            this.walletApiCalls.removeFromContactBook(
                 contactBookId,
-                StringHelper.listToString(emailList, ","),
-                StringHelper.listToString(phoneList, ","),
-                StringHelper.listToString(emailHashList, ","),
-                StringHelper.listToString(phoneHashList, ","))
+                emailList,
+                phoneList,
+                emailHashList,
+                phoneHashList
+            )
         );
     }
 
@@ -524,6 +395,14 @@ public class WalletAsyncClient extends BaseAsyncClient {
         return this.execute(this.walletApiClient.createTransfer(transfer));
     }
 
+    /**
+     * The idempotency key makes the request safe to retry, reuse the same key for every
+     * attempt to create the same transfer.
+     */
+    public Task<Transfer> createTransfer(Transfer transfer, String idempotencyKey) {
+        return this.execute(this.walletApiClient.createTransfer(transfer, idempotencyKey));
+    }
+
     public Task<Transfer> simulateTransfer(Transfer transfer) {
         return this.execute(this.walletApiClient.simulateTransfer(transfer));
     }
@@ -545,14 +424,7 @@ public class WalletAsyncClient extends BaseAsyncClient {
     }
 
     public Task<MetadataAwareResponse<Transfer>> getTransfers(TransfersFilter filter) {
-        return this.execute(
-            this.walletApiClient.getTransfers(
-                filter.getCreditAccountNumber(),
-                filter.getStatuses(),
-                filter.getOffset(),
-                filter.getLimit()
-            )
-        );
+        return this.execute(this.walletApiCalls.getTransfers(filter));
     }
 
     public Task<Transfer> provideTransferPassword(Long transferId, TransferPassword password) {
@@ -560,19 +432,7 @@ public class WalletAsyncClient extends BaseAsyncClient {
     }
 
     public Task<MetadataAwareResponse<IdentificationRequest>> getIdentificationRequests(IdentificationRequestFilter identificationRequestFilter) {
-        String orderDirectionValue = null;
-        if (identificationRequestFilter.getOrderDirection() != null) {
-            orderDirectionValue = identificationRequestFilter.getOrderDirection().toString();
-        }
-        return this.execute(
-            this.walletApiClient.getIdentificationRequests(
-                identificationRequestFilter.getStatuses(),
-                identificationRequestFilter.getOrderBy(),
-                orderDirectionValue,
-                identificationRequestFilter.getLimit(),
-                identificationRequestFilter.getOffset()
-            )
-        );
+        return this.execute(this.walletApiCalls.getIdentificationRequests(identificationRequestFilter));
     }
 
     public Task<MetadataAwareResponse<IdentificationRequest>> getIdentificationRequests(Integer userId, List<String> statuses) {
@@ -589,12 +449,7 @@ public class WalletAsyncClient extends BaseAsyncClient {
     }
 
     public Task<Transaction> getTransaction(String transactionKey, List<String> fields) {
-        return this.execute(
-            this.walletApiClient.getTransaction(
-                transactionKey,
-                StringHelper.listToString(fields, ",")
-            )
-        );
+        return this.execute(this.walletApiCalls.getTransaction(transactionKey, fields));
     }
 
     public Task<Void> cancelTransaction(String transactionKey) {
@@ -608,32 +463,11 @@ public class WalletAsyncClient extends BaseAsyncClient {
     public Task<MetadataAwareResponse<Transaction>> getTransactions(
         TransactionFilter transactionFilter
     ) {
-        return this.execute(
-            this.walletApiClient.getTransactions(
-                transactionFilter.getProjectId(),
-                transactionFilter.getLocationId(),
-                transactionFilter.getStatus(),
-                transactionFilter.getLimit(),
-                transactionFilter.getOffset(),
-                transactionFilter.getFrom()
-            )
-        );
+        return this.execute(this.walletApiCalls.getTransactions(transactionFilter));
     }
 
     public Task<MetadataAwareResponse<Confirmation>> getConfirmations(ConfirmationFilter confirmationFilter) {
-        String orderDirectionValue = null;
-        if (confirmationFilter.getOrderDirection() != null) {
-            orderDirectionValue = confirmationFilter.getOrderDirection().toString();
-        }
-        return this.execute(
-            this.walletApiClient.getConfirmations(
-                confirmationFilter.getLimit(),
-                confirmationFilter.getOffset(),
-                confirmationFilter.getOrderBy(),
-                orderDirectionValue,
-                confirmationFilter.getStatus()
-            )
-        );
+        return this.execute(this.walletApiCalls.getConfirmations(confirmationFilter));
     }
 
     public Task<Confirmation> getConfirmation(String identifier) {
@@ -709,6 +543,67 @@ public class WalletAsyncClient extends BaseAsyncClient {
         );
     }
 
+    public Task<Void> identificationRequestFileUpload(
+        Long identificationRequestId,
+        Integer order,
+        MediaType mediaType,
+        Path path
+    ) {
+        return this.uploadFile(() -> this.identificationRequestFileUpload(
+            identificationRequestId,
+            order,
+            RequestBodyHelper.create(mediaType, path)
+        ));
+    }
+
+    public Task<Void> identificationRequestFileUpload(
+        Long identificationRequestId,
+        Integer order,
+        MediaType mediaType,
+        FileChannel fileChannel
+    ) {
+        return this.uploadFile(() -> this.identificationRequestFileUpload(
+            identificationRequestId,
+            order,
+            RequestBodyHelper.create(mediaType, fileChannel)
+        ));
+    }
+
+    public Task<Void> identificationRequestFileUpload(
+        Long identificationRequestId,
+        Integer order,
+        MediaType mediaType,
+        InputStream inputStream
+    ) {
+        return this.uploadSpooledFile(inputStream, path -> this.identificationRequestFileUpload(
+            identificationRequestId,
+            order,
+            mediaType,
+            path
+        ));
+    }
+
+    /**
+     * Uploads the images keyed by order, at most maxConcurrentUploads at a time.
+     */
+    public Task<Void> identificationRequestFilesUpload(
+        Long identificationRequestId,
+        MediaType mediaType,
+        Map<Integer, Path> pathsByOrder,
+        int maxConcurrentUploads
+    ) {
+        List<Supplier<Task<?>>> uploads = new ArrayList<>();
+        for (Map.Entry<Integer, Path> entry : pathsByOrder.entrySet()) {
+            uploads.add(() -> this.identificationRequestFileUpload(
+                identificationRequestId,
+                entry.getKey(),
+                mediaType,
+                entry.getValue()
+            ));
+        }
+        return TaskHelper.whenAll(uploads, maxConcurrentUploads);
+    }
+
     public Task<CreateDocumentIdentificationResponse> createAdditionalDocumentRequest(
         Long identificationDocumentId,
         CreateDocumentIdentificationRequest request
@@ -733,6 +628,40 @@ public class WalletAsyncClient extends BaseAsyncClient {
         );
     }
 
+    public Task<Void> additionalDocumentUpload(
+        Long additionalDocumentId,
+        MediaType mediaType,
+        Path path
+    ) {
+        return this.uploadFile(() -> this.additionalDocumentUpload(
+            additionalDocumentId,
+            RequestBodyHelper.create(mediaType, path)
+        ));
+    }
+
+    public Task<Void> additionalDocumentUpload(
+        Long additionalDocumentId,
+        MediaType mediaType,
+        FileChannel fileChannel
+    ) {
+        return this.uploadFile(() -> this.additionalDocumentUpload(
+            additionalDocumentId,
+            RequestBodyHelper.create(mediaType, fileChannel)
+        ));
+    }
+
+    public Task<Void> additionalDocumentUpload(
+        Long additionalDocumentId,
+        MediaType mediaType,
+        InputStream inputStream
+    ) {
+        return this.uploadSpooledFile(inputStream, path -> this.additionalDocumentUpload(
+            additionalDocumentId,
+            mediaType,
+            path
+        ));
+    }
+
     public Task<Void> identificationDocumentFileUpload(
         Long identificationDocumentId,
         Integer order,
@@ -747,6 +676,67 @@ public class WalletAsyncClient extends BaseAsyncClient {
         );
     }
 
+    public Task<Void> identificationDocumentFileUpload(
+        Long identificationDocumentId,
+        Integer order,
+        MediaType mediaType,
+        Path path
+    ) {
+        return this.uploadFile(() -> this.identificationDocumentFileUpload(
+            identificationDocumentId,
+            order,
+            RequestBodyHelper.create(mediaType, path)
+        ));
+    }
+
+    public Task<Void> identificationDocumentFileUpload(
+        Long identificationDocumentId,
+        Integer order,
+        MediaType mediaType,
+        FileChannel fileChannel
+    ) {
+        return this.uploadFile(() -> this.identificationDocumentFileUpload(
+            identificationDocumentId,
+            order,
+            RequestBodyHelper.create(mediaType, fileChannel)
+        ));
+    }
+
+    public Task<Void> identificationDocumentFileUpload(
+        Long identificationDocumentId,
+        Integer order,
+        MediaType mediaType,
+        InputStream inputStream
+    ) {
+        return this.uploadSpooledFile(inputStream, path -> this.identificationDocumentFileUpload(
+            identificationDocumentId,
+            order,
+            mediaType,
+            path
+        ));
+    }
+
+    /**
+     * Uploads the images keyed by order, at most maxConcurrentUploads at a time.
+     */
+    public Task<Void> identificationDocumentFilesUpload(
+        Long identificationDocumentId,
+        MediaType mediaType,
+        Map<Integer, Path> pathsByOrder,
+        int maxConcurrentUploads
+    ) {
+        List<Supplier<Task<?>>> uploads = new ArrayList<>();
+        for (Map.Entry<Integer, Path> entry : pathsByOrder.entrySet()) {
+            uploads.add(() -> this.identificationDocumentFileUpload(
+                identificationDocumentId,
+                entry.getKey(),
+                mediaType,
+                entry.getValue()
+            ));
+        }
+        return TaskHelper.whenAll(uploads, maxConcurrentUploads);
+    }
+
     public Task<IdentificationRequest> submitIdentificationRequest(Long identificationRequestId) {
         return this.execute(this.walletApiClient.submitIdentificationRequest(identificationRequestId));
     }
@@ -795,13 +785,13 @@ public class WalletAsyncClient extends BaseAsyncClient {
         List<String> scopes
     ) {
         return this.execute(
-            this.walletApiClient.unlockRecaptcha(
+            this.walletApiCalls.unlockRecaptcha(
                 unlockUrl,
                 response,
                 grantType,
                 username,
                 password,
-                StringHelper.listToString(scopes, " ")
+                scopes
             )
         );
     }
@@ -811,27 +801,11 @@ public class WalletAsyncClient extends BaseAsyncClient {
     }
 
     public Task<EasyPayFees> getEasyPayFees(Money transferAmount) {
-        String amount = transferAmount.getAmount().toPlainString();
-        String currency = transferAmount.getCurrencyUnit().getCode();
-        return this.execute(this.walletApiClient.getEasyPayFees(amount, currency));
+        return this.execute(this.walletApiCalls.getEasyPayFees(transferAmount));
     }
 
     public Task<CommonMetadataAwareResponse<EasyPayTransfer>> getEasyPayTransfers(EasyPayTransferFilter filter) {
-        String orderDirectionValue = null;
-        if (filter.getOrderDirection() != null) {
-            orderDirectionValue = filter.getOrderDirection().toString();
-        }
-        return this.execute(
-            this.walletApiClient.getEasyPayTransfers(
-                filter.getStatus(),
-                filter.getBeneficiaryUserId(),
-                filter.getPayerWalletId(),
-                filter.getLimit(),
-                filter.getOffset(),
-                filter.getOrderBy(),
-                orderDirectionValue
-            )
-        );
+        return this.execute(this.walletApiCalls.getEasyPayTransfers(filter));
     }
 
     public Task<EasyPayTransfer> createEasyPayTransfer(EasyPayCreateTransfer createEasyPayTransfer) {
@@ -841,4 +815,25 @@ public class WalletAsyncClient extends BaseAsyncClient {
     public Task<EasyPayTransfer> cancelEasyPayTransfer(Long easyPayTransferId) {
         return this.execute(this.walletApiClient.cancelEasyPayTransfer(easyPayTransferId));
     }
-}
\ No newline at end of file
+
+    private Task<Void> uploadFile(UploadCallable upload) {
+        try {
+            return upload.call();
+        } catch (IOException exception) {
+            return Task.forError(exception);
+        }
+    }
+
+    private Task<Void> uploadSpooledFile(InputStream inputStream, Function<Path, Task<Void>> upload) {
+        Path directory = this.getUploadSpoolDirectory();
+        return Task.call(() -> RequestBodyHelper.spoolToTemporaryFile(inputStream, directory), this.getUploadSpoolExecutor())
+            .onSuccessTask(spoolTask -> upload.apply(spoolTask.getResult()).continueWithTask(uploadTask -> {
+                Files.deleteIfExists(spoolTask.getResult());
+                return uploadTask;
+            }));
+    }
+
+    private interface UploadCallable {
+        Task<Void> call() throws IOException;
+    }
+}
@@ -0,0 +1,896 @@
+package com.paysera.lib.wallet.clients;
+
+import com.google.gson.JsonObject;
+import com.paysera.lib.wallet.ClientServerTimeSynchronizationConfiguration;
+import com.paysera.lib.wallet.entities.*;
+import com.paysera.lib.wallet.entities.card.Card;
+import com.paysera.lib.wallet.entities.client.Client;
+import com.paysera.lib.wallet.entities.confirmations.Confirmation;
+import com.paysera.lib.wallet.entities.confirmations.ConfirmationFilter;
+import com.paysera.lib.wallet.entities.easypay.EasyPayCreateTransfer;
+import com.paysera.lib.wallet.entities.easypay.EasyPayFees;
+import com.paysera.lib.wallet.entities.easypay.EasyPayTransfer;
+import com.paysera.lib.wallet.entities.easypay.EasyPayTransferFilter;
+import com.paysera.lib.wallet.entities.generator.Generator;
+import com.paysera.lib.wallet.entities.identifications.IdentificationRequestFilter;
+import com.paysera.lib.wallet.entities.locations.Location;
+import com.paysera.lib.wallet.entities.locations.LocationCategory;
+import com.paysera.lib.wallet.entities.notification.NotificationSubscriber;
+import com.paysera.lib.wallet.entities.pos.Spot;
+import com.paysera.lib.wallet.entities.requests.*;
+import com.paysera.lib.wallet.entities.transfer.Transfer;
+import com.paysera.lib.wallet.entities.transfer.TransferPassword;
+import com.paysera.lib.wallet.factories.RetrofitFactory;
+import com.paysera.lib.wallet.filters.*;
+import com.paysera.lib.wallet.helpers.CompletableFutureHelper;
+import com.paysera.lib.wallet.helpers.OkHTTPQueryStringConverter;
+import com.paysera.lib.wallet.helpers.RequestBodyHelper;
+import com.paysera.lib.wallet.providers.TimestampProvider;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.RequestBody;
+import org.joda.money.Money;
+import retrofit2.Retrofit;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * CompletableFuture counterpart of {@link WalletAsyncClient}, mirroring its methods.
+ */
+public class WalletFutureClient extends BaseAsyncClient {
+
+    private WalletApiClient walletApiClient;
+    private WalletApiCalls walletApiCalls;
+
+    public WalletFutureClient(
+        TimestampProvider timestampProvider,
+        ClientServerTimeSynchronizationConfiguration clientServerTimeSynchronizationConfiguration,
+        PublicWalletApiClient publicWalletApiClient,
+        WalletApiClient walletApiClient,
+        Retrofit retrofit,
+        OkHTTPQueryStringConverter okHTTPQueryStringConverter
+    ) {
+        super(
+            timestampProvider,
+            clientServerTimeSynchronizationConfiguration,
+            publicWalletApiClient,
+            retrofit,
+            okHTTPQueryStringConverter
+        );
+        this.walletApiClient = walletApiClient;
+        this.walletApiCalls = new WalletApiCalls(walletApiClient);
+    }
+
+    /**
+     * Builds the API clients with {@link RetrofitFactory#withDirectCallbacks()}, so futures
+     * complete on the OkHttp dispatcher thread without a hop through the callback executor.
+     */
+    public WalletFutureClient(
+        TimestampProvider timestampProvider,
+        ClientServerTimeSynchronizationConfiguration clientServerTimeSynchronizationConfiguration,
+        RetrofitFactory retrofitFactory,
+        OkHttpClient httpClient,
+        OkHTTPQueryStringConverter okHTTPQueryStringConverter
+    ) {
+        this(
+            timestampProvider,
+            clientServerTimeSynchronizationConfiguration,
+            retrofitFactory.withDirectCallbacks().createPublicWalletApiClient(httpClient),
+            retrofitFactory.withDirectCallbacks().createWalletApiClient(httpClient),
+            retrofitFactory.withDirectCallbacks().createWalletApiRetrofit(httpClient),
+            okHTTPQueryStringConverter
+        );
+    }
+
+    public CompletableFuture<ServerConfiguration> getServerConfiguration() {
+        return this.executeAsFuture(this.walletApiClient.getServerConfiguration());
+    }
+
+    public CompletableFuture<ServerInformation> getServerInformation() {
+        return this.executeAsFuture(this.walletApiClient.getServerInformation());
+    }
+
+    public CompletableFuture<CurrencyConversionCalculation> calculateCurrencyConversion(CurrencyConversionCalculation request) {
+        return this.executeAsFuture(this.walletApiCalls.calculateCurrencyConversion(request));
+    }
+
+    public CompletableFuture<CurrencyConversionResult> convertCurrency(ConvertCurrencyCurrencyRequest request) {
+        return this.executeAsFuture(this.walletApiClient.convertCurrency(request));
+    }
+
+    public CompletableFuture<User> getUser() {
+        return this.executeAsFuture(this.walletApiClient.getUser());
+    }
+
+    public CompletableFuture<List<Wallet>> getUserWallets() {
+        return this.executeAsFuture(this.walletApiClient.getUserWallets(false));
+    }
+
+    public CompletableFuture<List<Wallet>> getUserWallets(Boolean isInactiveIncluded) {
+        return this.executeAsFuture(this.walletApiClient.getUserWallets(isInactiveIncluded));
+    }
+
+    public CompletableFuture<Questionnaire> getUserQuestionnaire(Integer userId) {
+        return this.executeAsFuture(this.walletApiClient.getUserQuestionnaire(userId));
+    }
+
+    public CompletableFuture<JWTTokenResponse> getJWTToken(JWTScope scope) {
+        return this.executeAsFuture(this.walletApiClient.getJWTToken(scope));
+    }
+
+    public CompletableFuture<User> getUser(Integer userId) {
+        return this.executeAsFuture(this.walletApiClient.getUser(userId));
+    }
+
+    public CompletableFuture<List<Project>> getUserProjects() {
+        return this.executeAsFuture(this.walletApiClient.getUserProjects());
+    }
+
+    public CompletableFuture<List<Project>> getUserProjects(String fields) {
+        return this.executeAsFuture(this.walletApiClient.getUserProjects(fields));
+    }
+
+    public CompletableFuture<List<Project>> getUserProjects(Integer userId) {
+        return this.executeAsFuture(this.walletApiClient.getUserProjects(userId));
+    }
+
+    public CompletableFuture<List<Location>> getClientLocations() {
+        return this.executeAsFuture(this.walletApiClient.getClientLocations());
+    }
+
+    public CompletableFuture<Wallet> getWallet(Integer walletId) {
+        return this.executeAsFuture(this.walletApiClient.getWallet(walletId));
+    }
+
+    public CompletableFuture<WalletBalance> getWalletBalance(GetWalletBalanceRequest getWalletBalanceRequest) {
+        return CompletableFutureHelper.thenApply(
+            this.executeAsFuture(this.walletApiCalls.getWalletBalance(getWalletBalanceRequest)),
+            walletBalance -> WalletApiCalls.setConvertedCurrency(getWalletBalanceRequest, walletBalance)
+        );
+    }
+
+    public CompletableFuture<AuthTokenResponse> createAuthToken() {
+        return executeAsFuture(walletApiClient.createAuthToken());
+    }
+
+    public CompletableFuture<Wallet> getWallet(WalletFilter walletFilter) {
+        return this.executeAsFuture(this.walletApiCalls.getWallet(walletFilter));
+    }
+
+    public CompletableFuture<Card> createCard(Card card) {
+        return this.executeAsFuture(this.walletApiClient.createCard(card));
+    }
+
+    public CompletableFuture<Card> getCard(Integer cardId) {
+        return this.executeAsFuture(this.walletApiClient.getCard(cardId));
+    }
+
+    public CompletableFuture<Void> deleteCard(Integer cardId) {
+        return this.executeAsFuture(this.walletApiClient.deleteCard(cardId));
+    }
+
+    public CompletableFuture<MetadataAwareResponse<Card>> getCards(
+        CardFilter cardFilter
+    ) {
+        return this.executeAsFuture(this.walletApiCalls.getCards(cardFilter));
+    }
+
+    public CompletableFuture<Void> deleteWalletDescription(Integer walletId) {
+        return this.executeAsFuture(this.walletApiClient.deleteWalletDescription(walletId));
+    }
+
+    public CompletableFuture<Wallet> changeWalletDescription(
+        Integer walletId,
+        String description
+    ) {
+        return this.executeAsFuture(this.walletApiCalls.changeWalletDescription(walletId, description));
+    }
+
+    public CompletableFuture<User> assignPhoneNumber(
+        Integer userId,
+        String phone,
+        UserPhoneConfirmationParameters parameters
+    ) {
+        return this.executeAsFuture(this.walletApiCalls.assignPhoneNumber(userId, phone, parameters));
+    }
+
+    public CompletableFuture<User> assignPhoneNumber(
+        Integer userId,
+        String phone
+    ) {
+        return this.executeAsFuture(this.walletApiCalls.assignPhoneNumber(userId, phone));
+    }
+
+    public CompletableFuture<User> assignEmail(
+        String email,
+        UserEmailConfirmationParameters parameters
+    ) {
+        return this.executeAsFuture(this.walletApiCalls.assignEmail(email, parameters));
+    }
+
+    public CompletableFuture<User> assignEmail(
+        String email
+    ) {
+        return this.executeAsFuture(this.walletApiCalls.assignEmail(email));
+    }
+
+    public CompletableFuture<User> confirmPhone(
+        Integer userId,
+        String code
+    ) {
+        return this.executeAsFuture(this.walletApiCalls.confirmPhone(userId, code));
+    }
+
+    public CompletableFuture<User> confirmEmail(
+        String code
+    ) {
+        return this.executeAsFuture(this.walletApiCalls.confirmEmail(code));
+    }
+
+    public CompletableFuture<List<String>> getCurrencies() {
+        return this.executeAsFuture(this.walletApiClient.getCurrencies());
+    }
+
+    public CompletableFuture<Void> setUserAvatar(Integer userId, RequestBody requestBody) {
+        return this.executeAsFuture(this.walletApiClient.setUserAvatar(
+            userId,
+            requestBody
+        ));
+    }
+
+    public CompletableFuture<Void> setUserAvatar(RequestBody requestBody) {
+        return this.executeAsFuture(this.walletApiClient.setUserAvatar(
+            requestBody
+        ));
+    }
+
+    public CompletableFuture<Void> deleteUserAvatar(Integer userId) {
+        return this.executeAsFuture(this.walletApiClient.deleteUserAvatar(userId));
+    }
+
+    public CompletableFuture<UserPosition> provideUserPosition(
+        float lat,
+        float lng,
+        String type
+    ) {
+        return this.executeAsFuture(this.walletApiCalls.provideUserPosition(lat, lng, type));
+    }
+
+    public CompletableFuture<UserServiceResponse> getUserServices(Integer userId) {
+        return this.executeAsFuture(this.walletApiClient.getUserServices(userId));
+    }
+
+    public CompletableFuture<Void> enableUserService(Integer userId, String service) {
+        return this.executeAsFuture(this.walletApiClient.enableUserService(userId, service));
+    }
+
+    public CompletableFuture<Void> cancelPendingPayment(
+        Integer walletId,
+        long pendingPaymentId
+    ) {
+        return this.executeAsFuture(
+            this.walletApiClient.cancelPendingPayment(
+                walletId,
+                pendingPaymentId
+            )
+        );
+    }
+
+    public CompletableFuture<TransactionRequest> createTransactionRequest(
+        TransactionRequest transactionRequest
+    ) {
+        return this.executeAsFuture(this.walletApiCalls.createTransactionRequest(transactionRequest));
+    }
+
+    public CompletableFuture<Transaction> createTransaction(Transaction transaction) {
+        return this.executeAsFuture(this.walletApiClient.createTransaction(transaction));
+    }
+
+    public CompletableFuture<Client> createClient(Client client) {
+        return this.executeAsFuture(this.walletApiClient.createClient(client));
+    }
+
+    public CompletableFuture<UnknownDevice> getClientStatus(Integer clientId) {
+        return this.executeAsFuture(this.walletApiClient.getClientStatus(clientId));
+    }
+
+    public CompletableFuture<User> createUser(
+        UserRegistrationRequest userRegistrationRequest
+    ) {
+        return this.executeAsFuture(this.walletApiClient.createUser(userRegistrationRequest));
+    }
+
+    public CompletableFuture<User> requestResetPassword(ResetPasswordRequest resetPasswordRequest) {
+        return this.executeAsFuture(this.walletApiClient.requestResetPassword(resetPasswordRequest));
+    }
+
+    public CompletableFuture<User> resetPassword(
+        Integer userId,
+        String code,
+        String password
+    ) {
+        return this.executeAsFuture(this.walletApiCalls.resetPassword(userId, code, password));
+    }
+
+    public CompletableFuture<User> changePassword(
+        Integer userId,
+        String oldPassword,
+        String newPassword
+    ) {
+        return this.executeAsFuture(this.walletApiCalls.changePassword(userId, oldPassword, newPassword));
+    }
+
+    public CompletableFuture<User> getUser(UserFilter userFilter) {
+        return this.executeAsFuture(this.walletApiCalls.getUser(userFilter));
+    }
+
+    public CompletableFuture<Map<String, Wallet>> getWallets(WalletsFilter walletsFilter) {
+        return this.executeAsFuture(this.walletApiCalls.getWallets(walletsFilter));
+    }
+
+    public CompletableFuture<List<LocationCategory>> getLocationCategories(String locale) {
+        return this.executeAsFuture(this.walletApiClient.getLocationCategories(locale));
+    }
+
+    public CompletableFuture<MetadataAwareResponse<Location>> getLocations(
+        LocationsFilter locationsFilter
+    ) {
+        return this.executeAsFuture(this.walletApiCalls.getLocations(locationsFilter));
+    }
+
+    public CompletableFuture<MetadataAwareResponse<Statement>> getStatements(
+        StatementsFilter statementsFilter
+    ) {
+        return this.executeAsFuture(this.walletApiCalls.getStatements(statementsFilter));
+    }
+
+    public CompletableFuture<MetadataAwareResponse<PendingPayment>> getPendingPayments(
+        StatementsFilter statementsFilter
+    ) {
+        return this.executeAsFuture(this.walletApiCalls.getPendingPayments(statementsFilter));
+    }
+
+    public CompletableFuture<MetadataAwareResponse<ReservationStatement>> getReservationStatements(
+        StatementsFilter statementsFilter
+    ) {
+        return this.executeAsFuture(this.walletApiCalls.getReservationStatements(statementsFilter));
+    }
+
+    public CompletableFuture<ContactBook> createContactBookForUser(Integer userId) {
+        return this.executeAsFuture(this.walletApiClient.createContactBookForUser(userId));
+    }
+
+    public CompletableFuture<ContactBook> createContactBookForCurrentUser() {
+        return this.executeAsFuture(this.walletApiClient.createContactBookForCurrentUser());
+    }
+
+    public CompletableFuture<Void> appendContactsToContactBook(
+        Integer contactBookId,
+        List<String> emails,
+        List<String> phones,
+        List<String> emailHashes,
+        List<String> phoneHashes
+    ) {
+        return this.executeAsFuture(
+            this.walletApiCalls.appendContactsToContactBook(
+                contactBookId,
+                emails,
+                phones,
+                emailHashes,
+                phoneHashes
+            )
+        );
+    }
+
+    public CompletableFuture<Void> removeFromContactBook(
+        Integer contactBookId,
+        List<String> emailList,
+        List<String> phoneList,
+        List<String> emailHashList,
+        List<String> phoneHashList
+    ) {
+        return this.executeAsFuture(
+            this.walletApiCalls.removeFromContactBook(
+                contactBookId,
+                emailList,
+                phoneList,
+                emailHashList,
+                phoneHashList
+            )
+        );
+    }
+
+    public CompletableFuture<Void> unregisterSubscriber(
+        Integer subscriberId
+    ) {
+        return this.executeAsFuture(this.walletApiClient.unregisterSubscriber(subscriberId));
+    }
+
+    public CompletableFuture<Void> unregisterSubscriber() {
+        return this.executeAsFuture(this.walletApiClient.unregisterSubscribers());
+    }
+
+    public CompletableFuture<Transfer> createTransfer(Transfer transfer) {
+        return this.executeAsFuture(this.walletApiClient.createTransfer(transfer));
+    }
+
+    /**
+     * The idempotency key makes the request safe to retry, reuse the same key for every
+     * attempt to create the same transfer.
+     */
+    public CompletableFuture<Transfer> createTransfer(Transfer transfer, String idempotencyKey) {
+        return this.executeAsFuture(this.walletApiClient.createTransfer(transfer, idempotencyKey));
+    }
+
+    public CompletableFuture<Transfer> simulateTransfer(Transfer transfer) {
+        return this.executeAsFuture(this.walletApiClient.simulateTransfer(transfer));
+    }
+
+    public CompletableFuture<Transfer> reserveTransfer(String transferId) {
+        return this.executeAsFuture(this.walletApiClient.reserveTransferById(transferId));
+    }
+
+    public CompletableFuture<Transfer> signTransfer(String transferId) {
+        return this.executeAsFuture(this.walletApiClient.signTransferById(transferId));
+    }
+
+    public CompletableFuture<Transfer> deleteTransfer(String transferId) {
+        return this.executeAsFuture(this.walletApiClient.deleteTransferById(transferId));
+    }
+
+    public CompletableFuture<Transfer> getTransfer(String transferId) {
+        return this.executeAsFuture(this.walletApiClient.getTransferById(transferId));
+    }
+
+    public CompletableFuture<MetadataAwareResponse<Transfer>> getTransfers(TransfersFilter filter) {
+        return this.executeAsFuture(this.walletApiCalls.getTransfers(filter));
+    }
+
+    public CompletableFuture<Transfer> provideTransferPassword(Long transferId, TransferPassword password) {
+        return this.executeAsFuture(this.walletApiClient.provideTransferPassword(transferId, password));
+    }
+
+    public CompletableFuture<MetadataAwareResponse<IdentificationRequest>> getIdentificationRequests(IdentificationRequestFilter identificationRequestFilter) {
+        return this.executeAsFuture(this.walletApiCalls.getIdentificationRequests(identificationRequestFilter));
+    }
+
+    public CompletableFuture<MetadataAwareResponse<IdentificationRequest>> getIdentificationRequests(Integer userId, List<String> statuses) {
+        return this.executeAsFuture(
+            this.walletApiClient.getIdentificationRequests(
+                userId,
+                statuses
+            )
+        );
+    }
+
+    public CompletableFuture<Transaction> getTransaction(String transactionKey) {
+        return this.executeAsFuture(this.walletApiClient.getTransaction(transactionKey));
+    }
+
+    public CompletableFuture<Transaction> getTransaction(String transactionKey, List<String> fields) {
+        return this.executeAsFuture(this.walletApiCalls.getTransaction(transactionKey, fields));
+    }
+
+    public CompletableFuture<Void> cancelTransaction(String transactionKey) {
+        return this.executeAsFuture(this.walletApiClient.cancelTransaction(transactionKey));
+    }
+
+    public CompletableFuture<Transaction> confirmTransaction(String transactionKey) {
+        return this.executeAsFuture(this.walletApiClient.confirmTransaction(transactionKey));
+    }
+
+    public CompletableFuture<MetadataAwareResponse<Transaction>> getTransactions(
+        TransactionFilter transactionFilter
+    ) {
+        return this.executeAsFuture(this.walletApiCalls.getTransactions(transactionFilter));
+    }
+
+    public CompletableFuture<MetadataAwareResponse<Confirmation>> getConfirmations(ConfirmationFilter confirmationFilter) {
+        return this.executeAsFuture(this.walletApiCalls.getConfirmations(confirmationFilter));
+    }
+
+    public CompletableFuture<Confirmation> getConfirmation(String identifier) {
+        return this.executeAsFuture(this.walletApiClient.getConfirmation(identifier));
+    }
+
+    public CompletableFuture<Confirmation> acceptConfirmation(String identifier) {
+        return this.executeAsFuture(this.walletApiClient.acceptConfirmation(identifier));
+    }
+
+    public CompletableFuture<Confirmation> rejectConfirmation(String identifier) {
+        return this.executeAsFuture(this.walletApiClient.rejectConfirmation(identifier));
+    }
+
+    public CompletableFuture<Void> generateCode(GenerateCodeRequest generateCodeRequest) {
+        return this.executeAsFuture(this.walletApiClient.generateCode(generateCodeRequest));
+    }
+
+    public CompletableFuture<Void> reserveTransaction(String transactionKey, ReserveTransactionRequest reserveTransactionRequest) {
+        return this.executeAsFuture(
+            this.walletApiClient.reserveTransaction(
+                transactionKey,
+                reserveTransactionRequest
+            )
+        );
+    }
+
+    public CompletableFuture<Spot> getSpotById(long spotId, String fields) {
+        return this.executeAsFuture(
+            this.walletApiClient.getSpotById(
+                spotId,
+                fields
+            )
+        );
+    }
+
+    public CompletableFuture<Spot> checkIntoSpot(Long spotId, String fields) {
+        return this.executeAsFuture(
+            this.walletApiClient.checkIntoSpot(
+                spotId,
+                fields
+            )
+        );
+    }
+
+    public CompletableFuture<IdentificationRequest> createIdentificationRequest() {
+        return this.executeAsFuture(this.walletApiClient.createIdentificationRequest());
+    }
+
+    public CompletableFuture<CreateDocumentIdentificationResponse> createDocumentIdentificationRequest(
+        Long requestId,
+        CreateDocumentIdentificationRequest request
+    ) {
+        return this.executeAsFuture(
+            this.walletApiClient.createDocumentIdentificationRequest(
+                requestId,
+                request
+            )
+        );
+    }
+
+    public CompletableFuture<Void> identificationRequestFileUpload(
+        Long identificationRequestId,
+        Integer order,
+        RequestBody requestBody
+    ) {
+        return this.executeAsFuture(
+            this.walletApiClient.identificationRequestFileUpload(
+                identificationRequestId,
+                order,
+                requestBody
+            )
+        );
+    }
+
+    public CompletableFuture<Void> identificationRequestFileUpload(
+        Long identificationRequestId,
+        Integer order,
+        MediaType mediaType,
+        Path path
+    ) {
+        return this.uploadFile(() -> this.identificationRequestFileUpload(
+            identificationRequestId,
+            order,
+            RequestBodyHelper.create(mediaType, path)
+        ));
+    }
+
+    public CompletableFuture<Void> identificationRequestFileUpload(
+        Long identificationRequestId,
+        Integer order,
+        MediaType mediaType,
+        FileChannel fileChannel
+    ) {
+        return this.uploadFile(() -> this.identificationRequestFileUpload(
+            identificationRequestId,
+            order,
+            RequestBodyHelper.create(mediaType, fileChannel)
+        ));
+    }
+
+    public CompletableFuture<Void> identificationRequestFileUpload(
+        Long identificationRequestId,
+        Integer order,
+        MediaType mediaType,
+        InputStream inputStream
+    ) {
+        return this.uploadSpooledFile(inputStream, path -> this.identificationRequestFileUpload(
+            identificationRequestId,
+            order,
+            mediaType,
+            path
+        ));
+    }
+
+    /**
+     * Uploads the images keyed by order, at most maxConcurrentUploads at a time.
+     */
+    public CompletableFuture<Void> identificationRequestFilesUpload(
+        Long identificationRequestId,
+        MediaType mediaType,
+        Map<Integer, Path> pathsByOrder,
+        int maxConcurrentUploads
+    ) {
+        List<Supplier<CompletableFuture<?>>> uploads = new ArrayList<>();
+        for (Map.Entry<Integer, Path> entry : pathsByOrder.entrySet()) {
+            uploads.add(() -> this.identificationRequestFileUpload(
+                identificationRequestId,
+                entry.getKey(),
+                mediaType,
+                entry.getValue()
+            ));
+        }
+        return CompletableFutureHelper.allOf(uploads, maxConcurrentUploads);
+    }
+
+    public CompletableFuture<CreateDocumentIdentificationResponse> createAdditionalDocumentRequest(
+        Long identificationDocumentId,
+        CreateDocumentIdentificationRequest request
+    ) {
+        return this.executeAsFuture(
+            this.walletApiClient.createAdditionalDocumentRequest(
+                identificationDocumentId,
+                request
+            )
+        );
+    }
+
+    public CompletableFuture<Void> additionalDocumentUpload(
+        Long additionalDocumentId,
+        RequestBody requestBody
+    ) {
+        return this.executeAsFuture(
+            this.walletApiClient.additionalDocumentUpload(
+                additionalDocumentId,
+                requestBody
+            )
+        );
+    }
+
+    public CompletableFuture<Void> additionalDocumentUpload(
+        Long additionalDocumentId,
+        MediaType mediaType,
+        Path path
+    ) {
+        return this.uploadFile(() -> this.additionalDocumentUpload(
+            additionalDocumentId,
+            RequestBodyHelper.create(mediaType, path)
+        ));
+    }
+
+    public CompletableFuture<Void> additionalDocumentUpload(
+        Long additionalDocumentId,
+        MediaType mediaType,
+        FileChannel fileChannel
+    ) {
+        return this.uploadFile(() -> this.additionalDocumentUpload(
+            additionalDocumentId,
+            RequestBodyHelper.create(mediaType, fileChannel)
+        ));
+    }
+
+    public CompletableFuture<Void> additionalDocumentUpload(
+        Long additionalDocumentId,
+        MediaType mediaType,
+        InputStream inputStream
+    ) {
+        return this.uploadSpooledFile(inputStream, path -> this.additionalDocumentUpload(
+            additionalDocumentId,
+            mediaType,
+            path
+        ));
+    }
+
+    public CompletableFuture<Void> identificationDocumentFileUpload(
+        Long identificationDocumentId,
+        Integer order,
+        RequestBody requestBody
+    ) {
+        return this.executeAsFuture(
+            this.walletApiClient.identificationDocumentFileUpload(
+                identificationDocumentId,
+                order,
+                requestBody
+            )
+        );
+    }
+
+    public CompletableFuture<Void> identificationDocumentFileUpload(
+        Long identificationDocumentId,
+        Integer order,
+        MediaType mediaType,
+        Path path
+    ) {
+        return this.uploadFile(() -> this.identificationDocumentFileUpload(
+            identificationDocumentId,
+            order,
+            RequestBodyHelper.create(mediaType, path)
+        ));
+    }
+
+    public CompletableFuture<Void> identificationDocumentFileUpload(
+        Long identificationDocumentId,
+        Integer order,
+        MediaType mediaType,
+        FileChannel fileChannel
+    ) {
+        return this.uploadFile(() -> this.identificationDocumentFileUpload(
+            identificationDocumentId,
+            order,
+            RequestBodyHelper.create(mediaType, fileChannel)
+        ));
+    }
+
+    public CompletableFuture<Void> identificationDocumentFileUpload(
+        Long identificationDocumentId,
+        Integer order,
+        MediaType mediaType,
+        InputStream inputStream
+    ) {
+        return this.uploadSpooledFile(inputStream, path -> this.identificationDocumentFileUpload(
+            identificationDocumentId,
+            order,
+            mediaType,
+            path
+        ));
+    }
+
+    /**
+     * Uploads the images keyed by order, at most maxConcurrentUploads at a time.
+     */
+    public CompletableFuture<Void> identificationDocumentFilesUpload(
+        Long identificationDocumentId,
+        MediaType mediaType,
+        Map<Integer, Path> pathsByOrder,
+        int maxConcurrentUploads
+    ) {
+        List<Supplier<CompletableFuture<?>>> uploads = new ArrayList<>();
+        for (Map.Entry<Integer, Path> entry : pathsByOrder.entrySet()) {
+            uploads.add(() -> this.identificationDocumentFileUpload(
+                identificationDocumentId,
+                entry.getKey(),
+                mediaType,
+                entry.getValue()
+            ));
+        }
+        return CompletableFutureHelper.allOf(uploads, maxConcurrentUploads);
+    }
+
+    public CompletableFuture<IdentificationRequest> submitIdentificationRequest(Long identificationRequestId) {
+        return this.executeAsFuture(this.walletApiClient.submitIdentificationRequest(identificationRequestId));
+    }
+
+    public CompletableFuture<Generator> getGenerator(Integer generatorId) {
+        return this.executeAsFuture(this.walletApiClient.getGenerator(generatorId));
+    }
+
+    public CompletableFuture<Generator> createGenerator(JsonObject jsonObject) {
+        return this.executeAsFuture(this.walletApiClient.createGenerator(jsonObject));
+    }
+
+    public CompletableFuture<NotificationSubscriber> createNotificationsSubscriber(
+        NotificationSubscriber notificationSubscriber
+    ) {
+        return this.executeAsFuture(this.walletApiClient.createNotificationsSubscriber(notificationSubscriber));
+    }
+
+    public CompletableFuture<NotificationSubscriber> editNotificationsSubscriber(
+        Integer subscriberId,
+        NotificationSubscriber notificationSubscriber
+    ) {
+        return this.executeAsFuture(
+            this.walletApiClient.editNotificationsSubscriber(
+                subscriberId,
+                notificationSubscriber
+            )
+        );
+    }
+
+    public CompletableFuture<Void> unlockRecaptcha(String unlockUrl, String response) {
+        return this.executeAsFuture(
+            this.walletApiClient.unlockRecaptcha(
+                unlockUrl,
+                response
+            )
+        );
+    }
+
+    public CompletableFuture<Void> unlockRecaptcha(
+        String unlockUrl,
+        String response,
+        String grantType,
+        String username,
+        String password,
+        List<String> scopes
+    ) {
+        return this.executeAsFuture(
+            this.walletApiCalls.unlockRecaptcha(
+                unlockUrl,
+                response,
+                grantType,
+                username,
+                password,
+                scopes
+            )
+        );
+    }
+
+    public CompletableFuture<Void> collectContact(ContactCollectionRequest contactCollectionRequest) {
+        return this.executeAsFuture(this.walletApiClient.collectContact(contactCollectionRequest));
+    }
+
+    public CompletableFuture<EasyPayFees> getEasyPayFees(Money transferAmount) {
+        return this.executeAsFuture(this.walletApiCalls.getEasyPayFees(transferAmount));
+    }
+
+    public CompletableFuture<CommonMetadataAwareResponse<EasyPayTransfer>> getEasyPayTransfers(EasyPayTransferFilter filter) {
+        return this.executeAsFuture(this.walletApiCalls.getEasyPayTransfers(filter));
+    }
+
+    public CompletableFuture<EasyPayTransfer> createEasyPayTransfer(EasyPayCreateTransfer createEasyPayTransfer) {
+        return this.executeAsFuture(this.walletApiClient.createEasyPayTransfer(createEasyPayTransfer));
+    }
+
+    public CompletableFuture<EasyPayTransfer> cancelEasyPayTransfer(Long easyPayTransferId) {
+        return this.executeAsFuture(this.walletApiClient.cancelEasyPayTransfer(easyPayTransferId));
+    }
+
+    private CompletableFuture<Void> uploadFile(UploadCallable upload) {
+        try {
+            return upload.call();
+        } catch (IOException exception) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            future.completeExceptionally(exception);
+            return future;
+        }
+    }
+
+    private CompletableFuture<Void> uploadSpooledFile(
+        InputStream inputStream,
+        Function<Path, CompletableFuture<Void>> upload
+    ) {
+        Path directory = this.getUploadSpoolDirectory();
+        CompletableFuture<Path> spooledFile = new CompletableFuture<>();
+        this.getUploadSpoolExecutor().execute(() -> {
+            try {
+                Path path = RequestBodyHelper.spoolToTemporaryFile(inputStream, directory);
+                if (!spooledFile.complete(path)) {
+                    // cancelled while spooling
+                    deleteSpooledFile(path);
+                }
+            } catch (IOException | RuntimeException exception) {
+                spooledFile.completeExceptionally(exception);
+            }
+        });
+
+        return CompletableFutureHelper.thenCompose(
+            spooledFile,
+            path -> {
+                CompletableFuture<Void> uploadFuture = upload.apply(path);
+                uploadFuture.whenComplete((result, throwable) -> deleteSpooledFile(path));
+                return uploadFuture;
+            }
+        );
+    }
+
+    private static void deleteSpooledFile(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException exception) {
+            // the temporary file is left for the OS to clean up
+        }
+    }
+
+    private interface UploadCallable {
+        CompletableFuture<Void> call() throws IOException;
+    }
+}
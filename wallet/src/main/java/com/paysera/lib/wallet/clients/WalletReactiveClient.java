@@ -0,0 +1,52 @@
+package com.paysera.lib.wallet.clients;
+
+import com.paysera.lib.wallet.entities.Statement;
+import com.paysera.lib.wallet.entities.locations.Location;
+import com.paysera.lib.wallet.entities.transfer.Transfer;
+import com.paysera.lib.wallet.filters.LocationsFilter;
+import com.paysera.lib.wallet.filters.StatementsFilter;
+import com.paysera.lib.wallet.filters.TransfersFilter;
+import com.paysera.lib.wallet.publishers.FuturePublisher;
+import com.paysera.lib.wallet.publishers.OffsetPagePublisher;
+import com.paysera.lib.wallet.publishers.StatementPublisher;
+import org.reactivestreams.Publisher;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Reactive Streams view of {@link WalletFutureClient}. Requests are only made once a
+ * subscriber signals demand, paginated endpoints emit items and fetch the next page
+ * only when the items received so far do not cover the demand.
+ */
+public class WalletReactiveClient {
+    private final WalletFutureClient walletFutureClient;
+
+    public WalletReactiveClient(WalletFutureClient walletFutureClient) {
+        this.walletFutureClient = walletFutureClient;
+    }
+
+    public WalletFutureClient getWalletFutureClient() {
+        return walletFutureClient;
+    }
+
+    /**
+     * Publishes any single value endpoint, for example
+     * {@code walletReactiveClient.publish(client -> client.getWallet(walletId))}.
+     */
+    public <T> Publisher<T> publish(Function<WalletFutureClient, CompletableFuture<T>> request) {
+        return new FuturePublisher<>(() -> request.apply(walletFutureClient));
+    }
+
+    public Publisher<Statement> getStatements(StatementsFilter statementsFilter) {
+        return new StatementPublisher(walletFutureClient, statementsFilter);
+    }
+
+    public Publisher<Transfer> getTransfers(TransfersFilter transfersFilter) {
+        return new OffsetPagePublisher<>(transfersFilter, walletFutureClient::getTransfers);
+    }
+
+    public Publisher<Location> getLocations(LocationsFilter locationsFilter) {
+        return new OffsetPagePublisher<>(locationsFilter, walletFutureClient::getLocations);
+    }
+}
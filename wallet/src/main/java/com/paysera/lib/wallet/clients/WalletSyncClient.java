@@ -0,0 +1,791 @@
+package com.paysera.lib.wallet.clients;
+
+import com.google.gson.JsonObject;
+import com.paysera.lib.wallet.ClientServerTimeSynchronizationConfiguration;
+import com.paysera.lib.wallet.entities.*;
+import com.paysera.lib.wallet.entities.card.Card;
+import com.paysera.lib.wallet.entities.client.Client;
+import com.paysera.lib.wallet.entities.confirmations.Confirmation;
+import com.paysera.lib.wallet.entities.confirmations.ConfirmationFilter;
+import com.paysera.lib.wallet.entities.easypay.EasyPayCreateTransfer;
+import com.paysera.lib.wallet.entities.easypay.EasyPayFees;
+import com.paysera.lib.wallet.entities.easypay.EasyPayTransfer;
+import com.paysera.lib.wallet.entities.easypay.EasyPayTransferFilter;
+import com.paysera.lib.wallet.entities.generator.Generator;
+import com.paysera.lib.wallet.entities.identifications.IdentificationRequestFilter;
+import com.paysera.lib.wallet.entities.locations.Location;
+import com.paysera.lib.wallet.entities.locations.LocationCategory;
+import com.paysera.lib.wallet.entities.notification.NotificationSubscriber;
+import com.paysera.lib.wallet.entities.pos.Spot;
+import com.paysera.lib.wallet.entities.requests.*;
+import com.paysera.lib.wallet.entities.transfer.Transfer;
+import com.paysera.lib.wallet.entities.transfer.TransferPassword;
+import com.paysera.lib.wallet.exceptions.WalletApiException;
+import com.paysera.lib.wallet.filters.*;
+import com.paysera.lib.wallet.helpers.OkHTTPQueryStringConverter;
+import com.paysera.lib.wallet.helpers.RequestBodyHelper;
+import com.paysera.lib.wallet.providers.TimestampProvider;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import org.joda.money.Money;
+import retrofit2.Retrofit;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Blocking counterpart of {@link WalletAsyncClient}, mirroring its methods. Every method runs
+ * the request on the calling thread, which makes it a good fit for virtual threads.
+ */
+public class WalletSyncClient extends BaseSyncClient {
+
+    private WalletApiClient walletApiClient;
+    private WalletApiCalls walletApiCalls;
+
+    public WalletSyncClient(
+        TimestampProvider timestampProvider,
+        ClientServerTimeSynchronizationConfiguration clientServerTimeSynchronizationConfiguration,
+        PublicWalletApiClient publicWalletApiClient,
+        WalletApiClient walletApiClient,
+        Retrofit retrofit,
+        OkHTTPQueryStringConverter okHTTPQueryStringConverter
+    ) {
+        super(
+            timestampProvider,
+            clientServerTimeSynchronizationConfiguration,
+            publicWalletApiClient,
+            retrofit,
+            okHTTPQueryStringConverter
+        );
+        this.walletApiClient = walletApiClient;
+        this.walletApiCalls = new WalletApiCalls(walletApiClient);
+    }
+
+    public ServerConfiguration getServerConfiguration() throws WalletApiException {
+        return this.execute(this.walletApiClient.getServerConfiguration());
+    }
+
+    public ServerInformation getServerInformation() throws WalletApiException {
+        return this.execute(this.walletApiClient.getServerInformation());
+    }
+
+    public CurrencyConversionCalculation calculateCurrencyConversion(CurrencyConversionCalculation request) throws WalletApiException {
+        return this.execute(this.walletApiCalls.calculateCurrencyConversion(request));
+    }
+
+    public CurrencyConversionResult convertCurrency(ConvertCurrencyCurrencyRequest request) throws WalletApiException {
+        return this.execute(this.walletApiClient.convertCurrency(request));
+    }
+
+    public User getUser() throws WalletApiException {
+        return this.execute(this.walletApiClient.getUser());
+    }
+
+    public List<Wallet> getUserWallets() throws WalletApiException {
+        return this.execute(this.walletApiClient.getUserWallets(false));
+    }
+
+    public List<Wallet> getUserWallets(Boolean isInactiveIncluded) throws WalletApiException {
+        return this.execute(this.walletApiClient.getUserWallets(isInactiveIncluded));
+    }
+
+    public Questionnaire getUserQuestionnaire(Integer userId) throws WalletApiException {
+        return this.execute(this.walletApiClient.getUserQuestionnaire(userId));
+    }
+
+    public JWTTokenResponse getJWTToken(JWTScope scope) throws WalletApiException {
+        return this.execute(this.walletApiClient.getJWTToken(scope));
+    }
+
+    public User getUser(Integer userId) throws WalletApiException {
+        return this.execute(this.walletApiClient.getUser(userId));
+    }
+
+    public List<Project> getUserProjects() throws WalletApiException {
+        return this.execute(this.walletApiClient.getUserProjects());
+    }
+
+    public List<Project> getUserProjects(String fields) throws WalletApiException {
+        return this.execute(this.walletApiClient.getUserProjects(fields));
+    }
+
+    public List<Project> getUserProjects(Integer userId) throws WalletApiException {
+        return this.execute(this.walletApiClient.getUserProjects(userId));
+    }
+
+    public List<Location> getClientLocations() throws WalletApiException {
+        return this.execute(this.walletApiClient.getClientLocations());
+    }
+
+    public Wallet getWallet(Integer walletId) throws WalletApiException {
+        return this.execute(this.walletApiClient.getWallet(walletId));
+    }
+
+    public WalletBalance getWalletBalance(GetWalletBalanceRequest getWalletBalanceRequest) throws WalletApiException {
+        return WalletApiCalls.setConvertedCurrency(
+            getWalletBalanceRequest,
+            this.execute(this.walletApiCalls.getWalletBalance(getWalletBalanceRequest))
+        );
+    }
+
+    public AuthTokenResponse createAuthToken() throws WalletApiException {
+        return execute(walletApiClient.createAuthToken());
+    }
+
+    public Wallet getWallet(WalletFilter walletFilter) throws WalletApiException {
+        return this.execute(this.walletApiCalls.getWallet(walletFilter));
+    }
+
+    public Card createCard(Card card) throws WalletApiException {
+        return this.execute(this.walletApiClient.createCard(card));
+    }
+
+    public Card getCard(Integer cardId) throws WalletApiException {
+        return this.execute(this.walletApiClient.getCard(cardId));
+    }
+
+    public void deleteCard(Integer cardId) throws WalletApiException {
+        this.execute(this.walletApiClient.deleteCard(cardId));
+    }
+
+    public MetadataAwareResponse<Card> getCards(
+        CardFilter cardFilter
+    ) throws WalletApiException {
+        return this.execute(this.walletApiCalls.getCards(cardFilter));
+    }
+
+    public void deleteWalletDescription(Integer walletId) throws WalletApiException {
+        this.execute(this.walletApiClient.deleteWalletDescription(walletId));
+    }
+
+    public Wallet changeWalletDescription(
+        Integer walletId,
+        String description
+    ) throws WalletApiException {
+        return this.execute(this.walletApiCalls.changeWalletDescription(walletId, description));
+    }
+
+    public User assignPhoneNumber(
+        Integer userId,
+        String phone,
+        UserPhoneConfirmationParameters parameters
+    ) throws WalletApiException {
+        return this.execute(this.walletApiCalls.assignPhoneNumber(userId, phone, parameters));
+    }
+
+    public User assignPhoneNumber(
+        Integer userId,
+        String phone
+    ) throws WalletApiException {
+        return this.execute(this.walletApiCalls.assignPhoneNumber(userId, phone));
+    }
+
+    public User assignEmail(
+        String email,
+        UserEmailConfirmationParameters parameters
+    ) throws WalletApiException {
+        return this.execute(this.walletApiCalls.assignEmail(email, parameters));
+    }
+
+    public User assignEmail(
+        String email
+    ) throws WalletApiException {
+        return this.execute(this.walletApiCalls.assignEmail(email));
+    }
+
+    public User confirmPhone(
+        Integer userId,
+        String code
+    ) throws WalletApiException {
+        return this.execute(this.walletApiCalls.confirmPhone(userId, code));
+    }
+
+    public User confirmEmail(
+        String code
+    ) throws WalletApiException {
+        return this.execute(this.walletApiCalls.confirmEmail(code));
+    }
+
+    public List<String> getCurrencies() throws WalletApiException {
+        return this.execute(this.walletApiClient.getCurrencies());
+    }
+
+    public void setUserAvatar(Integer userId, RequestBody requestBody) throws WalletApiException {
+        this.execute(this.walletApiClient.setUserAvatar(
+            userId,
+            requestBody
+        ));
+    }
+
+    public void setUserAvatar(RequestBody requestBody) throws WalletApiException {
+        this.execute(this.walletApiClient.setUserAvatar(
+            requestBody
+        ));
+    }
+
+    public void deleteUserAvatar(Integer userId) throws WalletApiException {
+        this.execute(this.walletApiClient.deleteUserAvatar(userId));
+    }
+
+    public UserPosition provideUserPosition(
+        float lat,
+        float lng,
+        String type
+    ) throws WalletApiException {
+        return this.execute(this.walletApiCalls.provideUserPosition(lat, lng, type));
+    }
+
+    public UserServiceResponse getUserServices(Integer userId) throws WalletApiException {
+        return this.execute(this.walletApiClient.getUserServices(userId));
+    }
+
+    public void enableUserService(Integer userId, String service) throws WalletApiException {
+        this.execute(this.walletApiClient.enableUserService(userId, service));
+    }
+
+    public void cancelPendingPayment(
+        Integer walletId,
+        long pendingPaymentId
+    ) throws WalletApiException {
+        this.execute(
+            this.walletApiClient.cancelPendingPayment(
+                walletId,
+                pendingPaymentId
+            )
+        );
+    }
+
+    public TransactionRequest createTransactionRequest(
+        TransactionRequest transactionRequest
+    ) throws WalletApiException {
+        return this.execute(this.walletApiCalls.createTransactionRequest(transactionRequest));
+    }
+
+    public Transaction createTransaction(Transaction transaction) throws WalletApiException {
+        return this.execute(this.walletApiClient.createTransaction(transaction));
+    }
+
+    public Client createClient(Client client) throws WalletApiException {
+        return this.execute(this.walletApiClient.createClient(client));
+    }
+
+    public UnknownDevice getClientStatus(Integer clientId) throws WalletApiException {
+        return this.execute(this.walletApiClient.getClientStatus(clientId));
+    }
+
+    public User createUser(
+        UserRegistrationRequest userRegistrationRequest
+    ) throws WalletApiException {
+        return this.execute(this.walletApiClient.createUser(userRegistrationRequest));
+    }
+
+    public User requestResetPassword(ResetPasswordRequest resetPasswordRequest) throws WalletApiException {
+        return this.execute(this.walletApiClient.requestResetPassword(resetPasswordRequest));
+    }
+
+    public User resetPassword(
+        Integer userId,
+        String code,
+        String password
+    ) throws WalletApiException {
+        return this.execute(this.walletApiCalls.resetPassword(userId, code, password));
+    }
+
+    public User changePassword(
+        Integer userId,
+        String oldPassword,
+        String newPassword
+    ) throws WalletApiException {
+        return this.execute(this.walletApiCalls.changePassword(userId, oldPassword, newPassword));
+    }
+
+    public User getUser(UserFilter userFilter) throws WalletApiException {
+        return this.execute(this.walletApiCalls.getUser(userFilter));
+    }
+
+    public Map<String, Wallet> getWallets(WalletsFilter walletsFilter) throws WalletApiException {
+        return this.execute(this.walletApiCalls.getWallets(walletsFilter));
+    }
+
+    public List<LocationCategory> getLocationCategories(String locale) throws WalletApiException {
+        return this.execute(this.walletApiClient.getLocationCategories(locale));
+    }
+
+    public MetadataAwareResponse<Location> getLocations(
+        LocationsFilter locationsFilter
+    ) throws WalletApiException {
+        return this.execute(this.walletApiCalls.getLocations(locationsFilter));
+    }
+
+    public MetadataAwareResponse<Statement> getStatements(
+        StatementsFilter statementsFilter
+    ) throws WalletApiException {
+        return this.execute(this.walletApiCalls.getStatements(statementsFilter));
+    }
+
+    public MetadataAwareResponse<PendingPayment> getPendingPayments(
+        StatementsFilter statementsFilter
+    ) throws WalletApiException {
+        return this.execute(this.walletApiCalls.getPendingPayments(statementsFilter));
+    }
+
+    public MetadataAwareResponse<ReservationStatement> getReservationStatements(
+        StatementsFilter statementsFilter
+    ) throws WalletApiException {
+        return this.execute(this.walletApiCalls.getReservationStatements(statementsFilter));
+    }
+
+    public ContactBook createContactBookForUser(Integer userId) throws WalletApiException {
+        return this.execute(this.walletApiClient.createContactBookForUser(userId));
+    }
+
+    public ContactBook createContactBookForCurrentUser() throws WalletApiException {
+        return this.execute(this.walletApiClient.createContactBookForCurrentUser());
+    }
+
+    public void appendContactsToContactBook(
+        Integer contactBookId,
+        List<String> emails,
+        List<String> phones,
+        List<String> emailHashes,
+        List<String> phoneHashes
+    ) throws WalletApiException {
+        this.execute(
+            this.walletApiCalls.appendContactsToContactBook(
+                contactBookId,
+                emails,
+                phones,
+                emailHashes,
+                phoneHashes
+            )
+        );
+    }
+
+    public void removeFromContactBook(
+        Integer contactBookId,
+        List<String> emailList,
+        List<String> phoneList,
+        List<String> emailHashList,
+        List<String> phoneHashList
+    ) throws WalletApiException {
+        this.execute(
+            this.walletApiCalls.removeFromContactBook(
+                contactBookId,
+                emailList,
+                phoneList,
+                emailHashList,
+                phoneHashList
+            )
+        );
+    }
+
+    public void unregisterSubscriber(
+        Integer subscriberId
+    ) throws WalletApiException {
+        this.execute(this.walletApiClient.unregisterSubscriber(subscriberId));
+    }
+
+    public void unregisterSubscriber() throws WalletApiException {
+        this.execute(this.walletApiClient.unregisterSubscribers());
+    }
+
+    public Transfer createTransfer(Transfer transfer) throws WalletApiException {
+        return this.execute(this.walletApiClient.createTransfer(transfer));
+    }
+
+    public Transfer createTransfer(Transfer transfer, String idempotencyKey) throws WalletApiException {
+        return this.execute(this.walletApiClient.createTransfer(transfer, idempotencyKey));
+    }
+
+    public Transfer simulateTransfer(Transfer transfer) throws WalletApiException {
+        return this.execute(this.walletApiClient.simulateTransfer(transfer));
+    }
+
+    public Transfer reserveTransfer(String transferId) throws WalletApiException {
+        return this.execute(this.walletApiClient.reserveTransferById(transferId));
+    }
+
+    public Transfer signTransfer(String transferId) throws WalletApiException {
+        return this.execute(this.walletApiClient.signTransferById(transferId));
+    }
+
+    public Transfer deleteTransfer(String transferId) throws WalletApiException {
+        return this.execute(this.walletApiClient.deleteTransferById(transferId));
+    }
+
+    public Transfer getTransfer(String transferId) throws WalletApiException {
+        return this.execute(this.walletApiClient.getTransferById(transferId));
+    }
+
+    public MetadataAwareResponse<Transfer> getTransfers(TransfersFilter filter) throws WalletApiException {
+        return this.execute(this.walletApiCalls.getTransfers(filter));
+    }
+
+    public Transfer provideTransferPassword(Long transferId, TransferPassword password) throws WalletApiException {
+        return this.execute(this.walletApiClient.provideTransferPassword(transferId, password));
+    }
+
+    public MetadataAwareResponse<IdentificationRequest> getIdentificationRequests(IdentificationRequestFilter identificationRequestFilter) throws WalletApiException {
+        return this.execute(this.walletApiCalls.getIdentificationRequests(identificationRequestFilter));
+    }
+
+    public MetadataAwareResponse<IdentificationRequest> getIdentificationRequests(Integer userId, List<String> statuses) throws WalletApiException {
+        return this.execute(
+            this.walletApiClient.getIdentificationRequests(
+                userId,
+                statuses
+            )
+        );
+    }
+
+    public Transaction getTransaction(String transactionKey) throws WalletApiException {
+        return this.execute(this.walletApiClient.getTransaction(transactionKey));
+    }
+
+    public Transaction getTransaction(String transactionKey, List<String> fields) throws WalletApiException {
+        return this.execute(this.walletApiCalls.getTransaction(transactionKey, fields));
+    }
+
+    public void cancelTransaction(String transactionKey) throws WalletApiException {
+        this.execute(this.walletApiClient.cancelTransaction(transactionKey));
+    }
+
+    public Transaction confirmTransaction(String transactionKey) throws WalletApiException {
+        return this.execute(this.walletApiClient.confirmTransaction(transactionKey));
+    }
+
+    public MetadataAwareResponse<Transaction> getTransactions(
+        TransactionFilter transactionFilter
+    ) throws WalletApiException {
+        return this.execute(this.walletApiCalls.getTransactions(transactionFilter));
+    }
+
+    public MetadataAwareResponse<Confirmation> getConfirmations(ConfirmationFilter confirmationFilter) throws WalletApiException {
+        return this.execute(this.walletApiCalls.getConfirmations(confirmationFilter));
+    }
+
+    public Confirmation getConfirmation(String identifier) throws WalletApiException {
+        return this.execute(this.walletApiClient.getConfirmation(identifier));
+    }
+
+    public Confirmation acceptConfirmation(String identifier) throws WalletApiException {
+        return this.execute(this.walletApiClient.acceptConfirmation(identifier));
+    }
+
+    public Confirmation rejectConfirmation(String identifier) throws WalletApiException {
+        return this.execute(this.walletApiClient.rejectConfirmation(identifier));
+    }
+
+    public void generateCode(GenerateCodeRequest generateCodeRequest) throws WalletApiException {
+        this.execute(this.walletApiClient.generateCode(generateCodeRequest));
+    }
+
+    public void reserveTransaction(String transactionKey, ReserveTransactionRequest reserveTransactionRequest) throws WalletApiException {
+        this.execute(
+            this.walletApiClient.reserveTransaction(
+                transactionKey,
+                reserveTransactionRequest
+            )
+        );
+    }
+
+    public Spot getSpotById(long spotId, String fields) throws WalletApiException {
+        return this.execute(
+            this.walletApiClient.getSpotById(
+                spotId,
+                fields
+            )
+        );
+    }
+
+    public Spot checkIntoSpot(Long spotId, String fields) throws WalletApiException {
+        return this.execute(
+            this.walletApiClient.checkIntoSpot(
+                spotId,
+                fields
+            )
+        );
+    }
+
+    public IdentificationRequest createIdentificationRequest() throws WalletApiException {
+        return this.execute(this.walletApiClient.createIdentificationRequest());
+    }
+
+    public CreateDocumentIdentificationResponse createDocumentIdentificationRequest(
+        Long requestId,
+        CreateDocumentIdentificationRequest request
+    ) throws WalletApiException {
+        return this.execute(
+            this.walletApiClient.createDocumentIdentificationRequest(
+                requestId,
+                request
+            )
+        );
+    }
+
+    public void identificationRequestFileUpload(
+        Long identificationRequestId,
+        Integer order,
+        RequestBody requestBody
+    ) throws WalletApiException {
+        this.execute(
+            this.walletApiClient.identificationRequestFileUpload(
+                identificationRequestId,
+                order,
+                requestBody
+            )
+        );
+    }
+
+    public void identificationRequestFileUpload(
+        Long identificationRequestId,
+        Integer order,
+        MediaType mediaType,
+        Path path
+    ) throws WalletApiException, IOException {
+        this.identificationRequestFileUpload(
+            identificationRequestId,
+            order,
+            RequestBodyHelper.create(mediaType, path)
+        );
+    }
+
+    public void identificationRequestFileUpload(
+        Long identificationRequestId,
+        Integer order,
+        MediaType mediaType,
+        FileChannel fileChannel
+    ) throws WalletApiException, IOException {
+        this.identificationRequestFileUpload(
+            identificationRequestId,
+            order,
+            RequestBodyHelper.create(mediaType, fileChannel)
+        );
+    }
+
+    public void identificationRequestFileUpload(
+        Long identificationRequestId,
+        Integer order,
+        MediaType mediaType,
+        InputStream inputStream
+    ) throws WalletApiException, IOException {
+        this.uploadSpooledFile(inputStream, path -> this.identificationRequestFileUpload(
+            identificationRequestId,
+            order,
+            mediaType,
+            path
+        ));
+    }
+
+    public CreateDocumentIdentificationResponse createAdditionalDocumentRequest(
+        Long identificationDocumentId,
+        CreateDocumentIdentificationRequest request
+    ) throws WalletApiException {
+        return this.execute(
+            this.walletApiClient.createAdditionalDocumentRequest(
+                identificationDocumentId,
+                request
+            )
+        );
+    }
+
+    public void additionalDocumentUpload(
+        Long additionalDocumentId,
+        RequestBody requestBody
+    ) throws WalletApiException {
+        this.execute(
+            this.walletApiClient.additionalDocumentUpload(
+                additionalDocumentId,
+                requestBody
+            )
+        );
+    }
+
+    public void additionalDocumentUpload(
+        Long additionalDocumentId,
+        MediaType mediaType,
+        Path path
+    ) throws WalletApiException, IOException {
+        this.additionalDocumentUpload(
+            additionalDocumentId,
+            RequestBodyHelper.create(mediaType, path)
+        );
+    }
+
+    public void additionalDocumentUpload(
+        Long additionalDocumentId,
+        MediaType mediaType,
+        FileChannel fileChannel
+    ) throws WalletApiException, IOException {
+        this.additionalDocumentUpload(
+            additionalDocumentId,
+            RequestBodyHelper.create(mediaType, fileChannel)
+        );
+    }
+
+    public void additionalDocumentUpload(
+        Long additionalDocumentId,
+        MediaType mediaType,
+        InputStream inputStream
+    ) throws WalletApiException, IOException {
+        this.uploadSpooledFile(inputStream, path -> this.additionalDocumentUpload(
+            additionalDocumentId,
+            mediaType,
+            path
+        ));
+    }
+
+    public void identificationDocumentFileUpload(
+        Long identificationDocumentId,
+        Integer order,
+        RequestBody requestBody
+    ) throws WalletApiException {
+        this.execute(
+            this.walletApiClient.identificationDocumentFileUpload(
+                identificationDocumentId,
+                order,
+                requestBody
+            )
+        );
+    }
+
+    public void identificationDocumentFileUpload(
+        Long identificationDocumentId,
+        Integer order,
+        MediaType mediaType,
+        Path path
+    ) throws WalletApiException, IOException {
+        this.identificationDocumentFileUpload(
+            identificationDocumentId,
+            order,
+            RequestBodyHelper.create(mediaType, path)
+        );
+    }
+
+    public void identificationDocumentFileUpload(
+        Long identificationDocumentId,
+        Integer order,
+        MediaType mediaType,
+        FileChannel fileChannel
+    ) throws WalletApiException, IOException {
+        this.identificationDocumentFileUpload(
+            identificationDocumentId,
+            order,
+            RequestBodyHelper.create(mediaType, fileChannel)
+        );
+    }
+
+    public void identificationDocumentFileUpload(
+        Long identificationDocumentId,
+        Integer order,
+        MediaType mediaType,
+        InputStream inputStream
+    ) throws WalletApiException, IOException {
+        this.uploadSpooledFile(inputStream, path -> this.identificationDocumentFileUpload(
+            identificationDocumentId,
+            order,
+            mediaType,
+            path
+        ));
+    }
+
+    public IdentificationRequest submitIdentificationRequest(Long identificationRequestId) throws WalletApiException {
+        return this.execute(this.walletApiClient.submitIdentificationRequest(identificationRequestId));
+    }
+
+    public Generator getGenerator(Integer generatorId) throws WalletApiException {
+        return this.execute(this.walletApiClient.getGenerator(generatorId));
+    }
+
+    public Generator createGenerator(JsonObject jsonObject) throws WalletApiException {
+        return this.execute(this.walletApiClient.createGenerator(jsonObject));
+    }
+
+    public NotificationSubscriber createNotificationsSubscriber(
+        NotificationSubscriber notificationSubscriber
+    ) throws WalletApiException {
+        return this.execute(this.walletApiClient.createNotificationsSubscriber(notificationSubscriber));
+    }
+
+    public NotificationSubscriber editNotificationsSubscriber(
+        Integer subscriberId,
+        NotificationSubscriber notificationSubscriber
+    ) throws WalletApiException {
+        return this.execute(
+            this.walletApiClient.editNotificationsSubscriber(
+                subscriberId,
+                notificationSubscriber
+            )
+        );
+    }
+
+    public void unlockRecaptcha(String unlockUrl, String response) throws WalletApiException {
+        this.execute(
+            this.walletApiClient.unlockRecaptcha(
+                unlockUrl,
+                response
+            )
+        );
+    }
+
+    public void unlockRecaptcha(
+        String unlockUrl,
+        String response,
+        String grantType,
+        String username,
+        String password,
+        List<String> scopes
+    ) throws WalletApiException {
+        this.execute(
+            this.walletApiCalls.unlockRecaptcha(
+                unlockUrl,
+                response,
+                grantType,
+                username,
+                password,
+                scopes
+            )
+        );
+    }
+
+    public void collectContact(ContactCollectionRequest contactCollectionRequest) throws WalletApiException {
+        this.execute(this.walletApiClient.collectContact(contactCollectionRequest));
+    }
+
+    public EasyPayFees getEasyPayFees(Money transferAmount) throws WalletApiException {
+        return this.execute(this.walletApiCalls.getEasyPayFees(transferAmount));
+    }
+
+    public CommonMetadataAwareResponse<EasyPayTransfer> getEasyPayTransfers(EasyPayTransferFilter filter) throws WalletApiException {
+        return this.execute(this.walletApiCalls.getEasyPayTransfers(filter));
+    }
+
+    public EasyPayTransfer createEasyPayTransfer(EasyPayCreateTransfer createEasyPayTransfer) throws WalletApiException {
+        return this.execute(this.walletApiClient.createEasyPayTransfer(createEasyPayTransfer));
+    }
+
+    public EasyPayTransfer cancelEasyPayTransfer(Long easyPayTransferId) throws WalletApiException {
+        return this.execute(this.walletApiClient.cancelEasyPayTransfer(easyPayTransferId));
+    }
+
+    private void uploadSpooledFile(InputStream inputStream, PathUpload upload) throws WalletApiException, IOException {
+        Path path = RequestBodyHelper.spoolToTemporaryFile(inputStream, this.getUploadSpoolDirectory());
+        try {
+            upload.upload(path);
+        } finally {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException exception) {
+                // the temporary file is left for the OS to clean up
+            }
+        }
+    }
+
+    private interface PathUpload {
+        void upload(Path path) throws WalletApiException, IOException;
+    }
+}
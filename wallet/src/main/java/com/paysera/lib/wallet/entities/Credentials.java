@@ -65,7 +65,11 @@ public class Credentials {
         this.refreshToken = refreshToken;
     }
 
-    public void update(Credentials credentials) {
+    /**
+     * Synchronized on this instance, read the fields under the same lock to see a
+     * consistent token and MAC key while a refresh lands.
+     */
+    public synchronized void update(Credentials credentials) {
         this.accessToken = credentials.accessToken;
         this.tokenType = credentials.tokenType;
         this.validUntil = credentials.validUntil;
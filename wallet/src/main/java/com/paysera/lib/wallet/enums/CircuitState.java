@@ -0,0 +1,7 @@
+package com.paysera.lib.wallet.enums;
+
+public enum CircuitState {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+}
@@ -0,0 +1,9 @@
+package com.paysera.lib.wallet.enums;
+
+public enum EndpointGroup {
+    TRANSFERS,
+    STATEMENTS,
+    IDENTIFICATION,
+    OAUTH,
+    OTHER
+}
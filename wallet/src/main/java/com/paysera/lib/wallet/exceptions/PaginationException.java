@@ -0,0 +1,18 @@
+package com.paysera.lib.wallet.exceptions;
+
+/**
+ * Unchecked, so it can surface page request failures through Iterator and Stream.
+ */
+public class PaginationException extends RuntimeException {
+    public PaginationException(String detailMessage) {
+        super(detailMessage);
+    }
+
+    public PaginationException(String detailMessage, Throwable throwable) {
+        super(detailMessage, throwable);
+    }
+
+    public PaginationException(Throwable throwable) {
+        super(throwable);
+    }
+}
@@ -22,6 +22,8 @@ public class WalletApiException extends WalletSdkException {
     public static final String ERROR_CODE_PASSWORD_TOO_RISKY = "password_too_risky";
     public static final String ERROR_CODE_REGISTRATION_FROM_PROHIBITED_COUNTRY = "phone_from_prohibited_country";
     public static final String ERROR_CODE_SIGNING_REQUEST = "signing_request";
+    public static final String ERROR_CODE_CIRCUIT_OPEN = "circuit_open";
+    public static final String ERROR_CODE_BULKHEAD_FULL = "bulkhead_full";
     private static final String ERROR_LIVENESS_CHECKED_MAX_ATTEMPTS_REACHED = "rate_limit_exceeded_ge";
 
     public static final String ERROR_DESCRIPTION_EXPIRED_TOKEN = "Token has expired";
@@ -32,6 +34,8 @@ public class WalletApiException extends WalletSdkException {
     private static final String ERROR_DESCRIPTION_TIMESTAMP_IS_IN_THE_FUTURE = "Timestamp is in future";
     private static final String ERROR_DESCRIPTION_TIMESTAMP_LIFETIME_EXCEEDED = "Timestamp lifetime exceeded";
     public static final String ERROR_DESCRIPTION_SIGNING_REQUEST = "An error occurred while signing the request";
+    public static final String ERROR_DESCRIPTION_CIRCUIT_OPEN = "Requests are not sent while the circuit is open";
+    public static final String ERROR_DESCRIPTION_BULKHEAD_FULL = "Too many concurrent requests";
 
     private String errorDescription;
     private String errorCode;
@@ -141,6 +145,21 @@ public class WalletApiException extends WalletSdkException {
                 && this.statusCode == 429;
     }
 
+    /**
+     * Rejected by the client without being sent, see {@code CircuitBreakerRegistry}.
+     */
+    public Boolean isCircuitOpenError() {
+        return
+            this.errorCode != null
+                && this.errorCode.equals(WalletApiException.ERROR_CODE_CIRCUIT_OPEN);
+    }
+
+    public Boolean isBulkheadFullError() {
+        return
+            this.errorCode != null
+                && this.errorCode.equals(WalletApiException.ERROR_CODE_BULKHEAD_FULL);
+    }
+
     public Boolean isPhoneAlreadyAssignedError() {
         return
             this.errorCode != null
@@ -0,0 +1,48 @@
+package com.paysera.lib.wallet.factories;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CallbackExecutorFactory {
+
+    private CallbackExecutorFactory() {}
+
+    public static ExecutorService createBoundedExecutor() {
+        return createBoundedExecutor(Runtime.getRuntime().availableProcessors());
+    }
+
+    public static ExecutorService createBoundedExecutor(int maxThreads) {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            maxThreads,
+            maxThreads,
+            60,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "wallet-sdk-callback-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    public static Executor createDirectExecutor() {
+        return Runnable::run;
+    }
+
+    /**
+     * Returns Executors.newVirtualThreadPerTaskExecutor() when running on JDK 21 or newer.
+     */
+    public static ExecutorService createVirtualThreadPerTaskExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException exception) {
+            throw new UnsupportedOperationException("Virtual threads require JDK 21 or newer", exception);
+        }
+    }
+}
@@ -4,24 +4,32 @@ import com.google.gson.FieldNamingPolicy;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.paysera.lib.wallet.adapters.ClientAdapter;
-import com.paysera.lib.wallet.adapters.MetadataAwareResponseDeserializer;
+import com.paysera.lib.wallet.adapters.MetadataAwareResponseAdapterFactory;
 import com.paysera.lib.wallet.deserializers.WalletBalanceDeserializer;
-import com.paysera.lib.wallet.entities.MetadataAwareResponse;
 import com.paysera.lib.wallet.entities.WalletBalance;
 import com.paysera.lib.wallet.entities.client.Client;
 import com.paysera.lib.wallet.helpers.MoneyHelper;
 
 public class GsonFactory {
+    private static final Gson GSON = buildGson();
 
     private GsonFactory() {}
 
+    /**
+     * Gson is immutable and thread safe, so a single instance is shared and its
+     * type adapter cache stays warm for every client.
+     */
     public static Gson createGson() {
+        return GSON;
+    }
+
+    private static Gson buildGson() {
         MoneyHelper moneyHelper = new MoneyHelper();
         GsonBuilder gsonBuilder = new GsonBuilder();
         gsonBuilder.setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES);
         gsonBuilder.registerTypeAdapter(WalletBalance.class, new WalletBalanceDeserializer(moneyHelper));
         gsonBuilder.registerTypeAdapter(Client.class, new ClientAdapter());
-        gsonBuilder.registerTypeAdapter(MetadataAwareResponse.class, new MetadataAwareResponseDeserializer());
+        gsonBuilder.registerTypeAdapterFactory(new MetadataAwareResponseAdapterFactory());
         return gsonBuilder.create();
     }
-}
\ No newline at end of file
+}
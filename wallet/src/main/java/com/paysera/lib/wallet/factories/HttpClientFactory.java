@@ -1,17 +1,26 @@
 package com.paysera.lib.wallet.factories;
 
+import com.paysera.lib.wallet.HttpClientConfiguration;
 import com.paysera.lib.wallet.RequestSigner;
 import com.paysera.lib.wallet.entities.Credentials;
 import com.paysera.lib.wallet.exceptions.WalletApiException;
+import com.paysera.lib.wallet.interfaces.CredentialsResolver;
 import com.paysera.lib.wallet.providers.TimestampProvider;
 import okhttp3.*;
 import okio.Buffer;
+import okio.BufferedSink;
+import okio.ForwardingSink;
+import okio.HashingSink;
+import okio.Okio;
 
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 public class HttpClientFactory {
@@ -19,6 +28,7 @@ public class HttpClientFactory {
     private RequestSigner requestSigner;
     private Logger logger;
     private String locale;
+    private OkHttpClient rootHttpClient;
 
     public HttpClientFactory(
         RequestSigner requestSigner,
@@ -32,6 +42,45 @@ public class HttpClientFactory {
         this.timestampProvider = timestampProvider;
     }
 
+    /**
+     * Every client created by this factory is derived from a single root client,
+     * so all of them share one connection pool and one dispatcher.
+     */
+    public HttpClientFactory(
+        RequestSigner requestSigner,
+        Logger logger,
+        String locale,
+        TimestampProvider timestampProvider,
+        HttpClientConfiguration httpClientConfiguration
+    ) {
+        this(requestSigner, logger, locale, timestampProvider);
+        this.rootHttpClient = createRootHttpClient(httpClientConfiguration);
+    }
+
+    public OkHttpClient getRootHttpClient() {
+        return rootHttpClient;
+    }
+
+    public int getConnectionCount() {
+        return rootHttpClient != null ? rootHttpClient.connectionPool().connectionCount() : 0;
+    }
+
+    public int getIdleConnectionCount() {
+        return rootHttpClient != null ? rootHttpClient.connectionPool().idleConnectionCount() : 0;
+    }
+
+    public int getActiveConnectionCount() {
+        return getConnectionCount() - getIdleConnectionCount();
+    }
+
+    public int getQueuedCallsCount() {
+        return rootHttpClient != null ? rootHttpClient.dispatcher().queuedCallsCount() : 0;
+    }
+
+    public int getRunningCallsCount() {
+        return rootHttpClient != null ? rootHttpClient.dispatcher().runningCallsCount() : 0;
+    }
+
     public OkHttpClient createHttpClient(
         final Credentials credentials,
         final String userAgent
@@ -48,14 +97,52 @@ public class HttpClientFactory {
         final String userAgent,
         final Map<String, String> parameters
     ) {
-        final OkHttpClient.Builder httpClient = new OkHttpClient.Builder();
+        return this.createHttpClient(
+            request -> credentials,
+            userAgent,
+            parameters
+        );
+    }
+
+    /**
+     * Creates a client that looks up the credentials of every request, so a single client
+     * can serve many users, for example by the request tag. The resolver runs on the OkHttp
+     * dispatcher thread inside the signing interceptor.
+     */
+    public OkHttpClient createHttpClient(
+        final CredentialsResolver credentialsResolver,
+        final String userAgent
+    ) {
+        return this.createHttpClient(
+            credentialsResolver,
+            userAgent,
+            new HashMap<String, String>()
+        );
+    }
+
+    public OkHttpClient createHttpClient(
+        final CredentialsResolver credentialsResolver,
+        final String userAgent,
+        final Map<String, String> parameters
+    ) {
+        final OkHttpClient.Builder httpClient = rootHttpClient != null
+            ? rootHttpClient.newBuilder()
+            : new OkHttpClient.Builder();
 
         httpClient.retryOnConnectionFailure(false);
         httpClient.addInterceptor(new Interceptor() {
             @Override
             public Response intercept(Chain chain) throws IOException {
                 Request original = chain.request();
-                byte[] body = null;
+                Credentials credentials = credentialsResolver.resolve(original);
+                if (credentials == null) {
+                    if (!credentialsResolver.isUnsignedAllowed(original)) {
+                        throw new IOException(WalletApiException.ERROR_CODE_SIGNING_REQUEST);
+                    }
+                    return chain.proceed(addCommonHeaders(original.newBuilder(), userAgent).build());
+                }
+
+                byte[] bodyHash = null;
 
                 if (original.method().equals("POST") && (original.body() == null || original.body().contentLength() == 0)) {
                     original = original.newBuilder().post(
@@ -64,28 +151,26 @@ public class HttpClientFactory {
                 }
 
                 if (original.body() != null) {
-                    Buffer buffer = new Buffer();
-                    original.body().writeTo(buffer);
-
-                    body = buffer.readByteArray();
+                    bodyHash = hashBody(original.body());
                 }
                 String timestamp = timestampProvider.getTimestamp();
+                String accessToken;
+                String macKey;
+                synchronized (credentials) {
+                    accessToken = credentials.getAccessToken();
+                    macKey = credentials.getMacKey();
+                }
                 try {
-                    String signature = requestSigner.generateSignature(
-                        credentials.getAccessToken(),
-                        credentials.getMacKey(),
+                    String signature = requestSigner.generateSignatureForBodyHash(
+                        accessToken,
+                        macKey,
                         original,
-                        body,
+                        bodyHash,
                         timestamp,
                         parameters
                     );
 
-                    Request.Builder builder = original.newBuilder();
-                    if (locale != null) {
-                        builder.header("Accept-Language", locale);
-                    }
-
-                    builder.header("User-Agent", userAgent);
+                    Request.Builder builder = addCommonHeaders(original.newBuilder(), userAgent);
                     builder.header("Authorization", signature);
 
                     return chain.proceed(builder.build());
@@ -104,4 +189,56 @@ public class HttpClientFactory {
 
         return httpClient.build();
     }
+
+    private Request.Builder addCommonHeaders(Request.Builder builder, String userAgent) {
+        if (locale != null) {
+            builder.header("Accept-Language", locale);
+        }
+        return builder.header("User-Agent", userAgent);
+    }
+
+    /**
+     * Streams the body through SHA-256 without keeping it in memory, the body is written
+     * again when the request is sent. Returns null for an empty body.
+     */
+    private static byte[] hashBody(RequestBody body) throws IOException {
+        final long[] byteCount = new long[1];
+        HashingSink hashingSink = HashingSink.sha256(new ForwardingSink(Okio.blackhole()) {
+            @Override
+            public void write(Buffer source, long count) throws IOException {
+                byteCount[0] += count;
+                super.write(source, count);
+            }
+        });
+
+        BufferedSink sink = Okio.buffer(hashingSink);
+        body.writeTo(sink);
+        sink.flush();
+
+        return byteCount[0] > 0 ? hashingSink.hash().toByteArray() : null;
+    }
+
+    private OkHttpClient createRootHttpClient(HttpClientConfiguration httpClientConfiguration) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(httpClientConfiguration.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(httpClientConfiguration.getMaxRequestsPerHost());
+
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+            .connectionPool(
+                new ConnectionPool(
+                    httpClientConfiguration.getMaxIdleConnections(),
+                    httpClientConfiguration.getKeepAliveDurationMillis(),
+                    TimeUnit.MILLISECONDS
+                )
+            )
+            .dispatcher(dispatcher);
+
+        if (httpClientConfiguration.isHttp2Enabled()) {
+            builder.protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1));
+        } else {
+            builder.protocols(Collections.singletonList(Protocol.HTTP_1_1));
+        }
+
+        return builder.build();
+    }
 }
\ No newline at end of file
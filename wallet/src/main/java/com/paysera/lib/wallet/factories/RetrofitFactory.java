@@ -3,77 +3,274 @@ package com.paysera.lib.wallet.factories;
 import com.paysera.lib.wallet.Router;
 import com.paysera.lib.wallet.clients.*;
 import okhttp3.OkHttpClient;
+import retrofit2.Converter;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
-import java.util.concurrent.Executors;
+import java.io.Closeable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+public class RetrofitFactory implements Closeable {
+    private static final int DEFAULT_RETROFIT_CACHE_SIZE = 64;
 
-public class RetrofitFactory {
     private Router router;
+    private Executor callbackExecutor;
+    private boolean callbackExecutorOwned;
+    private Converter.Factory converterFactory;
+    private final int retrofitCacheSize;
+    private final Map<RetrofitCacheKey, RetrofitCacheEntry> retrofitCache;
+    private RetrofitFactory directCallbackRetrofitFactory;
 
     public RetrofitFactory(Router router) {
+        this(router, CallbackExecutorFactory.createBoundedExecutor(), true, DEFAULT_RETROFIT_CACHE_SIZE);
+    }
+
+    /**
+     * The given executor is shared by every Retrofit instance created by this factory.
+     * Its lifecycle stays with the caller, {@link #close()} does not shut it down.
+     */
+    public RetrofitFactory(Router router, Executor callbackExecutor) {
+        this(router, callbackExecutor, false, DEFAULT_RETROFIT_CACHE_SIZE);
+    }
+
+    /**
+     * Retrofit instances are cached per base URL and HTTP client instance, the least
+     * recently used one is dropped once more than retrofitCacheSize are held.
+     */
+    public RetrofitFactory(Router router, Executor callbackExecutor, int retrofitCacheSize) {
+        this(router, callbackExecutor, false, retrofitCacheSize);
+    }
+
+    private RetrofitFactory(
+        Router router,
+        Executor callbackExecutor,
+        boolean callbackExecutorOwned,
+        final int retrofitCacheSize
+    ) {
         this.router = router;
+        this.callbackExecutor = callbackExecutor;
+        this.callbackExecutorOwned = callbackExecutorOwned;
+        this.converterFactory = GsonConverterFactory.create(GsonFactory.createGson());
+        this.retrofitCacheSize = retrofitCacheSize;
+        this.retrofitCache = new LinkedHashMap<RetrofitCacheKey, RetrofitCacheEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RetrofitCacheKey, RetrofitCacheEntry> eldest) {
+                return size() > retrofitCacheSize;
+            }
+        };
+    }
+
+    public Executor getCallbackExecutor() {
+        return callbackExecutor;
+    }
+
+    /**
+     * Returns a factory for the same router whose services run their callbacks directly on
+     * the OkHttp dispatcher thread. The CompletableFuture clients use it by default.
+     */
+    public synchronized RetrofitFactory withDirectCallbacks() {
+        if (directCallbackRetrofitFactory == null) {
+            directCallbackRetrofitFactory = new RetrofitFactory(
+                router,
+                CallbackExecutorFactory.createDirectExecutor(),
+                retrofitCacheSize
+            );
+        }
+        return directCallbackRetrofitFactory;
     }
 
     public OAuthClient createOAuthClient(OkHttpClient httpClient) {
-        return this
-            .createRetrofit(
-                this.router.getOAuthApiEndpoint(),
-                httpClient
-            )
-            .create(OAuthClient.class);
+        return this.createService(
+            this.router.getOAuthApiEndpoint(),
+            httpClient,
+            OAuthClient.class
+        );
     }
 
     public PartnerOauthApiClient createPartnerOAuthApiClient(OkHttpClient httpClient) {
-        return this
-            .createRetrofit(
-                this.router.getPartnerOAuthApiEndpoint(),
-                httpClient
-            )
-            .create(PartnerOauthApiClient.class);
+        return this.createService(
+            this.router.getPartnerOAuthApiEndpoint(),
+            httpClient,
+            PartnerOauthApiClient.class
+        );
     }
 
     public PartnerTokenApiClient createPartnerTokenApiClient(OkHttpClient httpClient) {
-        return this
-            .createRetrofit(
-                this.router.getPartnerTokenApiEndpoint(),
-                httpClient
-            )
-            .create(PartnerTokenApiClient.class);
+        return this.createService(
+            this.router.getPartnerTokenApiEndpoint(),
+            httpClient,
+            PartnerTokenApiClient.class
+        );
     }
 
     public Retrofit createWalletApiRetrofit(OkHttpClient httpClient) {
+        return this.createWalletApiRetrofit((okhttp3.Call.Factory) httpClient);
+    }
+
+    /**
+     * The call factory overloads let requests pass through a wrapper around the HTTP
+     * client, for example one that tags every request.
+     */
+    public Retrofit createWalletApiRetrofit(okhttp3.Call.Factory callFactory) {
         return this
             .createRetrofit(
                 this.router.getWalletApiEndpoint(),
-                httpClient
+                callFactory
             );
     }
 
     public WalletApiClient createWalletApiClient(OkHttpClient httpClient) {
-        return this
-            .createRetrofit(
-                this.router.getWalletApiEndpoint(),
-                httpClient
-            )
-            .create(WalletApiClient.class);
+        return this.createWalletApiClient((okhttp3.Call.Factory) httpClient);
+    }
+
+    public WalletApiClient createWalletApiClient(okhttp3.Call.Factory callFactory) {
+        return this.createService(
+            this.router.getWalletApiEndpoint(),
+            callFactory,
+            WalletApiClient.class
+        );
     }
 
     public PublicWalletApiClient createPublicWalletApiClient(OkHttpClient httpClient) {
-        return this
-            .createRetrofit(
-                this.router.getWalletApiEndpoint(),
-                httpClient
-            )
-            .create(PublicWalletApiClient.class);
+        return this.createPublicWalletApiClient((okhttp3.Call.Factory) httpClient);
+    }
+
+    public PublicWalletApiClient createPublicWalletApiClient(okhttp3.Call.Factory callFactory) {
+        return this.createService(
+            this.router.getWalletApiEndpoint(),
+            callFactory,
+            PublicWalletApiClient.class
+        );
     }
 
     public Retrofit createRetrofit(String baseUrl, OkHttpClient httpClient) {
+        return this.createRetrofit(baseUrl, (okhttp3.Call.Factory) httpClient);
+    }
+
+    public Retrofit createRetrofit(String baseUrl, okhttp3.Call.Factory callFactory) {
+        return this.getRetrofitCacheEntry(baseUrl, callFactory).getRetrofit();
+    }
+
+    /**
+     * Parses every WalletApiClient and PublicWalletApiClient method up front, so the
+     * first request made through the given client does not pay for annotation parsing.
+     */
+    public void warmUp(OkHttpClient httpClient) {
+        String baseUrl = this.router.getWalletApiEndpoint();
+        RetrofitCacheEntry retrofitCacheEntry = new RetrofitCacheEntry(
+            this.buildRetrofit(baseUrl, httpClient, true)
+        );
+        retrofitCacheEntry.getService(WalletApiClient.class);
+        retrofitCacheEntry.getService(PublicWalletApiClient.class);
+
+        synchronized (retrofitCache) {
+            retrofitCache.put(new RetrofitCacheKey(baseUrl, httpClient), retrofitCacheEntry);
+        }
+    }
+
+    public void evict(OkHttpClient httpClient) {
+        synchronized (this) {
+            if (directCallbackRetrofitFactory != null) {
+                directCallbackRetrofitFactory.evict(httpClient);
+            }
+        }
+        synchronized (retrofitCache) {
+            retrofitCache.keySet().removeIf(key -> key.callFactory == httpClient);
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (directCallbackRetrofitFactory != null) {
+                directCallbackRetrofitFactory.close();
+            }
+        }
+        synchronized (retrofitCache) {
+            retrofitCache.clear();
+        }
+        if (callbackExecutorOwned && callbackExecutor instanceof ExecutorService) {
+            ((ExecutorService) callbackExecutor).shutdown();
+        }
+    }
+
+    private <T> T createService(String baseUrl, okhttp3.Call.Factory callFactory, Class<T> service) {
+        return this.getRetrofitCacheEntry(baseUrl, callFactory).getService(service);
+    }
+
+    private RetrofitCacheEntry getRetrofitCacheEntry(String baseUrl, okhttp3.Call.Factory callFactory) {
+        RetrofitCacheKey key = new RetrofitCacheKey(baseUrl, callFactory);
+        synchronized (retrofitCache) {
+            RetrofitCacheEntry retrofitCacheEntry = retrofitCache.get(key);
+            if (retrofitCacheEntry == null) {
+                retrofitCacheEntry = new RetrofitCacheEntry(this.buildRetrofit(baseUrl, callFactory, false));
+                retrofitCache.put(key, retrofitCacheEntry);
+            }
+            return retrofitCacheEntry;
+        }
+    }
+
+    private Retrofit buildRetrofit(String baseUrl, okhttp3.Call.Factory callFactory, boolean validateEagerly) {
         return new Retrofit.Builder()
             .baseUrl(baseUrl)
-            .addConverterFactory(GsonConverterFactory.create(GsonFactory.createGson()))
-            .client(httpClient)
-            .callbackExecutor(Executors.newCachedThreadPool())
+            .addConverterFactory(converterFactory)
+            .callFactory(callFactory)
+            .callbackExecutor(callbackExecutor)
+            .validateEagerly(validateEagerly)
             .build();
     }
-}
\ No newline at end of file
+
+    private static class RetrofitCacheKey {
+        private final String baseUrl;
+        private final okhttp3.Call.Factory callFactory;
+
+        RetrofitCacheKey(String baseUrl, okhttp3.Call.Factory callFactory) {
+            this.baseUrl = baseUrl;
+            this.callFactory = callFactory;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (!(object instanceof RetrofitCacheKey)) {
+                return false;
+            }
+            RetrofitCacheKey other = (RetrofitCacheKey) object;
+            return callFactory == other.callFactory && baseUrl.equals(other.baseUrl);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * baseUrl.hashCode() + System.identityHashCode(callFactory);
+        }
+    }
+
+    private static class RetrofitCacheEntry {
+        private final Retrofit retrofit;
+        private final ConcurrentMap<Class<?>, Object> services = new ConcurrentHashMap<>();
+
+        RetrofitCacheEntry(Retrofit retrofit) {
+            this.retrofit = retrofit;
+        }
+
+        Retrofit getRetrofit() {
+            return retrofit;
+        }
+
+        <T> T getService(Class<T> service) {
+            Object instance = services.get(service);
+            if (instance == null) {
+                instance = retrofit.create(service);
+                Object previous = services.putIfAbsent(service, instance);
+                if (previous != null) {
+                    instance = previous;
+                }
+            }
+            return service.cast(instance);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.paysera.lib.wallet.factories;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SchedulerFactory {
+
+    private SchedulerFactory() {}
+
+    /**
+     * A single daemon thread shared by every component that is not given a scheduler of its
+     * own. Scheduled tasks must be short and must not block.
+     */
+    public static ScheduledExecutorService getSharedScheduler() {
+        return SharedSchedulerHolder.SCHEDULER;
+    }
+
+    public static ScheduledExecutorService createScheduler(int threads) {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(
+            threads,
+            runnable -> {
+                Thread thread = new Thread(runnable, "wallet-sdk-scheduler-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    private static class SharedSchedulerHolder {
+        private static final ScheduledExecutorService SCHEDULER = createScheduler(1);
+    }
+}
@@ -2,7 +2,7 @@ package com.paysera.lib.wallet.filters;
 
 import com.paysera.lib.wallet.enums.OrderDirection;
 
-public class BaseFilter {
+public class BaseFilter implements Cloneable {
     private Integer offset;
     private Integer limit;
     private String orderBy;
@@ -39,4 +39,15 @@ public class BaseFilter {
     public void setOrderDirection(OrderDirection orderDirection) {
         this.orderDirection = orderDirection;
     }
+
+    /**
+     * Returns a shallow copy of the filter, of the same class. Lists are shared with this filter.
+     */
+    public BaseFilter copy() {
+        try {
+            return (BaseFilter) super.clone();
+        } catch (CloneNotSupportedException exception) {
+            throw new AssertionError(exception);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.paysera.lib.wallet.helpers;
+
+/**
+ * Standard, padded Base64 written into a caller owned buffer, same output as
+ * commons-codec Base64.encodeBase64.
+ */
+public class Base64Helper {
+    private static final char[] ALPHABET =
+        "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+    public static int getEncodedLength(int length) {
+        return (length + 2) / 3 * 4;
+    }
+
+    public static int encode(byte[] source, int length, char[] destination) {
+        int charIndex = 0;
+        int byteIndex = 0;
+        for (; byteIndex + 3 <= length; byteIndex += 3) {
+            int bits = (source[byteIndex] & 0xff) << 16
+                | (source[byteIndex + 1] & 0xff) << 8
+                | (source[byteIndex + 2] & 0xff);
+            destination[charIndex++] = ALPHABET[bits >>> 18];
+            destination[charIndex++] = ALPHABET[(bits >>> 12) & 0x3f];
+            destination[charIndex++] = ALPHABET[(bits >>> 6) & 0x3f];
+            destination[charIndex++] = ALPHABET[bits & 0x3f];
+        }
+
+        int remaining = length - byteIndex;
+        if (remaining > 0) {
+            int bits = (source[byteIndex] & 0xff) << 16
+                | (remaining == 2 ? (source[byteIndex + 1] & 0xff) << 8 : 0);
+            destination[charIndex++] = ALPHABET[bits >>> 18];
+            destination[charIndex++] = ALPHABET[(bits >>> 12) & 0x3f];
+            destination[charIndex++] = remaining == 2 ? ALPHABET[(bits >>> 6) & 0x3f] : '=';
+            destination[charIndex++] = '=';
+        }
+        return charIndex;
+    }
+}
@@ -0,0 +1,122 @@
+package com.paysera.lib.wallet.helpers;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class CompletableFutureHelper {
+
+    /**
+     * Starts the futures in order, keeping at most maxConcurrentFutures of them running.
+     * Fails with the first error, after which no further futures are started. Cancelling
+     * the returned future cancels the futures already started.
+     */
+    public static CompletableFuture<Void> allOf(
+        List<Supplier<CompletableFuture<?>>> futureSuppliers,
+        int maxConcurrentFutures
+    ) {
+        if (maxConcurrentFutures < 1) {
+            throw new IllegalArgumentException("maxConcurrentFutures must be positive");
+        }
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        if (futureSuppliers.isEmpty()) {
+            result.complete(null);
+            return result;
+        }
+
+        AtomicInteger nextFuture = new AtomicInteger();
+        AtomicInteger remainingFutures = new AtomicInteger(futureSuppliers.size());
+        for (int i = 0; i < Math.min(maxConcurrentFutures, futureSuppliers.size()); i++) {
+            startNext(futureSuppliers, nextFuture, remainingFutures, result);
+        }
+        return result;
+    }
+
+    /**
+     * Like {@link CompletableFuture#thenApply(Function)}, except that cancelling the returned
+     * future cancels the source as well.
+     */
+    public static <T, U> CompletableFuture<U> thenApply(
+        CompletableFuture<T> source,
+        Function<? super T, ? extends U> function
+    ) {
+        CompletableFuture<U> result = source.thenApply(function);
+        cancelWith(result, source);
+        return result;
+    }
+
+    /**
+     * Like {@link CompletableFuture#thenCompose(Function)}, except that cancelling the returned
+     * future cancels the source, and the composed future once it has been started.
+     */
+    public static <T, U> CompletableFuture<U> thenCompose(
+        CompletableFuture<T> source,
+        Function<? super T, ? extends CompletableFuture<U>> function
+    ) {
+        CompletableFuture<U> result = new CompletableFuture<>();
+        cancelWith(result, source);
+        source.whenComplete((value, throwable) -> {
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+                return;
+            }
+            CompletableFuture<U> next;
+            try {
+                next = function.apply(value);
+            } catch (RuntimeException exception) {
+                result.completeExceptionally(exception);
+                return;
+            }
+            cancelWith(result, next);
+            next.whenComplete((nextValue, nextThrowable) -> {
+                if (nextThrowable != null) {
+                    result.completeExceptionally(nextThrowable);
+                } else {
+                    result.complete(nextValue);
+                }
+            });
+        });
+        return result;
+    }
+
+    private static void cancelWith(CompletableFuture<?> future, CompletableFuture<?> dependency) {
+        future.whenComplete((value, throwable) -> {
+            if (future.isCancelled()) {
+                dependency.cancel(true);
+            }
+        });
+    }
+
+    private static void startNext(
+        List<Supplier<CompletableFuture<?>>> futureSuppliers,
+        AtomicInteger nextFuture,
+        AtomicInteger remainingFutures,
+        CompletableFuture<Void> result
+    ) {
+        int index = nextFuture.getAndIncrement();
+        if (index >= futureSuppliers.size() || result.isDone()) {
+            return;
+        }
+
+        CompletableFuture<?> future;
+        try {
+            future = futureSuppliers.get(index).get();
+        } catch (RuntimeException exception) {
+            result.completeExceptionally(exception);
+            return;
+        }
+        cancelWith(result, future);
+
+        future.whenComplete((value, throwable) -> {
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+            } else if (remainingFutures.decrementAndGet() == 0) {
+                result.complete(null);
+            } else {
+                startNext(futureSuppliers, nextFuture, remainingFutures, result);
+            }
+        });
+    }
+}
@@ -0,0 +1,136 @@
+package com.paysera.lib.wallet.helpers;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Source;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+
+/**
+ * Request bodies streamed from disk in okio segments. They can be written more than once,
+ * as the signing interceptor hashes the body before it is sent.
+ */
+public class RequestBodyHelper {
+    private static final String TEMPORARY_FILE_PREFIX = "wallet-sdk-upload";
+
+    public static RequestBody create(final MediaType mediaType, final Path path) throws IOException {
+        final long contentLength = Files.size(path);
+        return new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return mediaType;
+            }
+
+            @Override
+            public long contentLength() {
+                return contentLength;
+            }
+
+            @Override
+            public void writeTo(BufferedSink sink) throws IOException {
+                try (Source source = Okio.source(path)) {
+                    sink.writeAll(source);
+                }
+            }
+        };
+    }
+
+    /**
+     * Sends the channel content from its current position to its end. Reads are positional,
+     * the channel position is left untouched and the channel is not closed.
+     */
+    public static RequestBody create(final MediaType mediaType, final FileChannel fileChannel) throws IOException {
+        final long start = fileChannel.position();
+        final long contentLength = fileChannel.size() - start;
+        return new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return mediaType;
+            }
+
+            @Override
+            public long contentLength() {
+                return contentLength;
+            }
+
+            @Override
+            public void writeTo(BufferedSink sink) throws IOException {
+                WritableByteChannel target = Channels.newChannel(sink.outputStream());
+                long position = start;
+                long end = start + contentLength;
+                while (position < end) {
+                    long transferred = fileChannel.transferTo(position, end - position, target);
+                    if (transferred <= 0) {
+                        throw new IOException("Unexpected end of file channel");
+                    }
+                    position += transferred;
+                }
+            }
+        };
+    }
+
+    /**
+     * Copies the stream into a temporary file, so the body can be hashed and sent from disk.
+     * The caller deletes the returned file once the upload is finished.
+     */
+    public static Path spoolToTemporaryFile(InputStream inputStream) throws IOException {
+        return spoolToTemporaryFile(inputStream, null);
+    }
+
+    /**
+     * Same as {@link #spoolToTemporaryFile(InputStream)}, in the given directory or in the
+     * default temporary directory when it is null. The uploaded content, usually identity
+     * documents, stays on the disk until the file is deleted, so the file is created readable
+     * and writable by its owner only.
+     */
+    public static Path spoolToTemporaryFile(InputStream inputStream, Path directory) throws IOException {
+        Path path = createOwnerOnlyTemporaryFile(directory);
+        try (BufferedSink sink = Okio.buffer(Okio.sink(path))) {
+            // written in place, replacing the file would drop its permissions
+            sink.writeAll(Okio.source(inputStream));
+        } catch (IOException | RuntimeException exception) {
+            Files.deleteIfExists(path);
+            throw exception;
+        }
+        return path;
+    }
+
+    private static Path createOwnerOnlyTemporaryFile(Path directory) throws IOException {
+        FileSystem fileSystem = directory != null ? directory.getFileSystem() : FileSystems.getDefault();
+        if (fileSystem.supportedFileAttributeViews().contains("posix")) {
+            FileAttribute<Set<PosixFilePermission>> ownerOnly = PosixFilePermissions.asFileAttribute(
+                PosixFilePermissions.fromString("rw-------")
+            );
+            return directory != null
+                ? Files.createTempFile(directory, TEMPORARY_FILE_PREFIX, null, ownerOnly)
+                : Files.createTempFile(TEMPORARY_FILE_PREFIX, null, ownerOnly);
+        }
+
+        Path path = directory != null
+            ? Files.createTempFile(directory, TEMPORARY_FILE_PREFIX, null)
+            : Files.createTempFile(TEMPORARY_FILE_PREFIX, null);
+        File file = path.toFile();
+        boolean restricted = file.setReadable(false, false) && file.setReadable(true, true)
+            && file.setWritable(false, false) && file.setWritable(true, true);
+        if (!restricted) {
+            Files.deleteIfExists(path);
+            throw new IOException("Could not restrict access to " + path);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,66 @@
+package com.paysera.lib.wallet.helpers;
+
+import bolts.Task;
+import bolts.TaskCompletionSource;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class TaskHelper {
+
+    /**
+     * Starts the tasks in order, keeping at most maxConcurrentTasks of them running.
+     * Fails with the first error, after which no further tasks are started.
+     */
+    public static Task<Void> whenAll(List<Supplier<Task<?>>> taskSuppliers, int maxConcurrentTasks) {
+        if (maxConcurrentTasks < 1) {
+            throw new IllegalArgumentException("maxConcurrentTasks must be positive");
+        }
+        if (taskSuppliers.isEmpty()) {
+            return Task.forResult(null);
+        }
+
+        TaskCompletionSource<Void> taskCompletionSource = new TaskCompletionSource<>();
+        AtomicInteger nextTask = new AtomicInteger();
+        AtomicInteger remainingTasks = new AtomicInteger(taskSuppliers.size());
+        for (int i = 0; i < Math.min(maxConcurrentTasks, taskSuppliers.size()); i++) {
+            startNext(taskSuppliers, nextTask, remainingTasks, taskCompletionSource);
+        }
+        return taskCompletionSource.getTask();
+    }
+
+    private static void startNext(
+        List<Supplier<Task<?>>> taskSuppliers,
+        AtomicInteger nextTask,
+        AtomicInteger remainingTasks,
+        TaskCompletionSource<Void> taskCompletionSource
+    ) {
+        int index = nextTask.getAndIncrement();
+        if (index >= taskSuppliers.size() || taskCompletionSource.getTask().isCompleted()) {
+            return;
+        }
+
+        Task<?> task;
+        try {
+            task = taskSuppliers.get(index).get();
+        } catch (RuntimeException exception) {
+            taskCompletionSource.trySetError(exception);
+            return;
+        }
+
+        task.continueWith(completedTask -> {
+            if (completedTask.isFaulted()) {
+                taskCompletionSource.trySetError(completedTask.getError());
+            } else if (completedTask.isCancelled()) {
+                taskCompletionSource.trySetError(new CancellationException("Task has been canceled"));
+            } else if (remainingTasks.decrementAndGet() == 0) {
+                taskCompletionSource.trySetResult(null);
+            } else {
+                startNext(taskSuppliers, nextTask, remainingTasks, taskCompletionSource);
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,12 @@
+package com.paysera.lib.wallet.interfaces;
+
+import com.paysera.lib.wallet.enums.CircuitState;
+import com.paysera.lib.wallet.enums.EndpointGroup;
+
+public interface CircuitBreakerListener {
+    /**
+     * Called outside of any lock, on the thread completing the request that caused the
+     * transition.
+     */
+    void onStateTransition(EndpointGroup endpointGroup, CircuitState fromState, CircuitState toState);
+}
@@ -0,0 +1,23 @@
+package com.paysera.lib.wallet.interfaces;
+
+import com.paysera.lib.wallet.entities.Credentials;
+import okhttp3.Request;
+
+import java.io.IOException;
+
+public interface CredentialsResolver {
+    /**
+     * Returns the credentials to sign the request with. A request without credentials fails
+     * with {@link com.paysera.lib.wallet.exceptions.WalletApiException#ERROR_CODE_SIGNING_REQUEST}
+     * unless {@link #isUnsignedAllowed(Request)} allows it. Called on the OkHttp dispatcher
+     * thread, inside the signing interceptor.
+     */
+    Credentials resolve(Request request) throws IOException;
+
+    /**
+     * Whether a request the resolver has no credentials for may be sent unsigned.
+     */
+    default boolean isUnsignedAllowed(Request request) {
+        return false;
+    }
+}
@@ -0,0 +1,17 @@
+package com.paysera.lib.wallet.interfaces;
+
+import okhttp3.Request;
+
+public interface RateLimiter {
+    /**
+     * Runs the action once the request may be sent, right away on the calling thread or
+     * later on a scheduler thread. Must not block.
+     */
+    void acquire(Request request, Runnable action);
+
+    /**
+     * Called with the status code of every response. rateLimited is set for a 429 and for a
+     * rate_limit_exceeded error, whatever its status code.
+     */
+    void onResponse(Request request, int statusCode, boolean rateLimited);
+}
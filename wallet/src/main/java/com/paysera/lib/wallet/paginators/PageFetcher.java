@@ -0,0 +1,13 @@
+package com.paysera.lib.wallet.paginators;
+
+import bolts.Task;
+import com.paysera.lib.wallet.entities.MetadataAwareResponse;
+import com.paysera.lib.wallet.filters.BaseFilter;
+
+/**
+ * Requests one page for the current filter state. The filter must be read before this
+ * method returns, as the paginator moves it to the next offset right after.
+ */
+public interface PageFetcher<F extends BaseFilter, T> {
+    Task<MetadataAwareResponse<T>> fetch(F filter);
+}
@@ -0,0 +1,221 @@
+package com.paysera.lib.wallet.paginators;
+
+import bolts.Task;
+import bolts.TaskCompletionSource;
+import com.paysera.lib.wallet.entities.CommonMetadataAwareResponse;
+import com.paysera.lib.wallet.entities.Metadata;
+import com.paysera.lib.wallet.entities.MetadataAwareResponse;
+import com.paysera.lib.wallet.filters.BaseFilter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Pages through any offset/limit endpoint, for example
+ * {@code new Paginator<>(transfersFilter, walletAsyncClient::getTransfers)}.
+ * The filter is moved through the offsets in place.
+ */
+public class Paginator<F extends BaseFilter, T> {
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 4;
+
+    private final F filter;
+    private final PageFetcher<F, T> pageFetcher;
+    private final int maxBufferedPages;
+    private final int maxConcurrentRequests;
+
+    public Paginator(F filter, PageFetcher<F, T> pageFetcher) {
+        this(
+            filter,
+            pageFetcher,
+            PrefetchingPageIterator.DEFAULT_MAX_BUFFERED_PAGES,
+            DEFAULT_MAX_CONCURRENT_REQUESTS
+        );
+    }
+
+    public Paginator(
+        F filter,
+        PageFetcher<F, T> pageFetcher,
+        int maxBufferedPages,
+        int maxConcurrentRequests
+    ) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("maxConcurrentRequests must be positive");
+        }
+        this.filter = filter;
+        this.pageFetcher = pageFetcher;
+        this.maxBufferedPages = maxBufferedPages;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    public static <F extends BaseFilter, T> Paginator<F, T> ofCommon(
+        F filter,
+        Function<F, Task<CommonMetadataAwareResponse<T>>> commonPageFetcher
+    ) {
+        return new Paginator<>(filter, commonFilter -> commonPageFetcher.apply(commonFilter).onSuccess(task -> {
+            MetadataAwareResponse<T> response = new MetadataAwareResponse<>();
+            response.setItems(task.getResult().getItems());
+            response.setMetadata(task.getResult().getMetadata());
+            return response;
+        }));
+    }
+
+    public PrefetchingPageIterator<T> iterator() {
+        return new OffsetPageIterator();
+    }
+
+    public Stream<T> stream() {
+        return this.iterator().stream();
+    }
+
+    /**
+     * Fetches the first page, then the remaining ones. When the first page reports the
+     * total, the remaining offsets are requested concurrently, up to maxConcurrentRequests
+     * at a time, otherwise page by page. The stride is the size of the first page, since the
+     * server may return fewer items than the requested limit. Items keep the order of the offsets.
+     */
+    public Task<List<T>> fetchAll() {
+        int startOffset = filter.getOffset() != null ? filter.getOffset() : 0;
+        return this.fetchPage(startOffset).onSuccessTask(task -> {
+            MetadataAwareResponse<T> firstPage = task.getResult();
+            List<T> items = new ArrayList<>(getItems(firstPage));
+            Metadata metadata = firstPage.getMetadata();
+            int pageSize = items.size();
+            if (items.isEmpty() || !hasMorePages(metadata, startOffset + pageSize)) {
+                return Task.forResult(items);
+            }
+            if (metadata == null || metadata.getTotal() == null) {
+                return this.fetchRemainingSequentially(items, startOffset + pageSize);
+            }
+            return new FanOut(items, startOffset + pageSize, pageSize, metadata.getTotal()).start();
+        });
+    }
+
+    private Task<MetadataAwareResponse<T>> fetchPage(int offset) {
+        synchronized (filter) {
+            filter.setOffset(offset);
+            return pageFetcher.fetch(filter);
+        }
+    }
+
+    private Task<List<T>> fetchRemainingSequentially(List<T> items, int offset) {
+        return this.fetchPage(offset).onSuccessTask(task -> {
+            List<T> pageItems = getItems(task.getResult());
+            items.addAll(pageItems);
+            int nextOffset = offset + pageItems.size();
+            if (pageItems.isEmpty() || !hasMorePages(task.getResult().getMetadata(), nextOffset)) {
+                return Task.forResult(items);
+            }
+            return this.fetchRemainingSequentially(items, nextOffset);
+        });
+    }
+
+    private static boolean hasMorePages(Metadata metadata, int nextOffset) {
+        if (metadata == null) {
+            return false;
+        }
+        if (Boolean.FALSE.equals(metadata.getHasNext())) {
+            return false;
+        }
+        return metadata.getTotal() == null || nextOffset < metadata.getTotal();
+    }
+
+    private static <T> List<T> getItems(MetadataAwareResponse<T> page) {
+        return page.getItems() != null ? page.getItems() : Collections.<T>emptyList();
+    }
+
+    private class OffsetPageIterator extends PrefetchingPageIterator<T> {
+        private int offset = filter.getOffset() != null ? filter.getOffset() : 0;
+
+        OffsetPageIterator() {
+            super(maxBufferedPages);
+        }
+
+        @Override
+        protected Task<MetadataAwareResponse<T>> fetchNextPage() {
+            return Paginator.this.fetchPage(offset);
+        }
+
+        @Override
+        protected boolean prepareNextPage(MetadataAwareResponse<T> page) {
+            offset += getItems(page).size();
+            return hasMorePages(page.getMetadata(), offset);
+        }
+    }
+
+    private class FanOut {
+        private final List<T> firstPageItems;
+        private final int firstOffset;
+        private final int pageSize;
+        private final AtomicReferenceArray<List<T>> pages;
+        private final AtomicInteger nextPage = new AtomicInteger();
+        private final AtomicInteger remainingPages;
+        private final TaskCompletionSource<Void> taskCompletionSource = new TaskCompletionSource<>();
+
+        FanOut(List<T> firstPageItems, int firstOffset, int pageSize, int total) {
+            int pageCount = Math.max(0, (total - firstOffset + pageSize - 1) / pageSize);
+            this.firstPageItems = firstPageItems;
+            this.firstOffset = firstOffset;
+            this.pageSize = pageSize;
+            this.pages = new AtomicReferenceArray<>(pageCount);
+            this.remainingPages = new AtomicInteger(pageCount);
+        }
+
+        Task<List<T>> start() {
+            if (pages.length() == 0) {
+                return Task.forResult(firstPageItems);
+            }
+            for (int i = 0; i < Math.min(maxConcurrentRequests, pages.length()); i++) {
+                this.fetchNext();
+            }
+            return taskCompletionSource.getTask().onSuccessTask(task -> this.collect());
+        }
+
+        private void fetchNext() {
+            int page = nextPage.getAndIncrement();
+            if (page >= pages.length() || taskCompletionSource.getTask().isCompleted()) {
+                return;
+            }
+
+            Paginator.this.fetchPage(firstOffset + page * pageSize).continueWith(task -> {
+                if (task.isFaulted()) {
+                    taskCompletionSource.trySetError(task.getError());
+                } else if (task.isCancelled()) {
+                    taskCompletionSource.trySetError(new CancellationException("Page request has been canceled"));
+                } else {
+                    pages.set(page, getItems(task.getResult()));
+                    if (remainingPages.decrementAndGet() == 0) {
+                        taskCompletionSource.trySetResult(null);
+                    } else {
+                        this.fetchNext();
+                    }
+                }
+                return null;
+            });
+        }
+
+        /**
+         * A short page before the last one means the server changed the page size or items
+         * were removed meanwhile, so the later offsets are dropped and fetched page by page.
+         */
+        private Task<List<T>> collect() {
+            List<T> items = new ArrayList<>(firstPageItems);
+            for (int i = 0; i < pages.length(); i++) {
+                List<T> pageItems = pages.get(i);
+                items.addAll(pageItems);
+                if (pageItems.size() < pageSize && i < pages.length() - 1) {
+                    return Paginator.this.fetchRemainingSequentially(
+                        items,
+                        firstOffset + i * pageSize + pageItems.size()
+                    );
+                }
+            }
+            return Task.forResult(items);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.paysera.lib.wallet.paginators;
+
+import bolts.Task;
+import com.paysera.lib.wallet.entities.MetadataAwareResponse;
+import com.paysera.lib.wallet.exceptions.PaginationException;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates items page by page. The next page is requested as soon as the previous one
+ * arrives, until maxBufferedPages pages are waiting to be consumed. Only one page request
+ * is in flight at a time, since every request depends on the previous page.
+ */
+public abstract class PrefetchingPageIterator<T> implements Iterator<T>, Closeable {
+    public static final int DEFAULT_MAX_BUFFERED_PAGES = 2;
+    private static final Object END = new Object();
+
+    private final int maxBufferedPages;
+    private final BlockingQueue<Object> pages = new LinkedBlockingQueue<>();
+    private final Object lock = new Object();
+    private boolean fetching;
+    private boolean exhausted;
+    private volatile boolean closed;
+    private boolean finished;
+    private Iterator<T> currentPage = Collections.emptyIterator();
+
+    protected PrefetchingPageIterator(int maxBufferedPages) {
+        if (maxBufferedPages < 1) {
+            throw new IllegalArgumentException("maxBufferedPages must be positive");
+        }
+        this.maxBufferedPages = maxBufferedPages;
+    }
+
+    /**
+     * Requests the page following the one last passed to {@link #prepareNextPage}.
+     */
+    protected abstract Task<MetadataAwareResponse<T>> fetchNextPage();
+
+    /**
+     * Moves the paging state past the given page, returns false when it was the last one.
+     */
+    protected abstract boolean prepareNextPage(MetadataAwareResponse<T> page);
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean hasNext() {
+        while (!currentPage.hasNext()) {
+            if (finished) {
+                return false;
+            }
+            Object page = takePage();
+            if (page == END) {
+                finished = true;
+                return false;
+            }
+            if (page instanceof Exception) {
+                finished = true;
+                throw new PaginationException("Failed to fetch page", (Exception) page);
+            }
+            currentPage = ((List<T>) page).iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return currentPage.next();
+    }
+
+    public Stream<T> stream() {
+        return StreamSupport
+            .stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            exhausted = true;
+            pages.clear();
+            pages.add(END);
+        }
+    }
+
+    private Object takePage() {
+        requestNextPage();
+        try {
+            Object page = pages.take();
+            requestNextPage();
+            return page;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new PaginationException("Interrupted while waiting for the next page", exception);
+        }
+    }
+
+    private void requestNextPage() {
+        synchronized (lock) {
+            if (fetching || exhausted || pages.size() >= maxBufferedPages) {
+                return;
+            }
+            fetching = true;
+        }
+
+        fetchNextPage().continueWith(task -> {
+            onPageFetched(task);
+            return null;
+        });
+    }
+
+    private void onPageFetched(Task<MetadataAwareResponse<T>> task) {
+        synchronized (lock) {
+            fetching = false;
+            if (closed) {
+                return;
+            }
+            if (task.isFaulted() || task.isCancelled()) {
+                exhausted = true;
+                pages.add(task.isFaulted() ? task.getError() : new CancellationException("Page request has been canceled"));
+                return;
+            }
+
+            MetadataAwareResponse<T> page = task.getResult();
+            List<T> items = page.getItems() != null ? page.getItems() : Collections.<T>emptyList();
+            pages.add(items);
+            if (items.isEmpty() || !prepareNextPage(page)) {
+                exhausted = true;
+                pages.add(END);
+                return;
+            }
+        }
+
+        requestNextPage();
+    }
+}
@@ -0,0 +1,65 @@
+package com.paysera.lib.wallet.paginators;
+
+import bolts.Task;
+import com.paysera.lib.wallet.clients.WalletAsyncClient;
+import com.paysera.lib.wallet.entities.Metadata;
+import com.paysera.lib.wallet.entities.MetadataAwareResponse;
+import com.paysera.lib.wallet.entities.Statement;
+import com.paysera.lib.wallet.filters.StatementsFilter;
+
+/**
+ * Walks wallet statements by cursor. Starts from the given filter and follows the after
+ * cursor, or the before cursor when only before is set. The filter is advanced in place
+ * as pages are requested.
+ */
+public class StatementIterator extends PrefetchingPageIterator<Statement> {
+    private final WalletAsyncClient walletAsyncClient;
+    private final StatementsFilter statementsFilter;
+    private final boolean backwards;
+
+    public StatementIterator(WalletAsyncClient walletAsyncClient, StatementsFilter statementsFilter) {
+        this(walletAsyncClient, statementsFilter, DEFAULT_MAX_BUFFERED_PAGES);
+    }
+
+    public StatementIterator(
+        WalletAsyncClient walletAsyncClient,
+        StatementsFilter statementsFilter,
+        int maxBufferedPages
+    ) {
+        super(maxBufferedPages);
+        this.walletAsyncClient = walletAsyncClient;
+        this.statementsFilter = statementsFilter;
+        this.backwards = statementsFilter.getBefore() != null && statementsFilter.getAfter() == null;
+    }
+
+    @Override
+    protected Task<MetadataAwareResponse<Statement>> fetchNextPage() {
+        return walletAsyncClient.getStatements(statementsFilter);
+    }
+
+    @Override
+    protected boolean prepareNextPage(MetadataAwareResponse<Statement> page) {
+        Metadata metadata = page.getMetadata();
+        if (metadata == null) {
+            return false;
+        }
+
+        String cursor;
+        if (backwards) {
+            cursor = Boolean.FALSE.equals(metadata.getHasPrevious()) ? null : metadata.getBeforeCursor();
+        } else {
+            cursor = Boolean.FALSE.equals(metadata.getHasNext()) ? null : metadata.getAfterCursor();
+        }
+        if (cursor == null) {
+            return false;
+        }
+
+        statementsFilter.setOffset(null);
+        if (backwards) {
+            statementsFilter.setBefore(cursor);
+        } else {
+            statementsFilter.setAfter(cursor);
+        }
+        return true;
+    }
+}
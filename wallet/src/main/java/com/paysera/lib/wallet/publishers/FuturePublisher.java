@@ -0,0 +1,101 @@
+package com.paysera.lib.wallet.publishers;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Emits the value of a single request. The request is only started once the subscriber
+ * signals demand, and every subscription starts a request of its own.
+ */
+public class FuturePublisher<T> implements Publisher<T> {
+    private final Supplier<CompletableFuture<T>> futureSupplier;
+
+    public FuturePublisher(Supplier<CompletableFuture<T>> futureSupplier) {
+        this.futureSupplier = futureSupplier;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber");
+        }
+        FutureSubscription subscription = new FutureSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    static Throwable unwrap(Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+
+    private class FutureSubscription implements Subscription {
+        private final Subscriber<? super T> subscriber;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final AtomicBoolean terminated = new AtomicBoolean();
+        private volatile CompletableFuture<T> future;
+
+        FutureSubscription(Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                boolean terminating = terminated.compareAndSet(false, true);
+                this.cancel();
+                if (terminating) {
+                    subscriber.onError(new IllegalArgumentException("Requested amount must be positive, got " + n));
+                }
+                return;
+            }
+            if (!started.compareAndSet(false, true) || terminated.get()) {
+                return;
+            }
+
+            CompletableFuture<T> future;
+            try {
+                future = futureSupplier.get();
+            } catch (RuntimeException exception) {
+                this.onComplete(null, exception);
+                return;
+            }
+            this.future = future;
+            if (terminated.get()) {
+                future.cancel(false);
+                return;
+            }
+            future.whenComplete(this::onComplete);
+        }
+
+        @Override
+        public void cancel() {
+            terminated.set(true);
+            CompletableFuture<T> future = this.future;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+
+        private void onComplete(T value, Throwable throwable) {
+            if (!terminated.compareAndSet(false, true)) {
+                return;
+            }
+            if (throwable != null) {
+                subscriber.onError(unwrap(throwable));
+                return;
+            }
+            if (value != null) {
+                subscriber.onNext(value);
+            }
+            subscriber.onComplete();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.paysera.lib.wallet.publishers;
+
+import com.paysera.lib.wallet.entities.Metadata;
+import com.paysera.lib.wallet.entities.MetadataAwareResponse;
+import com.paysera.lib.wallet.filters.BaseFilter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Pages through any offset/limit endpoint, for example
+ * {@code new OffsetPagePublisher<>(transfersFilter, walletFutureClient::getTransfers)}.
+ * Every subscription starts from the filter as it was when the publisher was created, and
+ * every page is requested with a copy of it, so the given filter is never modified.
+ */
+public class OffsetPagePublisher<F extends BaseFilter, T> extends PagePublisher<T> {
+    private final F filter;
+    private final Function<F, CompletableFuture<MetadataAwareResponse<T>>> pageFetcher;
+    private final int startOffset;
+
+    public OffsetPagePublisher(F filter, Function<F, CompletableFuture<MetadataAwareResponse<T>>> pageFetcher) {
+        this.filter = copy(filter);
+        this.pageFetcher = pageFetcher;
+        this.startOffset = filter.getOffset() != null ? filter.getOffset() : 0;
+    }
+
+    @Override
+    protected PageCursor<T> createCursor() {
+        return new PageCursor<T>() {
+            private int offset = startOffset;
+
+            @Override
+            public CompletableFuture<MetadataAwareResponse<T>> fetchNextPage() {
+                F pageFilter = copy(filter);
+                pageFilter.setOffset(offset);
+                return pageFetcher.apply(pageFilter);
+            }
+
+            @Override
+            public boolean prepareNextPage(MetadataAwareResponse<T> page) {
+                offset += page.getItems().size();
+                Metadata metadata = page.getMetadata();
+                if (metadata == null || Boolean.FALSE.equals(metadata.getHasNext())) {
+                    return false;
+                }
+                return metadata.getTotal() == null || offset < metadata.getTotal();
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <F extends BaseFilter> F copy(F filter) {
+        return (F) filter.copy();
+    }
+}
@@ -0,0 +1,179 @@
+package com.paysera.lib.wallet.publishers;
+
+import com.paysera.lib.wallet.entities.MetadataAwareResponse;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Emits the items of a paginated endpoint. A page is only requested when the subscriber
+ * has demand that the items already received cannot satisfy, so at most one page is
+ * buffered and one request is in flight per subscription. Every subscription walks the
+ * pages from the start with a cursor of its own.
+ */
+public abstract class PagePublisher<T> implements Publisher<T> {
+
+    /**
+     * Creates the paging state for a new subscription.
+     */
+    protected abstract PageCursor<T> createCursor();
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber");
+        }
+        subscriber.onSubscribe(new PageSubscription<>(subscriber, this.createCursor()));
+    }
+
+    public interface PageCursor<T> {
+        /**
+         * Requests the page following the one last passed to {@link #prepareNextPage}.
+         */
+        CompletableFuture<MetadataAwareResponse<T>> fetchNextPage();
+
+        /**
+         * Moves the cursor past the given page, returns false when it was the last one.
+         */
+        boolean prepareNextPage(MetadataAwareResponse<T> page);
+    }
+
+    private static class PageSubscription<T> implements Subscription {
+        private final Subscriber<? super T> subscriber;
+        private final PageCursor<T> cursor;
+        private final Queue<T> items = new ConcurrentLinkedQueue<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean fetching;
+        private volatile boolean exhausted;
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+        private volatile CompletableFuture<MetadataAwareResponse<T>> currentPage;
+
+        PageSubscription(Subscriber<? super T> subscriber, PageCursor<T> cursor) {
+            this.subscriber = subscriber;
+            this.cursor = cursor;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Requested amount must be positive, got " + n);
+                exhausted = true;
+                items.clear();
+                this.cancelPage();
+            } else {
+                requested.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            }
+            this.drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            this.cancelPage();
+            if (wip.getAndIncrement() == 0) {
+                items.clear();
+            }
+        }
+
+        private void cancelPage() {
+            CompletableFuture<MetadataAwareResponse<T>> page = currentPage;
+            if (page != null) {
+                page.cancel(false);
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            while (true) {
+                long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand && !cancelled) {
+                    T item = items.poll();
+                    if (item == null) {
+                        break;
+                    }
+                    subscriber.onNext(item);
+                    emitted++;
+                }
+                if (cancelled) {
+                    items.clear();
+                    return;
+                }
+                if (emitted != 0 && demand != Long.MAX_VALUE) {
+                    demand = requested.addAndGet(-emitted);
+                }
+
+                if (items.isEmpty() && !fetching) {
+                    if (exhausted) {
+                        cancelled = true;
+                        Throwable error = this.error;
+                        if (error != null) {
+                            subscriber.onError(error);
+                        } else {
+                            subscriber.onComplete();
+                        }
+                        return;
+                    }
+                    if (demand > 0) {
+                        this.fetchNextPage();
+                    }
+                }
+
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void fetchNextPage() {
+            fetching = true;
+            CompletableFuture<MetadataAwareResponse<T>> page;
+            try {
+                page = cursor.fetchNextPage();
+            } catch (RuntimeException exception) {
+                page = new CompletableFuture<>();
+                page.completeExceptionally(exception);
+            }
+            currentPage = page;
+            page.whenComplete(this::onPageFetched);
+        }
+
+        private void onPageFetched(MetadataAwareResponse<T> page, Throwable throwable) {
+            currentPage = null;
+            if (exhausted) {
+                items.clear();
+            } else if (throwable != null) {
+                error = FuturePublisher.unwrap(throwable);
+                exhausted = true;
+            } else {
+                List<T> pageItems = page.getItems();
+                if (pageItems != null) {
+                    for (T item : pageItems) {
+                        if (item != null) {
+                            items.add(item);
+                        }
+                    }
+                }
+                if (pageItems == null || pageItems.isEmpty() || !cursor.prepareNextPage(page)) {
+                    exhausted = true;
+                }
+            }
+            fetching = false;
+            this.drain();
+        }
+    }
+}
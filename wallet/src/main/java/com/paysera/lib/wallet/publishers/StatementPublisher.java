@@ -0,0 +1,77 @@
+package com.paysera.lib.wallet.publishers;
+
+import com.paysera.lib.wallet.clients.WalletFutureClient;
+import com.paysera.lib.wallet.entities.Metadata;
+import com.paysera.lib.wallet.entities.MetadataAwareResponse;
+import com.paysera.lib.wallet.entities.Statement;
+import com.paysera.lib.wallet.filters.StatementsFilter;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Walks wallet statements by cursor, like {@link com.paysera.lib.wallet.paginators.StatementIterator}.
+ * Follows the after cursor, or the before cursor when only before is set. Every
+ * subscription starts from the filter as it was when the publisher was created, and
+ * every page is requested with a copy of it, so the given filter is never modified.
+ */
+public class StatementPublisher extends PagePublisher<Statement> {
+    private final WalletFutureClient walletFutureClient;
+    private final StatementsFilter statementsFilter;
+    private final Integer startOffset;
+    private final String startAfter;
+    private final String startBefore;
+    private final boolean backwards;
+
+    public StatementPublisher(WalletFutureClient walletFutureClient, StatementsFilter statementsFilter) {
+        this.walletFutureClient = walletFutureClient;
+        this.statementsFilter = (StatementsFilter) statementsFilter.copy();
+        this.startOffset = statementsFilter.getOffset();
+        this.startAfter = statementsFilter.getAfter();
+        this.startBefore = statementsFilter.getBefore();
+        this.backwards = startBefore != null && startAfter == null;
+    }
+
+    @Override
+    protected PageCursor<Statement> createCursor() {
+        return new PageCursor<Statement>() {
+            private Integer offset = startOffset;
+            private String after = startAfter;
+            private String before = startBefore;
+
+            @Override
+            public CompletableFuture<MetadataAwareResponse<Statement>> fetchNextPage() {
+                StatementsFilter pageFilter = (StatementsFilter) statementsFilter.copy();
+                pageFilter.setOffset(offset);
+                pageFilter.setAfter(after);
+                pageFilter.setBefore(before);
+                return walletFutureClient.getStatements(pageFilter);
+            }
+
+            @Override
+            public boolean prepareNextPage(MetadataAwareResponse<Statement> page) {
+                Metadata metadata = page.getMetadata();
+                if (metadata == null) {
+                    return false;
+                }
+
+                String cursor;
+                if (backwards) {
+                    cursor = Boolean.FALSE.equals(metadata.getHasPrevious()) ? null : metadata.getBeforeCursor();
+                } else {
+                    cursor = Boolean.FALSE.equals(metadata.getHasNext()) ? null : metadata.getAfterCursor();
+                }
+                if (cursor == null) {
+                    return false;
+                }
+
+                offset = null;
+                if (backwards) {
+                    before = cursor;
+                } else {
+                    after = cursor;
+                }
+                return true;
+            }
+        };
+    }
+}
@@ -0,0 +1,163 @@
+package com.paysera.lib.wallet.sync;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Appends one "walletId,dateSeconds,statementId" line per saved checkpoint, the last line
+ * of a wallet wins. All checkpoints are kept in memory, and the file is rewritten once it
+ * holds more than compactionFactor lines per wallet. Every save is forced to the disk, and
+ * the compacted file is forced before it atomically replaces the log.
+ */
+public class FileStatementCheckpointStore implements StatementCheckpointStore, Closeable {
+    private static final int DEFAULT_COMPACTION_FACTOR = 4;
+    private static final int MIN_LINES_BEFORE_COMPACTION = 1024;
+
+    private final Path path;
+    private final int compactionFactor;
+    private final ConcurrentMap<Integer, StatementCheckpoint> checkpoints = new ConcurrentHashMap<>();
+    private FileChannel channel;
+    private int lineCount;
+
+    public FileStatementCheckpointStore(Path path) throws IOException {
+        this(path, DEFAULT_COMPACTION_FACTOR);
+    }
+
+    public FileStatementCheckpointStore(Path path, int compactionFactor) throws IOException {
+        this.path = path;
+        this.compactionFactor = compactionFactor;
+        boolean tornLastLine = false;
+        if (Files.exists(path)) {
+            tornLastLine = this.load();
+        }
+        this.channel = this.openChannel();
+        if (tornLastLine) {
+            this.append("\n");
+        }
+    }
+
+    @Override
+    public StatementCheckpoint getCheckpoint(Integer walletId) {
+        return checkpoints.get(walletId);
+    }
+
+    @Override
+    public synchronized void saveCheckpoint(StatementCheckpoint checkpoint) throws IOException {
+        this.append(toLine(checkpoint));
+        checkpoints.put(checkpoint.getWalletId(), checkpoint);
+        lineCount++;
+
+        if (lineCount > MIN_LINES_BEFORE_COMPACTION && lineCount > checkpoints.size() * compactionFactor) {
+            this.compact();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private boolean load() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(",");
+                if (parts.length != 3) {
+                    continue;
+                }
+                try {
+                    Integer walletId = Integer.valueOf(parts[0]);
+                    checkpoints.put(
+                        walletId,
+                        new StatementCheckpoint(walletId, Long.parseLong(parts[1]), Long.parseLong(parts[2]))
+                    );
+                    lineCount++;
+                } catch (NumberFormatException exception) {
+                    // a torn last line after a crash, the previous checkpoint of the wallet stays
+                }
+            }
+        }
+
+        try (SeekableByteChannel channel = Files.newByteChannel(path)) {
+            if (channel.size() == 0) {
+                return false;
+            }
+            ByteBuffer lastByte = ByteBuffer.allocate(1);
+            channel.position(channel.size() - 1).read(lastByte);
+            return lastByte.get(0) != '\n';
+        }
+    }
+
+    private void compact() throws IOException {
+        Path compactedPath = path.resolveSibling(path.getFileName() + ".compact");
+        StringBuilder lines = new StringBuilder();
+        for (StatementCheckpoint checkpoint : checkpoints.values()) {
+            lines.append(toLine(checkpoint));
+        }
+        try (FileChannel compactedChannel = FileChannel.open(
+            compactedPath,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE
+        )) {
+            writeFully(compactedChannel, lines.toString());
+            compactedChannel.force(true);
+        }
+        channel.close();
+        Files.move(compactedPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.forceDirectory();
+        channel = this.openChannel();
+        lineCount = checkpoints.size();
+    }
+
+    private void append(String line) throws IOException {
+        writeFully(channel, line);
+        channel.force(false);
+    }
+
+    /**
+     * Makes the rename itself durable. Directories can not be opened on every platform,
+     * there the rename is left to the file system.
+     */
+    private void forceDirectory() {
+        Path directory = path.toAbsolutePath().getParent();
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel directoryChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            directoryChannel.force(true);
+        } catch (IOException exception) {
+            // not supported on this platform
+        }
+    }
+
+    private FileChannel openChannel() throws IOException {
+        return FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.APPEND
+        );
+    }
+
+    private static void writeFully(FileChannel fileChannel, String value) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            fileChannel.write(buffer);
+        }
+    }
+
+    private static String toLine(StatementCheckpoint checkpoint) {
+        return checkpoint.getWalletId() + "," + checkpoint.getDateSeconds() + "," + checkpoint.getStatementId() + "\n";
+    }
+}
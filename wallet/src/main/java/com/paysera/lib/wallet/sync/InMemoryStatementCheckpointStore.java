@@ -0,0 +1,18 @@
+package com.paysera.lib.wallet.sync;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class InMemoryStatementCheckpointStore implements StatementCheckpointStore {
+    private final ConcurrentMap<Integer, StatementCheckpoint> checkpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public StatementCheckpoint getCheckpoint(Integer walletId) {
+        return checkpoints.get(walletId);
+    }
+
+    @Override
+    public void saveCheckpoint(StatementCheckpoint checkpoint) {
+        checkpoints.put(checkpoint.getWalletId(), checkpoint);
+    }
+}
@@ -0,0 +1,33 @@
+package com.paysera.lib.wallet.sync;
+
+/**
+ * High-water mark of a wallet's statements: the latest statement date, in unix seconds,
+ * and the highest statement id seen on that second.
+ */
+public class StatementCheckpoint {
+    private final Integer walletId;
+    private final long dateSeconds;
+    private final long statementId;
+
+    public StatementCheckpoint(Integer walletId, long dateSeconds, long statementId) {
+        this.walletId = walletId;
+        this.dateSeconds = dateSeconds;
+        this.statementId = statementId;
+    }
+
+    public Integer getWalletId() {
+        return walletId;
+    }
+
+    public long getDateSeconds() {
+        return dateSeconds;
+    }
+
+    public long getStatementId() {
+        return statementId;
+    }
+
+    public boolean covers(long dateSeconds, long statementId) {
+        return dateSeconds < this.dateSeconds || (dateSeconds == this.dateSeconds && statementId <= this.statementId);
+    }
+}
@@ -0,0 +1,9 @@
+package com.paysera.lib.wallet.sync;
+
+import java.io.IOException;
+
+public interface StatementCheckpointStore {
+    StatementCheckpoint getCheckpoint(Integer walletId);
+
+    void saveCheckpoint(StatementCheckpoint checkpoint) throws IOException;
+}
@@ -0,0 +1,41 @@
+package com.paysera.lib.wallet.sync;
+
+import com.paysera.lib.wallet.entities.Statement;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public class StatementDelta {
+    private final Integer walletId;
+    private final List<Statement> statements;
+    private final StatementCheckpoint checkpoint;
+
+    public StatementDelta(Integer walletId, List<Statement> statements, StatementCheckpoint checkpoint) {
+        this.walletId = walletId;
+        this.statements = statements;
+        this.checkpoint = checkpoint;
+    }
+
+    public Integer getWalletId() {
+        return walletId;
+    }
+
+    public List<Statement> getStatements() {
+        return statements;
+    }
+
+    public Stream<Statement> stream() {
+        return statements.stream();
+    }
+
+    /**
+     * Checkpoint to be stored once the statements are processed, null if none were seen yet.
+     */
+    public StatementCheckpoint getCheckpoint() {
+        return checkpoint;
+    }
+
+    public boolean isEmpty() {
+        return statements.isEmpty();
+    }
+}
@@ -0,0 +1,67 @@
+package com.paysera.lib.wallet.sync;
+
+import bolts.Task;
+import com.paysera.lib.wallet.clients.WalletAsyncClient;
+import com.paysera.lib.wallet.entities.Metadata;
+import com.paysera.lib.wallet.entities.MetadataAwareResponse;
+import com.paysera.lib.wallet.entities.Statement;
+import com.paysera.lib.wallet.filters.StatementsFilter;
+import com.paysera.lib.wallet.paginators.PrefetchingPageIterator;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Yields one {@link StatementDelta} per fetched page, following the after cursor. Each delta
+ * carries the checkpoint reached at the end of its page, so it can be committed as soon as
+ * the page is processed. A page with no new statements yields an empty delta.
+ */
+public class StatementDeltaIterator extends PrefetchingPageIterator<StatementDelta> {
+    private final WalletAsyncClient walletAsyncClient;
+    private final StatementsFilter statementsFilter;
+    private final StatementCheckpoint storedCheckpoint;
+    private StatementCheckpoint latestCheckpoint;
+
+    StatementDeltaIterator(
+        WalletAsyncClient walletAsyncClient,
+        StatementsFilter statementsFilter,
+        StatementCheckpoint storedCheckpoint,
+        int maxBufferedPages
+    ) {
+        super(maxBufferedPages);
+        this.walletAsyncClient = walletAsyncClient;
+        this.statementsFilter = statementsFilter;
+        this.storedCheckpoint = storedCheckpoint;
+        this.latestCheckpoint = storedCheckpoint;
+    }
+
+    @Override
+    protected Task<MetadataAwareResponse<StatementDelta>> fetchNextPage() {
+        return walletAsyncClient.getStatements(statementsFilter).onSuccess(task -> {
+            MetadataAwareResponse<Statement> page = task.getResult();
+            MetadataAwareResponse<StatementDelta> response = new MetadataAwareResponse<>();
+            response.setMetadata(page.getMetadata());
+            if (page.getItems() == null || page.getItems().isEmpty()) {
+                response.setItems(Collections.<StatementDelta>emptyList());
+                return response;
+            }
+
+            Integer walletId = statementsFilter.getWalletId();
+            List<Statement> statements = StatementSynchronizer.filterNewStatements(storedCheckpoint, page.getItems());
+            latestCheckpoint = StatementSynchronizer.advanceCheckpoint(walletId, latestCheckpoint, statements);
+            response.setItems(Collections.singletonList(new StatementDelta(walletId, statements, latestCheckpoint)));
+            return response;
+        });
+    }
+
+    @Override
+    protected boolean prepareNextPage(MetadataAwareResponse<StatementDelta> page) {
+        Metadata metadata = page.getMetadata();
+        if (metadata == null || Boolean.FALSE.equals(metadata.getHasNext()) || metadata.getAfterCursor() == null) {
+            return false;
+        }
+        statementsFilter.setOffset(null);
+        statementsFilter.setAfter(metadata.getAfterCursor());
+        return true;
+    }
+}
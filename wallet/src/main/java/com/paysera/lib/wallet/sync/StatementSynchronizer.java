@@ -0,0 +1,145 @@
+package com.paysera.lib.wallet.sync;
+
+import bolts.Task;
+import com.paysera.lib.wallet.clients.WalletAsyncClient;
+import com.paysera.lib.wallet.entities.Metadata;
+import com.paysera.lib.wallet.entities.Statement;
+import com.paysera.lib.wallet.enums.OrderDirection;
+import com.paysera.lib.wallet.filters.StatementsFilter;
+import com.paysera.lib.wallet.helpers.DateHelper;
+import com.paysera.lib.wallet.paginators.PrefetchingPageIterator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Fetches only the statements newer than the stored checkpoint of a wallet. The request
+ * starts from the checkpoint second, statements at or below the checkpoint are dropped.
+ * The checkpoint is stored by {@link #commit(StatementDelta)}, so a delta which was not
+ * processed is fetched again on the next cycle. Statements are requested oldest first, so
+ * committing a page never moves the checkpoint past statements of a later page.
+ *
+ * {@link #synchronize(Integer)} holds the whole delta in memory, use
+ * {@link #synchronizePages(Integer)} when a wallet may be far behind its checkpoint.
+ */
+public class StatementSynchronizer {
+    private static final int DEFAULT_PAGE_SIZE = 200;
+    private static final String ORDER_BY_DATE = "date";
+
+    private final WalletAsyncClient walletAsyncClient;
+    private final StatementCheckpointStore checkpointStore;
+    private final int pageSize;
+
+    public StatementSynchronizer(WalletAsyncClient walletAsyncClient, StatementCheckpointStore checkpointStore) {
+        this(walletAsyncClient, checkpointStore, DEFAULT_PAGE_SIZE);
+    }
+
+    public StatementSynchronizer(
+        WalletAsyncClient walletAsyncClient,
+        StatementCheckpointStore checkpointStore,
+        int pageSize
+    ) {
+        this.walletAsyncClient = walletAsyncClient;
+        this.checkpointStore = checkpointStore;
+        this.pageSize = pageSize;
+    }
+
+    public Task<StatementDelta> synchronize(Integer walletId) {
+        StatementCheckpoint checkpoint = checkpointStore.getCheckpoint(walletId);
+        return this.fetchNewStatements(this.createFilter(walletId, checkpoint), checkpoint, new ArrayList<>())
+            .onSuccess(task -> new StatementDelta(
+                walletId,
+                task.getResult(),
+                advanceCheckpoint(walletId, checkpoint, task.getResult())
+            ));
+    }
+
+    /**
+     * Fetches the new statements one page at a time, commit each delta once it is processed.
+     */
+    public StatementDeltaIterator synchronizePages(Integer walletId) {
+        StatementCheckpoint checkpoint = checkpointStore.getCheckpoint(walletId);
+        return new StatementDeltaIterator(
+            walletAsyncClient,
+            this.createFilter(walletId, checkpoint),
+            checkpoint,
+            PrefetchingPageIterator.DEFAULT_MAX_BUFFERED_PAGES
+        );
+    }
+
+    public void commit(StatementDelta delta) throws IOException {
+        if (!delta.isEmpty()) {
+            checkpointStore.saveCheckpoint(delta.getCheckpoint());
+        }
+    }
+
+    private Task<List<Statement>> fetchNewStatements(
+        StatementsFilter statementsFilter,
+        StatementCheckpoint checkpoint,
+        List<Statement> statements
+    ) {
+        return walletAsyncClient.getStatements(statementsFilter).onSuccessTask(task -> {
+            List<Statement> items = task.getResult().getItems();
+            if (items == null || items.isEmpty()) {
+                return Task.forResult(statements);
+            }
+            statements.addAll(filterNewStatements(checkpoint, items));
+
+            Metadata metadata = task.getResult().getMetadata();
+            if (metadata == null || Boolean.FALSE.equals(metadata.getHasNext()) || metadata.getAfterCursor() == null) {
+                return Task.forResult(statements);
+            }
+            statementsFilter.setOffset(null);
+            statementsFilter.setAfter(metadata.getAfterCursor());
+            return this.fetchNewStatements(statementsFilter, checkpoint, statements);
+        });
+    }
+
+    private StatementsFilter createFilter(Integer walletId, StatementCheckpoint checkpoint) {
+        StatementsFilter statementsFilter = new StatementsFilter();
+        statementsFilter.setWalletId(walletId);
+        statementsFilter.setLimit(pageSize);
+        statementsFilter.setOrderBy(ORDER_BY_DATE);
+        statementsFilter.setOrderDirection(OrderDirection.ASC);
+        if (checkpoint != null) {
+            statementsFilter.setFrom(new Date(checkpoint.getDateSeconds() * 1000L));
+        }
+        return statementsFilter;
+    }
+
+    static List<Statement> filterNewStatements(StatementCheckpoint checkpoint, List<Statement> items) {
+        List<Statement> statements = new ArrayList<>();
+        for (Statement statement : items) {
+            if (checkpoint == null || !checkpoint.covers(getDateSeconds(statement), getId(statement))) {
+                statements.add(statement);
+            }
+        }
+        return statements;
+    }
+
+    static StatementCheckpoint advanceCheckpoint(
+        Integer walletId,
+        StatementCheckpoint checkpoint,
+        List<Statement> statements
+    ) {
+        StatementCheckpoint latest = checkpoint;
+        for (Statement statement : statements) {
+            long dateSeconds = getDateSeconds(statement);
+            if (latest == null || !latest.covers(dateSeconds, getId(statement))) {
+                latest = new StatementCheckpoint(walletId, dateSeconds, getId(statement));
+            }
+        }
+        return latest;
+    }
+
+    private static long getDateSeconds(Statement statement) {
+        Long dateSeconds = DateHelper.convertDateToUnixTimestampSeconds(statement.getDate());
+        return dateSeconds != null ? dateSeconds : 0L;
+    }
+
+    private static long getId(Statement statement) {
+        return statement.getId() != null ? statement.getId() : 0L;
+    }
+}
@@ -0,0 +1,75 @@
+package com.paysera.lib.wallet.tenants;
+
+import com.paysera.lib.wallet.ClientServerTimeSynchronizationConfiguration;
+import com.paysera.lib.wallet.clients.PublicWalletApiClient;
+import com.paysera.lib.wallet.clients.WalletApiClient;
+import com.paysera.lib.wallet.factories.HttpClientFactory;
+import com.paysera.lib.wallet.factories.RetrofitFactory;
+import com.paysera.lib.wallet.helpers.OkHTTPQueryStringConverter;
+import com.paysera.lib.wallet.providers.TimestampProvider;
+import okhttp3.OkHttpClient;
+import retrofit2.Retrofit;
+
+/**
+ * Serves any number of users over one HTTP client, one Retrofit instance and one set of
+ * services. Requests are tagged with the tenant key and signed with the credentials the
+ * {@link TenantRegistry} holds for it, so a tenant costs its credentials and refresher only.
+ * <p>
+ * {@code multiTenantWalletClient.forTenant(userId).getUser()}
+ */
+public class MultiTenantWalletClient<K> {
+    private final TenantRegistry<K> tenantRegistry;
+    private final TimestampProvider timestampProvider;
+    private final ClientServerTimeSynchronizationConfiguration clientServerTimeSynchronizationConfiguration;
+    private final OkHTTPQueryStringConverter okHTTPQueryStringConverter;
+    private final OkHttpClient httpClient;
+    private final Retrofit retrofit;
+    private final WalletApiClient walletApiClient;
+    private final PublicWalletApiClient publicWalletApiClient;
+
+    public MultiTenantWalletClient(
+        TenantRegistry<K> tenantRegistry,
+        HttpClientFactory httpClientFactory,
+        RetrofitFactory retrofitFactory,
+        TimestampProvider timestampProvider,
+        ClientServerTimeSynchronizationConfiguration clientServerTimeSynchronizationConfiguration,
+        OkHTTPQueryStringConverter okHTTPQueryStringConverter,
+        String userAgent
+    ) {
+        this.tenantRegistry = tenantRegistry;
+        this.timestampProvider = timestampProvider;
+        this.clientServerTimeSynchronizationConfiguration = clientServerTimeSynchronizationConfiguration;
+        this.okHTTPQueryStringConverter = okHTTPQueryStringConverter;
+        this.httpClient = httpClientFactory.createHttpClient(tenantRegistry, userAgent);
+
+        TenantCallFactory tenantCallFactory = new TenantCallFactory(httpClient);
+        this.retrofit = retrofitFactory.createWalletApiRetrofit(tenantCallFactory);
+        this.walletApiClient = retrofitFactory.createWalletApiClient(tenantCallFactory);
+        this.publicWalletApiClient = retrofitFactory.createPublicWalletApiClient(tenantCallFactory);
+    }
+
+    /**
+     * The returned client is cheap to create and holds no tenant state, it can be created
+     * per request or kept around.
+     */
+    public TenantWalletAsyncClient<K> forTenant(K tenantKey) {
+        return new TenantWalletAsyncClient<>(
+            tenantRegistry,
+            tenantKey,
+            timestampProvider,
+            clientServerTimeSynchronizationConfiguration,
+            publicWalletApiClient,
+            walletApiClient,
+            retrofit,
+            okHTTPQueryStringConverter
+        );
+    }
+
+    public TenantRegistry<K> getTenantRegistry() {
+        return tenantRegistry;
+    }
+
+    public OkHttpClient getHttpClient() {
+        return httpClient;
+    }
+}
@@ -0,0 +1,83 @@
+package com.paysera.lib.wallet.tenants;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import java.io.IOException;
+
+/**
+ * Makes the wrapped call on behalf of a tenant. Callbacks receive this call, so clones
+ * made from them stay bound to the tenant.
+ */
+class TenantCall<T> implements Call<T> {
+    private final Call<T> call;
+    private final Object tenantKey;
+
+    TenantCall(Call<T> call, Object tenantKey) {
+        this.call = call;
+        this.tenantKey = tenantKey;
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+        Object previousTenantKey = TenantCallFactory.enterTenant(tenantKey);
+        try {
+            return call.execute();
+        } finally {
+            TenantCallFactory.exitTenant(previousTenantKey);
+        }
+    }
+
+    @Override
+    public void enqueue(final Callback<T> callback) {
+        Object previousTenantKey = TenantCallFactory.enterTenant(tenantKey);
+        try {
+            call.enqueue(new Callback<T>() {
+                @Override
+                public void onResponse(Call<T> call, Response<T> response) {
+                    callback.onResponse(TenantCall.this, response);
+                }
+
+                @Override
+                public void onFailure(Call<T> call, Throwable throwable) {
+                    callback.onFailure(TenantCall.this, throwable);
+                }
+            });
+        } finally {
+            TenantCallFactory.exitTenant(previousTenantKey);
+        }
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return call.isExecuted();
+    }
+
+    @Override
+    public void cancel() {
+        call.cancel();
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return call.isCanceled();
+    }
+
+    @Override
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    public Call<T> clone() {
+        return new TenantCall<>(call.clone(), tenantKey);
+    }
+
+    @Override
+    public Request request() {
+        Object previousTenantKey = TenantCallFactory.enterTenant(tenantKey);
+        try {
+            return call.request();
+        } finally {
+            TenantCallFactory.exitTenant(previousTenantKey);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.paysera.lib.wallet.tenants;
+
+import okhttp3.Call;
+import okhttp3.Request;
+
+/**
+ * Tags requests with the tenant key of the {@link TenantCall} that is creating them.
+ * Retrofit creates the HTTP call synchronously inside enqueue, execute and request.
+ */
+class TenantCallFactory implements Call.Factory {
+    private static final ThreadLocal<Object> CURRENT_TENANT_KEY = new ThreadLocal<>();
+
+    private final Call.Factory callFactory;
+
+    TenantCallFactory(Call.Factory callFactory) {
+        this.callFactory = callFactory;
+    }
+
+    static Object enterTenant(Object tenantKey) {
+        Object previousTenantKey = CURRENT_TENANT_KEY.get();
+        CURRENT_TENANT_KEY.set(tenantKey);
+        return previousTenantKey;
+    }
+
+    static void exitTenant(Object previousTenantKey) {
+        if (previousTenantKey == null) {
+            CURRENT_TENANT_KEY.remove();
+        } else {
+            CURRENT_TENANT_KEY.set(previousTenantKey);
+        }
+    }
+
+    @Override
+    public Call newCall(Request request) {
+        Object tenantKey = CURRENT_TENANT_KEY.get();
+        if (tenantKey != null) {
+            request = request.newBuilder().tag(tenantKey).build();
+        }
+        return callFactory.newCall(request);
+    }
+}
@@ -0,0 +1,9 @@
+package com.paysera.lib.wallet.tenants;
+
+import com.paysera.lib.wallet.entities.Credentials;
+
+public interface TenantCredentialsDelegate<K> {
+
+    void activeCredentialsDidUpdate(K tenantKey, Credentials credentials);
+    void onRefreshTokenInvalid(K tenantKey);
+}
@@ -0,0 +1,265 @@
+package com.paysera.lib.wallet.tenants;
+
+import com.paysera.lib.wallet.AccessTokenRefresher;
+import com.paysera.lib.wallet.clients.OAuthAsyncClient;
+import com.paysera.lib.wallet.entities.Credentials;
+import com.paysera.lib.wallet.exceptions.WalletApiException;
+import com.paysera.lib.wallet.interfaces.AccessTokenRefresherDelegate;
+import com.paysera.lib.wallet.interfaces.CredentialsResolver;
+import okhttp3.Request;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Holds the credentials and token refresher of every tenant, keyed by the tag of the
+ * requests made on its behalf. Tenants idle for longer than the idle timeout are dropped,
+ * and the least recently used one is dropped once more than maxTenants are held. A dropped
+ * tenant is loaded again through the credentials loader on its next request, so the
+ * delegate should persist updated credentials.
+ * <p>
+ * A request tagged with a tenant that is neither registered nor loadable fails with
+ * {@link WalletApiException#ERROR_CODE_SIGNING_REQUEST}. Untagged requests are sent unsigned
+ * only when {@link TenantRegistryConfiguration#setUnsignedUntaggedRequestsAllowed} is set.
+ */
+public class TenantRegistry<K> implements CredentialsResolver, Closeable {
+    private final Map<K, Tenant> tenants = new LinkedHashMap<>(16, 0.75f, true);
+    private final OAuthAsyncClient oAuthAsyncClient;
+    private final TenantCredentialsDelegate<K> tenantCredentialsDelegate;
+    private final Function<K, Credentials> credentialsLoader;
+    private final TenantRegistryConfiguration configuration;
+    private final ScheduledFuture<?> idleTenantsEviction;
+
+    public TenantRegistry(
+        OAuthAsyncClient oAuthAsyncClient,
+        TenantCredentialsDelegate<K> tenantCredentialsDelegate,
+        Function<K, Credentials> credentialsLoader
+    ) {
+        this(oAuthAsyncClient, tenantCredentialsDelegate, credentialsLoader, new TenantRegistryConfiguration());
+    }
+
+    /**
+     * The credentials loader may be null, only registered tenants are served then. It is
+     * called from the signing interceptor on the OkHttp dispatcher thread of the request,
+     * so it should return quickly, for example from a local store, and must not call this
+     * client synchronously.
+     */
+    public TenantRegistry(
+        OAuthAsyncClient oAuthAsyncClient,
+        TenantCredentialsDelegate<K> tenantCredentialsDelegate,
+        Function<K, Credentials> credentialsLoader,
+        TenantRegistryConfiguration configuration
+    ) {
+        this.oAuthAsyncClient = oAuthAsyncClient;
+        this.tenantCredentialsDelegate = tenantCredentialsDelegate;
+        this.credentialsLoader = credentialsLoader;
+        this.configuration = configuration;
+
+        long evictionPeriod = Math.max(1000, configuration.getIdleTimeoutMillis() / 2);
+        this.idleTenantsEviction = configuration.getScheduler().scheduleWithFixedDelay(
+            this::evictIdleTenants,
+            evictionPeriod,
+            evictionPeriod,
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+    public void register(K tenantKey, Credentials credentials) {
+        Tenant tenant = new Tenant(tenantKey, credentials);
+        Tenant previous;
+        List<Tenant> evicted;
+        synchronized (tenants) {
+            tenant.lastUsedAt = System.currentTimeMillis();
+            previous = tenants.put(tenantKey, tenant);
+            evicted = this.evictLeastRecentlyUsedTenants();
+        }
+        if (previous != null) {
+            previous.close();
+        }
+        closeTenants(evicted);
+    }
+
+    public void unregister(K tenantKey) {
+        Tenant tenant;
+        synchronized (tenants) {
+            tenant = tenants.remove(tenantKey);
+        }
+        if (tenant != null) {
+            tenant.close();
+        }
+    }
+
+    public Credentials getCredentials(K tenantKey) {
+        Tenant tenant = this.getTenant(tenantKey);
+        return tenant != null ? tenant.credentials : null;
+    }
+
+    public AccessTokenRefresher getAccessTokenRefresher(K tenantKey) {
+        Tenant tenant = this.getTenant(tenantKey);
+        return tenant != null ? tenant.accessTokenRefresher : null;
+    }
+
+    public int size() {
+        synchronized (tenants) {
+            return tenants.size();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Credentials resolve(Request request) throws IOException {
+        if (isUntagged(request)) {
+            return null;
+        }
+        Credentials credentials = this.getCredentials((K) request.tag());
+        if (credentials == null) {
+            throw new IOException(WalletApiException.ERROR_CODE_SIGNING_REQUEST);
+        }
+        return credentials;
+    }
+
+    @Override
+    public boolean isUnsignedAllowed(Request request) {
+        return configuration.isUnsignedUntaggedRequestsAllowed() && isUntagged(request);
+    }
+
+    @Override
+    public void close() {
+        idleTenantsEviction.cancel(false);
+        List<Tenant> closed;
+        synchronized (tenants) {
+            closed = new ArrayList<>(tenants.values());
+            tenants.clear();
+        }
+        closeTenants(closed);
+    }
+
+    private Tenant getTenant(K tenantKey) {
+        synchronized (tenants) {
+            Tenant tenant = tenants.get(tenantKey);
+            if (tenant != null) {
+                tenant.lastUsedAt = System.currentTimeMillis();
+                return tenant;
+            }
+        }
+        if (credentialsLoader == null) {
+            return null;
+        }
+
+        Credentials credentials = credentialsLoader.apply(tenantKey);
+        if (credentials == null) {
+            return null;
+        }
+        Tenant loaded = new Tenant(tenantKey, credentials);
+        Tenant tenant;
+        List<Tenant> evicted = Collections.emptyList();
+        synchronized (tenants) {
+            tenant = tenants.get(tenantKey);
+            if (tenant == null) {
+                tenant = loaded;
+                tenants.put(tenantKey, tenant);
+                evicted = this.evictLeastRecentlyUsedTenants();
+            }
+            tenant.lastUsedAt = System.currentTimeMillis();
+        }
+        if (tenant != loaded) {
+            loaded.close();
+        }
+        closeTenants(evicted);
+        return tenant;
+    }
+
+    /**
+     * The map is kept in access order, so idle tenants are all at its head.
+     */
+    private void evictIdleTenants() {
+        long idleSince = System.currentTimeMillis() - configuration.getIdleTimeoutMillis();
+        List<Tenant> evicted = new ArrayList<>();
+        synchronized (tenants) {
+            Iterator<Tenant> iterator = tenants.values().iterator();
+            while (iterator.hasNext()) {
+                Tenant tenant = iterator.next();
+                if (tenant.lastUsedAt >= idleSince) {
+                    break;
+                }
+                iterator.remove();
+                evicted.add(tenant);
+            }
+        }
+        closeTenants(evicted);
+    }
+
+    private List<Tenant> evictLeastRecentlyUsedTenants() {
+        List<Tenant> evicted = new ArrayList<>();
+        Iterator<Tenant> iterator = tenants.values().iterator();
+        while (tenants.size() > configuration.getMaxTenants() && iterator.hasNext()) {
+            evicted.add(iterator.next());
+            iterator.remove();
+        }
+        return evicted;
+    }
+
+    private void closeTenants(List<Tenant> tenants) {
+        for (Tenant tenant : tenants) {
+            tenant.close();
+        }
+    }
+
+    private static boolean isUntagged(Request request) {
+        return request.tag() == null || request.tag() instanceof Request;
+    }
+
+    private class Tenant implements AccessTokenRefresherDelegate {
+        private final K tenantKey;
+        private final Credentials credentials;
+        private final AccessTokenRefresher accessTokenRefresher;
+        private long lastUsedAt;
+
+        Tenant(K tenantKey, Credentials credentials) {
+            this.tenantKey = tenantKey;
+            this.credentials = credentials;
+            this.accessTokenRefresher = new AccessTokenRefresher(
+                oAuthAsyncClient,
+                this,
+                credentials,
+                null,
+                configuration.getScheduler(),
+                configuration.getRefreshBackoffPolicy(),
+                configuration.getAccessTokenRefresherMetrics()
+            );
+            if (configuration.getProactiveRefreshMarginMillis() > 0) {
+                accessTokenRefresher.enableProactiveRefresh(
+                    configuration.getProactiveRefreshMarginMillis(),
+                    TimeUnit.MILLISECONDS
+                );
+            }
+        }
+
+        void close() {
+            accessTokenRefresher.disableProactiveRefresh();
+        }
+
+        @Override
+        public void activeCredentialsDidUpdate(Credentials credentials) {
+            tenantCredentialsDelegate.activeCredentialsDidUpdate(tenantKey, credentials);
+        }
+
+        @Override
+        public void inactiveCredentialsDidUpdate(Credentials credentials) {
+        }
+
+        @Override
+        public void onRefreshTokenInvalid() {
+            tenantCredentialsDelegate.onRefreshTokenInvalid(tenantKey);
+        }
+    }
+}
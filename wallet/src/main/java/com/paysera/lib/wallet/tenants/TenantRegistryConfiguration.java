@@ -0,0 +1,81 @@
+package com.paysera.lib.wallet.tenants;
+
+import com.paysera.lib.wallet.AccessTokenRefresherMetrics;
+import com.paysera.lib.wallet.RefreshBackoffPolicy;
+import com.paysera.lib.wallet.factories.SchedulerFactory;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class TenantRegistryConfiguration {
+    private int maxTenants = 10000;
+    private long idleTimeoutMillis = TimeUnit.MINUTES.toMillis(30);
+    private long proactiveRefreshMarginMillis = TimeUnit.MINUTES.toMillis(1);
+    private ScheduledExecutorService scheduler = SchedulerFactory.getSharedScheduler();
+    private RefreshBackoffPolicy refreshBackoffPolicy = new RefreshBackoffPolicy();
+    private AccessTokenRefresherMetrics accessTokenRefresherMetrics = new AccessTokenRefresherMetrics();
+    private boolean unsignedUntaggedRequestsAllowed;
+
+    public int getMaxTenants() {
+        return maxTenants;
+    }
+
+    public void setMaxTenants(int maxTenants) {
+        this.maxTenants = maxTenants;
+    }
+
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    public void setIdleTimeout(long idleTimeout, TimeUnit timeUnit) {
+        this.idleTimeoutMillis = timeUnit.toMillis(idleTimeout);
+    }
+
+    public long getProactiveRefreshMarginMillis() {
+        return proactiveRefreshMarginMillis;
+    }
+
+    /**
+     * Zero disables proactive refreshing, tokens are then only refreshed once they expire.
+     */
+    public void setProactiveRefreshMargin(long proactiveRefreshMargin, TimeUnit timeUnit) {
+        this.proactiveRefreshMarginMillis = timeUnit.toMillis(proactiveRefreshMargin);
+    }
+
+    public ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+
+    public void setScheduler(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    public RefreshBackoffPolicy getRefreshBackoffPolicy() {
+        return refreshBackoffPolicy;
+    }
+
+    public void setRefreshBackoffPolicy(RefreshBackoffPolicy refreshBackoffPolicy) {
+        this.refreshBackoffPolicy = refreshBackoffPolicy;
+    }
+
+    public AccessTokenRefresherMetrics getAccessTokenRefresherMetrics() {
+        return accessTokenRefresherMetrics;
+    }
+
+    public void setAccessTokenRefresherMetrics(AccessTokenRefresherMetrics accessTokenRefresherMetrics) {
+        this.accessTokenRefresherMetrics = accessTokenRefresherMetrics;
+    }
+
+    public boolean isUnsignedUntaggedRequestsAllowed() {
+        return unsignedUntaggedRequestsAllowed;
+    }
+
+    /**
+     * Lets requests made without a tenant, for example public calls, go out unsigned instead
+     * of failing. Disabled by default.
+     */
+    public void setUnsignedUntaggedRequestsAllowed(boolean unsignedUntaggedRequestsAllowed) {
+        this.unsignedUntaggedRequestsAllowed = unsignedUntaggedRequestsAllowed;
+    }
+}
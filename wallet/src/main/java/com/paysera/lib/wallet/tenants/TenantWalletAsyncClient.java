@@ -0,0 +1,89 @@
+package com.paysera.lib.wallet.tenants;
+
+import bolts.Task;
+import com.paysera.lib.wallet.AccessTokenRefresher;
+import com.paysera.lib.wallet.ClientServerTimeSynchronizationConfiguration;
+import com.paysera.lib.wallet.clients.PublicWalletApiClient;
+import com.paysera.lib.wallet.clients.WalletApiClient;
+import com.paysera.lib.wallet.clients.WalletAsyncClient;
+import com.paysera.lib.wallet.entities.Credentials;
+import com.paysera.lib.wallet.exceptions.WalletApiException;
+import com.paysera.lib.wallet.helpers.OkHTTPQueryStringConverter;
+import com.paysera.lib.wallet.providers.TimestampProvider;
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Retrofit;
+
+/**
+ * Makes every request on behalf of one tenant of a {@link MultiTenantWalletClient}. A request
+ * failing with an expired token is retried once after the tenant's token is refreshed.
+ */
+public class TenantWalletAsyncClient<K> extends WalletAsyncClient {
+    private final TenantRegistry<K> tenantRegistry;
+    private final K tenantKey;
+
+    TenantWalletAsyncClient(
+        TenantRegistry<K> tenantRegistry,
+        K tenantKey,
+        TimestampProvider timestampProvider,
+        ClientServerTimeSynchronizationConfiguration clientServerTimeSynchronizationConfiguration,
+        PublicWalletApiClient publicWalletApiClient,
+        WalletApiClient walletApiClient,
+        Retrofit retrofit,
+        OkHTTPQueryStringConverter okHTTPQueryStringConverter
+    ) {
+        super(
+            timestampProvider,
+            clientServerTimeSynchronizationConfiguration,
+            publicWalletApiClient,
+            walletApiClient,
+            retrofit,
+            okHTTPQueryStringConverter
+        );
+        this.tenantRegistry = tenantRegistry;
+        this.tenantKey = tenantKey;
+    }
+
+    public K getTenantKey() {
+        return tenantKey;
+    }
+
+    @Override
+    protected <T> Task<T> execute(Call<T> call) {
+        TenantCall<T> tenantCall = new TenantCall<>(call, tenantKey);
+        return super.execute(tenantCall).continueWithTask(task -> {
+            if (!isTokenExpired(task)) {
+                return task;
+            }
+            return this.refreshAccessToken().onSuccessTask(refreshTask -> super.execute(tenantCall.clone()));
+        });
+    }
+
+    @Override
+    protected <T> Task<T> execute(Request request) {
+        Request tenantRequest = request.newBuilder().tag(tenantKey).build();
+        return super.<T>execute(tenantRequest).continueWithTask(task -> {
+            if (!isTokenExpired(task)) {
+                return task;
+            }
+            return this.refreshAccessToken().onSuccessTask(refreshTask -> super.<T>execute(tenantRequest));
+        });
+    }
+
+    private Task<Credentials> refreshAccessToken() {
+        AccessTokenRefresher accessTokenRefresher = tenantRegistry.getAccessTokenRefresher(tenantKey);
+        if (accessTokenRefresher == null) {
+            return Task.forError(new WalletApiException("Unknown tenant " + tenantKey));
+        }
+        if (accessTokenRefresher.hasAccessTokenBeenRecentlyRefreshed()) {
+            return Task.forResult(null);
+        }
+        return accessTokenRefresher.refreshAccessToken();
+    }
+
+    private static boolean isTokenExpired(Task<?> task) {
+        return task.isFaulted()
+            && task.getError() instanceof WalletApiException
+            && ((WalletApiException) task.getError()).isTokenExpired();
+    }
+}
@@ -0,0 +1,252 @@
+package com.paysera.lib.wallet;
+
+import bolts.Task;
+import com.paysera.lib.wallet.clients.OAuthAsyncClient;
+import com.paysera.lib.wallet.entities.Credentials;
+import com.paysera.lib.wallet.factories.RetrofitFactory;
+import com.paysera.lib.wallet.helpers.OkHTTPQueryStringConverter;
+import com.paysera.lib.wallet.interfaces.AccessTokenRefresherDelegate;
+import com.paysera.lib.wallet.providers.TimestampProvider;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AccessTokenRefresherTest {
+    private static final String CREDENTIALS = "{\"access_token\":\"renewed\",\"refresh_token\":\"refresh-2\",\"expires_in\":3600}";
+    private static final String SERVER_ERROR = "{\"error\":\"internal_server_error\"}";
+
+    private final MockWebServer server = new MockWebServer();
+    private final FakeScheduler scheduler = new FakeScheduler();
+    private final RefreshBackoffPolicy refreshBackoffPolicy = new RefreshBackoffPolicy();
+    private final AccessTokenRefresherMetrics metrics = new AccessTokenRefresherMetrics();
+    private Credentials activeCredentials;
+    private OAuthAsyncClient oAuthAsyncClient;
+    private AccessTokenRefresher refresher;
+
+    @Before
+    public void setUp() throws IOException {
+        server.start();
+        RetrofitFactory retrofitFactory = TestClients.createRetrofitFactory(server);
+        OkHttpClient httpClient = new OkHttpClient();
+        oAuthAsyncClient = new OAuthAsyncClient(
+            retrofitFactory.createOAuthClient(httpClient),
+            new TimestampProvider(),
+            new ClientServerTimeSynchronizationConfiguration(),
+            retrofitFactory.createPublicWalletApiClient(httpClient),
+            retrofitFactory.createWalletApiRetrofit(httpClient),
+            new OkHTTPQueryStringConverter()
+        );
+
+        activeCredentials = new Credentials();
+        activeCredentials.setAccessToken("active");
+        activeCredentials.setRefreshToken("refresh-1");
+        activeCredentials.setValidUntil(new Date(System.currentTimeMillis() + 60000));
+
+        refresher = new AccessTokenRefresher(
+            oAuthAsyncClient,
+            new NoopDelegate(),
+            activeCredentials,
+            null,
+            scheduler,
+            refreshBackoffPolicy,
+            metrics
+        );
+        refreshBackoffPolicy.setJitter(0);
+        refresher.setNanoClock(scheduler::nanoTime);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void callersResumeOutsideRefresherLock() throws Exception {
+        Task<Boolean> resumedUnderLock = refresher.refreshAccessToken()
+            .continueWith(task -> Thread.holdsLock(refresher));
+        server.enqueue(new MockResponse().setBody(CREDENTIALS));
+
+        assertTrue(resumedUnderLock.waitForCompletion(5, TimeUnit.SECONDS));
+        assertFalse(resumedUnderLock.getResult());
+        assertEquals("renewed", activeCredentials.getAccessToken());
+        assertFalse(refresher.isAccessTokenRefreshing());
+    }
+
+    @Test
+    public void callersAreCancelledOutsideRefresherLock() throws Exception {
+        Task<Boolean> cancelledUnderLock = refresher.refreshAccessToken()
+            .continueWith(task -> task.isFaulted() && Thread.holdsLock(refresher));
+        server.enqueue(new MockResponse().setResponseCode(500).setBody(SERVER_ERROR));
+
+        assertTrue(cancelledUnderLock.waitForCompletion(5, TimeUnit.SECONDS));
+        assertFalse(cancelledUnderLock.getResult());
+    }
+
+    @Test
+    public void concurrentRefreshesShareOneRequest() throws Exception {
+        Task<Credentials> first = refresher.refreshAccessToken();
+        Task<Credentials> second = refresher.refreshAccessToken();
+        server.enqueue(new MockResponse().setBody(CREDENTIALS));
+
+        assertSame(first, second);
+        assertSame(first, refresher.getAccessTokenRefreshTask());
+        assertTrue(first.waitForCompletion(5, TimeUnit.SECONDS));
+        assertEquals("renewed", first.getResult().getAccessToken());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void refreshDuringProactiveRefreshTakesOverItsResult() throws Exception {
+        refresher.enableProactiveRefresh(30, TimeUnit.SECONDS);
+        scheduler.advance(31, TimeUnit.SECONDS);
+        server.takeRequest(5, TimeUnit.SECONDS);
+
+        Task<Credentials> first = refresher.refreshAccessToken();
+        Task<Credentials> second = refresher.refreshAccessToken();
+        Task<Boolean> resumedUnderLock = first.continueWith(task -> Thread.holdsLock(refresher));
+        server.enqueue(new MockResponse().setBody(CREDENTIALS));
+
+        assertSame(first, second);
+        assertTrue(resumedUnderLock.waitForCompletion(5, TimeUnit.SECONDS));
+        assertFalse(resumedUnderLock.getResult());
+        assertEquals("renewed", first.getResult().getAccessToken());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void synchronouslyRejectedProactiveRefreshDoesNotBlockRefreshes() throws Exception {
+        CircuitBreakerConfiguration configuration = new CircuitBreakerConfiguration();
+        configuration.setMaxConcurrentRequests(1);
+        CircuitBreakerRegistry circuitBreakerRegistry = new CircuitBreakerRegistry(configuration);
+        oAuthAsyncClient.setCircuitBreakerRegistry(circuitBreakerRegistry);
+        CircuitBreaker.Permit heldPermit = circuitBreakerRegistry
+            .getCircuitBreaker(new Request.Builder().url(server.url("/token")).build())
+            .acquire();
+
+        refresher.enableProactiveRefresh(30, TimeUnit.SECONDS);
+        scheduler.advance(31, TimeUnit.SECONDS);
+        heldPermit.onIgnored();
+
+        assertFalse(refresher.isAccessTokenRefreshing());
+        Task<Credentials> refresh = refresher.refreshAccessToken();
+        server.enqueue(new MockResponse().setBody(CREDENTIALS));
+
+        assertTrue(refresh.waitForCompletion(5, TimeUnit.SECONDS));
+        assertEquals("renewed", refresh.getResult().getAccessToken());
+        assertEquals(1, server.getRequestCount());
+        assertFalse(refresher.isAccessTokenRefreshing());
+    }
+
+    @Test
+    public void failedRefreshIsUnblockedOnTheSharedScheduler() throws Exception {
+        Set<Thread> threadsBefore = Thread.getAllStackTraces().keySet();
+
+        this.failRefresh();
+
+        assertEquals(1, scheduler.getScheduledTaskCount());
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            assertTrue(
+                thread.getName(),
+                threadsBefore.contains(thread)
+                    || thread.getName().startsWith("OkHttp")
+                    || thread.getName().startsWith("MockWebServer")
+            );
+        }
+        assertTrue(refresher.isAccessTokenRefreshing());
+        scheduler.advance(999, TimeUnit.MILLISECONDS);
+        assertTrue(refresher.isAccessTokenRefreshing());
+        scheduler.advance(1, TimeUnit.MILLISECONDS);
+        assertFalse(refresher.isAccessTokenRefreshing());
+        assertEquals(0, scheduler.getScheduledTaskCount());
+    }
+
+    @Test
+    public void unblockDelayIsCappedAtMaxDelay() throws Exception {
+        refreshBackoffPolicy.setMaxDelay(5, TimeUnit.SECONDS);
+
+        this.failRefresh();
+        scheduler.advance(1, TimeUnit.SECONDS);
+        this.failRefresh();
+        scheduler.advance(5, TimeUnit.SECONDS);
+        this.failRefresh();
+        scheduler.advance(4999, TimeUnit.MILLISECONDS);
+        assertTrue(refresher.isAccessTokenRefreshing());
+        scheduler.advance(1, TimeUnit.MILLISECONDS);
+
+        assertFalse(refresher.isAccessTokenRefreshing());
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void refreshesFailFastAfterMaxAttempts() throws Exception {
+        refreshBackoffPolicy.setMaxAttempts(2);
+        this.failRefresh();
+        scheduler.advance(1, TimeUnit.SECONDS);
+        this.failRefresh();
+        scheduler.advance(8, TimeUnit.SECONDS);
+
+        Task<Credentials> refresh = refresher.refreshAccessToken();
+
+        assertTrue(refresh.isFaulted());
+        assertEquals(2, server.getRequestCount());
+        assertEquals(1, metrics.getExhaustedRefreshCount());
+
+        refresher.resetAttemptsCount();
+        server.enqueue(new MockResponse().setBody(CREDENTIALS));
+        refresh = refresher.refreshAccessToken();
+        assertTrue(refresh.waitForCompletion(5, TimeUnit.SECONDS));
+        assertEquals("renewed", refresh.getResult().getAccessToken());
+    }
+
+    @Test
+    public void metricsRecordTheSuspensionTime() throws Exception {
+        this.failRefresh();
+
+        assertEquals(1, metrics.getSuspensionCount());
+        assertEquals(1, metrics.getCurrentlySuspendedCount());
+
+        scheduler.advance(1, TimeUnit.SECONDS);
+        this.failRefresh();
+        scheduler.advance(8, TimeUnit.SECONDS);
+
+        assertEquals(2, metrics.getSuspensionCount());
+        assertEquals(0, metrics.getCurrentlySuspendedCount());
+        assertEquals(9000, metrics.getTotalSuspendedMillis());
+        assertEquals(8000, metrics.getMaxSuspendedMillis());
+    }
+
+    private void failRefresh() throws InterruptedException {
+        server.enqueue(new MockResponse().setResponseCode(500).setBody(SERVER_ERROR));
+        Task<Credentials> refresh = refresher.refreshAccessToken();
+        assertTrue(refresh.waitForCompletion(5, TimeUnit.SECONDS));
+        assertTrue(refresh.isFaulted());
+    }
+
+    private static class NoopDelegate implements AccessTokenRefresherDelegate {
+        @Override
+        public void activeCredentialsDidUpdate(Credentials credentials) {
+        }
+
+        @Override
+        public void inactiveCredentialsDidUpdate(Credentials credentials) {
+        }
+
+        @Override
+        public void onRefreshTokenInvalid() {
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.paysera.lib.wallet;
+
+import okhttp3.Request;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class AdaptiveRateLimiterTest {
+    private final FakeScheduler scheduler = new FakeScheduler();
+    private final Request request = new Request.Builder().url("https://wallet.example.com/wallet/1").build();
+    private final AtomicInteger runCount = new AtomicInteger();
+    private RateLimiterConfiguration configuration;
+    private AdaptiveRateLimiter rateLimiter;
+
+    @Before
+    public void setUp() {
+        configuration = new RateLimiterConfiguration();
+        configuration.setInitialRate(10);
+        configuration.setMinRate(1);
+        configuration.setMaxRate(20);
+        configuration.setBurst(2);
+        configuration.setScheduler(scheduler);
+        configuration.setNanoClock(scheduler::nanoTime);
+        rateLimiter = new AdaptiveRateLimiter(configuration);
+    }
+
+    @Test
+    public void requestsOverTheBurstAreQueuedAndReleasedAtTheRate() {
+        for (int i = 0; i < 4; i++) {
+            rateLimiter.acquire(request, runCount::incrementAndGet);
+        }
+        assertEquals(2, runCount.get());
+        assertEquals(2, rateLimiter.getMetrics().getQueueDepth());
+
+        scheduler.advance(100, TimeUnit.MILLISECONDS);
+        assertEquals(3, runCount.get());
+
+        scheduler.advance(100, TimeUnit.MILLISECONDS);
+        assertEquals(4, runCount.get());
+        assertEquals(0, rateLimiter.getMetrics().getQueueDepth());
+        assertEquals(0, scheduler.getScheduledTaskCount());
+    }
+
+    @Test
+    public void successfulResponsesIncreaseTheRateAdditivelyUpToMaxRate() {
+        rateLimiter.acquire(request, runCount::incrementAndGet);
+
+        rateLimiter.onResponse(request, 200, false);
+        assertEquals(10.1, rateLimiter.getRate(request), 1e-9);
+
+        for (int i = 0; i < 1000; i++) {
+            rateLimiter.onResponse(request, 200, false);
+        }
+        assertEquals(20, rateLimiter.getRate(request), 1e-9);
+    }
+
+    @Test
+    public void rateLimitedResponsesDecreaseTheRateOncePerIntervalDownToMinRate() {
+        rateLimiter.acquire(request, runCount::incrementAndGet);
+
+        rateLimiter.onResponse(request, 429, true);
+        assertEquals(5, rateLimiter.getRate(request), 1e-9);
+
+        rateLimiter.onResponse(request, 429, true);
+        assertEquals(5, rateLimiter.getRate(request), 1e-9);
+
+        for (int i = 0; i < 10; i++) {
+            scheduler.advance(1, TimeUnit.SECONDS);
+            rateLimiter.onResponse(request, 429, true);
+        }
+        assertEquals(1, rateLimiter.getRate(request), 1e-9);
+        assertEquals(11, rateLimiter.getMetrics().getRateDecreaseCount());
+    }
+
+    @Test
+    public void rateLimitedResponseDecreasesTheRateWhateverItsStatusCode() {
+        rateLimiter.acquire(request, runCount::incrementAndGet);
+
+        rateLimiter.onResponse(request, 400, true);
+
+        assertEquals(5, rateLimiter.getRate(request), 1e-9);
+    }
+
+    @Test
+    public void serverErrorsLeaveTheRateUnchanged() {
+        rateLimiter.acquire(request, runCount::incrementAndGet);
+
+        rateLimiter.onResponse(request, 503, false);
+
+        assertEquals(10, rateLimiter.getRate(request), 1e-9);
+    }
+
+    @Test
+    public void decreaseSlowsDownRequestsAlreadyQueued() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire(request, runCount::incrementAndGet);
+        }
+        rateLimiter.onResponse(request, 429, true);
+
+        scheduler.advance(100, TimeUnit.MILLISECONDS);
+        assertEquals(2, runCount.get());
+
+        scheduler.advance(100, TimeUnit.MILLISECONDS);
+        assertEquals(3, runCount.get());
+    }
+}
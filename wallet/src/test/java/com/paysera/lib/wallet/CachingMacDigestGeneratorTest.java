@@ -0,0 +1,84 @@
+package com.paysera.lib.wallet;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class CachingMacDigestGeneratorTest {
+    private static final byte[] DATA = "1500000000\nnonce\nGET\n/rest/v1/user/me\nwallet-api.paysera.com\n443\n\n"
+        .getBytes(StandardCharsets.UTF_8);
+
+    private final MacDigestGenerator macDigestGenerator = new MacDigestGenerator();
+
+    @Test
+    public void sameDigestAsMacDigestGeneratorForSeveralKeys() throws Exception {
+        CachingMacDigestGenerator cachingMacDigestGenerator = new CachingMacDigestGenerator();
+
+        for (int round = 0; round < 3; round++) {
+            for (byte[] key : createKeys()) {
+                assertArrayEquals(
+                    macDigestGenerator.generate(key, DATA),
+                    cachingMacDigestGenerator.generate(key, DATA)
+                );
+                assertArrayEquals(
+                    macDigestGenerator.generate(key, Arrays.copyOfRange(DATA, 11, 30)),
+                    cachingMacDigestGenerator.generate(key, DATA, 11, 19)
+                );
+            }
+        }
+    }
+
+    @Test
+    public void sameDigestAfterEviction() throws Exception {
+        CachingMacDigestGenerator cachingMacDigestGenerator = new CachingMacDigestGenerator(2);
+        byte[][] keys = createKeys();
+
+        for (int round = 0; round < 3; round++) {
+            for (byte[] key : keys) {
+                assertArrayEquals(
+                    macDigestGenerator.generate(key, DATA),
+                    cachingMacDigestGenerator.generate(key, DATA)
+                );
+            }
+            for (int i = keys.length - 1; i >= 0; i--) {
+                assertArrayEquals(
+                    macDigestGenerator.generate(keys[i], DATA),
+                    cachingMacDigestGenerator.generate(keys[i], DATA)
+                );
+            }
+        }
+    }
+
+    @Test
+    public void keyChangedByTheCallerIsNotServedFromTheCache() throws Exception {
+        CachingMacDigestGenerator cachingMacDigestGenerator = new CachingMacDigestGenerator();
+        byte[] key = "mac-secret".getBytes(StandardCharsets.UTF_8);
+        cachingMacDigestGenerator.generate(key, DATA);
+
+        key[0] = 'M';
+
+        assertArrayEquals(macDigestGenerator.generate(key, DATA), cachingMacDigestGenerator.generate(key, DATA));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maxKeysPerThreadMustBePositive() {
+        new CachingMacDigestGenerator(0);
+    }
+
+    private static byte[][] createKeys() {
+        byte[] longKey = new byte[100];
+        for (int i = 0; i < longKey.length; i++) {
+            longKey[i] = (byte) i;
+        }
+        return new byte[][] {
+            "mac-secret".getBytes(StandardCharsets.UTF_8),
+            "another-secret".getBytes(StandardCharsets.UTF_8),
+            "Šaltinis".getBytes(StandardCharsets.UTF_8),
+            new byte[1],
+            longKey
+        };
+    }
+}
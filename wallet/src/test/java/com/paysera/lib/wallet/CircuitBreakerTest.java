@@ -0,0 +1,135 @@
+package com.paysera.lib.wallet;
+
+import com.paysera.lib.wallet.enums.CircuitState;
+import com.paysera.lib.wallet.enums.EndpointGroup;
+import com.paysera.lib.wallet.exceptions.WalletApiException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CircuitBreakerTest {
+    private final FakeScheduler scheduler = new FakeScheduler();
+    private final List<String> transitions = new ArrayList<>();
+    private CircuitBreaker circuitBreaker;
+
+    @Before
+    public void setUp() {
+        CircuitBreakerConfiguration configuration = new CircuitBreakerConfiguration();
+        configuration.setSlidingWindowSize(4);
+        configuration.setMinimumRequests(2);
+        configuration.setFailureRateThreshold(0.5);
+        configuration.setOpenDuration(10, TimeUnit.SECONDS);
+        configuration.setHalfOpenProbes(2);
+        configuration.setMaxConcurrentRequests(3);
+        configuration.setNanoClock(scheduler::nanoTime);
+        CircuitBreakerRegistry registry = new CircuitBreakerRegistry(configuration);
+        registry.addListener((endpointGroup, fromState, toState) -> transitions.add(fromState + "->" + toState));
+        circuitBreaker = registry.getCircuitBreaker(EndpointGroup.values()[0]);
+    }
+
+    @Test
+    public void opensOnceFailureRateIsReached() throws Exception {
+        circuitBreaker.acquire().onFailure();
+        assertEquals(CircuitState.CLOSED, circuitBreaker.getState());
+
+        circuitBreaker.acquire().onFailure();
+
+        assertEquals(CircuitState.OPEN, circuitBreaker.getState());
+        assertRejected(true);
+    }
+
+    @Test
+    public void staysOpenForTheOpenDuration() throws Exception {
+        this.open();
+
+        scheduler.advance(9, TimeUnit.SECONDS);
+
+        assertRejected(true);
+        assertEquals(CircuitState.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void halfOpenLetsProbesThroughAndClosesWhenAllSucceed() throws Exception {
+        this.open();
+        scheduler.advance(10, TimeUnit.SECONDS);
+
+        CircuitBreaker.Permit firstProbe = circuitBreaker.acquire();
+        CircuitBreaker.Permit secondProbe = circuitBreaker.acquire();
+        assertEquals(CircuitState.HALF_OPEN, circuitBreaker.getState());
+        assertRejected(true);
+
+        firstProbe.onSuccess();
+        assertEquals(CircuitState.HALF_OPEN, circuitBreaker.getState());
+        secondProbe.onSuccess();
+
+        assertEquals(CircuitState.CLOSED, circuitBreaker.getState());
+        circuitBreaker.acquire().onSuccess();
+        assertEquals(Arrays.asList("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), transitions);
+    }
+
+    @Test
+    public void failedProbeReopensForAnotherOpenDuration() throws Exception {
+        this.open();
+        scheduler.advance(10, TimeUnit.SECONDS);
+
+        circuitBreaker.acquire().onFailure();
+
+        assertEquals(CircuitState.OPEN, circuitBreaker.getState());
+        scheduler.advance(9, TimeUnit.SECONDS);
+        assertRejected(true);
+        scheduler.advance(1, TimeUnit.SECONDS);
+        circuitBreaker.acquire().onSuccess();
+        assertEquals(CircuitState.HALF_OPEN, circuitBreaker.getState());
+        assertEquals(
+            Arrays.asList("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->OPEN", "OPEN->HALF_OPEN"),
+            transitions
+        );
+    }
+
+    @Test
+    public void ignoredProbeReturnsItsSlot() throws Exception {
+        this.open();
+        scheduler.advance(10, TimeUnit.SECONDS);
+        CircuitBreaker.Permit firstProbe = circuitBreaker.acquire();
+        CircuitBreaker.Permit secondProbe = circuitBreaker.acquire();
+
+        firstProbe.onIgnored();
+        CircuitBreaker.Permit thirdProbe = circuitBreaker.acquire();
+        secondProbe.onSuccess();
+        thirdProbe.onSuccess();
+
+        assertEquals(CircuitState.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void bulkheadRejectsRequestsOverTheLimit() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.acquire();
+        }
+
+        assertEquals(3, circuitBreaker.getConcurrentRequestsCount());
+        assertRejected(false);
+    }
+
+    private void open() throws WalletApiException {
+        circuitBreaker.acquire().onFailure();
+        circuitBreaker.acquire().onFailure();
+    }
+
+    private void assertRejected(boolean circuitOpen) {
+        try {
+            circuitBreaker.acquire();
+            fail("Expected the request to be rejected");
+        } catch (WalletApiException exception) {
+            assertTrue(circuitOpen ? exception.isCircuitOpenError() : exception.isBulkheadFullError());
+        }
+    }
+}
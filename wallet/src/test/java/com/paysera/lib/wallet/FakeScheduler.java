@@ -0,0 +1,172 @@
+package com.paysera.lib.wallet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs scheduled tasks on the calling thread, only when the test moves the clock forward
+ * with {@link #advance(long, TimeUnit)} or {@link #runDueTasks()}.
+ */
+public class FakeScheduler extends AbstractExecutorService implements ScheduledExecutorService {
+    private final PriorityQueue<ScheduledTask<?>> tasks = new PriorityQueue<>();
+    private long nowNanos;
+    private long sequence;
+    private boolean shutdown;
+
+    public synchronized long nanoTime() {
+        return nowNanos;
+    }
+
+    public synchronized long nowMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(nowNanos);
+    }
+
+    public synchronized int getScheduledTaskCount() {
+        return tasks.size();
+    }
+
+    public void advance(long time, TimeUnit timeUnit) {
+        long until;
+        synchronized (this) {
+            until = nowNanos + timeUnit.toNanos(time);
+        }
+        while (true) {
+            ScheduledTask<?> task;
+            synchronized (this) {
+                task = tasks.peek();
+                if (task == null || task.timeNanos > until) {
+                    nowNanos = until;
+                    return;
+                }
+                tasks.poll();
+                nowNanos = Math.max(nowNanos, task.timeNanos);
+            }
+            task.run();
+        }
+    }
+
+    public void runDueTasks() {
+        this.advance(0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return this.add(new ScheduledTask<>(Executors.callable(command), unit.toNanos(delay), 0));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return this.add(new ScheduledTask<>(callable, unit.toNanos(delay), 0));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        return this.add(new ScheduledTask<>(Executors.callable(command), unit.toNanos(initialDelay), unit.toNanos(period)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        return this.scheduleAtFixedRate(command, initialDelay, delay, unit);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        this.schedule(command, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        shutdown = true;
+    }
+
+    @Override
+    public synchronized List<Runnable> shutdownNow() {
+        shutdown = true;
+        List<Runnable> pending = new ArrayList<>(tasks);
+        tasks.clear();
+        return pending;
+    }
+
+    @Override
+    public synchronized boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public synchronized boolean isTerminated() {
+        return shutdown && tasks.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+        return this.isTerminated();
+    }
+
+    private synchronized <V> ScheduledTask<V> add(ScheduledTask<V> task) {
+        tasks.add(task);
+        return task;
+    }
+
+    private synchronized void remove(ScheduledTask<?> task) {
+        tasks.remove(task);
+    }
+
+    private class ScheduledTask<V> extends FutureTask<V> implements ScheduledFuture<V> {
+        private final long periodNanos;
+        private final long order;
+        private long timeNanos;
+
+        ScheduledTask(Callable<V> callable, long delayNanos, long periodNanos) {
+            super(callable);
+            synchronized (FakeScheduler.this) {
+                this.timeNanos = nowNanos + Math.max(0, delayNanos);
+                this.order = sequence++;
+            }
+            this.periodNanos = periodNanos;
+        }
+
+        @Override
+        public void run() {
+            if (periodNanos == 0) {
+                super.run();
+            } else if (super.runAndReset()) {
+                synchronized (FakeScheduler.this) {
+                    timeNanos += periodNanos;
+                    tasks.add(this);
+                }
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean canceled = super.cancel(mayInterruptIfRunning);
+            FakeScheduler.this.remove(this);
+            return canceled;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            synchronized (FakeScheduler.this) {
+                return unit.convert(timeNanos - nowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            ScheduledTask<?> task = (ScheduledTask<?>) other;
+            if (timeNanos != task.timeNanos) {
+                return Long.compare(timeNanos, task.timeNanos);
+            }
+            return Long.compare(order, task.order);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.paysera.lib.wallet;
+
+import org.apache.commons.codec.binary.Base64;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PooledNonceGeneratorTest {
+    private static final Pattern NONCE_PATTERN = Pattern.compile("[A-Za-z0-9+/]{43}=");
+    private static final int THREADS = 8;
+    private static final int NONCES_PER_THREAD = 2000;
+
+    @Test
+    public void noncesHaveTheNonceGeneratorFormat() {
+        String nonce = new NonceGenerator().generate();
+        assertValidNonce(nonce);
+
+        try (PooledNonceGenerator pooledNonceGenerator = new PooledNonceGenerator(8)) {
+            for (int i = 0; i < 32; i++) {
+                assertValidNonce(pooledNonceGenerator.generate());
+            }
+        }
+    }
+
+    @Test
+    public void noncesAreUniqueUnderConcurrentDrainingAndRefill() throws Exception {
+        ExecutorService refillExecutor = Executors.newSingleThreadExecutor();
+        ExecutorService callers = Executors.newFixedThreadPool(THREADS);
+        try (PooledNonceGenerator pooledNonceGenerator = new PooledNonceGenerator(16, refillExecutor)) {
+            Set<String> nonces = ConcurrentHashMap.newKeySet();
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(callers.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < NONCES_PER_THREAD; j++) {
+                        String nonce = pooledNonceGenerator.generate();
+                        assertValidNonce(nonce);
+                        assertTrue(nonce, nonces.add(nonce));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+
+            assertEquals(THREADS * NONCES_PER_THREAD, nonces.size());
+        } finally {
+            callers.shutdownNow();
+            refillExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void emptyPoolGeneratesInline() {
+        List<Runnable> refills = new ArrayList<>();
+        Set<String> nonces = ConcurrentHashMap.newKeySet();
+        PooledNonceGenerator pooledNonceGenerator = new PooledNonceGenerator(4, refills::add);
+
+        for (int i = 0; i < 8; i++) {
+            String nonce = pooledNonceGenerator.generate();
+            assertValidNonce(nonce);
+            assertTrue(nonces.add(nonce));
+        }
+        assertEquals(1, refills.size());
+
+        refills.get(0).run();
+        for (int i = 0; i < 8; i++) {
+            String nonce = pooledNonceGenerator.generate();
+            assertValidNonce(nonce);
+            assertTrue(nonces.add(nonce));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void poolSizeMustBeAPowerOfTwo() {
+        new PooledNonceGenerator(6, Runnable::run);
+    }
+
+    private static void assertValidNonce(String nonce) {
+        assertTrue(nonce, NONCE_PATTERN.matcher(nonce).matches());
+        assertEquals(32, Base64.decodeBase64(nonce).length);
+    }
+}
@@ -0,0 +1,58 @@
+package com.paysera.lib.wallet;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RefreshBackoffPolicyTest {
+    private final RefreshBackoffPolicy refreshBackoffPolicy = new RefreshBackoffPolicy();
+
+    @Test
+    public void delayGrowsWithTheCubeOfAttempts() {
+        refreshBackoffPolicy.setJitter(0);
+
+        assertEquals(1000, refreshBackoffPolicy.getDelayMillis(1));
+        assertEquals(8000, refreshBackoffPolicy.getDelayMillis(2));
+        assertEquals(27000, refreshBackoffPolicy.getDelayMillis(3));
+        assertEquals(64000, refreshBackoffPolicy.getDelayMillis(4));
+    }
+
+    @Test
+    public void delayIsCappedAtMaxDelay() {
+        refreshBackoffPolicy.setJitter(0);
+
+        assertEquals(64000, refreshBackoffPolicy.getDelayMillis(5));
+        assertEquals(64000, refreshBackoffPolicy.getDelayMillis(Integer.MAX_VALUE));
+
+        refreshBackoffPolicy.setMaxDelay(10, TimeUnit.SECONDS);
+
+        assertEquals(8000, refreshBackoffPolicy.getDelayMillis(2));
+        assertEquals(10000, refreshBackoffPolicy.getDelayMillis(3));
+    }
+
+    @Test
+    public void jitterExtendsTheCappedDelay() {
+        refreshBackoffPolicy.setMaxDelay(10, TimeUnit.SECONDS);
+
+        for (int i = 0; i < 100; i++) {
+            long delay = refreshBackoffPolicy.getDelayMillis(2);
+            assertTrue(delay >= 8000 && delay <= 12000);
+
+            long cappedDelay = refreshBackoffPolicy.getDelayMillis(10);
+            assertTrue(cappedDelay >= 10000 && cappedDelay <= 15000);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeJitterIsRejected() {
+        refreshBackoffPolicy.setJitter(-0.1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maxAttemptsMustBePositive() {
+        refreshBackoffPolicy.setMaxAttempts(0);
+    }
+}
@@ -0,0 +1,155 @@
+package com.paysera.lib.wallet;
+
+import com.paysera.lib.wallet.helpers.OkHTTPQueryStringConverter;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The expected headers were produced by the signer as it was before the per-thread buffers,
+ * which built the ext through OkHTTPQueryStringConverter and the query through HttpUrl.
+ */
+public class RequestSignerTest {
+    private static final HttpUrl BASE_URL = HttpUrl.parse("https://wallet-api.paysera.com/rest/v1/");
+    private static final String TIMESTAMP = "1500000000";
+    private static final byte[] BODY =
+        "{\"amount\":100,\"currency\":\"EUR\",\"description\":\"Pervedimas už prekes\"}".getBytes(StandardCharsets.UTF_8);
+    private static final String BODY_HASH_EXT = "body_hash=9McAc8iTG1aJnpM232YhRTKWRTbkZ1c3PABd2qjkwrg%3D";
+
+    private final RequestSigner requestSigner = new RequestSigner(
+        () -> "fixed-nonce",
+        new MacDigestGenerator(),
+        new OkHTTPQueryStringConverter()
+    );
+
+    @Test
+    public void queryWithNonAsciiReservedAndRepeatedParameters() throws Exception {
+        HttpUrl url = BASE_URL.newBuilder()
+            .addPathSegment("statements")
+            .addQueryParameter("text", "Ąžuolas & co/?=+%")
+            .addQueryParameter("currency", "EUR")
+            .addQueryParameter("currency", "USD")
+            .addQueryParameter("emoji", "😀 [a]")
+            .build();
+
+        assertEquals(
+            "MAC id=\"mac-id\", ts=\"1500000000\", nonce=\"fixed-nonce\", "
+                + "mac=\"7/jVhpXRiq0MMqCQtigvutJabXoKKDh/Y0eQKLc+zP8=\", ext=\"\"",
+            this.sign(new Request.Builder().url(url).build(), null, Collections.<String, String>emptyMap())
+        );
+    }
+
+    @Test
+    public void emptyBodyHasNoBodyHash() throws Exception {
+        HttpUrl url = BASE_URL.newBuilder().addPathSegment("user").addPathSegment("me").build();
+
+        assertEquals(
+            "MAC id=\"mac-id\", ts=\"1500000000\", nonce=\"fixed-nonce\", "
+                + "mac=\"LxbMfBCqrW7CSsXAgqiwXrLyGoxQFF6wB4zagfhluus=\", ext=\"\"",
+            this.sign(new Request.Builder().url(url).build(), new byte[0], Collections.<String, String>emptyMap())
+        );
+    }
+
+    @Test
+    public void bodyHashIsAddedToExt() throws Exception {
+        String expected = "MAC id=\"mac-id\", ts=\"1500000000\", nonce=\"fixed-nonce\", "
+            + "mac=\"xL96e/+iaPt0dt6Hp02qf/hfrUHE37perRtYcbrDVYM=\", ext=\"" + BODY_HASH_EXT + "\"";
+
+        assertEquals(expected, this.sign(this.createPost(), BODY, Collections.<String, String>emptyMap()));
+        assertEquals(
+            expected,
+            requestSigner.generateSignatureForBodyHash(
+                "mac-id",
+                "mac-secret",
+                this.createPost(),
+                MessageDigest.getInstance("SHA-256").digest(BODY),
+                TIMESTAMP,
+                Collections.<String, String>emptyMap()
+            )
+        );
+    }
+
+    @Test
+    public void extParametersWithNonAsciiAndReservedCharacters() throws Exception {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("redirect_uri", "https://example.com/callback?a=b&c=d e");
+        parameters.put("user_name", "Jūratė Žemaitė");
+        parameters.put("note", "!*'();:@&=+$,/?#[]~");
+
+        assertEquals(
+            "MAC id=\"mac-id\", ts=\"1500000000\", nonce=\"fixed-nonce\", "
+                + "mac=\"jQSQiyMJwPF5+rvfjosqemceMRlb+YK6bazrsGjSRfc=\", "
+                + "ext=\"note=%21*%27%28%29%3B%3A%40%26%3D%2B%24%2C%2F%3F%23%5B%5D%7E&" + BODY_HASH_EXT
+                + "&user_name=J%C5%ABrat%C4%97%20%C5%BDemait%C4%97"
+                + "&redirect_uri=https%3A%2F%2Fexample.com%2Fcallback%3Fa%3Db%26c%3Dd%20e\"",
+            this.sign(this.createPost(), BODY, parameters)
+        );
+    }
+
+    @Test
+    public void extParametersWithSurrogates() throws Exception {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("redirect_uri", "https://example.com/callback?a=b&c=d e");
+        parameters.put("user_name", "Jūratė Žemaitė");
+        parameters.put("emoji", "😀");
+
+        assertEquals(
+            "MAC id=\"mac-id\", ts=\"1500000000\", nonce=\"fixed-nonce\", "
+                + "mac=\"mLBaL1IBWkknRtsneNGI6sAddc7PssUcm16+ksa52w0=\", "
+                + "ext=\"" + BODY_HASH_EXT + "&emoji=%F0%9F%98%80"
+                + "&user_name=J%C5%ABrat%C4%97%20%C5%BDemait%C4%97"
+                + "&redirect_uri=https%3A%2F%2Fexample.com%2Fcallback%3Fa%3Db%26c%3Dd%20e\"",
+            this.sign(this.createPost(), BODY, parameters)
+        );
+    }
+
+    @Test
+    public void customPortAndRepeatedQueryParameters() throws Exception {
+        Request request = new Request.Builder()
+            .url("http://localhost:8080/rest/v1/wallet/1/balance?convert_to=USD&convert_to=EUR")
+            .build();
+
+        assertEquals(
+            "MAC id=\"another-id\", ts=\"1500000001\", nonce=\"fixed-nonce\", "
+                + "mac=\"iqE0Sy7vSd97QtxWzGK7eqgf8kaphYc9EuoLP3kLdgg=\", ext=\"tenant=a%2Fb\"",
+            requestSigner.generateSignature(
+                "another-id",
+                "another-secret",
+                request,
+                null,
+                "1500000001",
+                Collections.singletonMap("tenant", "a/b")
+            )
+        );
+    }
+
+    @Test
+    public void reusedBuffersGiveTheSameSignature() throws Exception {
+        Map<String, String> parameters = Collections.singletonMap("user_name", "Jūratė Žemaitė");
+        String first = this.sign(this.createPost(), BODY, parameters);
+        this.sign(this.createPost(), new byte[4096], Collections.<String, String>emptyMap());
+
+        assertEquals(first, this.sign(this.createPost(), BODY, parameters));
+    }
+
+    private Request createPost() {
+        return new Request.Builder()
+            .url(BASE_URL.newBuilder().addPathSegment("transfers").build())
+            .post(RequestBody.create(MediaType.parse("application/json"), BODY))
+            .build();
+    }
+
+    private String sign(Request request, byte[] body, Map<String, String> parameters) throws Exception {
+        return requestSigner.generateSignature("mac-id", "mac-secret", request, body, TIMESTAMP, parameters);
+    }
+}
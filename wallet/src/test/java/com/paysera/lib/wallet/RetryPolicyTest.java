@@ -0,0 +1,63 @@
+package com.paysera.lib.wallet;
+
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RetryPolicyTest {
+    private static final String BASE_URL = "https://wallet-api.paysera.com/rest/v1/";
+
+    @Test
+    public void readsAreIdempotent() {
+        assertTrue(RetryPolicy.isIdempotent(request("GET", "user/me")));
+        assertTrue(RetryPolicy.isIdempotent(request("HEAD", "user/me")));
+    }
+
+    @Test
+    public void allowListedEndpointsAreIdempotent() {
+        assertTrue(RetryPolicy.isIdempotent(request("PUT", "transfers/42/sign")));
+        assertTrue(RetryPolicy.isIdempotent(request("PUT", "transfers/42/reserve")));
+        assertTrue(RetryPolicy.isIdempotent(request("DELETE", "transfers/42")));
+        assertTrue(RetryPolicy.isIdempotent(request("DELETE", "wallet/1/pending-payment/2")));
+        assertTrue(RetryPolicy.isIdempotent(request("DELETE", "subscribers")));
+    }
+
+    @Test
+    public void sideEffectingEndpointsAreNotIdempotent() {
+        assertFalse(RetryPolicy.isIdempotent(request("PUT", "contact-book/1/append")));
+        assertFalse(RetryPolicy.isIdempotent(request("PUT", "transaction/key/confirm")));
+        assertFalse(RetryPolicy.isIdempotent(request("PUT", "transaction/key/reserve")));
+        assertFalse(RetryPolicy.isIdempotent(request("PUT", "transfers/42/provide-password")));
+        assertFalse(RetryPolicy.isIdempotent(request("PUT", "user/1/password")));
+        assertFalse(RetryPolicy.isIdempotent(request("POST", "transfers")));
+    }
+
+    @Test
+    public void methodMustMatchTheAllowList() {
+        assertFalse(RetryPolicy.isIdempotent(request("POST", "transfers/42/sign")));
+        assertFalse(RetryPolicy.isIdempotent(request("PUT", "transfers/42")));
+    }
+
+    @Test
+    public void idempotencyKeyMakesAnyRequestIdempotent() {
+        Request request = request("POST", "transfers").newBuilder()
+            .header(RetryPolicy.IDEMPOTENCY_KEY_HEADER, "key")
+            .build();
+
+        assertTrue(RetryPolicy.isIdempotent(request));
+    }
+
+    private static Request request(String method, String path) {
+        RequestBody body = method.equals("GET") || method.equals("HEAD")
+            ? null
+            : RequestBody.create(MediaType.parse("application/json"), "{}");
+        return new Request.Builder()
+            .url(BASE_URL + path)
+            .method(method, body)
+            .build();
+    }
+}
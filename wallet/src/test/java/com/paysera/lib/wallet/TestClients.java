@@ -0,0 +1,48 @@
+package com.paysera.lib.wallet;
+
+import com.paysera.lib.wallet.clients.WalletAsyncClient;
+import com.paysera.lib.wallet.clients.WalletFutureClient;
+import com.paysera.lib.wallet.factories.RetrofitFactory;
+import com.paysera.lib.wallet.helpers.OkHTTPQueryStringConverter;
+import com.paysera.lib.wallet.providers.TimestampProvider;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockWebServer;
+
+public class TestClients {
+
+    private TestClients() {}
+
+    public static RetrofitFactory createRetrofitFactory(MockWebServer server) {
+        String url = server.url("/").toString();
+        return new RetrofitFactory(new Router(url, url, url, url), Runnable::run);
+    }
+
+    public static WalletAsyncClient createWalletAsyncClient(MockWebServer server) {
+        return createWalletAsyncClient(server, new OkHttpClient());
+    }
+
+    public static WalletAsyncClient createWalletAsyncClient(MockWebServer server, OkHttpClient httpClient) {
+        RetrofitFactory retrofitFactory = createRetrofitFactory(server);
+        return new WalletAsyncClient(
+            new TimestampProvider(),
+            new ClientServerTimeSynchronizationConfiguration(),
+            retrofitFactory.createPublicWalletApiClient(httpClient),
+            retrofitFactory.createWalletApiClient(httpClient),
+            retrofitFactory.createWalletApiRetrofit(httpClient),
+            new OkHTTPQueryStringConverter()
+        );
+    }
+
+    public static WalletFutureClient createWalletFutureClient(MockWebServer server) {
+        RetrofitFactory retrofitFactory = createRetrofitFactory(server);
+        OkHttpClient httpClient = new OkHttpClient();
+        return new WalletFutureClient(
+            new TimestampProvider(),
+            new ClientServerTimeSynchronizationConfiguration(),
+            retrofitFactory.createPublicWalletApiClient(httpClient),
+            retrofitFactory.createWalletApiClient(httpClient),
+            retrofitFactory.createWalletApiRetrofit(httpClient),
+            new OkHTTPQueryStringConverter()
+        );
+    }
+}
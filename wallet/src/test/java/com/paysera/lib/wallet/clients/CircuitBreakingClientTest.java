@@ -0,0 +1,87 @@
+package com.paysera.lib.wallet.clients;
+
+import com.paysera.lib.wallet.AdaptiveRateLimiter;
+import com.paysera.lib.wallet.CircuitBreaker;
+import com.paysera.lib.wallet.CircuitBreakerConfiguration;
+import com.paysera.lib.wallet.CircuitBreakerRegistry;
+import com.paysera.lib.wallet.FakeScheduler;
+import com.paysera.lib.wallet.RateLimiterConfiguration;
+import com.paysera.lib.wallet.TestClients;
+import com.paysera.lib.wallet.entities.User;
+import okhttp3.Request;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+public class CircuitBreakingClientTest {
+    private final MockWebServer server = new MockWebServer();
+    private final FakeScheduler scheduler = new FakeScheduler();
+    private CircuitBreaker circuitBreaker;
+    private WalletFutureClient walletFutureClient;
+
+    @Before
+    public void setUp() throws IOException {
+        server.start();
+        walletFutureClient = TestClients.createWalletFutureClient(server);
+
+        RateLimiterConfiguration rateLimiterConfiguration = new RateLimiterConfiguration();
+        rateLimiterConfiguration.setInitialRate(10);
+        rateLimiterConfiguration.setBurst(1);
+        rateLimiterConfiguration.setScheduler(scheduler);
+        rateLimiterConfiguration.setNanoClock(scheduler::nanoTime);
+        walletFutureClient.setRateLimiter(new AdaptiveRateLimiter(rateLimiterConfiguration));
+
+        CircuitBreakerConfiguration circuitBreakerConfiguration = new CircuitBreakerConfiguration();
+        circuitBreakerConfiguration.setMaxConcurrentRequests(1);
+        CircuitBreakerRegistry circuitBreakerRegistry = new CircuitBreakerRegistry(circuitBreakerConfiguration);
+        walletFutureClient.setCircuitBreakerRegistry(circuitBreakerRegistry);
+        circuitBreaker = circuitBreakerRegistry.getCircuitBreaker(
+            new Request.Builder().url(server.url("/user/me")).build()
+        );
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void requestWaitingForRateLimiterDoesNotHoldBulkheadSlot() throws Exception {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+        server.enqueue(new MockResponse().setBody("{\"id\":2}"));
+
+        CompletableFuture<User> first = walletFutureClient.getUser();
+        CompletableFuture<User> second = walletFutureClient.getUser();
+
+        assertFalse(second.isDone());
+        assertEquals(1, circuitBreaker.getConcurrentRequestsCount());
+
+        server.takeRequest(5, TimeUnit.SECONDS);
+        first.cancel(true);
+        awaitNoConcurrentRequests();
+        scheduler.advance(100, TimeUnit.MILLISECONDS);
+
+        assertEquals(2, second.get(5, TimeUnit.SECONDS).getId().intValue());
+    }
+
+    private void awaitNoConcurrentRequests() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (circuitBreaker.getConcurrentRequestsCount() > 0) {
+            if (System.nanoTime() > deadline) {
+                fail("The bulkhead slot was not released in time");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.paysera.lib.wallet.clients;
+
+import bolts.Task;
+import com.paysera.lib.wallet.AdaptiveRateLimiter;
+import com.paysera.lib.wallet.FakeScheduler;
+import com.paysera.lib.wallet.RateLimiterConfiguration;
+import com.paysera.lib.wallet.TestClients;
+import okhttp3.Request;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RateLimitedClientTest {
+    private static final String RATE_LIMIT_EXCEEDED_ERROR =
+        "{\"error\":\"rate_limit_exceeded\",\"error_description\":\"Too many requests\"}";
+
+    private final MockWebServer server = new MockWebServer();
+    private final FakeScheduler scheduler = new FakeScheduler();
+    private AdaptiveRateLimiter rateLimiter;
+    private WalletAsyncClient walletAsyncClient;
+
+    @Before
+    public void setUp() throws IOException {
+        server.start();
+        RateLimiterConfiguration configuration = new RateLimiterConfiguration();
+        configuration.setInitialRate(10);
+        configuration.setMinRate(1);
+        configuration.setScheduler(scheduler);
+        configuration.setNanoClock(scheduler::nanoTime);
+        rateLimiter = new AdaptiveRateLimiter(configuration);
+        walletAsyncClient = TestClients.createWalletAsyncClient(server);
+        walletAsyncClient.setRateLimiter(rateLimiter);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void rateLimitExceededErrorWithoutStatus429DecreasesTheRate() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(400).setBody(RATE_LIMIT_EXCEEDED_ERROR));
+
+        Task<?> user = walletAsyncClient.getUser();
+
+        assertTrue(user.waitForCompletion(5, TimeUnit.SECONDS));
+        assertTrue(user.isFaulted());
+        assertEquals(5, rateLimiter.getRate(this.createRequest("user/me")), 1e-9);
+    }
+
+    @Test
+    public void rawRequestRateLimitExceededErrorDecreasesTheRate() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(403).setBody(RATE_LIMIT_EXCEEDED_ERROR));
+
+        Task<?> response = walletAsyncClient.get("user/me", Collections.<String, String>emptyMap());
+
+        assertTrue(response.waitForCompletion(5, TimeUnit.SECONDS));
+        assertTrue(response.isFaulted());
+        assertEquals(5, rateLimiter.getRate(this.createRequest("user/me")), 1e-9);
+    }
+
+    @Test
+    public void otherClientErrorsDoNotDecreaseTheRate() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(400).setBody("{\"error\":\"invalid_request\"}"));
+
+        Task<?> user = walletAsyncClient.getUser();
+
+        assertTrue(user.waitForCompletion(5, TimeUnit.SECONDS));
+        assertTrue(rateLimiter.getRate(this.createRequest("user/me")) >= 10);
+    }
+
+    private Request createRequest(String path) {
+        return new Request.Builder().url(server.url("/" + path)).build();
+    }
+}
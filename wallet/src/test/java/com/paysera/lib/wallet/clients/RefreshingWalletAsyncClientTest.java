@@ -0,0 +1,232 @@
+package com.paysera.lib.wallet.clients;
+
+import bolts.Task;
+import com.paysera.lib.wallet.AccessTokenRefresher;
+import com.paysera.lib.wallet.AccessTokenRefresherMetrics;
+import com.paysera.lib.wallet.ClientServerTimeSynchronizationConfiguration;
+import com.paysera.lib.wallet.FakeScheduler;
+import com.paysera.lib.wallet.RefreshBackoffPolicy;
+import com.paysera.lib.wallet.TestClients;
+import com.paysera.lib.wallet.entities.Credentials;
+import com.paysera.lib.wallet.entities.User;
+import com.paysera.lib.wallet.enums.GrantType;
+import com.paysera.lib.wallet.exceptions.WalletApiException;
+import com.paysera.lib.wallet.factories.RetrofitFactory;
+import com.paysera.lib.wallet.helpers.OkHTTPQueryStringConverter;
+import com.paysera.lib.wallet.interfaces.AccessTokenRefresherDelegate;
+import com.paysera.lib.wallet.providers.TimestampProvider;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RefreshingWalletAsyncClientTest {
+    private static final String CREDENTIALS = "{\"access_token\":\"renewed\",\"refresh_token\":\"refresh-2\",\"expires_in\":3600}";
+    private static final int CALLERS = 8;
+
+    private final MockWebServer server = new MockWebServer();
+    private final FakeScheduler scheduler = new FakeScheduler();
+    private final CountDownLatch refreshReleased = new CountDownLatch(1);
+    private final AtomicInteger tokenRequests = new AtomicInteger();
+    private final AtomicInteger userRequests = new AtomicInteger();
+    private volatile MockResponse tokenResponse = new MockResponse().setBody(CREDENTIALS);
+    private RetrofitFactory retrofitFactory;
+    private OkHttpClient httpClient;
+    private OAuthAsyncClient oAuthAsyncClient;
+    private Credentials activeCredentials;
+
+    @Before
+    public void setUp() throws IOException {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                if (request.getPath().startsWith("/token")) {
+                    tokenRequests.incrementAndGet();
+                    refreshReleased.await(5, TimeUnit.SECONDS);
+                    return tokenResponse;
+                }
+                userRequests.incrementAndGet();
+                return new MockResponse().setBody("{\"id\":7}");
+            }
+        });
+        server.start();
+        retrofitFactory = TestClients.createRetrofitFactory(server);
+        httpClient = new OkHttpClient();
+        oAuthAsyncClient = new OAuthAsyncClient(
+            retrofitFactory.createOAuthClient(httpClient),
+            new TimestampProvider(),
+            new ClientServerTimeSynchronizationConfiguration(),
+            retrofitFactory.createPublicWalletApiClient(httpClient),
+            retrofitFactory.createWalletApiRetrofit(httpClient),
+            new OkHTTPQueryStringConverter()
+        );
+
+        activeCredentials = new Credentials();
+        activeCredentials.setAccessToken("expiring");
+        activeCredentials.setRefreshToken("refresh-1");
+        activeCredentials.setValidUntil(new Date(System.currentTimeMillis() - 60000));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        refreshReleased.countDown();
+        server.shutdown();
+    }
+
+    @Test
+    public void concurrentCallersShareOneRefreshAndAreAllResumed() throws Exception {
+        RefreshingWalletAsyncClient client = this.createClient(this.createRefresher());
+
+        List<Task<User>> users = this.getUsersConcurrently(client);
+        awaitTokenRequest();
+        for (Task<User> user : users) {
+            assertFalse(user.isCompleted());
+        }
+        refreshReleased.countDown();
+
+        for (Task<User> user : users) {
+            assertTrue(user.waitForCompletion(5, TimeUnit.SECONDS));
+            assertEquals(7, user.getResult().getId().intValue());
+        }
+        assertEquals(1, tokenRequests.get());
+        assertEquals(CALLERS, userRequests.get());
+        assertEquals("renewed", activeCredentials.getAccessToken());
+    }
+
+    @Test
+    public void callParkedAsTheRefreshCompletesIsResumed() throws Exception {
+        activeCredentials.setValidUntil(new Date(System.currentTimeMillis() + 3600000));
+        // the first read still sees the refresh that completes before the call is parked
+        AccessTokenRefresher refresher = new AccessTokenRefresher(
+            oAuthAsyncClient,
+            new NoopDelegate(),
+            activeCredentials,
+            null,
+            scheduler,
+            new RefreshBackoffPolicy(),
+            new AccessTokenRefresherMetrics()
+        ) {
+            private final AtomicInteger reads = new AtomicInteger();
+
+            @Override
+            public boolean isAccessTokenRefreshing() {
+                return reads.getAndIncrement() == 0 || super.isAccessTokenRefreshing();
+            }
+        };
+        RefreshingWalletAsyncClient client = this.createClient(refresher);
+
+        Task<User> user = client.getUser();
+
+        assertTrue(user.waitForCompletion(5, TimeUnit.SECONDS));
+        assertEquals(7, user.getResult().getId().intValue());
+        assertEquals(0, tokenRequests.get());
+    }
+
+    @Test
+    public void failedRefreshCancelsEveryParkedCall() throws Exception {
+        tokenResponse = new MockResponse().setResponseCode(500).setBody("{\"error\":\"internal_server_error\"}");
+        RefreshingWalletAsyncClient client = this.createClient(this.createRefresher());
+
+        List<Task<User>> users = this.getUsersConcurrently(client);
+        awaitTokenRequest();
+        refreshReleased.countDown();
+
+        for (Task<User> user : users) {
+            assertTrue(user.waitForCompletion(5, TimeUnit.SECONDS));
+            assertTrue(user.isFaulted());
+            assertEquals(500, ((WalletApiException) user.getError()).getStatusCode().intValue());
+        }
+        assertEquals(1, tokenRequests.get());
+        assertEquals(0, userRequests.get());
+    }
+
+    private List<Task<User>> getUsersConcurrently(RefreshingWalletAsyncClient client) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Task<User>> users = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException exception) {
+                    return;
+                }
+                Task<User> user = client.getUser();
+                synchronized (users) {
+                    users.add(user);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(5000);
+        }
+        assertEquals(CALLERS, users.size());
+        return users;
+    }
+
+    private void awaitTokenRequest() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (tokenRequests.get() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, tokenRequests.get());
+    }
+
+    private AccessTokenRefresher createRefresher() {
+        return new AccessTokenRefresher(
+            oAuthAsyncClient,
+            new NoopDelegate(),
+            activeCredentials,
+            null,
+            scheduler,
+            new RefreshBackoffPolicy(),
+            new AccessTokenRefresherMetrics()
+        );
+    }
+
+    private RefreshingWalletAsyncClient createClient(AccessTokenRefresher refresher) {
+        return new RefreshingWalletAsyncClient(
+            new TimestampProvider(),
+            new ClientServerTimeSynchronizationConfiguration(),
+            retrofitFactory.createPublicWalletApiClient(httpClient),
+            retrofitFactory.createWalletApiClient(httpClient),
+            refresher,
+            retrofitFactory.createWalletApiRetrofit(httpClient),
+            new OkHTTPQueryStringConverter(),
+            GrantType.REFRESH_TOKEN
+        );
+    }
+
+    private static class NoopDelegate implements AccessTokenRefresherDelegate {
+        @Override
+        public void activeCredentialsDidUpdate(Credentials credentials) {
+        }
+
+        @Override
+        public void inactiveCredentialsDidUpdate(Credentials credentials) {
+        }
+
+        @Override
+        public void onRefreshTokenInvalid() {
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.paysera.lib.wallet.clients;
+
+import bolts.Task;
+import com.paysera.lib.wallet.FakeScheduler;
+import com.paysera.lib.wallet.RetryBudget;
+import com.paysera.lib.wallet.RetryPolicy;
+import com.paysera.lib.wallet.TestClients;
+import com.paysera.lib.wallet.WalletApiResponse;
+import com.paysera.lib.wallet.entities.User;
+import com.paysera.lib.wallet.exceptions.WalletApiException;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RetryingClientTest {
+    private static final String UNAVAILABLE_ERROR = "{\"error\":\"service_unavailable\"}";
+
+    private final MockWebServer server = new MockWebServer();
+    private final FakeScheduler scheduler = new FakeScheduler();
+    private RetryPolicy retryPolicy;
+    private WalletFutureClient walletFutureClient;
+
+    @Before
+    public void setUp() throws IOException {
+        server.start();
+        walletFutureClient = TestClients.createWalletFutureClient(server);
+
+        retryPolicy = new RetryPolicy();
+        retryPolicy.setScheduler(scheduler);
+        retryPolicy.setJitter(0);
+        walletFutureClient.setRetryPolicy(retryPolicy);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void serverErrorIsRetriedAfterBackoff() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503).setBody(UNAVAILABLE_ERROR));
+        server.enqueue(new MockResponse().setBody("{\"id\":7}"));
+
+        CompletableFuture<User> user = walletFutureClient.getUser();
+        awaitScheduledTasks(1);
+        assertEquals(1, server.getRequestCount());
+
+        scheduler.advance(retryPolicy.getBaseDelayMillis(), TimeUnit.MILLISECONDS);
+
+        assertEquals(7, user.get(5, TimeUnit.SECONDS).getId().intValue());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void nonIdempotentEndpointIsNotRetried() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503).setBody(UNAVAILABLE_ERROR));
+
+        assertFailed(walletFutureClient.confirmTransaction("key"));
+        assertEquals(0, scheduler.getScheduledTaskCount());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void signingFailureOfRawRequestIsNotRetried() throws Exception {
+        OkHttpClient signingFailureClient = new OkHttpClient.Builder()
+            .addInterceptor(chain -> {
+                throw new IOException(WalletApiException.ERROR_CODE_SIGNING_REQUEST);
+            })
+            .build();
+        WalletAsyncClient walletAsyncClient = TestClients.createWalletAsyncClient(server, signingFailureClient);
+        walletAsyncClient.setRetryPolicy(retryPolicy);
+
+        Task<WalletApiResponse> response = walletAsyncClient.get("user/me", Collections.<String, String>emptyMap());
+
+        assertTrue(response.waitForCompletion(5, TimeUnit.SECONDS));
+        assertTrue(response.isFaulted());
+        assertEquals(0, scheduler.getScheduledTaskCount());
+        assertEquals(0, retryPolicy.getRetryBudget().getRetryCount());
+        assertEquals(0, server.getRequestCount());
+    }
+
+    @Test
+    public void spentRetryBudgetStopsRetries() throws Exception {
+        retryPolicy.setRetryBudget(new RetryBudget(0, 1));
+        server.enqueue(new MockResponse().setResponseCode(503).setBody(UNAVAILABLE_ERROR));
+        server.enqueue(new MockResponse().setResponseCode(503).setBody(UNAVAILABLE_ERROR));
+
+        CompletableFuture<User> user = walletFutureClient.getUser();
+        awaitScheduledTasks(1);
+        scheduler.advance(retryPolicy.getBaseDelayMillis(), TimeUnit.MILLISECONDS);
+
+        assertFailed(user);
+        assertEquals(2, server.getRequestCount());
+        assertEquals(1, retryPolicy.getRetryBudget().getRetryCount());
+        assertEquals(1, retryPolicy.getRetryBudget().getRejectedRetryCount());
+    }
+
+    @Test
+    public void cancellingFutureCancelsArmedRetry() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503).setBody(UNAVAILABLE_ERROR));
+
+        CompletableFuture<User> user = walletFutureClient.getUser();
+        awaitScheduledTasks(1);
+        user.cancel(true);
+
+        assertEquals(0, scheduler.getScheduledTaskCount());
+        assertEquals(0, walletFutureClient.getInFlightCallsCount());
+        scheduler.advance(1, TimeUnit.MINUTES);
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void hedgedRequestWinsAndSlowCallIsCancelled() throws Exception {
+        retryPolicy.setHedgeDelay(50, TimeUnit.MILLISECONDS);
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+        server.enqueue(new MockResponse().setBody("{\"id\":2}"));
+
+        CompletableFuture<User> user = walletFutureClient.getUser();
+        server.takeRequest(5, TimeUnit.SECONDS);
+        scheduler.advance(50, TimeUnit.MILLISECONDS);
+
+        assertEquals(2, user.get(5, TimeUnit.SECONDS).getId().intValue());
+        assertEquals(2, server.getRequestCount());
+        await(() -> walletFutureClient.getInFlightCallsCount() == 0);
+    }
+
+    @Test
+    public void cancellingFutureCancelsEveryHedgedCall() throws Exception {
+        retryPolicy.setHedgeDelay(50, TimeUnit.MILLISECONDS);
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+
+        CompletableFuture<User> user = walletFutureClient.getUser();
+        server.takeRequest(5, TimeUnit.SECONDS);
+        scheduler.advance(50, TimeUnit.MILLISECONDS);
+        server.takeRequest(5, TimeUnit.SECONDS);
+        user.cancel(true);
+
+        await(() -> walletFutureClient.getInFlightCallsCount() == 0);
+        assertEquals(0, scheduler.getScheduledTaskCount());
+    }
+
+    private void awaitScheduledTasks(int count) throws InterruptedException {
+        await(() -> scheduler.getScheduledTaskCount() == count);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met in time");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static void assertFailed(CompletableFuture<?> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected the request to fail");
+        } catch (ExecutionException exception) {
+            assertTrue(exception.getCause() instanceof WalletApiException);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.paysera.lib.wallet.clients;
+
+import com.paysera.lib.wallet.ClientServerTimeSynchronizationConfiguration;
+import com.paysera.lib.wallet.Router;
+import com.paysera.lib.wallet.entities.User;
+import com.paysera.lib.wallet.entities.WalletBalance;
+import com.paysera.lib.wallet.entities.requests.GetWalletBalanceRequest;
+import com.paysera.lib.wallet.factories.RetrofitFactory;
+import com.paysera.lib.wallet.helpers.OkHTTPQueryStringConverter;
+import com.paysera.lib.wallet.providers.TimestampProvider;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class WalletFutureClientTest {
+    private static final MediaType IMAGE_JPEG = MediaType.parse("image/jpeg");
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final MockWebServer server = new MockWebServer();
+    private RetrofitFactory retrofitFactory;
+    private WalletFutureClient walletFutureClient;
+
+    @Before
+    public void setUp() throws IOException {
+        server.start();
+        String url = server.url("/").toString();
+        retrofitFactory = new RetrofitFactory(new Router(url, url, url, url));
+        walletFutureClient = new WalletFutureClient(
+            new TimestampProvider(),
+            new ClientServerTimeSynchronizationConfiguration(),
+            retrofitFactory,
+            new OkHttpClient(),
+            new OkHTTPQueryStringConverter()
+        );
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        retrofitFactory.close();
+        server.shutdown();
+    }
+
+    @Test
+    public void futuresCompleteOnDispatcherThreadByDefault() throws Exception {
+        CompletableFuture<String> threadName = walletFutureClient.getUser()
+            .thenApply(user -> Thread.currentThread().getName());
+        server.enqueue(new MockResponse().setBody("{\"id\":1}"));
+
+        assertTrue(threadName.get(5, TimeUnit.SECONDS).startsWith("OkHttp"));
+    }
+
+    @Test
+    public void getWalletBalanceSetsConvertedCurrency() throws Exception {
+        server.enqueue(new MockResponse().setBody(
+            "{\"EUR\":{\"at_disposal\":1000,\"reserved\":0,\"converted\":{\"at_disposal\":1150,\"reserved\":0}}}"
+        ));
+
+        WalletBalance walletBalance = walletFutureClient
+            .getWalletBalance(new GetWalletBalanceRequest(1, "USD"))
+            .get(5, TimeUnit.SECONDS);
+
+        assertEquals("USD", walletBalance.getCurrencyBalances().get(0).getMoneyConverted().getCurrencyUnit().getCode());
+        assertTrue(server.takeRequest().getPath().contains("convert_to=USD"));
+    }
+
+    @Test
+    public void getUserReturnsDecodedEntity() throws Exception {
+        server.enqueue(new MockResponse().setBody("{\"id\":7}"));
+
+        User user = walletFutureClient.getUser().get(5, TimeUnit.SECONDS);
+
+        assertEquals(7, user.getId().intValue());
+    }
+
+    @Test
+    public void cancellingFutureCancelsTheCall() throws Exception {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+
+        CompletableFuture<User> user = walletFutureClient.getUser();
+        server.takeRequest(5, TimeUnit.SECONDS);
+        user.cancel(true);
+
+        await(() -> walletFutureClient.getInFlightCallsCount() == 0);
+    }
+
+    @Test
+    public void cancellingMappedFutureCancelsTheCall() throws Exception {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+
+        CompletableFuture<WalletBalance> walletBalance = walletFutureClient
+            .getWalletBalance(new GetWalletBalanceRequest(1, "USD"));
+        server.takeRequest(5, TimeUnit.SECONDS);
+        walletBalance.cancel(true);
+
+        await(() -> walletFutureClient.getInFlightCallsCount() == 0);
+    }
+
+    @Test
+    public void cancellingBatchUploadCancelsStartedUploads() throws Exception {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+        Map<Integer, Path> pathsByOrder = new LinkedHashMap<>();
+        pathsByOrder.put(1, temporaryFolder.newFile().toPath());
+        pathsByOrder.put(2, temporaryFolder.newFile().toPath());
+
+        CompletableFuture<Void> uploads = walletFutureClient.identificationRequestFilesUpload(1L, IMAGE_JPEG, pathsByOrder, 1);
+        server.takeRequest(5, TimeUnit.SECONDS);
+        uploads.cancel(true);
+
+        await(() -> walletFutureClient.getInFlightCallsCount() == 0);
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void cancellingSpooledUploadCancelsTheUploadAndDeletesTheSpooledFile() throws Exception {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+        File spoolDirectory = temporaryFolder.newFolder();
+        walletFutureClient.setUploadSpoolDirectory(spoolDirectory.toPath());
+
+        CompletableFuture<Void> upload = walletFutureClient.identificationRequestFileUpload(
+            1L,
+            1,
+            IMAGE_JPEG,
+            new ByteArrayInputStream(new byte[] {1, 2, 3})
+        );
+        server.takeRequest(5, TimeUnit.SECONDS);
+        upload.cancel(true);
+
+        await(() -> walletFutureClient.getInFlightCallsCount() == 0);
+        await(() -> spoolDirectory.list().length == 0);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met in time");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
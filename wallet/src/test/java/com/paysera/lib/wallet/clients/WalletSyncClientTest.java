@@ -0,0 +1,93 @@
+package com.paysera.lib.wallet.clients;
+
+import com.paysera.lib.wallet.ClientServerTimeSynchronizationConfiguration;
+import com.paysera.lib.wallet.TestClients;
+import com.paysera.lib.wallet.exceptions.WalletApiException;
+import com.paysera.lib.wallet.factories.RetrofitFactory;
+import com.paysera.lib.wallet.helpers.OkHTTPQueryStringConverter;
+import com.paysera.lib.wallet.providers.TimestampProvider;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class WalletSyncClientTest {
+    private static final String INVALID_TIMESTAMP_ERROR =
+        "{\"error\":\"invalid_timestamp\",\"error_description\":\"Timestamp is in future\"}";
+
+    private final MockWebServer server = new MockWebServer();
+    private WalletSyncClient walletSyncClient;
+
+    @Before
+    public void setUp() throws IOException {
+        server.start();
+        ClientServerTimeSynchronizationConfiguration configuration = new ClientServerTimeSynchronizationConfiguration();
+        configuration.setEnabled(true);
+        RetrofitFactory retrofitFactory = TestClients.createRetrofitFactory(server);
+        OkHttpClient httpClient = new OkHttpClient();
+        walletSyncClient = new WalletSyncClient(
+            new TimestampProvider(),
+            configuration,
+            retrofitFactory.createPublicWalletApiClient(httpClient),
+            retrofitFactory.createWalletApiClient(httpClient),
+            retrofitFactory.createWalletApiRetrofit(httpClient),
+            new OkHTTPQueryStringConverter()
+        );
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void invalidTimestampIsRetriedOnceAfterResync() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(400).setBody(INVALID_TIMESTAMP_ERROR));
+        server.enqueue(new MockResponse().setBody("{\"time\":1500000000}"));
+        server.enqueue(new MockResponse().setBody("{\"id\":7}"));
+
+        assertEquals(7, walletSyncClient.getUser().getId().intValue());
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void secondInvalidTimestampIsReportedWithoutAnotherResync() {
+        server.enqueue(new MockResponse().setResponseCode(400).setBody(INVALID_TIMESTAMP_ERROR));
+        server.enqueue(new MockResponse().setBody("{\"time\":1500000000}"));
+        server.enqueue(new MockResponse().setResponseCode(400).setBody(INVALID_TIMESTAMP_ERROR));
+        server.enqueue(new MockResponse().setBody("{\"time\":1500000000}"));
+
+        try {
+            walletSyncClient.getUser();
+            fail("Expected the invalid timestamp error");
+        } catch (WalletApiException exception) {
+            assertTrue(exception.isInvalidTimestampError());
+        }
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    public void rawRequestResyncIsCappedAtOnePerCall() {
+        server.enqueue(new MockResponse().setResponseCode(400).setBody(INVALID_TIMESTAMP_ERROR));
+        server.enqueue(new MockResponse().setBody("{\"time\":1500000000}"));
+        server.enqueue(new MockResponse().setResponseCode(400).setBody(INVALID_TIMESTAMP_ERROR));
+        server.enqueue(new MockResponse().setBody("{\"time\":1500000000}"));
+
+        try {
+            walletSyncClient.get("user/me", Collections.<String, String>emptyMap());
+            fail("Expected the invalid timestamp error");
+        } catch (WalletApiException exception) {
+            assertTrue(exception.isInvalidTimestampError());
+        }
+        assertEquals(3, server.getRequestCount());
+    }
+}
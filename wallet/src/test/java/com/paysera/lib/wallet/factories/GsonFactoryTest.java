@@ -0,0 +1,132 @@
+package com.paysera.lib.wallet.factories;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.paysera.lib.wallet.entities.MetadataAwareResponse;
+import com.paysera.lib.wallet.entities.Statement;
+import com.paysera.lib.wallet.entities.Transaction;
+import com.paysera.lib.wallet.entities.Wallet;
+import com.paysera.lib.wallet.entities.card.Card;
+import com.paysera.lib.wallet.entities.locations.Location;
+import com.paysera.lib.wallet.entities.transfer.Transfer;
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class GsonFactoryTest {
+    private final Gson sharedGson = GsonFactory.createGson();
+    private final Gson reflectiveGson = new GsonBuilder()
+        .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+        .create();
+
+    @Test
+    public void createGsonReturnsSharedInstance() {
+        assertSame(GsonFactory.createGson(), GsonFactory.createGson());
+    }
+
+    @Test
+    public void decodesStatementsLikeReflectiveGson() {
+        String json = "[{\"id\":1,\"amount\":1050,\"amount_decimal\":\"10.50\",\"currency\":\"EUR\",\"details\":\"Order 1\","
+            + "\"direction\":\"out\",\"date\":1500000000,\"type\":\"transfer\",\"transfer_id\":5,"
+            + "\"other_party\":{\"display_name\":\"John Doe\",\"account_number\":\"EVP0010001000001\"},"
+            + "\"reference_number\":\"RF1\"},"
+            + "{\"id\":2,\"amount\":100,\"amount_decimal\":\"1.00\",\"currency\":\"USD\",\"details\":null,"
+            + "\"date\":null,\"other_party\":null,\"reference_number\":null}]";
+
+        assertDecodesEqually(json, new TypeToken<List<Statement>>() {}.getType());
+    }
+
+    @Test
+    public void decodesTransfersLikeReflectiveGson() {
+        String json = "[{\"id\":\"7\",\"status\":\"done\",\"amount\":{\"amount\":\"10.00\",\"currency\":\"EUR\"},"
+            + "\"beneficiary\":{\"type\":\"paysera\",\"name\":\"John Doe\"},"
+            + "\"purpose\":{\"details\":\"Invoice\"},\"cancelable\":false,\"created_at\":1500000000,"
+            + "\"urgency\":\"standard\",\"allowed_to_cancel\":false},"
+            + "{\"id\":\"8\",\"status\":null,\"amount\":null,\"beneficiary\":null,\"created_at\":null}]";
+
+        assertDecodesEqually(json, new TypeToken<List<Transfer>>() {}.getType());
+    }
+
+    @Test
+    public void decodesTransactionsWithExplicitNullsLikeReflectiveGson() {
+        String json = "[{\"transaction_key\":\"abc\",\"status\":\"new\",\"type\":\"page\",\"created_at\":1500000000},"
+            + "{\"transaction_key\":null,\"status\":null,\"type\":null,\"allowance\":null,\"created_at\":null}]";
+
+        List<Transaction> transactions = sharedGson.fromJson(json, new TypeToken<List<Transaction>>() {}.getType());
+
+        assertNull(transactions.get(1).getType());
+        assertNull(transactions.get(1).getCreatedAt());
+        assertDecodesEqually(json, new TypeToken<List<Transaction>>() {}.getType());
+    }
+
+    @Test
+    public void decodesCardsWithExplicitNullsLikeReflectiveGson() {
+        String json = "[{\"id\":1,\"user_id\":2,\"status\":\"active\",\"related_at\":1500000000},"
+            + "{\"id\":3,\"user_id\":null,\"status\":null,\"related_at\":null,\"relation\":null,\"accounts\":null}]";
+
+        List<Card> cards = sharedGson.fromJson(json, new TypeToken<List<Card>>() {}.getType());
+
+        assertNull(cards.get(1).getStatus());
+        assertDecodesEqually(json, new TypeToken<List<Card>>() {}.getType());
+    }
+
+    @Test
+    public void decodesWalletsLikeReflectiveGson() {
+        assertDecodesEqually(
+            "[{\"id\":1,\"owner\":2,\"account\":{\"number\":\"EVP0010001000001\"}},{\"id\":2,\"owner\":null}]",
+            new TypeToken<List<Wallet>>() {}.getType()
+        );
+    }
+
+    @Test
+    public void decodesLocationsLikeReflectiveGson() {
+        String json = "[{\"id\":1,\"title\":\"Shop\",\"lat\":54.68,\"lng\":25.27,\"radius\":10,\"updated_at\":1500000000},"
+            + "{\"id\":2,\"title\":null,\"radius\":null,\"updated_at\":null}]";
+        Type type = new TypeToken<List<Location>>() {}.getType();
+
+        List<Location> shared = sharedGson.fromJson(json, type);
+        List<Location> reflective = reflectiveGson.fromJson(json, type);
+
+        assertEquals(reflective.size(), shared.size());
+        for (int i = 0; i < reflective.size(); i++) {
+            assertEquals(reflective.get(i).getId(), shared.get(i).getId());
+            assertEquals(reflective.get(i).getTitle(), shared.get(i).getTitle());
+            assertEquals(reflective.get(i).getLat(), shared.get(i).getLat(), 0);
+            assertEquals(reflective.get(i).getRadius(), shared.get(i).getRadius());
+            assertEquals(reflective.get(i).getUpdatedAt(), shared.get(i).getUpdatedAt());
+        }
+        assertNull(shared.get(1).getTitle());
+    }
+
+    @Test
+    public void decodesStatementsPageLikeReflectiveItems() {
+        String json = "{\"statements\":[{\"id\":1,\"details\":\"Order 1\",\"date\":1500000000},{\"id\":2,\"details\":null}],"
+            + "\"_metadata\":{\"total\":2,\"offset\":0,\"limit\":2}}";
+
+        MetadataAwareResponse<Statement> page = sharedGson.fromJson(
+            json,
+            new TypeToken<MetadataAwareResponse<Statement>>() {}.getType()
+        );
+        List<Statement> items = reflectiveGson.fromJson(
+            "[{\"id\":1,\"details\":\"Order 1\",\"date\":1500000000},{\"id\":2,\"details\":null}]",
+            new TypeToken<List<Statement>>() {}.getType()
+        );
+
+        assertEquals(2, page.getMetadata().getTotal().intValue());
+        assertEquals(reflectiveGson.toJsonTree(items), reflectiveGson.toJsonTree(page.getItems()));
+    }
+
+    private void assertDecodesEqually(String json, Type type) {
+        Object shared = sharedGson.fromJson(json, type);
+        Object reflective = reflectiveGson.fromJson(json, type);
+
+        assertEquals(reflectiveGson.toJsonTree(reflective, type), reflectiveGson.toJsonTree(shared, type));
+    }
+}
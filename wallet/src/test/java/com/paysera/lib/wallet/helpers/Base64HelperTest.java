@@ -0,0 +1,54 @@
+package com.paysera.lib.wallet.helpers;
+
+import org.apache.commons.codec.binary.Base64;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class Base64HelperTest {
+
+    @Test
+    public void sameOutputAsCommonsCodec() {
+        Random random = new Random(42);
+        for (int length = 0; length <= 100; length++) {
+            byte[] source = new byte[length];
+            random.nextBytes(source);
+
+            assertEquals(expected(source), encode(source, length));
+        }
+    }
+
+    @Test
+    public void everyByteValueIsEncoded() {
+        byte[] source = new byte[256];
+        for (int i = 0; i < source.length; i++) {
+            source[i] = (byte) i;
+        }
+
+        assertEquals(expected(source), encode(source, source.length));
+    }
+
+    @Test
+    public void onlyTheGivenLengthIsEncoded() {
+        byte[] source = "wallet-api.paysera.com".getBytes(StandardCharsets.UTF_8);
+
+        for (int length = 0; length < source.length; length++) {
+            assertEquals(expected(Arrays.copyOf(source, length)), encode(source, length));
+        }
+    }
+
+    private static String encode(byte[] source, int length) {
+        char[] destination = new char[Base64Helper.getEncodedLength(length)];
+        int written = Base64Helper.encode(source, length, destination);
+        assertEquals(destination.length, written);
+        return new String(destination);
+    }
+
+    private static String expected(byte[] source) {
+        return new String(Base64.encodeBase64(source), StandardCharsets.US_ASCII);
+    }
+}
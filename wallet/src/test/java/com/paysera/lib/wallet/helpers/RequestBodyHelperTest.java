@@ -0,0 +1,110 @@
+package com.paysera.lib.wallet.helpers;
+
+import bolts.Task;
+import com.paysera.lib.wallet.TestClients;
+import com.paysera.lib.wallet.clients.WalletAsyncClient;
+import okhttp3.MediaType;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RequestBodyHelperTest {
+    private final MockWebServer server = new MockWebServer();
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("spool");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(path -> path.toFile().delete());
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    @Test
+    public void spoolsToOwnerOnlyFileInGivenDirectory() throws IOException {
+        byte[] content = "document".getBytes(StandardCharsets.UTF_8);
+
+        Path path = RequestBodyHelper.spoolToTemporaryFile(new ByteArrayInputStream(content), directory);
+
+        assertEquals(directory, path.getParent());
+        assertArrayEquals(content, Files.readAllBytes(path));
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(path)));
+        }
+    }
+
+    @Test
+    public void deletesFileWhenStreamFails() throws IOException {
+        InputStream failingStream = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Stream closed");
+            }
+        };
+
+        try {
+            RequestBodyHelper.spoolToTemporaryFile(failingStream, directory);
+            fail();
+        } catch (IOException exception) {
+            assertEquals("Stream closed", exception.getMessage());
+        }
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    public void clientSpoolsOnConfiguredExecutorAndDirectory() throws Exception {
+        server.enqueue(new MockResponse());
+        server.start();
+        AtomicInteger spools = new AtomicInteger();
+        WalletAsyncClient client = TestClients.createWalletAsyncClient(server);
+        client.setUploadSpoolDirectory(directory);
+        client.setUploadSpoolExecutor(command -> {
+            spools.incrementAndGet();
+            command.run();
+        });
+
+        Task<Void> task = client.identificationRequestFileUpload(
+            1L,
+            1,
+            MediaType.parse("image/jpeg"),
+            new ByteArrayInputStream("document".getBytes(StandardCharsets.UTF_8))
+        );
+        task.waitForCompletion();
+
+        assertNull(task.getError());
+        assertEquals(1, spools.get());
+        assertEquals("document", server.takeRequest().getBody().readUtf8());
+        assertEquals(0, countFiles());
+    }
+
+    private long countFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.paysera.lib.wallet.paginators;
+
+import bolts.Task;
+import com.paysera.lib.wallet.entities.Metadata;
+import com.paysera.lib.wallet.entities.MetadataAwareResponse;
+import com.paysera.lib.wallet.filters.TransfersFilter;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class PaginatorTest {
+
+    @Test
+    public void fetchAllUsesFirstPageSizeWhenServerCapsTheLimit() throws InterruptedException {
+        TransfersFilter filter = new TransfersFilter();
+        filter.setLimit(100);
+
+        Task<List<Integer>> task = new Paginator<>(filter, createFetcher(95, 20)).fetchAll();
+        task.waitForCompletion();
+
+        assertEquals(createItems(0, 95), task.getResult());
+    }
+
+    @Test
+    public void fetchAllFallsBackToSequentialPagesWhenPageComesBackShort() throws InterruptedException {
+        TransfersFilter filter = new TransfersFilter();
+
+        Task<List<Integer>> task = new Paginator<TransfersFilter, Integer>(filter, pageFilter -> {
+            // the server lowers its page size after the first page
+            int limit = pageFilter.getOffset() == 0 ? 20 : 15;
+            return Task.forResult(createPage(pageFilter.getOffset(), limit, 70));
+        }).fetchAll();
+        task.waitForCompletion();
+
+        assertEquals(createItems(0, 70), task.getResult());
+    }
+
+    @Test
+    public void fetchAllStartsAtFilterOffset() throws InterruptedException {
+        TransfersFilter filter = new TransfersFilter();
+        filter.setOffset(10);
+
+        Task<List<Integer>> task = new Paginator<>(filter, createFetcher(45, 10), 2, 1).fetchAll();
+        task.waitForCompletion();
+
+        assertEquals(createItems(10, 45), task.getResult());
+    }
+
+    private static PageFetcher<TransfersFilter, Integer> createFetcher(int total, int maxLimit) {
+        return filter -> {
+            int limit = filter.getLimit() != null ? Math.min(filter.getLimit(), maxLimit) : maxLimit;
+            return Task.forResult(createPage(filter.getOffset(), limit, total));
+        };
+    }
+
+    private static MetadataAwareResponse<Integer> createPage(int offset, int limit, int total) {
+        Metadata metadata = new Metadata();
+        metadata.setTotal(total);
+        metadata.setOffset(offset);
+        metadata.setLimit(limit);
+
+        MetadataAwareResponse<Integer> page = new MetadataAwareResponse<>();
+        page.setItems(createItems(offset, Math.min(offset + limit, total)));
+        page.setMetadata(metadata);
+        return page;
+    }
+
+    private static List<Integer> createItems(int from, int to) {
+        List<Integer> items = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            items.add(i);
+        }
+        return items;
+    }
+}
@@ -0,0 +1,88 @@
+package com.paysera.lib.wallet.publishers;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FuturePublisherTest {
+    private final AtomicInteger startedRequests = new AtomicInteger();
+    private final CompletableFuture<String> future = new CompletableFuture<>();
+    private final FuturePublisher<String> publisher = new FuturePublisher<>(() -> {
+        startedRequests.incrementAndGet();
+        return future;
+    });
+
+    @Test
+    public void requestIsOnlyStartedOnDemand() {
+        RecordingSubscriber<String> subscriber = this.subscribe();
+
+        assertEquals(0, startedRequests.get());
+
+        subscriber.subscription.request(1);
+        subscriber.subscription.request(1);
+
+        assertEquals(1, startedRequests.get());
+    }
+
+    @Test
+    public void emitsTheValueAndCompletes() {
+        RecordingSubscriber<String> subscriber = this.subscribe();
+        subscriber.subscription.request(1);
+
+        future.complete("value");
+
+        assertEquals(Collections.singletonList("value"), subscriber.items);
+        assertEquals(1, subscriber.completions);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    public void failureIsUnwrapped() {
+        RecordingSubscriber<String> subscriber = this.subscribe();
+        subscriber.subscription.request(1);
+        IOException exception = new IOException("failed");
+
+        future.completeExceptionally(new CompletionException(exception));
+
+        assertEquals(exception, subscriber.error);
+        assertEquals(0, subscriber.completions);
+    }
+
+    @Test
+    public void cancelCancelsTheRequest() {
+        RecordingSubscriber<String> subscriber = this.subscribe();
+        subscriber.subscription.request(1);
+
+        subscriber.subscription.cancel();
+
+        assertTrue(future.isCancelled());
+        assertEquals(0, subscriber.completions);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    public void nonPositiveRequestSignalsError() {
+        RecordingSubscriber<String> subscriber = this.subscribe();
+
+        subscriber.subscription.request(0);
+        subscriber.subscription.request(1);
+
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertEquals(0, startedRequests.get());
+        assertEquals(0, subscriber.completions);
+    }
+
+    private RecordingSubscriber<String> subscribe() {
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<>();
+        publisher.subscribe(subscriber);
+        return subscriber;
+    }
+}
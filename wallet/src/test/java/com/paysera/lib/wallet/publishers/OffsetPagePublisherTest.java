@@ -0,0 +1,162 @@
+package com.paysera.lib.wallet.publishers;
+
+import com.paysera.lib.wallet.entities.Metadata;
+import com.paysera.lib.wallet.entities.MetadataAwareResponse;
+import com.paysera.lib.wallet.filters.TransfersFilter;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class OffsetPagePublisherTest {
+    private final List<TransfersFilter> requestedFilters = new ArrayList<>();
+    private final List<CompletableFuture<MetadataAwareResponse<String>>> pages = new ArrayList<>();
+    private TransfersFilter transfersFilter;
+    private OffsetPagePublisher<TransfersFilter, String> publisher;
+
+    @Before
+    public void setUp() {
+        transfersFilter = new TransfersFilter();
+        transfersFilter.setOffset(10);
+        transfersFilter.setLimit(2);
+        publisher = new OffsetPagePublisher<>(transfersFilter, filter -> {
+            requestedFilters.add(filter);
+            CompletableFuture<MetadataAwareResponse<String>> page = new CompletableFuture<>();
+            pages.add(page);
+            return page;
+        });
+    }
+
+    @Test
+    public void noPageIsFetchedBeforeDemand() {
+        this.subscribe();
+
+        assertEquals(0, pages.size());
+    }
+
+    @Test
+    public void onlyOnePageIsInFlight() {
+        RecordingSubscriber<String> subscriber = this.subscribe();
+
+        subscriber.subscription.request(5);
+        subscriber.subscription.request(5);
+
+        assertEquals(1, pages.size());
+
+        pages.get(0).complete(createPage(true, "a", "b"));
+
+        assertEquals(Arrays.asList("a", "b"), subscriber.items);
+        assertEquals(2, pages.size());
+    }
+
+    @Test
+    public void bufferedItemsAreEmittedBeforeTheNextPageIsFetched() {
+        RecordingSubscriber<String> subscriber = this.subscribe();
+
+        subscriber.subscription.request(1);
+        pages.get(0).complete(createPage(true, "a", "b"));
+
+        assertEquals(Arrays.asList("a"), subscriber.items);
+        assertEquals(1, pages.size());
+
+        subscriber.subscription.request(1);
+
+        assertEquals(Arrays.asList("a", "b"), subscriber.items);
+        assertEquals(1, pages.size());
+
+        subscriber.subscription.request(1);
+
+        assertEquals(2, pages.size());
+    }
+
+    @Test
+    public void cancelStopsFetchingAndCancelsThePageInFlight() {
+        RecordingSubscriber<String> subscriber = this.subscribe();
+        subscriber.subscription.request(5);
+
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(5);
+
+        assertTrue(pages.get(0).isCancelled());
+        assertEquals(1, pages.size());
+        assertEquals(0, subscriber.items.size());
+        assertEquals(0, subscriber.completions);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    public void nonPositiveRequestSignalsError() {
+        RecordingSubscriber<String> subscriber = this.subscribe();
+        subscriber.subscription.request(1);
+
+        subscriber.subscription.request(0);
+
+        assertTrue(pages.get(0).isCancelled());
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertEquals(0, subscriber.completions);
+    }
+
+    @Test
+    public void completesAfterTheLastPage() {
+        RecordingSubscriber<String> subscriber = this.subscribe();
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        pages.get(0).complete(createPage(true, "a", "b"));
+        pages.get(1).complete(createPage(false, "c"));
+
+        assertEquals(Arrays.asList("a", "b", "c"), subscriber.items);
+        assertEquals(1, subscriber.completions);
+        assertNull(subscriber.error);
+        assertEquals(2, pages.size());
+    }
+
+    @Test
+    public void pagesAreRequestedWithCopiesOfTheFilter() {
+        RecordingSubscriber<String> subscriber = this.subscribe();
+        subscriber.subscription.request(Long.MAX_VALUE);
+        pages.get(0).complete(createPage(true, "a", "b"));
+
+        assertEquals(10, requestedFilters.get(0).getOffset().intValue());
+        assertEquals(12, requestedFilters.get(1).getOffset().intValue());
+        assertEquals(2, requestedFilters.get(1).getLimit().intValue());
+        assertEquals(10, transfersFilter.getOffset().intValue());
+        assertTrue(requestedFilters.get(0) != transfersFilter);
+        assertTrue(requestedFilters.get(0) != requestedFilters.get(1));
+    }
+
+    @Test
+    public void everySubscriptionStartsFromTheFirstPage() {
+        RecordingSubscriber<String> first = this.subscribe();
+        first.subscription.request(Long.MAX_VALUE);
+        pages.get(0).complete(createPage(true, "a", "b"));
+
+        RecordingSubscriber<String> second = this.subscribe();
+        second.subscription.request(1);
+
+        assertEquals(10, requestedFilters.get(2).getOffset().intValue());
+        assertSame(TransfersFilter.class, requestedFilters.get(2).getClass());
+    }
+
+    private RecordingSubscriber<String> subscribe() {
+        RecordingSubscriber<String> subscriber = new RecordingSubscriber<>();
+        publisher.subscribe(subscriber);
+        return subscriber;
+    }
+
+    private static MetadataAwareResponse<String> createPage(boolean hasNext, String... items) {
+        Metadata metadata = new Metadata();
+        metadata.setHasNext(hasNext);
+        MetadataAwareResponse<String> page = new MetadataAwareResponse<>();
+        page.setItems(Arrays.asList(items));
+        page.setMetadata(metadata);
+        return page;
+    }
+}
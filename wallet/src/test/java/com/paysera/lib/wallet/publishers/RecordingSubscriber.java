@@ -0,0 +1,34 @@
+package com.paysera.lib.wallet.publishers;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+class RecordingSubscriber<T> implements Subscriber<T> {
+    final List<T> items = new CopyOnWriteArrayList<>();
+    volatile Subscription subscription;
+    volatile Throwable error;
+    volatile int completions;
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(T item) {
+        items.add(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        error = throwable;
+    }
+
+    @Override
+    public void onComplete() {
+        completions++;
+    }
+}
@@ -0,0 +1,116 @@
+package com.paysera.lib.wallet.publishers;
+
+import com.paysera.lib.wallet.TestClients;
+import com.paysera.lib.wallet.clients.WalletFutureClient;
+import com.paysera.lib.wallet.entities.Statement;
+import com.paysera.lib.wallet.filters.StatementsFilter;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class StatementPublisherTest {
+    private final MockWebServer server = new MockWebServer();
+    private WalletFutureClient walletFutureClient;
+    private StatementsFilter statementsFilter;
+
+    @Before
+    public void setUp() throws IOException {
+        server.start();
+        walletFutureClient = TestClients.createWalletFutureClient(server);
+        statementsFilter = new StatementsFilter();
+        statementsFilter.setWalletId(1);
+        statementsFilter.setLimit(2);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void followsTheAfterCursorUntilTheLastPage() throws Exception {
+        server.enqueue(createPage("[" + createStatement(1) + "," + createStatement(2) + "]", true));
+        server.enqueue(createPage("[" + createStatement(3) + "]", false));
+
+        RecordingSubscriber<Statement> subscriber = this.subscribe();
+        assertEquals(0, server.getRequestCount());
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        await(() -> subscriber.completions == 1);
+        assertEquals(3, subscriber.items.size());
+        assertEquals(3L, subscriber.items.get(2).getId().longValue());
+        assertNull(subscriber.error);
+        assertFalse(server.takeRequest().getPath().contains("after="));
+        assertTrue(server.takeRequest().getPath().contains("after=cursor"));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    public void theGivenFilterIsNotModified() throws Exception {
+        server.enqueue(createPage("[" + createStatement(1) + "]", true));
+        server.enqueue(createPage("[" + createStatement(2) + "]", false));
+
+        RecordingSubscriber<Statement> subscriber = this.subscribe();
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        await(() -> subscriber.completions == 1);
+        assertNull(statementsFilter.getAfter());
+        assertNull(statementsFilter.getBefore());
+        assertNull(statementsFilter.getOffset());
+    }
+
+    @Test
+    public void cancelCancelsTheCallInFlight() throws Exception {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.NO_RESPONSE));
+
+        RecordingSubscriber<Statement> subscriber = this.subscribe();
+        subscriber.subscription.request(1);
+        server.takeRequest(5, TimeUnit.SECONDS);
+        subscriber.subscription.cancel();
+
+        await(() -> walletFutureClient.getInFlightCallsCount() == 0);
+        assertEquals(0, subscriber.completions);
+        assertNull(subscriber.error);
+        assertEquals(1, server.getRequestCount());
+    }
+
+    private RecordingSubscriber<Statement> subscribe() {
+        RecordingSubscriber<Statement> subscriber = new RecordingSubscriber<>();
+        new StatementPublisher(walletFutureClient, statementsFilter).subscribe(subscriber);
+        return subscriber;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met in time");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static MockResponse createPage(String statements, boolean hasNext) {
+        return new MockResponse().setBody(
+            "{\"statements\":" + statements + ",\"_metadata\":{\"has_next\":" + hasNext
+                + ",\"cursors\":{\"after\":\"cursor\"}}}"
+        );
+    }
+
+    private static String createStatement(long id) {
+        return "{\"id\":" + id + ",\"amount\":100,\"amount_decimal\":\"1.00\",\"currency\":\"EUR\",\"date\":1500000000}";
+    }
+}
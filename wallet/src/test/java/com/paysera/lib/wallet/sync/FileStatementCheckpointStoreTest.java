@@ -0,0 +1,82 @@
+package com.paysera.lib.wallet.sync;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FileStatementCheckpointStoreTest {
+    private Path directory;
+    private Path path;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("checkpoints");
+        path = directory.resolve("checkpoints.log");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(directory);
+    }
+
+    @Test
+    public void reloadsLastCheckpointOfEachWallet() throws IOException {
+        try (FileStatementCheckpointStore store = new FileStatementCheckpointStore(path)) {
+            store.saveCheckpoint(new StatementCheckpoint(1, 100L, 1L));
+            store.saveCheckpoint(new StatementCheckpoint(2, 200L, 2L));
+            store.saveCheckpoint(new StatementCheckpoint(1, 300L, 3L));
+        }
+
+        try (FileStatementCheckpointStore store = new FileStatementCheckpointStore(path)) {
+            assertEquals(300L, store.getCheckpoint(1).getDateSeconds());
+            assertEquals(3L, store.getCheckpoint(1).getStatementId());
+            assertEquals(200L, store.getCheckpoint(2).getDateSeconds());
+        }
+    }
+
+    @Test
+    public void ignoresTornLastLine() throws IOException {
+        try (FileStatementCheckpointStore store = new FileStatementCheckpointStore(path)) {
+            store.saveCheckpoint(new StatementCheckpoint(1, 100L, 1L));
+        }
+        Files.write(path, "1,20".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        try (FileStatementCheckpointStore store = new FileStatementCheckpointStore(path)) {
+            assertEquals(100L, store.getCheckpoint(1).getDateSeconds());
+            store.saveCheckpoint(new StatementCheckpoint(1, 200L, 2L));
+        }
+
+        try (FileStatementCheckpointStore store = new FileStatementCheckpointStore(path)) {
+            assertEquals(200L, store.getCheckpoint(1).getDateSeconds());
+        }
+    }
+
+    @Test
+    public void compactsToOneLinePerWallet() throws IOException {
+        try (FileStatementCheckpointStore store = new FileStatementCheckpointStore(path)) {
+            for (int i = 1; i <= 2000; i++) {
+                store.saveCheckpoint(new StatementCheckpoint(i % 2, i, i));
+            }
+        }
+
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        assertTrue(lines.size() < 1100);
+        assertFalse(Files.exists(directory.resolve("checkpoints.log.compact")));
+        try (FileStatementCheckpointStore store = new FileStatementCheckpointStore(path)) {
+            assertEquals(2000L, store.getCheckpoint(0).getDateSeconds());
+            assertEquals(1999L, store.getCheckpoint(1).getDateSeconds());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.paysera.lib.wallet.sync;
+
+import bolts.Task;
+import com.paysera.lib.wallet.TestClients;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StatementSynchronizerTest {
+    private final MockWebServer server = new MockWebServer();
+    private final InMemoryStatementCheckpointStore checkpointStore = new InMemoryStatementCheckpointStore();
+    private StatementSynchronizer synchronizer;
+
+    @Before
+    public void setUp() throws IOException {
+        server.start();
+        synchronizer = new StatementSynchronizer(TestClients.createWalletAsyncClient(server), checkpointStore, 2);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void synchronizePagesYieldsOneDeltaPerPage() throws Exception {
+        checkpointStore.saveCheckpoint(new StatementCheckpoint(1, 1500000000L, 1L));
+        server.enqueue(createPage("[" + createStatement(1, 1500000000L) + "," + createStatement(2, 1500000000L) + "]", true));
+        server.enqueue(createPage("[" + createStatement(3, 1500000100L) + "]", false));
+
+        List<StatementDelta> deltas = new ArrayList<>();
+        try (StatementDeltaIterator iterator = synchronizer.synchronizePages(1)) {
+            while (iterator.hasNext()) {
+                StatementDelta delta = iterator.next();
+                deltas.add(delta);
+                synchronizer.commit(delta);
+            }
+        }
+
+        assertEquals(2, deltas.size());
+        assertEquals(1, deltas.get(0).getStatements().size());
+        assertEquals(2L, deltas.get(0).getCheckpoint().getStatementId());
+        assertEquals(3L, deltas.get(1).getCheckpoint().getStatementId());
+        assertEquals(1500000100L, checkpointStore.getCheckpoint(1).getDateSeconds());
+
+        RecordedRequest firstRequest = server.takeRequest();
+        RecordedRequest secondRequest = server.takeRequest();
+        assertTrue(firstRequest.getPath().contains("from=1500000000"));
+        assertFalse(firstRequest.getPath().contains("after="));
+        assertTrue(secondRequest.getPath().contains("after=cursor"));
+    }
+
+    @Test
+    public void statementsAreRequestedOldestFirst() throws Exception {
+        server.enqueue(createPage("[" + createStatement(1, 1500000000L) + "]", true));
+        server.enqueue(createPage("[" + createStatement(2, 1500000100L) + "]", false));
+
+        try (StatementDeltaIterator iterator = synchronizer.synchronizePages(1)) {
+            while (iterator.hasNext()) {
+                synchronizer.commit(iterator.next());
+            }
+        }
+
+        for (int i = 0; i < 2; i++) {
+            String path = server.takeRequest().getPath();
+            assertTrue(path.contains("order_by=date"));
+            assertTrue(path.contains("order_direction=ASC"));
+        }
+    }
+
+    @Test
+    public void synchronizeCollectsAllPages() throws Exception {
+        server.enqueue(createPage("[" + createStatement(1, 1500000000L) + "," + createStatement(2, 1500000000L) + "]", true));
+        server.enqueue(createPage("[" + createStatement(3, 1500000100L) + "]", false));
+
+        Task<StatementDelta> task = synchronizer.synchronize(1);
+        task.waitForCompletion();
+
+        assertEquals(3, task.getResult().getStatements().size());
+        assertEquals(3L, task.getResult().getCheckpoint().getStatementId());
+    }
+
+    private static MockResponse createPage(String statements, boolean hasNext) {
+        return new MockResponse().setBody(
+            "{\"statements\":" + statements + ",\"_metadata\":{\"has_next\":" + hasNext
+                + ",\"cursors\":{\"after\":\"cursor\"}}}"
+        );
+    }
+
+    private static String createStatement(long id, long dateSeconds) {
+        return "{\"id\":" + id + ",\"amount\":100,\"amount_decimal\":\"1.00\",\"currency\":\"EUR\",\"date\":" + dateSeconds + "}";
+    }
+}
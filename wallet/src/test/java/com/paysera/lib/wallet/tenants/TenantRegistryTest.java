@@ -0,0 +1,195 @@
+package com.paysera.lib.wallet.tenants;
+
+import bolts.Task;
+import com.paysera.lib.wallet.CachingMacDigestGenerator;
+import com.paysera.lib.wallet.ClientServerTimeSynchronizationConfiguration;
+import com.paysera.lib.wallet.FakeScheduler;
+import com.paysera.lib.wallet.NonceGenerator;
+import com.paysera.lib.wallet.RequestSigner;
+import com.paysera.lib.wallet.TestClients;
+import com.paysera.lib.wallet.clients.WalletAsyncClient;
+import com.paysera.lib.wallet.entities.Credentials;
+import com.paysera.lib.wallet.entities.User;
+import com.paysera.lib.wallet.exceptions.WalletApiException;
+import com.paysera.lib.wallet.factories.HttpClientFactory;
+import com.paysera.lib.wallet.helpers.OkHTTPQueryStringConverter;
+import com.paysera.lib.wallet.providers.TimestampProvider;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TenantRegistryTest {
+    private final MockWebServer server = new MockWebServer();
+    private final FakeScheduler scheduler = new FakeScheduler();
+    private final Map<String, Credentials> storedCredentials = new HashMap<>();
+    private TenantRegistryConfiguration configuration;
+
+    @Before
+    public void setUp() throws IOException {
+        server.start();
+        configuration = new TenantRegistryConfiguration();
+        configuration.setScheduler(scheduler);
+        configuration.setProactiveRefreshMargin(0, TimeUnit.MILLISECONDS);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void signsRequestsOfRegisteredTenant() throws Exception {
+        TenantRegistry<String> registry = this.createRegistry(false);
+        registry.register("first", createCredentials("first"));
+        server.enqueue(new MockResponse().setBody("{\"id\":1}"));
+
+        Task<User> task = this.createClient(registry).forTenant("first").getUser();
+        task.waitForCompletion();
+
+        RecordedRequest request = server.takeRequest();
+        assertNull(task.getError());
+        assertTrue(request.getHeader("Authorization").contains("first-token"));
+    }
+
+    @Test
+    public void failsRequestsOfUnknownTenantWithoutSendingThem() throws Exception {
+        TenantRegistry<String> registry = this.createRegistry(false);
+
+        Task<User> task = this.createClient(registry).forTenant("unknown").getUser();
+        task.waitForCompletion();
+
+        assertSigningError(task);
+        assertEquals(0, server.getRequestCount());
+    }
+
+    @Test
+    public void loadsEvictedTenantAgainOrFailsWhenItIsGone() throws Exception {
+        configuration.setMaxTenants(1);
+        TenantRegistry<String> registry = this.createRegistry(false);
+        storedCredentials.put("first", createCredentials("first"));
+        storedCredentials.put("second", createCredentials("second"));
+
+        assertNotNull(registry.getCredentials("first"));
+        assertNotNull(registry.getCredentials("second"));
+        assertEquals(1, registry.size());
+
+        storedCredentials.remove("first");
+        Task<User> task = this.createClient(registry).forTenant("first").getUser();
+        task.waitForCompletion();
+
+        assertSigningError(task);
+        assertEquals(0, server.getRequestCount());
+    }
+
+    @Test
+    public void sendsUntaggedRequestsUnsignedOnlyWhenAllowed() throws Exception {
+        Task<User> rejected = this.createUntaggedClient(this.createRegistry(false)).getUser();
+        rejected.waitForCompletion();
+        assertSigningError(rejected);
+
+        server.enqueue(new MockResponse().setBody("{\"id\":1}"));
+        Task<User> allowed = this.createUntaggedClient(this.createRegistry(true)).getUser();
+        allowed.waitForCompletion();
+
+        assertNull(allowed.getError());
+        assertNull(server.takeRequest().getHeader("Authorization"));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedTenant() {
+        configuration.setMaxTenants(2);
+        TenantRegistry<String> registry = this.createRegistry(false);
+        registry.register("first", createCredentials("first"));
+        registry.register("second", createCredentials("second"));
+        registry.getCredentials("first");
+
+        registry.register("third", createCredentials("third"));
+
+        assertEquals(2, registry.size());
+        assertNotNull(registry.getCredentials("first"));
+        assertNull(registry.getCredentials("second"));
+        assertNotNull(registry.getCredentials("third"));
+    }
+
+    @Test
+    public void evictsIdleTenants() throws InterruptedException {
+        configuration.setIdleTimeout(50, TimeUnit.MILLISECONDS);
+        TenantRegistry<String> registry = this.createRegistry(false);
+        registry.register("first", createCredentials("first"));
+        registry.register("second", createCredentials("second"));
+
+        Thread.sleep(100);
+        registry.getCredentials("second");
+        scheduler.advance(1, TimeUnit.SECONDS);
+
+        assertEquals(1, registry.size());
+        assertNull(registry.getCredentials("first"));
+        assertNotNull(registry.getCredentials("second"));
+    }
+
+    private TenantRegistry<String> createRegistry(boolean unsignedUntaggedRequestsAllowed) {
+        configuration.setUnsignedUntaggedRequestsAllowed(unsignedUntaggedRequestsAllowed);
+        return new TenantRegistry<>(
+            null,
+            new TenantCredentialsDelegate<String>() {
+                @Override
+                public void activeCredentialsDidUpdate(String tenantKey, Credentials credentials) {
+                }
+
+                @Override
+                public void onRefreshTokenInvalid(String tenantKey) {
+                }
+            },
+            storedCredentials::get,
+            configuration
+        );
+    }
+
+    private MultiTenantWalletClient<String> createClient(TenantRegistry<String> registry) {
+        OkHTTPQueryStringConverter okHTTPQueryStringConverter = new OkHTTPQueryStringConverter();
+        TimestampProvider timestampProvider = new TimestampProvider();
+        return new MultiTenantWalletClient<>(
+            registry,
+            new HttpClientFactory(
+                new RequestSigner(new NonceGenerator(), new CachingMacDigestGenerator(), okHTTPQueryStringConverter),
+                null,
+                "en",
+                timestampProvider
+            ),
+            TestClients.createRetrofitFactory(server),
+            timestampProvider,
+            new ClientServerTimeSynchronizationConfiguration(),
+            okHTTPQueryStringConverter,
+            "test"
+        );
+    }
+
+    private WalletAsyncClient createUntaggedClient(TenantRegistry<String> registry) {
+        return TestClients.createWalletAsyncClient(server, this.createClient(registry).getHttpClient());
+    }
+
+    private static Credentials createCredentials(String tenantKey) {
+        Credentials credentials = new Credentials();
+        credentials.setAccessToken(tenantKey + "-token");
+        credentials.setMacKey(tenantKey + "-mac-key");
+        return credentials;
+    }
+
+    private static void assertSigningError(Task<?> task) {
+        assertTrue(task.getError() instanceof WalletApiException);
+        assertTrue(((WalletApiException) task.getError()).isSigningRequest());
+    }
+}